@@ -0,0 +1,206 @@
+package com.microservices.simulator.autoscaling;
+
+import com.microservices.simulator.config.AutoscalingConfig;
+import com.microservices.simulator.entity.Activity;
+import com.microservices.simulator.entity.Metric;
+import com.microservices.simulator.entity.ScalingPolicy;
+import com.microservices.simulator.entity.Service;
+import com.microservices.simulator.metrics.MetricStore;
+import com.microservices.simulator.repository.ScalingPolicyRepository;
+import com.microservices.simulator.repository.ServiceRepository;
+import com.microservices.simulator.service.ActivityService;
+import com.microservices.simulator.service.MicroserviceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adjusts {@code Service.instances} from windowed metrics according to each
+ * service's {@link ScalingPolicy}. Samples are folded into per-service
+ * {@link ScalingWindow}s as they are ingested, so an evaluation cycle costs two
+ * queries (policies and their services) plus one update per service that
+ * actually scales, however many services there are.
+ * <p>
+ * Cooldowns are kept on the policy so they survive a restart. A service's window
+ * is dropped when it scales, so the next decision only sees samples taken at the
+ * new instance count rather than compounding on the load that caused this one.
+ */
+@Component
+public class Autoscaler {
+    
+    private static final Logger log = LoggerFactory.getLogger(Autoscaler.class);
+    private static final String RUNNING = "running";
+    
+    @Autowired
+    private AutoscalingConfig config;
+    
+    @Autowired
+    private ScalingPolicyRepository scalingPolicyRepository;
+    
+    @Autowired
+    private ServiceRepository serviceRepository;
+    
+    @Autowired
+    private MicroserviceService microserviceService;
+    
+    @Autowired
+    private ActivityService activityService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    private final Map<Long, ScalingWindow> windows = new ConcurrentHashMap<>();
+    private final AtomicLong totalScalingActions = new AtomicLong();
+    private volatile AutoscalingStatus status = new AutoscalingStatus(true, null, 0, 0, 0, 0, 0);
+    
+    /** Called for every ingested sample. */
+    public void record(Metric metric) {
+        if (!config.isEnabled() || metric.getServiceId() == null || metric.getTimestamp() == null) {
+            return;
+        }
+        windows.computeIfAbsent(metric.getServiceId(), id -> new ScalingWindow(
+                        config.getBucketWidth().toMillis(),
+                        (int) Math.max(1, config.getWindow().toMillis() / config.getBucketWidth().toMillis())))
+                .add(MetricStore.toEpochMillis(metric.getTimestamp()), MetricStore.valueOf(metric.getCpu()),
+                        MetricStore.valueOf(metric.getResponseTime()), MetricStore.valueOf(metric.getErrorRate()));
+    }
+    
+    @Scheduled(fixedDelayString = "${simulator.autoscaling.evaluation-interval:PT15S}")
+    public void evaluate() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        long started = System.nanoTime();
+        long now = System.currentTimeMillis();
+        windows.values().removeIf(window -> window.isIdle(now));
+        
+        List<ScalingPolicy> policies = scalingPolicyRepository.findByEnabledTrue();
+        List<Long> serviceIds = new ArrayList<>(policies.size());
+        for (ScalingPolicy policy : policies) {
+            serviceIds.add(policy.getServiceId());
+        }
+        Map<Long, Service> services = new HashMap<>();
+        for (Service service : serviceRepository.findAllById(serviceIds)) {
+            services.put(service.getId(), service);
+        }
+        
+        int scaled = 0;
+        for (ScalingPolicy policy : policies) {
+            Service service = services.get(policy.getServiceId());
+            ScalingWindow window = windows.get(policy.getServiceId());
+            if (service == null || window == null || !RUNNING.equals(service.getStatus())) {
+                continue;
+            }
+            double value = window.averages(now).valueOf(policy.getMetric());
+            if (Double.isNaN(value)) {
+                continue;
+            }
+            int current = service.getInstances() != null ? service.getInstances() : 1;
+            int desired = ScalingRules.desiredInstances(policy, current, value, config.getTolerance());
+            if (desired == current || coolingDown(policy, desired > current, now)) {
+                continue;
+            }
+            try {
+                if (microserviceService.updateInstances(service.getId(), desired)) {
+                    LocalDateTime at = LocalDateTime.now();
+                    if (desired > current) {
+                        scalingPolicyRepository.recordScaleOut(service.getId(), at);
+                    } else {
+                        scalingPolicyRepository.recordScaleIn(service.getId(), at);
+                    }
+                    windows.remove(service.getId());
+                    eventPublisher.publishEvent(new ServiceScaledEvent(service.getId(), desired));
+                    record(service, policy, current, desired, value);
+                    scaled++;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Scaling service {} to {} instances failed", service.getId(), desired, e);
+            }
+        }
+        totalScalingActions.addAndGet(scaled);
+        status = new AutoscalingStatus(true, LocalDateTime.now(), (System.nanoTime() - started) / 1e6,
+                policies.size(), windows.size(), scaled, totalScalingActions.get());
+    }
+    
+    public AutoscalingStatus getStatus() {
+        AutoscalingStatus last = status;
+        return new AutoscalingStatus(config.isEnabled(), last.getLastEvaluatedAt(), last.getLastDurationMillis(),
+                last.getPoliciesEvaluated(), windows.size(), last.getLastScaled(), last.getTotalScalingActions());
+    }
+    
+    public List<ScalingPolicy> getPolicies() {
+        return scalingPolicyRepository.findAll();
+    }
+    
+    public Optional<ScalingPolicy> getPolicy(Long serviceId) {
+        return scalingPolicyRepository.findByServiceId(serviceId);
+    }
+    
+    public ScalingPolicy savePolicy(Long serviceId, ScalingPolicy details) {
+        if (serviceRepository.findById(serviceId).isEmpty()) {
+            throw new IllegalArgumentException("Service not found with id: " + serviceId);
+        }
+        ScalingRules.validate(details);
+        ScalingPolicy policy = scalingPolicyRepository.findByServiceId(serviceId)
+                .orElseGet(() -> new ScalingPolicy(serviceId, details.getPolicyType(), details.getMetric()));
+        policy.setEnabled(details.getEnabled() != null ? details.getEnabled() : Boolean.TRUE);
+        policy.setPolicyType(details.getPolicyType());
+        policy.setMetric(details.getMetric());
+        policy.setTargetValue(details.getTargetValue());
+        policy.setScaleOutThreshold(details.getScaleOutThreshold());
+        policy.setScaleInThreshold(details.getScaleInThreshold());
+        policy.setStepSize(details.getStepSize());
+        policy.setMinInstances(details.getMinInstances());
+        policy.setMaxInstances(details.getMaxInstances());
+        policy.setScaleOutCooldownSeconds(details.getScaleOutCooldownSeconds());
+        policy.setScaleInCooldownSeconds(details.getScaleInCooldownSeconds());
+        return scalingPolicyRepository.save(policy);
+    }
+    
+    public boolean deletePolicy(Long serviceId) {
+        Optional<ScalingPolicy> policy = scalingPolicyRepository.findByServiceId(serviceId);
+        policy.ifPresent(scalingPolicyRepository::delete);
+        return policy.isPresent();
+    }
+    
+    // Scale-out only waits for the previous scale-out; scale-in also waits out a recent scale-out
+    private static boolean coolingDown(ScalingPolicy policy, boolean scaleOut, long now) {
+        if (scaleOut) {
+            return within(policy.getLastScaleOutAt(), policy.getScaleOutCooldownSeconds(), now);
+        }
+        return within(policy.getLastScaleInAt(), policy.getScaleInCooldownSeconds(), now)
+                || within(policy.getLastScaleOutAt(), policy.getScaleInCooldownSeconds(), now);
+    }
+    
+    private static boolean within(LocalDateTime last, Integer cooldownSeconds, long now) {
+        return last != null && cooldownSeconds != null && now - MetricStore.toEpochMillis(last) < cooldownSeconds * 1000L;
+    }
+    
+    private void record(Service service, ScalingPolicy policy, int from, int to, double value) {
+        String reference = ScalingRules.TARGET_TRACKING.equals(policy.getPolicyType())
+                ? "target " + format(policy.getTargetValue())
+                : "thresholds " + format(policy.getScaleInThreshold()) + "/" + format(policy.getScaleOutThreshold());
+        Activity activity = new Activity("scaling", "Scaled " + service.getName() + " from " + from + " to " + to
+                + " instances (" + policy.getMetric() + " " + format(value) + ", " + reference + ")");
+        activity.setServiceId(service.getId());
+        activity.setSeverity("info");
+        activityService.createActivity(activity);
+    }
+    
+    private static String format(Double value) {
+        return value != null ? String.format(Locale.ROOT, "%.2f", value) : "-";
+    }
+}
@@ -0,0 +1,45 @@
+package com.microservices.simulator.autoscaling;
+
+import java.time.LocalDateTime;
+
+public class AutoscalingStatus {
+    private boolean enabled;
+    private LocalDateTime lastEvaluatedAt;
+    private double lastDurationMillis;
+    private int policiesEvaluated;
+    private int servicesTracked;
+    private int lastScaled;
+    private long totalScalingActions;
+    
+    public AutoscalingStatus(boolean enabled, LocalDateTime lastEvaluatedAt, double lastDurationMillis,
+                             int policiesEvaluated, int servicesTracked, int lastScaled, long totalScalingActions) {
+        this.enabled = enabled;
+        this.lastEvaluatedAt = lastEvaluatedAt;
+        this.lastDurationMillis = lastDurationMillis;
+        this.policiesEvaluated = policiesEvaluated;
+        this.servicesTracked = servicesTracked;
+        this.lastScaled = lastScaled;
+        this.totalScalingActions = totalScalingActions;
+    }
+    
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    
+    public LocalDateTime getLastEvaluatedAt() { return lastEvaluatedAt; }
+    public void setLastEvaluatedAt(LocalDateTime lastEvaluatedAt) { this.lastEvaluatedAt = lastEvaluatedAt; }
+    
+    public double getLastDurationMillis() { return lastDurationMillis; }
+    public void setLastDurationMillis(double lastDurationMillis) { this.lastDurationMillis = lastDurationMillis; }
+    
+    public int getPoliciesEvaluated() { return policiesEvaluated; }
+    public void setPoliciesEvaluated(int policiesEvaluated) { this.policiesEvaluated = policiesEvaluated; }
+    
+    public int getServicesTracked() { return servicesTracked; }
+    public void setServicesTracked(int servicesTracked) { this.servicesTracked = servicesTracked; }
+    
+    public int getLastScaled() { return lastScaled; }
+    public void setLastScaled(int lastScaled) { this.lastScaled = lastScaled; }
+    
+    public long getTotalScalingActions() { return totalScalingActions; }
+    public void setTotalScalingActions(long totalScalingActions) { this.totalScalingActions = totalScalingActions; }
+}
@@ -0,0 +1,66 @@
+package com.microservices.simulator.autoscaling;
+
+import com.microservices.simulator.entity.ScalingPolicy;
+
+import java.util.Set;
+
+/**
+ * Policy arithmetic, kept free of state so cooldowns and persistence stay in
+ * {@link Autoscaler}.
+ */
+final class ScalingRules {
+    
+    static final String TARGET_TRACKING = "target-tracking";
+    static final String STEP = "step";
+    static final Set<String> METRICS = Set.of("cpu", "responseTime", "errorRate");
+    
+    private ScalingRules() {}
+    
+    /**
+     * Instance count the policy asks for given the windowed metric value. Target
+     * tracking scales proportionally to value / target once the deviation exceeds
+     * {@code tolerance}; step scaling adds or removes {@code stepSize} instances
+     * when the value crosses its thresholds. The result is clamped to the policy's
+     * bounds.
+     */
+    static int desiredInstances(ScalingPolicy policy, int current, double value, double tolerance) {
+        int desired = current;
+        if (TARGET_TRACKING.equals(policy.getPolicyType())) {
+            double ratio = value / policy.getTargetValue();
+            if (Math.abs(ratio - 1) > tolerance) {
+                desired = (int) Math.ceil(current * ratio);
+            }
+        } else if (STEP.equals(policy.getPolicyType())) {
+            int step = policy.getStepSize() != null ? Math.max(1, policy.getStepSize()) : 1;
+            if (policy.getScaleOutThreshold() != null && value > policy.getScaleOutThreshold()) {
+                desired = current + step;
+            } else if (policy.getScaleInThreshold() != null && value < policy.getScaleInThreshold()) {
+                desired = current - step;
+            }
+        }
+        int min = policy.getMinInstances() != null ? Math.max(1, policy.getMinInstances()) : 1;
+        int max = policy.getMaxInstances() != null ? Math.max(min, policy.getMaxInstances()) : Integer.MAX_VALUE;
+        return Math.max(min, Math.min(max, desired));
+    }
+    
+    static void validate(ScalingPolicy policy) {
+        if (!METRICS.contains(policy.getMetric())) {
+            throw new IllegalArgumentException("Metric must be one of " + METRICS);
+        }
+        if (TARGET_TRACKING.equals(policy.getPolicyType())) {
+            if (policy.getTargetValue() == null || policy.getTargetValue() <= 0) {
+                throw new IllegalArgumentException("Target tracking needs a positive targetValue");
+            }
+        } else if (STEP.equals(policy.getPolicyType())) {
+            if (policy.getScaleOutThreshold() == null && policy.getScaleInThreshold() == null) {
+                throw new IllegalArgumentException("Step scaling needs a scaleOutThreshold or scaleInThreshold");
+            }
+        } else {
+            throw new IllegalArgumentException("Policy type must be " + TARGET_TRACKING + " or " + STEP);
+        }
+        if (policy.getMinInstances() != null && policy.getMaxInstances() != null
+                && policy.getMinInstances() > policy.getMaxInstances()) {
+            throw new IllegalArgumentException("minInstances exceeds maxInstances");
+        }
+    }
+}
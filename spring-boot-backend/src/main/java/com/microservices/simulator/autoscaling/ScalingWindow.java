@@ -0,0 +1,103 @@
+package com.microservices.simulator.autoscaling;
+
+import java.util.Arrays;
+
+/**
+ * Sliding window over one service's samples, kept as a ring of fixed-width
+ * buckets so ingest is O(1) and reading the window is O(buckets) regardless of
+ * how many samples arrived. Samples older than the window are dropped.
+ */
+final class ScalingWindow {
+    
+    private final long width;
+    private final int size;
+    private final long[] epochs;
+    private final double[] cpuSum;
+    private final int[] cpuCount;
+    private final double[] latencySum;
+    private final int[] latencyCount;
+    private final double[] errorSum;
+    private final int[] errorCount;
+    private long lastSampleAt;
+    
+    ScalingWindow(long widthMillis, int size) {
+        this.width = widthMillis;
+        this.size = size;
+        this.epochs = new long[size];
+        this.cpuSum = new double[size];
+        this.cpuCount = new int[size];
+        this.latencySum = new double[size];
+        this.latencyCount = new int[size];
+        this.errorSum = new double[size];
+        this.errorCount = new int[size];
+        Arrays.fill(epochs, Long.MIN_VALUE);
+    }
+    
+    synchronized void add(long timestamp, double cpu, double responseTime, double errorRate) {
+        long epoch = Math.floorDiv(timestamp, width);
+        int slot = (int) Math.floorMod(epoch, (long) size);
+        if (epochs[slot] > epoch) {
+            return;
+        }
+        if (epochs[slot] != epoch) {
+            epochs[slot] = epoch;
+            cpuSum[slot] = 0;
+            cpuCount[slot] = 0;
+            latencySum[slot] = 0;
+            latencyCount[slot] = 0;
+            errorSum[slot] = 0;
+            errorCount[slot] = 0;
+        }
+        if (!Double.isNaN(cpu)) {
+            cpuSum[slot] += cpu;
+            cpuCount[slot]++;
+        }
+        if (!Double.isNaN(responseTime)) {
+            latencySum[slot] += responseTime;
+            latencyCount[slot]++;
+        }
+        if (!Double.isNaN(errorRate)) {
+            errorSum[slot] += errorRate;
+            errorCount[slot]++;
+        }
+        lastSampleAt = Math.max(lastSampleAt, timestamp);
+    }
+    
+    /** Means over the buckets inside the window ending at {@code now}; NaN where there were no samples. */
+    synchronized WindowAverages averages(long now) {
+        long newest = Math.floorDiv(now, width);
+        long oldest = newest - size + 1;
+        double cpu = 0, latency = 0, errors = 0;
+        int cpuN = 0, latencyN = 0, errorN = 0;
+        for (int i = 0; i < size; i++) {
+            if (epochs[i] >= oldest && epochs[i] <= newest) {
+                cpu += cpuSum[i];
+                cpuN += cpuCount[i];
+                latency += latencySum[i];
+                latencyN += latencyCount[i];
+                errors += errorSum[i];
+                errorN += errorCount[i];
+            }
+        }
+        return new WindowAverages(
+                cpuN > 0 ? cpu / cpuN : Double.NaN,
+                latencyN > 0 ? latency / latencyN : Double.NaN,
+                errorN > 0 ? errors / errorN : Double.NaN);
+    }
+    
+    synchronized boolean isIdle(long now) {
+        return lastSampleAt < now - width * size;
+    }
+    
+    record WindowAverages(double cpu, double responseTime, double errorRate) {
+        
+        double valueOf(String metric) {
+            return switch (metric) {
+                case "cpu" -> cpu;
+                case "responseTime" -> responseTime;
+                case "errorRate" -> errorRate;
+                default -> Double.NaN;
+            };
+        }
+    }
+}
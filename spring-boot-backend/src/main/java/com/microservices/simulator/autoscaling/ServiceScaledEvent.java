@@ -0,0 +1,9 @@
+package com.microservices.simulator.autoscaling;
+
+/**
+ * Published after the autoscaler changes a service's instance count, so the
+ * simulation can apply the new capacity on its next tick instead of its next
+ * refresh.
+ */
+public record ServiceScaledEvent(Long serviceId, int instances) {
+}
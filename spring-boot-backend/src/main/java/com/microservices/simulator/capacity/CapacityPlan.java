@@ -0,0 +1,35 @@
+package com.microservices.simulator.capacity;
+
+import java.util.List;
+
+public class CapacityPlan {
+    private int scenarios;
+    private double trafficMultiplier;
+    private int parallelism;
+    private long elapsedMillis;
+    private List<ServiceCapacity> services;
+    
+    public CapacityPlan(int scenarios, double trafficMultiplier, int parallelism, long elapsedMillis,
+                        List<ServiceCapacity> services) {
+        this.scenarios = scenarios;
+        this.trafficMultiplier = trafficMultiplier;
+        this.parallelism = parallelism;
+        this.elapsedMillis = elapsedMillis;
+        this.services = services;
+    }
+    
+    public int getScenarios() { return scenarios; }
+    public void setScenarios(int scenarios) { this.scenarios = scenarios; }
+    
+    public double getTrafficMultiplier() { return trafficMultiplier; }
+    public void setTrafficMultiplier(double trafficMultiplier) { this.trafficMultiplier = trafficMultiplier; }
+    
+    public int getParallelism() { return parallelism; }
+    public void setParallelism(int parallelism) { this.parallelism = parallelism; }
+    
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+    
+    public List<ServiceCapacity> getServices() { return services; }
+    public void setServices(List<ServiceCapacity> services) { this.services = services; }
+}
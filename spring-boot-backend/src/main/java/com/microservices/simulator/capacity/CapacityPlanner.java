@@ -0,0 +1,176 @@
+package com.microservices.simulator.capacity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Monte-Carlo capacity planner. Each scenario perturbs demand and service times,
+ * then evaluates every service as an M/M/c queue at its current size and finds
+ * the smallest instance count meeting the utilization target and latency SLO.
+ *
+ * <p>Scenarios are independent and write to their own slot of preallocated
+ * arrays, so they are split across a {@link ForkJoinPool} with no shared mutable
+ * state. Each scenario seeds its own generator from the plan seed and its index,
+ * so the result does not depend on the parallelism.
+ */
+public class CapacityPlanner {
+    
+    private static final double LATENCY_QUANTILE = 0.99;
+    // Scenarios per leaf task; small enough to balance, large enough to amortise forking
+    private static final int LEAF_SCENARIOS = 32;
+    
+    private final CapacityRequest request;
+    private final List<ServiceModel> models;
+    private final int maxInstances;
+    
+    private final double[][] utilization;
+    private final double[][] latency;
+    private final int[][] needed;
+    
+    public CapacityPlanner(CapacityRequest request, List<ServiceModel> models, int maxInstances) {
+        this.request = request;
+        this.models = models;
+        this.maxInstances = maxInstances;
+        int n = request.getScenarios();
+        utilization = new double[models.size()][n];
+        latency = new double[models.size()][n];
+        needed = new int[models.size()][n];
+    }
+    
+    public CapacityPlan run(ForkJoinPool pool) {
+        long started = System.nanoTime();
+        pool.invoke(new ScenarioTask(0, request.getScenarios()));
+        
+        List<ServiceCapacity> services = new ArrayList<>(models.size());
+        for (int i = 0; i < models.size(); i++) {
+            ServiceModel model = models.get(i);
+            ServiceCapacity capacity = new ServiceCapacity();
+            capacity.setServiceId(model.serviceId());
+            capacity.setName(model.name());
+            capacity.setCurrentInstances(model.instances());
+            capacity.setArrivalRate(model.arrivalRate() * request.getTrafficMultiplier());
+            
+            double[] u = utilization[i].clone();
+            Arrays.sort(u);
+            capacity.setUtilizationP50(quantile(u, 0.5));
+            capacity.setUtilizationP95(quantile(u, 0.95));
+            int saturated = 0;
+            for (double value : u) {
+                if (value >= 1) {
+                    saturated++;
+                }
+            }
+            capacity.setSaturationProbability((double) saturated / u.length);
+            
+            double[] l = latency[i].clone();
+            Arrays.sort(l);
+            capacity.setP99LatencyP50(finite(quantile(l, 0.5)));
+            capacity.setP99LatencyP95(finite(quantile(l, 0.95)));
+            
+            int[] need = needed[i].clone();
+            Arrays.sort(need);
+            int recommended = need[Math.max(0, (int) Math.ceil(request.getConfidence() * need.length) - 1)];
+            capacity.setRecommendedInstances(recommended);
+            capacity.setCapped(recommended >= maxInstances);
+            services.add(capacity);
+        }
+        return new CapacityPlan(request.getScenarios(), request.getTrafficMultiplier(), pool.getParallelism(),
+                (System.nanoTime() - started) / 1_000_000, services);
+    }
+    
+    private void runScenario(int s) {
+        SplittableRandom random = new SplittableRandom(request.getSeed() * 0x9E3779B97F4A7C15L + s);
+        double shared = shock(random, request.getTrafficSigma());
+        for (int i = 0; i < models.size(); i++) {
+            ServiceModel model = models.get(i);
+            double arrivalRate = model.arrivalRate() * request.getTrafficMultiplier() * shared
+                    * shock(random, request.getTrafficSigma() / 2);
+            double serviceTime = model.meanServiceTimeMillis() * shock(random, request.getServiceTimeSigma());
+            double load = arrivalRate * serviceTime / 1000.0;
+            int perInstance = Math.max(1, model.concurrencyPerInstance());
+            int servers = Math.max(1, model.instances()) * perInstance;
+            
+            utilization[i][s] = load / servers;
+            latency[i][s] = Queueing.responseQuantile(servers, load, serviceTime, LATENCY_QUANTILE);
+            needed[i][s] = instancesNeeded(load, serviceTime, perInstance);
+        }
+    }
+    
+    // The response quantile falls as instances are added, so gallop up from the utilization bound and bisect
+    private int instancesNeeded(double load, double serviceTime, int perInstance) {
+        int low = Math.max(1, (int) Math.ceil(load / (perInstance * request.getTargetUtilization())));
+        if (low >= maxInstances) {
+            return maxInstances;
+        }
+        if (meetsSlo(low, load, serviceTime, perInstance)) {
+            return low;
+        }
+        if (serviceTime * Math.log(1 / (1 - LATENCY_QUANTILE)) > request.getLatencySloMillis()) {
+            // Even with no queueing the service time alone misses the SLO
+            return maxInstances;
+        }
+        int high = low;
+        do {
+            low = high;
+            high = (int) Math.min(maxInstances, 2L * high);
+        } while (high < maxInstances && !meetsSlo(high, load, serviceTime, perInstance));
+        if (!meetsSlo(high, load, serviceTime, perInstance)) {
+            return maxInstances;
+        }
+        // low misses, high meets
+        while (high - low > 1) {
+            int mid = (low + high) >>> 1;
+            if (meetsSlo(mid, load, serviceTime, perInstance)) {
+                high = mid;
+            } else {
+                low = mid;
+            }
+        }
+        return high;
+    }
+    
+    private boolean meetsSlo(int instances, double load, double serviceTime, int perInstance) {
+        return Queueing.responseQuantile(instances * perInstance, load, serviceTime, LATENCY_QUANTILE) <= request.getLatencySloMillis();
+    }
+    
+    // Log-normal factor with mean 1
+    private static double shock(SplittableRandom random, double sigma) {
+        return sigma > 0 ? Math.exp(sigma * random.nextGaussian() - sigma * sigma / 2) : 1;
+    }
+    
+    private static double quantile(double[] sorted, double q) {
+        return sorted[Math.max(0, (int) Math.ceil(q * sorted.length) - 1)];
+    }
+    
+    private static Double finite(double value) {
+        return Double.isFinite(value) ? value : null;
+    }
+    
+    private final class ScenarioTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        
+        private final int from;
+        private final int to;
+        
+        private ScenarioTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SCENARIOS) {
+                for (int s = from; s < to; s++) {
+                    runScenario(s);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ScenarioTask(from, mid), new ScenarioTask(mid, to));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.microservices.simulator.capacity;
+
+import com.microservices.simulator.config.CapacityConfig;
+import com.microservices.simulator.entity.ApiRoute;
+import com.microservices.simulator.entity.Service;
+import com.microservices.simulator.repository.ApiRouteRepository;
+import com.microservices.simulator.repository.ServiceRepository;
+import com.microservices.simulator.service.MicroserviceService;
+import com.microservices.simulator.simulation.flow.FlowScenario;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Builds per-service models from the {@code Service} and {@code ApiRoute}
+ * topology and plans capacity on a dedicated pool, so a large plan does not
+ * starve the common pool.
+ */
+@Component
+public class CapacityPlanningService {
+    
+    @Autowired
+    private CapacityConfig config;
+    
+    @Autowired
+    private ServiceRepository serviceRepository;
+    
+    @Autowired
+    private ApiRouteRepository apiRouteRepository;
+    
+    private ForkJoinPool pool;
+    
+    @PostConstruct
+    public void init() {
+        int parallelism = config.getParallelism() > 0 ? config.getParallelism() : Runtime.getRuntime().availableProcessors();
+        pool = new ForkJoinPool(parallelism);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+    
+    public CapacityPlan plan(CapacityRequest request) {
+        if (request.getScenarios() <= 0 || request.getScenarios() > config.getMaxScenarios()
+                || request.getTrafficMultiplier() < 0 || request.getTargetUtilization() <= 0
+                || request.getTargetUtilization() > 1 || request.getLatencySloMillis() <= 0
+                || request.getConfidence() <= 0 || request.getConfidence() > 1
+                || request.getMeanServiceTimeMillis() <= 0 || request.getConcurrencyPerInstance() <= 0) {
+            throw new IllegalArgumentException("Invalid capacity request");
+        }
+        List<ServiceModel> models = models(request);
+        if ((long) models.size() * request.getScenarios() > config.getMaxCells()) {
+            throw new IllegalArgumentException("At most " + config.getMaxCells() / Math.max(1, models.size())
+                    + " scenarios can be planned for " + models.size() + " services");
+        }
+        return new CapacityPlanner(request, models, config.getMaxInstances()).run(pool);
+    }
+    
+    private List<ServiceModel> models(CapacityRequest request) {
+        Map<String, Double> demand = new HashMap<>();
+        for (ApiRoute route : apiRouteRepository.findByIsActive(true)) {
+            double perMinute = route.getRateLimit() != null && route.getRateLimit() > 0 ? route.getRateLimit() : FlowScenario.DEFAULT_ROUTE_RATE;
+            // Models work in requests per second
+            double rate = perMinute / 60;
+            demand.merge(MicroserviceService.normalizeName(route.getTargetService()), rate * request.getLoadFactor(), Double::sum);
+        }
+        List<Service> services = new ArrayList<>(serviceRepository.findAll());
+        services.sort(Comparator.comparing(Service::getId));
+        List<ServiceModel> models = new ArrayList<>(services.size());
+        for (Service service : services) {
+            ModelOverride override = request.getModels() != null ? request.getModels().get(service.getId()) : null;
+            double arrivalRate = demand.getOrDefault(MicroserviceService.normalizeName(service.getName()), 0.0);
+            double serviceTime = request.getMeanServiceTimeMillis();
+            int concurrency = request.getConcurrencyPerInstance();
+            if (override != null) {
+                arrivalRate = override.getArrivalRate() != null ? override.getArrivalRate() : arrivalRate;
+                serviceTime = override.getMeanServiceTimeMillis() != null ? override.getMeanServiceTimeMillis() : serviceTime;
+                concurrency = override.getConcurrencyPerInstance() != null ? override.getConcurrencyPerInstance() : concurrency;
+            }
+            int instances = service.getInstances() != null ? Math.max(1, service.getInstances()) : 1;
+            models.add(new ServiceModel(service.getId(), service.getName(), instances, arrivalRate, serviceTime, concurrency));
+        }
+        return models;
+    }
+}
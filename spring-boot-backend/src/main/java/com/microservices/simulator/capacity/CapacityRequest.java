@@ -0,0 +1,63 @@
+package com.microservices.simulator.capacity;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parameters of a capacity plan. A service's baseline demand is the sum of its
+ * active routes' per-minute rate limits (or {@code FlowScenario.DEFAULT_ROUTE_RATE}),
+ * converted to requests per second, times {@code loadFactor}, matching the flow
+ * simulator; {@code trafficMultiplier} scales that baseline. Every scenario draws a demand shock shared by all
+ * services, a smaller per-service one and a per-service service-time shock.
+ */
+public class CapacityRequest {
+    private double trafficMultiplier = 1.0;
+    private int scenarios = 2000;
+    private long seed = 42;
+    private double loadFactor = 0.5;
+    private double trafficSigma = 0.2;
+    private double serviceTimeSigma = 0.1;
+    private double meanServiceTimeMillis = 50;
+    private int concurrencyPerInstance = 8;
+    private double targetUtilization = 0.7;
+    private double latencySloMillis = 500;
+    // Share of scenarios the recommended instance count has to satisfy
+    private double confidence = 0.95;
+    private Map<Long, ModelOverride> models = new HashMap<>();
+    
+    public double getTrafficMultiplier() { return trafficMultiplier; }
+    public void setTrafficMultiplier(double trafficMultiplier) { this.trafficMultiplier = trafficMultiplier; }
+    
+    public int getScenarios() { return scenarios; }
+    public void setScenarios(int scenarios) { this.scenarios = scenarios; }
+    
+    public long getSeed() { return seed; }
+    public void setSeed(long seed) { this.seed = seed; }
+    
+    public double getLoadFactor() { return loadFactor; }
+    public void setLoadFactor(double loadFactor) { this.loadFactor = loadFactor; }
+    
+    public double getTrafficSigma() { return trafficSigma; }
+    public void setTrafficSigma(double trafficSigma) { this.trafficSigma = trafficSigma; }
+    
+    public double getServiceTimeSigma() { return serviceTimeSigma; }
+    public void setServiceTimeSigma(double serviceTimeSigma) { this.serviceTimeSigma = serviceTimeSigma; }
+    
+    public double getMeanServiceTimeMillis() { return meanServiceTimeMillis; }
+    public void setMeanServiceTimeMillis(double meanServiceTimeMillis) { this.meanServiceTimeMillis = meanServiceTimeMillis; }
+    
+    public int getConcurrencyPerInstance() { return concurrencyPerInstance; }
+    public void setConcurrencyPerInstance(int concurrencyPerInstance) { this.concurrencyPerInstance = concurrencyPerInstance; }
+    
+    public double getTargetUtilization() { return targetUtilization; }
+    public void setTargetUtilization(double targetUtilization) { this.targetUtilization = targetUtilization; }
+    
+    public double getLatencySloMillis() { return latencySloMillis; }
+    public void setLatencySloMillis(double latencySloMillis) { this.latencySloMillis = latencySloMillis; }
+    
+    public double getConfidence() { return confidence; }
+    public void setConfidence(double confidence) { this.confidence = confidence; }
+    
+    public Map<Long, ModelOverride> getModels() { return models; }
+    public void setModels(Map<Long, ModelOverride> models) { this.models = models; }
+}
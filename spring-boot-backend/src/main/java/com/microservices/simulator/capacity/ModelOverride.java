@@ -0,0 +1,20 @@
+package com.microservices.simulator.capacity;
+
+/**
+ * Per-service replacement for the model derived from the topology; null fields
+ * keep the derived value.
+ */
+public class ModelOverride {
+    private Double arrivalRate;
+    private Double meanServiceTimeMillis;
+    private Integer concurrencyPerInstance;
+    
+    public Double getArrivalRate() { return arrivalRate; }
+    public void setArrivalRate(Double arrivalRate) { this.arrivalRate = arrivalRate; }
+    
+    public Double getMeanServiceTimeMillis() { return meanServiceTimeMillis; }
+    public void setMeanServiceTimeMillis(Double meanServiceTimeMillis) { this.meanServiceTimeMillis = meanServiceTimeMillis; }
+    
+    public Integer getConcurrencyPerInstance() { return concurrencyPerInstance; }
+    public void setConcurrencyPerInstance(Integer concurrencyPerInstance) { this.concurrencyPerInstance = concurrencyPerInstance; }
+}
@@ -0,0 +1,37 @@
+package com.microservices.simulator.capacity;
+
+/**
+ * M/M/c formulas. {@code load} is the offered load in erlangs (arrival rate times
+ * mean service time), {@code servers} the number of parallel servers.
+ */
+final class Queueing {
+    
+    private Queueing() {}
+    
+    /** Probability that an arriving request has to wait, via the numerically stable Erlang B recursion. */
+    static double erlangC(int servers, double load) {
+        if (load >= servers) {
+            return 1;
+        }
+        double b = 1;
+        for (int k = 1; k <= servers; k++) {
+            b = load * b / (k + load * b);
+        }
+        return servers * b / (servers - load * (1 - b));
+    }
+    
+    /**
+     * Response time at quantile {@code q}, taken as the waiting-time quantile plus
+     * the exponential service-time quantile. Adding quantiles overestimates the
+     * true one, which errs on the side of more capacity.
+     */
+    static double responseQuantile(int servers, double load, double meanServiceTime, double q) {
+        if (load >= servers) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double tail = 1 - q;
+        double waiting = erlangC(servers, load);
+        double wait = waiting > tail ? meanServiceTime / (servers - load) * Math.log(waiting / tail) : 0;
+        return wait + meanServiceTime * Math.log(1 / tail);
+    }
+}
@@ -0,0 +1,53 @@
+package com.microservices.simulator.capacity;
+
+/**
+ * Planned capacity of one service. Utilization and latency figures are
+ * percentiles over the scenarios at the current instance count; latency is null
+ * where the service is saturated in that share of scenarios.
+ */
+public class ServiceCapacity {
+    private Long serviceId;
+    private String name;
+    private int currentInstances;
+    private double arrivalRate;
+    private double utilizationP50;
+    private double utilizationP95;
+    private double saturationProbability;
+    private Double p99LatencyP50;
+    private Double p99LatencyP95;
+    private int recommendedInstances;
+    private boolean capped;
+    
+    public Long getServiceId() { return serviceId; }
+    public void setServiceId(Long serviceId) { this.serviceId = serviceId; }
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public int getCurrentInstances() { return currentInstances; }
+    public void setCurrentInstances(int currentInstances) { this.currentInstances = currentInstances; }
+    
+    public double getArrivalRate() { return arrivalRate; }
+    public void setArrivalRate(double arrivalRate) { this.arrivalRate = arrivalRate; }
+    
+    public double getUtilizationP50() { return utilizationP50; }
+    public void setUtilizationP50(double utilizationP50) { this.utilizationP50 = utilizationP50; }
+    
+    public double getUtilizationP95() { return utilizationP95; }
+    public void setUtilizationP95(double utilizationP95) { this.utilizationP95 = utilizationP95; }
+    
+    public double getSaturationProbability() { return saturationProbability; }
+    public void setSaturationProbability(double saturationProbability) { this.saturationProbability = saturationProbability; }
+    
+    public Double getP99LatencyP50() { return p99LatencyP50; }
+    public void setP99LatencyP50(Double p99LatencyP50) { this.p99LatencyP50 = p99LatencyP50; }
+    
+    public Double getP99LatencyP95() { return p99LatencyP95; }
+    public void setP99LatencyP95(Double p99LatencyP95) { this.p99LatencyP95 = p99LatencyP95; }
+    
+    public int getRecommendedInstances() { return recommendedInstances; }
+    public void setRecommendedInstances(int recommendedInstances) { this.recommendedInstances = recommendedInstances; }
+    
+    public boolean isCapped() { return capped; }
+    public void setCapped(boolean capped) { this.capped = capped; }
+}
@@ -0,0 +1,9 @@
+package com.microservices.simulator.capacity;
+
+/**
+ * Demand and service-time model of one service. Each instance serves
+ * {@code concurrencyPerInstance} requests at a time.
+ */
+public record ServiceModel(long serviceId, String name, int instances, double arrivalRate,
+                           double meanServiceTimeMillis, int concurrencyPerInstance) {
+}
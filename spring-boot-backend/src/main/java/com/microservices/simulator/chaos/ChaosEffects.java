@@ -0,0 +1,50 @@
+package com.microservices.simulator.chaos;
+
+/**
+ * Faults in effect for one service during one tick, or for one gateway request.
+ * Each simulation shard owns a single instance and {@link ChaosMatrix#apply}
+ * resets and refills it, so evaluating chaos allocates nothing.
+ */
+public final class ChaosEffects {
+    
+    private double extraLatency;
+    private double errorRate;
+    private double crashedFraction;
+    private double droppedFraction;
+    private int fired;
+    
+    void reset() {
+        extraLatency = 0;
+        errorRate = 0;
+        crashedFraction = 0;
+        droppedFraction = 0;
+        fired = 0;
+    }
+    
+    void addLatency(double millis) {
+        extraLatency += millis;
+        fired++;
+    }
+    
+    // Independent error sources combine as 1 - (1 - a)(1 - b)
+    void addErrors(double rate) {
+        errorRate = 1 - (1 - errorRate) * (1 - rate);
+        fired++;
+    }
+    
+    void crash(double fraction) {
+        crashedFraction = Math.max(crashedFraction, fraction);
+        fired++;
+    }
+    
+    void drop(double fraction) {
+        droppedFraction = 1 - (1 - droppedFraction) * (1 - fraction);
+        fired++;
+    }
+    
+    public boolean any() { return fired > 0; }
+    public double extraLatency() { return extraLatency; }
+    public double errorRate() { return errorRate; }
+    public double crashedFraction() { return crashedFraction; }
+    public double droppedFraction() { return droppedFraction; }
+}
@@ -0,0 +1,177 @@
+package com.microservices.simulator.chaos;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Compiled, immutable form of the enabled chaos rules, laid out as parallel
+ * arrays sorted by target id: a service id for the simulation's matrix, a route
+ * id for the gateway's. Rules that hit every target come first. A lookup is a
+ * binary search followed by a scan over that target's rules, with no allocation,
+ * so it can run for every service in every simulation tick.
+ * A changed rule set replaces the whole matrix.
+ */
+public final class ChaosMatrix {
+    
+    public static final byte LATENCY = 0;
+    public static final byte ERRORS = 1;
+    public static final byte CRASH = 2;
+    public static final byte PARTITION = 3;
+    
+    static final ChaosMatrix EMPTY = new Builder().build();
+    
+    private static final long ALL_SERVICES = Long.MIN_VALUE;
+    
+    private final long[] keys;
+    private final long[] ruleIds;
+    private final byte[] types;
+    private final double[] magnitudes;
+    private final double[] probabilities;
+    private final long[] starts;
+    private final long[] durations;
+    private final long[] periods;
+    private final String[] labels;
+    private final int globalCount;
+    
+    private ChaosMatrix(List<Entry> entries) {
+        int size = entries.size();
+        keys = new long[size];
+        ruleIds = new long[size];
+        types = new byte[size];
+        magnitudes = new double[size];
+        probabilities = new double[size];
+        starts = new long[size];
+        durations = new long[size];
+        periods = new long[size];
+        labels = new String[size];
+        int globals = 0;
+        for (int j = 0; j < size; j++) {
+            Entry e = entries.get(j);
+            keys[j] = e.serviceId != null ? e.serviceId : ALL_SERVICES;
+            ruleIds[j] = e.ruleId;
+            types[j] = e.type;
+            magnitudes[j] = e.magnitude;
+            probabilities[j] = e.probability;
+            starts[j] = e.startMillis;
+            durations[j] = e.durationMillis;
+            periods[j] = e.periodMillis;
+            labels[j] = e.label;
+            if (keys[j] == ALL_SERVICES) {
+                globals++;
+            }
+        }
+        globalCount = globals;
+    }
+    
+    public int size() {
+        return keys.length;
+    }
+    
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+    
+    /** Fills {@code effects} with the faults that fire for the target at {@code now}. */
+    public void apply(long targetId, long now, SplittableRandom random, ChaosEffects effects) {
+        effects.reset();
+        for (int j = 0; j < globalCount; j++) {
+            fire(j, now, random, effects);
+        }
+        for (int j = lowerBound(targetId); j < keys.length && keys[j] == targetId; j++) {
+            fire(j, now, random, effects);
+        }
+    }
+    
+    /**
+     * A rule is active from its start for {@code duration} (or indefinitely when
+     * there is none), repeating every {@code period} when one is set.
+     */
+    public boolean isActive(int j, long now) {
+        long elapsed = now - starts[j];
+        if (elapsed < 0) {
+            return false;
+        }
+        if (durations[j] <= 0) {
+            return true;
+        }
+        if (periods[j] > 0) {
+            elapsed %= periods[j];
+        }
+        return elapsed < durations[j];
+    }
+    
+    public long ruleId(int j) {
+        return ruleIds[j];
+    }
+    
+    /** Target service of entry {@code j}, or null when it applies to every service. */
+    public Long serviceId(int j) {
+        return keys[j] == ALL_SERVICES ? null : keys[j];
+    }
+    
+    public String label(int j) {
+        return labels[j];
+    }
+    
+    private void fire(int j, long now, SplittableRandom random, ChaosEffects effects) {
+        if (!isActive(j, now)) {
+            return;
+        }
+        if (probabilities[j] < 1 && random.nextDouble() >= probabilities[j]) {
+            return;
+        }
+        switch (types[j]) {
+            case LATENCY:
+                effects.addLatency(magnitudes[j]);
+                break;
+            case ERRORS:
+                effects.addErrors(magnitudes[j]);
+                break;
+            case CRASH:
+                effects.crash(magnitudes[j]);
+                break;
+            case PARTITION:
+                effects.drop(magnitudes[j]);
+                break;
+            default:
+                break;
+        }
+    }
+    
+    private int lowerBound(long targetId) {
+        int low = globalCount;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < targetId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    public static final class Builder {
+        private final List<Entry> entries = new ArrayList<>();
+        
+        public Builder add(long ruleId, Long serviceId, byte type, double magnitude, double probability,
+                           long startMillis, long durationMillis, long periodMillis, String label) {
+            entries.add(new Entry(ruleId, serviceId, type, magnitude, probability, startMillis, durationMillis, periodMillis, label));
+            return this;
+        }
+        
+        public ChaosMatrix build() {
+            List<Entry> sorted = new ArrayList<>(entries);
+            sorted.sort(Comparator.comparingLong((Entry e) -> e.serviceId != null ? e.serviceId : ALL_SERVICES)
+                    .thenComparingLong(e -> e.ruleId));
+            return new ChaosMatrix(sorted);
+        }
+    }
+    
+    private record Entry(long ruleId, Long serviceId, byte type, double magnitude, double probability,
+                         long startMillis, long durationMillis, long periodMillis, String label) {
+    }
+}
@@ -0,0 +1,256 @@
+package com.microservices.simulator.chaos;
+
+import com.microservices.simulator.config.ChaosConfig;
+import com.microservices.simulator.entity.Activity;
+import com.microservices.simulator.entity.ApiRoute;
+import com.microservices.simulator.entity.ChaosRule;
+import com.microservices.simulator.entity.Service;
+import com.microservices.simulator.metrics.MetricStore;
+import com.microservices.simulator.repository.ApiRouteRepository;
+import com.microservices.simulator.repository.ChaosRuleRepository;
+import com.microservices.simulator.repository.ServiceRepository;
+import com.microservices.simulator.service.ActivityService;
+import com.microservices.simulator.service.MicroserviceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Stores chaos rules and compiles the enabled ones into the {@link ChaosMatrix}
+ * the simulation engine reads every tick. Route rules are folded onto the
+ * service the route targets, scaled by the route's share of that service's
+ * active routes; a crash cannot target a route. Route rules are also compiled,
+ * at full magnitude, into a second matrix keyed by route id that the gateway
+ * proxy applies to live requests. Start and end of each rule's window are
+ * recorded as "chaos" activities, including the end of a rule that was
+ * disabled or deleted while active.
+ */
+@Component
+public class ChaosService {
+    
+    private static final Logger log = LoggerFactory.getLogger(ChaosService.class);
+    private static final Map<String, Byte> FAULT_TYPES = Map.of(
+            "latency", ChaosMatrix.LATENCY,
+            "errors", ChaosMatrix.ERRORS,
+            "crash", ChaosMatrix.CRASH,
+            "partition", ChaosMatrix.PARTITION);
+    
+    @Autowired
+    private ChaosConfig config;
+    
+    @Autowired
+    private ChaosRuleRepository chaosRuleRepository;
+    
+    @Autowired
+    private ApiRouteRepository apiRouteRepository;
+    
+    @Autowired
+    private ServiceRepository serviceRepository;
+    
+    @Autowired
+    private ActivityService activityService;
+    
+    private volatile ChaosMatrix matrix = ChaosMatrix.EMPTY;
+    private volatile ChaosMatrix routeMatrix = ChaosMatrix.EMPTY;
+    // Rules seen active by the last watch, keyed by rule id, so an end can be reported after the rule is gone
+    private final Map<Long, ActiveRule> active = new HashMap<>();
+    
+    /** The current rule set; empty while chaos is disabled. */
+    public ChaosMatrix getMatrix() {
+        return config.isEnabled() ? matrix : ChaosMatrix.EMPTY;
+    }
+    
+    /** Route rules keyed by route id rather than service id; empty while chaos is disabled. */
+    public ChaosMatrix getRouteMatrix() {
+        return config.isEnabled() ? routeMatrix : ChaosMatrix.EMPTY;
+    }
+    
+    public List<ChaosRule> getRules() {
+        return chaosRuleRepository.findAll();
+    }
+    
+    public Optional<ChaosRule> getRule(Long id) {
+        return chaosRuleRepository.findById(id);
+    }
+    
+    public ChaosRule createRule(ChaosRule rule) {
+        validate(rule);
+        ChaosRule saved = chaosRuleRepository.save(rule);
+        compile();
+        return saved;
+    }
+    
+    public ChaosRule updateRule(Long id, ChaosRule details) {
+        ChaosRule rule = chaosRuleRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Chaos rule not found with id: " + id));
+        validate(details);
+        rule.setName(details.getName());
+        rule.setFaultType(details.getFaultType());
+        rule.setTargetType(details.getTargetType());
+        rule.setTargetId(details.getTargetId());
+        rule.setMagnitude(details.getMagnitude());
+        rule.setProbability(details.getProbability());
+        rule.setStartAt(details.getStartAt());
+        rule.setDurationSeconds(details.getDurationSeconds());
+        rule.setRepeatEverySeconds(details.getRepeatEverySeconds());
+        rule.setEnabled(details.getEnabled());
+        ChaosRule saved = chaosRuleRepository.save(rule);
+        compile();
+        return saved;
+    }
+    
+    public void deleteRule(Long id) {
+        chaosRuleRepository.deleteById(id);
+        compile();
+    }
+    
+    public List<Long> getActiveRuleIds() {
+        synchronized (active) {
+            return new ArrayList<>(active.keySet());
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${simulator.chaos.refresh-interval:PT1M}")
+    public synchronized void compile() {
+        List<ChaosRule> rules = chaosRuleRepository.findByEnabledTrue();
+        if (rules.isEmpty()) {
+            matrix = ChaosMatrix.EMPTY;
+            routeMatrix = ChaosMatrix.EMPTY;
+            return;
+        }
+        Map<String, Service> servicesByName = new HashMap<>();
+        for (Service service : serviceRepository.findAll()) {
+            servicesByName.putIfAbsent(MicroserviceService.normalizeName(service.getName()), service);
+        }
+        Map<Long, ApiRoute> routes = new HashMap<>();
+        Map<String, Integer> routesPerTarget = new HashMap<>();
+        for (ApiRoute route : apiRouteRepository.findByIsActive(true)) {
+            routes.put(route.getId(), route);
+            routesPerTarget.merge(MicroserviceService.normalizeName(route.getTargetService()), 1, Integer::sum);
+        }
+        
+        ChaosMatrix.Builder builder = new ChaosMatrix.Builder();
+        ChaosMatrix.Builder routeBuilder = new ChaosMatrix.Builder();
+        for (ChaosRule rule : rules) {
+            byte type = FAULT_TYPES.get(rule.getFaultType());
+            Long serviceId = rule.getTargetId();
+            double magnitude = rule.getMagnitude();
+            String target;
+            if ("route".equals(rule.getTargetType())) {
+                ApiRoute route = routes.get(rule.getTargetId());
+                String name = route != null ? MicroserviceService.normalizeName(route.getTargetService()) : null;
+                Service service = name != null ? servicesByName.get(name) : null;
+                if (service == null) {
+                    continue;
+                }
+                serviceId = service.getId();
+                magnitude *= 1.0 / routesPerTarget.get(name);
+                target = route.getMethod() + " " + route.getPath() + " on " + service.getName();
+            } else {
+                target = serviceId != null ? "service " + serviceId : "all services";
+            }
+            long start = rule.getStartAt() != null ? MetricStore.toEpochMillis(rule.getStartAt()) : 0;
+            long duration = rule.getDurationSeconds() != null ? rule.getDurationSeconds() * 1000L : 0;
+            long period = rule.getRepeatEverySeconds() != null ? rule.getRepeatEverySeconds() * 1000L : 0;
+            double probability = rule.getProbability() != null ? rule.getProbability() : 1.0;
+            String label = "'" + rule.getName() + "' (" + describe(rule) + " on " + target + ")";
+            builder.add(rule.getId(), serviceId, type, magnitude, probability, start, duration, period, label);
+            if ("route".equals(rule.getTargetType())) {
+                routeBuilder.add(rule.getId(), rule.getTargetId(), type, rule.getMagnitude(), probability,
+                        start, duration, period, label);
+            }
+        }
+        matrix = builder.build();
+        routeMatrix = routeBuilder.build();
+        log.debug("Compiled {} chaos rules, {} on routes", matrix.size(), routeMatrix.size());
+    }
+    
+    @Scheduled(fixedDelayString = "${simulator.chaos.watch-interval:PT1S}")
+    public void watch() {
+        ChaosMatrix current = getMatrix();
+        long now = System.currentTimeMillis();
+        Map<Long, ActiveRule> nowActive = new HashMap<>();
+        List<Activity> events = new ArrayList<>();
+        synchronized (active) {
+            for (int j = 0; j < current.size(); j++) {
+                long ruleId = current.ruleId(j);
+                if (current.isActive(j, now)) {
+                    nowActive.put(ruleId, new ActiveRule(current.serviceId(j), current.label(j)));
+                    if (!active.containsKey(ruleId)) {
+                        events.add(activity(current.serviceId(j), "warning", "Chaos rule " + current.label(j) + " started"));
+                    }
+                }
+            }
+            // Covers windows that closed as well as rules disabled, deleted or dropped from the matrix
+            active.forEach((ruleId, rule) -> {
+                if (!nowActive.containsKey(ruleId)) {
+                    events.add(activity(rule.serviceId(), "info", "Chaos rule " + rule.label() + " ended"));
+                }
+            });
+            active.clear();
+            active.putAll(nowActive);
+        }
+        events.forEach(activityService::createActivity);
+    }
+    
+    private record ActiveRule(Long serviceId, String label) {
+    }
+    
+    private static Activity activity(Long serviceId, String severity, String message) {
+        Activity activity = new Activity("chaos", message);
+        activity.setServiceId(serviceId);
+        activity.setSeverity(severity);
+        return activity;
+    }
+    
+    private static String describe(ChaosRule rule) {
+        return switch (rule.getFaultType()) {
+            case "latency" -> String.format(Locale.ROOT, "+%.0fms latency", rule.getMagnitude());
+            case "errors" -> String.format(Locale.ROOT, "%.0f%% errors", rule.getMagnitude() * 100);
+            case "crash" -> String.format(Locale.ROOT, "%.0f%% of instances crashed", rule.getMagnitude() * 100);
+            default -> String.format(Locale.ROOT, "%.0f%% of requests partitioned", rule.getMagnitude() * 100);
+        };
+    }
+    
+    private void validate(ChaosRule rule) {
+        if (!FAULT_TYPES.containsKey(rule.getFaultType())) {
+            throw new IllegalArgumentException("Fault type must be one of " + FAULT_TYPES.keySet());
+        }
+        if (rule.getTargetType() == null) {
+            rule.setTargetType("service");
+        }
+        if ("route".equals(rule.getTargetType())) {
+            if (rule.getTargetId() == null || apiRouteRepository.findById(rule.getTargetId()).isEmpty()) {
+                throw new IllegalArgumentException("Route rules need an existing targetId");
+            }
+            if ("crash".equals(rule.getFaultType())) {
+                throw new IllegalArgumentException("Crashes target services, not routes");
+            }
+        } else if (!"service".equals(rule.getTargetType())) {
+            throw new IllegalArgumentException("Target type must be service or route");
+        }
+        double magnitude = rule.getMagnitude() != null ? rule.getMagnitude() : -1;
+        if (magnitude < 0 || (!"latency".equals(rule.getFaultType()) && magnitude > 1)) {
+            throw new IllegalArgumentException("Magnitude must be milliseconds for latency and a fraction otherwise");
+        }
+        if (rule.getProbability() != null && (rule.getProbability() <= 0 || rule.getProbability() > 1)) {
+            throw new IllegalArgumentException("Probability must be in (0, 1]");
+        }
+        if (rule.getRepeatEverySeconds() != null && (rule.getDurationSeconds() == null
+                || rule.getRepeatEverySeconds() < rule.getDurationSeconds())) {
+            throw new IllegalArgumentException("A repeating rule needs a duration no longer than its period");
+        }
+        if (rule.getEnabled() == null) {
+            rule.setEnabled(true);
+        }
+    }
+}
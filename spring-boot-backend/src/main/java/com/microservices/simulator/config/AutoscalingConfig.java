@@ -0,0 +1,35 @@
+package com.microservices.simulator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "simulator.autoscaling")
+public class AutoscalingConfig {
+    
+    private boolean enabled = true;
+    private Duration evaluationInterval = Duration.ofSeconds(15);
+    // Metrics are averaged over this window, kept as buckets of bucket-width
+    private Duration window = Duration.ofMinutes(2);
+    private Duration bucketWidth = Duration.ofSeconds(10);
+    // Target tracking ignores deviations from the target smaller than this fraction
+    private double tolerance = 0.1;
+    
+    // Getters and setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    
+    public Duration getEvaluationInterval() { return evaluationInterval; }
+    public void setEvaluationInterval(Duration evaluationInterval) { this.evaluationInterval = evaluationInterval; }
+    
+    public Duration getWindow() { return window; }
+    public void setWindow(Duration window) { this.window = window; }
+    
+    public Duration getBucketWidth() { return bucketWidth; }
+    public void setBucketWidth(Duration bucketWidth) { this.bucketWidth = bucketWidth; }
+    
+    public double getTolerance() { return tolerance; }
+    public void setTolerance(double tolerance) { this.tolerance = tolerance; }
+}
@@ -0,0 +1,19 @@
+package com.microservices.simulator.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// Caching advice wraps the transaction advice, so evictions on @Transactional
+// methods run after commit and a concurrent read cannot re-cache the old row.
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+    
+    // Keep in sync with spring.cache.cache-names so Boot binds hit/miss metrics at startup
+    public static final String SERVICES = "services";
+    public static final String SERVICE = "service";
+    public static final String ROUTES = "routes";
+    public static final String ACTIVE_ROUTES = "activeRoutes";
+    public static final String ROUTE = "route";
+}
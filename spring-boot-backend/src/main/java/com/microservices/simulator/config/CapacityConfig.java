@@ -0,0 +1,29 @@
+package com.microservices.simulator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "simulator.capacity")
+public class CapacityConfig {
+    
+    // Threads in the planner's own pool; 0 means one per available core
+    private int parallelism = 0;
+    private int maxScenarios = 100000;
+    // Services x scenarios per plan; each cell holds 20 bytes of working arrays, so the default is about 100 MB
+    private long maxCells = 5_000_000;
+    private int maxInstances = 1000;
+    
+    // Getters and setters
+    public int getParallelism() { return parallelism; }
+    public void setParallelism(int parallelism) { this.parallelism = parallelism; }
+    
+    public int getMaxScenarios() { return maxScenarios; }
+    public void setMaxScenarios(int maxScenarios) { this.maxScenarios = maxScenarios; }
+    
+    public long getMaxCells() { return maxCells; }
+    public void setMaxCells(long maxCells) { this.maxCells = maxCells; }
+    
+    public int getMaxInstances() { return maxInstances; }
+    public void setMaxInstances(int maxInstances) { this.maxInstances = maxInstances; }
+}
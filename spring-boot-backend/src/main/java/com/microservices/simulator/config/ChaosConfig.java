@@ -0,0 +1,27 @@
+package com.microservices.simulator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "simulator.chaos")
+public class ChaosConfig {
+    
+    private boolean enabled = true;
+    // How often rule windows are checked for start/end activities
+    private Duration watchInterval = Duration.ofSeconds(1);
+    // Recompiles rules so route targets follow renamed services and routes
+    private Duration refreshInterval = Duration.ofMinutes(1);
+    
+    // Getters and setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    
+    public Duration getWatchInterval() { return watchInterval; }
+    public void setWatchInterval(Duration watchInterval) { this.watchInterval = watchInterval; }
+    
+    public Duration getRefreshInterval() { return refreshInterval; }
+    public void setRefreshInterval(Duration refreshInterval) { this.refreshInterval = refreshInterval; }
+}
@@ -0,0 +1,54 @@
+package com.microservices.simulator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "simulator.deployments")
+public class DeploymentEngineConfig {
+    
+    private boolean enabled = true;
+    private Duration tickInterval = Duration.ofSeconds(5);
+    // Instances replaced per tick by a rolling deployment
+    private int rollingBatchSize = 1;
+    // Traffic weights a canary walks through; the last one must be 100
+    private List<Integer> canarySteps = new ArrayList<>(List.of(5, 25, 50, 100));
+    private Duration canaryStepHold = Duration.ofSeconds(30);
+    // Provisioning progress per tick before a blue-green cut-over
+    private int blueGreenStep = 30;
+    private Duration analysisWindow = Duration.ofMinutes(1);
+    private double maxErrorRate = 0.05;
+    private double maxResponseTime = 1000.0;
+    
+    // Getters and setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    
+    public Duration getTickInterval() { return tickInterval; }
+    public void setTickInterval(Duration tickInterval) { this.tickInterval = tickInterval; }
+    
+    public int getRollingBatchSize() { return rollingBatchSize; }
+    public void setRollingBatchSize(int rollingBatchSize) { this.rollingBatchSize = rollingBatchSize; }
+    
+    public List<Integer> getCanarySteps() { return canarySteps; }
+    public void setCanarySteps(List<Integer> canarySteps) { this.canarySteps = canarySteps; }
+    
+    public Duration getCanaryStepHold() { return canaryStepHold; }
+    public void setCanaryStepHold(Duration canaryStepHold) { this.canaryStepHold = canaryStepHold; }
+    
+    public int getBlueGreenStep() { return blueGreenStep; }
+    public void setBlueGreenStep(int blueGreenStep) { this.blueGreenStep = blueGreenStep; }
+    
+    public Duration getAnalysisWindow() { return analysisWindow; }
+    public void setAnalysisWindow(Duration analysisWindow) { this.analysisWindow = analysisWindow; }
+    
+    public double getMaxErrorRate() { return maxErrorRate; }
+    public void setMaxErrorRate(double maxErrorRate) { this.maxErrorRate = maxErrorRate; }
+    
+    public double getMaxResponseTime() { return maxResponseTime; }
+    public void setMaxResponseTime(double maxResponseTime) { this.maxResponseTime = maxResponseTime; }
+}
@@ -0,0 +1,88 @@
+package com.microservices.simulator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Configuration
+@ConfigurationProperties(prefix = "simulator.gateway")
+public class GatewayConfig {
+    
+    // Requests under this prefix are matched against the api_routes table
+    private String pathPrefix = "/gateway";
+    // Upstream of a route is http://<upstreamHost>:<port of its target service> unless overridden below
+    private String upstreamHost = "localhost";
+    // Base URL per target service name, e.g. user-service: http://users.internal:8080
+    private Map<String, String> upstreams = new LinkedHashMap<>();
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    // Used for routes without a timeout of their own
+    private Duration defaultTimeout = Duration.ofSeconds(30);
+    // Request bodies are buffered before forwarding; larger ones are answered with 413
+    private int maxRequestBodyBytes = 10 * 1024 * 1024;
+    private boolean rateLimitEnabled = true;
+    // Burst allowance as seconds of the per-minute ApiRoute.rateLimit; the flow simulator assumes 1
+    private double burstSeconds = 1.0;
+    // When set and present on a request, each client gets its own bucket per route on top of the route's
+    private String clientKeyHeader = "X-Client-Id";
+    // Share of ApiRoute.rateLimit one client may use
+    private double clientRateShare = 0.5;
+    // Client buckets kept per route; further clients are held to the route limit alone
+    private int maxClientsPerRoute = 10000;
+    // Client buckets that have fully refilled are dropped on this interval
+    private Duration idleSweepInterval = Duration.ofMinutes(1);
+    // Size bound for route caches whose ApiRoute.cacheMaxEntries is unset
+    private int cacheDefaultMaxEntries = 1000;
+    // Memory bound of each route's cache, by CachedResponse.weight()
+    private long cacheMaxBytesPerRoute = 64L * 1024 * 1024;
+    // Larger responses are passed through but never cached
+    private int cacheMaxBodyBytes = 1024 * 1024;
+    
+    // Getters and setters
+    public String getPathPrefix() { return pathPrefix; }
+    public void setPathPrefix(String pathPrefix) { this.pathPrefix = pathPrefix; }
+    
+    public String getUpstreamHost() { return upstreamHost; }
+    public void setUpstreamHost(String upstreamHost) { this.upstreamHost = upstreamHost; }
+    
+    public Map<String, String> getUpstreams() { return upstreams; }
+    public void setUpstreams(Map<String, String> upstreams) { this.upstreams = upstreams; }
+    
+    public Duration getConnectTimeout() { return connectTimeout; }
+    public void setConnectTimeout(Duration connectTimeout) { this.connectTimeout = connectTimeout; }
+    
+    public Duration getDefaultTimeout() { return defaultTimeout; }
+    public void setDefaultTimeout(Duration defaultTimeout) { this.defaultTimeout = defaultTimeout; }
+    
+    public int getMaxRequestBodyBytes() { return maxRequestBodyBytes; }
+    public void setMaxRequestBodyBytes(int maxRequestBodyBytes) { this.maxRequestBodyBytes = maxRequestBodyBytes; }
+    
+    public boolean isRateLimitEnabled() { return rateLimitEnabled; }
+    public void setRateLimitEnabled(boolean rateLimitEnabled) { this.rateLimitEnabled = rateLimitEnabled; }
+    
+    public double getBurstSeconds() { return burstSeconds; }
+    public void setBurstSeconds(double burstSeconds) { this.burstSeconds = burstSeconds; }
+    
+    public String getClientKeyHeader() { return clientKeyHeader; }
+    public void setClientKeyHeader(String clientKeyHeader) { this.clientKeyHeader = clientKeyHeader; }
+    
+    public double getClientRateShare() { return clientRateShare; }
+    public void setClientRateShare(double clientRateShare) { this.clientRateShare = clientRateShare; }
+    
+    public int getMaxClientsPerRoute() { return maxClientsPerRoute; }
+    public void setMaxClientsPerRoute(int maxClientsPerRoute) { this.maxClientsPerRoute = maxClientsPerRoute; }
+    
+    public Duration getIdleSweepInterval() { return idleSweepInterval; }
+    public void setIdleSweepInterval(Duration idleSweepInterval) { this.idleSweepInterval = idleSweepInterval; }
+    
+    public int getCacheDefaultMaxEntries() { return cacheDefaultMaxEntries; }
+    public void setCacheDefaultMaxEntries(int cacheDefaultMaxEntries) { this.cacheDefaultMaxEntries = cacheDefaultMaxEntries; }
+    
+    public long getCacheMaxBytesPerRoute() { return cacheMaxBytesPerRoute; }
+    public void setCacheMaxBytesPerRoute(long cacheMaxBytesPerRoute) { this.cacheMaxBytesPerRoute = cacheMaxBytesPerRoute; }
+    
+    public int getCacheMaxBodyBytes() { return cacheMaxBodyBytes; }
+    public void setCacheMaxBodyBytes(int cacheMaxBodyBytes) { this.cacheMaxBodyBytes = cacheMaxBodyBytes; }
+}
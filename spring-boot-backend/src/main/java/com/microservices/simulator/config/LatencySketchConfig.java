@@ -0,0 +1,35 @@
+package com.microservices.simulator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "simulator.metrics.percentiles")
+public class LatencySketchConfig {
+    
+    private Duration slotWidth = Duration.ofMinutes(1);
+    private int slots = 60;
+    private int significantDigits = 2;
+    // Latencies above this are recorded as this value; it fixes the size of every histogram
+    private Duration maxLatency = Duration.ofMinutes(1);
+    private DataSize memoryBudget = DataSize.ofMegabytes(64);
+    
+    // Getters and setters
+    public Duration getSlotWidth() { return slotWidth; }
+    public void setSlotWidth(Duration slotWidth) { this.slotWidth = slotWidth; }
+    
+    public int getSlots() { return slots; }
+    public void setSlots(int slots) { this.slots = slots; }
+    
+    public int getSignificantDigits() { return significantDigits; }
+    public void setSignificantDigits(int significantDigits) { this.significantDigits = significantDigits; }
+    
+    public Duration getMaxLatency() { return maxLatency; }
+    public void setMaxLatency(Duration maxLatency) { this.maxLatency = maxLatency; }
+    
+    public DataSize getMemoryBudget() { return memoryBudget; }
+    public void setMemoryBudget(DataSize memoryBudget) { this.memoryBudget = memoryBudget; }
+}
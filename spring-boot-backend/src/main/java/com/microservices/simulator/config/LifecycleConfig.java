@@ -0,0 +1,47 @@
+package com.microservices.simulator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "simulator.lifecycle")
+public class LifecycleConfig {
+    
+    private int threads = 4;
+    // Transitions admitted but not yet completed; beyond this requests are rejected
+    private int maxPending = 2000;
+    private int maxBulkSize = 1000;
+    private Duration startDuration = Duration.ofSeconds(2);
+    private Duration stopDuration = Duration.ofSeconds(1);
+    private double startFailureRate = 0.0;
+    // Transitional rows older than their step plus this grace are completed by the recovery sweep
+    private Duration recoveryGrace = Duration.ofSeconds(30);
+    private Duration recoveryInterval = Duration.ofMinutes(1);
+    
+    // Getters and setters
+    public int getThreads() { return threads; }
+    public void setThreads(int threads) { this.threads = threads; }
+    
+    public int getMaxPending() { return maxPending; }
+    public void setMaxPending(int maxPending) { this.maxPending = maxPending; }
+    
+    public int getMaxBulkSize() { return maxBulkSize; }
+    public void setMaxBulkSize(int maxBulkSize) { this.maxBulkSize = maxBulkSize; }
+    
+    public Duration getStartDuration() { return startDuration; }
+    public void setStartDuration(Duration startDuration) { this.startDuration = startDuration; }
+    
+    public Duration getStopDuration() { return stopDuration; }
+    public void setStopDuration(Duration stopDuration) { this.stopDuration = stopDuration; }
+    
+    public double getStartFailureRate() { return startFailureRate; }
+    public void setStartFailureRate(double startFailureRate) { this.startFailureRate = startFailureRate; }
+    
+    public Duration getRecoveryGrace() { return recoveryGrace; }
+    public void setRecoveryGrace(Duration recoveryGrace) { this.recoveryGrace = recoveryGrace; }
+    
+    public Duration getRecoveryInterval() { return recoveryInterval; }
+    public void setRecoveryInterval(Duration recoveryInterval) { this.recoveryInterval = recoveryInterval; }
+}
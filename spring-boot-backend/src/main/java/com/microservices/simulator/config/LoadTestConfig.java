@@ -0,0 +1,45 @@
+package com.microservices.simulator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "simulator.loadtest")
+public class LoadTestConfig {
+    
+    private String targetBaseUrl = "http://localhost:8080";
+    private double defaultRps = 50;
+    private int defaultDurationSeconds = 30;
+    private int maxDurationSeconds = 600;
+    private int clientThreads = 4;
+    private Duration requestTimeout = Duration.ofSeconds(10);
+    private int maxInFlight = 10000;
+    private int keepRuns = 20;
+    
+    // Getters and setters
+    public String getTargetBaseUrl() { return targetBaseUrl; }
+    public void setTargetBaseUrl(String targetBaseUrl) { this.targetBaseUrl = targetBaseUrl; }
+    
+    public double getDefaultRps() { return defaultRps; }
+    public void setDefaultRps(double defaultRps) { this.defaultRps = defaultRps; }
+    
+    public int getDefaultDurationSeconds() { return defaultDurationSeconds; }
+    public void setDefaultDurationSeconds(int defaultDurationSeconds) { this.defaultDurationSeconds = defaultDurationSeconds; }
+    
+    public int getMaxDurationSeconds() { return maxDurationSeconds; }
+    public void setMaxDurationSeconds(int maxDurationSeconds) { this.maxDurationSeconds = maxDurationSeconds; }
+    
+    public int getClientThreads() { return clientThreads; }
+    public void setClientThreads(int clientThreads) { this.clientThreads = clientThreads; }
+    
+    public Duration getRequestTimeout() { return requestTimeout; }
+    public void setRequestTimeout(Duration requestTimeout) { this.requestTimeout = requestTimeout; }
+    
+    public int getMaxInFlight() { return maxInFlight; }
+    public void setMaxInFlight(int maxInFlight) { this.maxInFlight = maxInFlight; }
+    
+    public int getKeepRuns() { return keepRuns; }
+    public void setKeepRuns(int keepRuns) { this.keepRuns = keepRuns; }
+}
@@ -0,0 +1,26 @@
+package com.microservices.simulator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "simulator.metrics.compression")
+public class MetricCompressionConfig {
+    
+    private boolean enabled = true;
+    private Duration window = Duration.ofHours(1);
+    // Windows are sealed once their end is older than this, leaving room for late samples
+    private Duration sealAfter = Duration.ofHours(2);
+    
+    // Getters and setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    
+    public Duration getWindow() { return window; }
+    public void setWindow(Duration window) { this.window = window; }
+    
+    public Duration getSealAfter() { return sealAfter; }
+    public void setSealAfter(Duration sealAfter) { this.sealAfter = sealAfter; }
+}
@@ -0,0 +1,38 @@
+package com.microservices.simulator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "simulator.metrics.store")
+public class MetricStoreConfig {
+    
+    private boolean enabled = true;
+    private Duration retention = Duration.ofHours(24);
+    private int samplesPerService = 17280;
+    private int writeBehindQueueSize = 100000;
+    private Duration writeBehindInterval = Duration.ofSeconds(1);
+    // Further flushes that retry a batch whose write failed before it is dropped
+    private int writeBehindMaxRetries = 10;
+    
+    // Getters and setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    
+    public Duration getRetention() { return retention; }
+    public void setRetention(Duration retention) { this.retention = retention; }
+    
+    public int getSamplesPerService() { return samplesPerService; }
+    public void setSamplesPerService(int samplesPerService) { this.samplesPerService = samplesPerService; }
+    
+    public int getWriteBehindQueueSize() { return writeBehindQueueSize; }
+    public void setWriteBehindQueueSize(int writeBehindQueueSize) { this.writeBehindQueueSize = writeBehindQueueSize; }
+    
+    public Duration getWriteBehindInterval() { return writeBehindInterval; }
+    public void setWriteBehindInterval(Duration writeBehindInterval) { this.writeBehindInterval = writeBehindInterval; }
+    
+    public int getWriteBehindMaxRetries() { return writeBehindMaxRetries; }
+    public void setWriteBehindMaxRetries(int writeBehindMaxRetries) { this.writeBehindMaxRetries = writeBehindMaxRetries; }
+}
@@ -0,0 +1,23 @@
+package com.microservices.simulator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "simulator.partitioning")
+public class PartitioningConfig {
+    
+    private boolean enabled = true;
+    private int retentionDays = 7;
+    private int precreateDays = 2;
+    
+    // Getters and setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    
+    public int getRetentionDays() { return retentionDays; }
+    public void setRetentionDays(int retentionDays) { this.retentionDays = retentionDays; }
+    
+    public int getPrecreateDays() { return precreateDays; }
+    public void setPrecreateDays(int precreateDays) { this.precreateDays = precreateDays; }
+}
@@ -0,0 +1,59 @@
+package com.microservices.simulator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "simulator.realtime")
+public class RealtimeConfig {
+    
+    private boolean enabled = true;
+    private Duration flushInterval = Duration.ofMillis(500);
+    private Duration heartbeat = Duration.ofSeconds(10);
+    // Per-session limits; a client that falls further behind is disconnected
+    private Duration sendTimeLimit = Duration.ofSeconds(10);
+    private int sendBufferSizeLimit = 512 * 1024;
+    private int outboundThreads = 4;
+    private Duration sseTick = Duration.ofSeconds(1);
+    private int sseReplaySize = 300;
+    // Live frames a subscriber may fall behind by before it is disconnected
+    private int sseSendQueue = 30;
+    private Duration sseKeepAlive = Duration.ofSeconds(15);
+    private Duration sseTimeout = Duration.ofMinutes(30);
+    
+    // Getters and setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    
+    public Duration getFlushInterval() { return flushInterval; }
+    public void setFlushInterval(Duration flushInterval) { this.flushInterval = flushInterval; }
+    
+    public Duration getHeartbeat() { return heartbeat; }
+    public void setHeartbeat(Duration heartbeat) { this.heartbeat = heartbeat; }
+    
+    public Duration getSendTimeLimit() { return sendTimeLimit; }
+    public void setSendTimeLimit(Duration sendTimeLimit) { this.sendTimeLimit = sendTimeLimit; }
+    
+    public int getSendBufferSizeLimit() { return sendBufferSizeLimit; }
+    public void setSendBufferSizeLimit(int sendBufferSizeLimit) { this.sendBufferSizeLimit = sendBufferSizeLimit; }
+    
+    public int getOutboundThreads() { return outboundThreads; }
+    public void setOutboundThreads(int outboundThreads) { this.outboundThreads = outboundThreads; }
+    
+    public Duration getSseTick() { return sseTick; }
+    public void setSseTick(Duration sseTick) { this.sseTick = sseTick; }
+    
+    public int getSseReplaySize() { return sseReplaySize; }
+    public void setSseReplaySize(int sseReplaySize) { this.sseReplaySize = sseReplaySize; }
+    
+    public int getSseSendQueue() { return sseSendQueue; }
+    public void setSseSendQueue(int sseSendQueue) { this.sseSendQueue = sseSendQueue; }
+    
+    public Duration getSseKeepAlive() { return sseKeepAlive; }
+    public void setSseKeepAlive(Duration sseKeepAlive) { this.sseKeepAlive = sseKeepAlive; }
+    
+    public Duration getSseTimeout() { return sseTimeout; }
+    public void setSseTimeout(Duration sseTimeout) { this.sseTimeout = sseTimeout; }
+}
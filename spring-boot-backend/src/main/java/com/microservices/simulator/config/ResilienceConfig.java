@@ -0,0 +1,58 @@
+package com.microservices.simulator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "simulator.resilience")
+public class ResilienceConfig {
+    
+    private boolean enabled = true;
+    // Breaker outcomes are counted over this window, kept as buckets of bucket-width
+    private Duration window = Duration.ofSeconds(10);
+    private Duration bucketWidth = Duration.ofSeconds(1);
+    // No decision is taken on fewer calls than this within the window
+    private int minimumCalls = 20;
+    private double failureRateThreshold = 0.5;
+    // Calls slower than slowCallDuration count towards slowCallRateThreshold
+    private Duration slowCallDuration = Duration.ofSeconds(2);
+    private double slowCallRateThreshold = 0.8;
+    private Duration openDuration = Duration.ofSeconds(30);
+    // Trial calls let through after openDuration; all must succeed to close again
+    private int halfOpenCalls = 5;
+    // Concurrent gateway calls per target service, out of server.tomcat.threads.max
+    private int maxConcurrentPerService = 50;
+    
+    // Getters and setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    
+    public Duration getWindow() { return window; }
+    public void setWindow(Duration window) { this.window = window; }
+    
+    public Duration getBucketWidth() { return bucketWidth; }
+    public void setBucketWidth(Duration bucketWidth) { this.bucketWidth = bucketWidth; }
+    
+    public int getMinimumCalls() { return minimumCalls; }
+    public void setMinimumCalls(int minimumCalls) { this.minimumCalls = minimumCalls; }
+    
+    public double getFailureRateThreshold() { return failureRateThreshold; }
+    public void setFailureRateThreshold(double failureRateThreshold) { this.failureRateThreshold = failureRateThreshold; }
+    
+    public Duration getSlowCallDuration() { return slowCallDuration; }
+    public void setSlowCallDuration(Duration slowCallDuration) { this.slowCallDuration = slowCallDuration; }
+    
+    public double getSlowCallRateThreshold() { return slowCallRateThreshold; }
+    public void setSlowCallRateThreshold(double slowCallRateThreshold) { this.slowCallRateThreshold = slowCallRateThreshold; }
+    
+    public Duration getOpenDuration() { return openDuration; }
+    public void setOpenDuration(Duration openDuration) { this.openDuration = openDuration; }
+    
+    public int getHalfOpenCalls() { return halfOpenCalls; }
+    public void setHalfOpenCalls(int halfOpenCalls) { this.halfOpenCalls = halfOpenCalls; }
+    
+    public int getMaxConcurrentPerService() { return maxConcurrentPerService; }
+    public void setMaxConcurrentPerService(int maxConcurrentPerService) { this.maxConcurrentPerService = maxConcurrentPerService; }
+}
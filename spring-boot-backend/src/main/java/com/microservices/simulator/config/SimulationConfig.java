@@ -0,0 +1,51 @@
+package com.microservices.simulator.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "simulator.simulation")
+public class SimulationConfig {
+    
+    private boolean autoStart = false;
+    private Duration tickInterval = Duration.ofSeconds(5);
+    private int threads = 2;
+    // In-memory services simulated on top of the running Service rows
+    private int syntheticServices = 0;
+    private long syntheticIdBase = 1_000_000L;
+    private Duration refreshInterval = Duration.ofSeconds(30);
+    private double errorRateWarning = 0.05;
+    // A flow simulation stops early, with a truncated result, at whichever limit comes first
+    private long flowMaxEvents = 20_000_000L;
+    private Duration flowMaxWallTime = Duration.ofSeconds(30);
+    
+    // Getters and setters
+    public boolean isAutoStart() { return autoStart; }
+    public void setAutoStart(boolean autoStart) { this.autoStart = autoStart; }
+    
+    public Duration getTickInterval() { return tickInterval; }
+    public void setTickInterval(Duration tickInterval) { this.tickInterval = tickInterval; }
+    
+    public int getThreads() { return threads; }
+    public void setThreads(int threads) { this.threads = threads; }
+    
+    public int getSyntheticServices() { return syntheticServices; }
+    public void setSyntheticServices(int syntheticServices) { this.syntheticServices = syntheticServices; }
+    
+    public long getSyntheticIdBase() { return syntheticIdBase; }
+    public void setSyntheticIdBase(long syntheticIdBase) { this.syntheticIdBase = syntheticIdBase; }
+    
+    public Duration getRefreshInterval() { return refreshInterval; }
+    public void setRefreshInterval(Duration refreshInterval) { this.refreshInterval = refreshInterval; }
+    
+    public double getErrorRateWarning() { return errorRateWarning; }
+    public void setErrorRateWarning(double errorRateWarning) { this.errorRateWarning = errorRateWarning; }
+    
+    public long getFlowMaxEvents() { return flowMaxEvents; }
+    public void setFlowMaxEvents(long flowMaxEvents) { this.flowMaxEvents = flowMaxEvents; }
+    
+    public Duration getFlowMaxWallTime() { return flowMaxWallTime; }
+    public void setFlowMaxWallTime(Duration flowMaxWallTime) { this.flowMaxWallTime = flowMaxWallTime; }
+}
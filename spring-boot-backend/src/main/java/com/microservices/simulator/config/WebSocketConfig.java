@@ -0,0 +1,54 @@
+package com.microservices.simulator.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+/**
+ * STOMP over WebSocket at {@code /ws}. Clients subscribe to {@code /topic/services},
+ * {@code /topic/metrics}, {@code /topic/deployments} and {@code /topic/activities}
+ * and receive coalesced deltas from {@code DeltaPublisher}.
+ */
+@Configuration
+@EnableWebSocketMessageBroker
+public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+    
+    @Autowired
+    private RealtimeConfig realtimeConfig;
+    
+    @Autowired
+    private TaskScheduler taskScheduler;
+    
+    @Override
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        registry.addEndpoint("/ws").setAllowedOriginPatterns("*");
+    }
+    
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        long heartbeat = realtimeConfig.getHeartbeat().toMillis();
+        registry.enableSimpleBroker("/topic")
+                .setHeartbeatValue(new long[] {heartbeat, heartbeat})
+                .setTaskScheduler(taskScheduler);
+        registry.setApplicationDestinationPrefixes("/app");
+    }
+    
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // Each session buffers independently, so a slow consumer only ever stalls itself
+        registration.setSendTimeLimit((int) realtimeConfig.getSendTimeLimit().toMillis());
+        registration.setSendBufferSizeLimit(realtimeConfig.getSendBufferSizeLimit());
+    }
+    
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor().corePoolSize(realtimeConfig.getOutboundThreads())
+                .maxPoolSize(realtimeConfig.getOutboundThreads());
+    }
+}
@@ -1,6 +1,7 @@
 package com.microservices.simulator.controller;
 
 import com.microservices.simulator.entity.ApiRoute;
+import com.microservices.simulator.pagination.CursorPage;
 import com.microservices.simulator.service.ApiRouteService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -25,6 +26,25 @@ public class ApiRouteController {
         return ResponseEntity.ok(routes);
     }
     
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<ApiRoute>> getRoutesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            CursorPage<ApiRoute> page = apiRouteService.getRoutesPage(cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @GetMapping("/resolve")
+    public ResponseEntity<ApiRoute> resolveRoute(@RequestParam(defaultValue = "GET") String method, @RequestParam String path) {
+        return apiRouteService.resolveRoute(method, path)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<ApiRoute> getRouteById(@PathVariable Long id) {
         Optional<ApiRoute> route = apiRouteService.getRouteById(id);
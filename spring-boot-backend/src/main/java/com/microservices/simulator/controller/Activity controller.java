@@ -1,11 +1,15 @@
 package com.microservices.simulator.controller;
 
 import com.microservices.simulator.entity.Activity;
+import com.microservices.simulator.pagination.CursorPage;
 import com.microservices.simulator.service.ActivityService;
+import com.microservices.simulator.service.StreamingExportService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 import java.util.List;
@@ -19,12 +23,39 @@ public class ActivityController {
     @Autowired
     private ActivityService activityService;
     
+    @Autowired
+    private StreamingExportService streamingExportService;
+    
     @GetMapping
     public ResponseEntity<List<Activity>> getAllActivities() {
         List<Activity> activities = activityService.getAllActivities();
         return ResponseEntity.ok(activities);
     }
     
+    @GetMapping(value = "/export", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> exportActivities(@RequestParam(defaultValue = "ndjson") String format) {
+        if ("json".equalsIgnoreCase(format)) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(streamingExportService.jsonArray(activityService::streamAllActivities));
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(streamingExportService.ndjson(activityService::streamAllActivities));
+    }
+    
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<Activity>> getActivitiesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            CursorPage<Activity> page = activityService.getActivitiesPage(cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<Activity> getActivityById(@PathVariable Long id) {
         Optional<Activity> activity = activityService.getActivityById(id);
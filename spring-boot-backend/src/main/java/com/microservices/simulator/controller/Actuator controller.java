@@ -1,6 +1,7 @@
 
 package com.microservices.simulator.controller;
 
+import com.microservices.simulator.gateway.Resilience;
 import com.microservices.simulator.service.MicroserviceService;
 import com.microservices.simulator.service.MetricService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,6 +27,9 @@ public class ActuatorController implements HealthIndicator, InfoContributor {
     @Autowired
     private MetricService metricService;
     
+    @Autowired
+    private Resilience resilience;
+    
     @GetMapping("/health")
     public ResponseEntity<Map<String, Object>> health() {
         Map<String, Object> healthData = new HashMap<>();
@@ -89,6 +93,11 @@ public class ActuatorController implements HealthIndicator, InfoContributor {
         return ResponseEntity.ok(infoData);
     }
     
+    @GetMapping("/resilience")
+    public ResponseEntity<Map<String, Object>> resilience() {
+        return ResponseEntity.ok(resilience.snapshot());
+    }
+    
     @GetMapping("/metrics")
     public ResponseEntity<Map<String, Object>> metrics() {
         Map<String, Object> metricsData = new HashMap<>();
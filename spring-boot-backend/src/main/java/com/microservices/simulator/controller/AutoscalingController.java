@@ -0,0 +1,52 @@
+package com.microservices.simulator.controller;
+
+import com.microservices.simulator.autoscaling.Autoscaler;
+import com.microservices.simulator.autoscaling.AutoscalingStatus;
+import com.microservices.simulator.entity.ScalingPolicy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/autoscaling")
+@CrossOrigin(origins = "*")
+public class AutoscalingController {
+    
+    @Autowired
+    private Autoscaler autoscaler;
+    
+    @GetMapping("/status")
+    public ResponseEntity<AutoscalingStatus> getStatus() {
+        return ResponseEntity.ok(autoscaler.getStatus());
+    }
+    
+    @GetMapping("/policies")
+    public ResponseEntity<List<ScalingPolicy>> getPolicies() {
+        return ResponseEntity.ok(autoscaler.getPolicies());
+    }
+    
+    @GetMapping("/policies/{serviceId}")
+    public ResponseEntity<ScalingPolicy> getPolicy(@PathVariable Long serviceId) {
+        return autoscaler.getPolicy(serviceId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @PutMapping("/policies/{serviceId}")
+    public ResponseEntity<ScalingPolicy> savePolicy(@PathVariable Long serviceId, @RequestBody ScalingPolicy policy) {
+        try {
+            return ResponseEntity.ok(autoscaler.savePolicy(serviceId, policy));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @DeleteMapping("/policies/{serviceId}")
+    public ResponseEntity<Void> deletePolicy(@PathVariable Long serviceId) {
+        return autoscaler.deletePolicy(serviceId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+}
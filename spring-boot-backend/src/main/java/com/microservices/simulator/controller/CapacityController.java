@@ -0,0 +1,26 @@
+package com.microservices.simulator.controller;
+
+import com.microservices.simulator.capacity.CapacityPlan;
+import com.microservices.simulator.capacity.CapacityPlanningService;
+import com.microservices.simulator.capacity.CapacityRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/capacity")
+@CrossOrigin(origins = "*")
+public class CapacityController {
+    
+    @Autowired
+    private CapacityPlanningService capacityPlanningService;
+    
+    @PostMapping("/plan")
+    public ResponseEntity<CapacityPlan> plan(@RequestBody(required = false) CapacityRequest request) {
+        try {
+            return ResponseEntity.ok(capacityPlanningService.plan(request != null ? request : new CapacityRequest()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
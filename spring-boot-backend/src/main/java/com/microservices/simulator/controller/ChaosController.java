@@ -0,0 +1,63 @@
+package com.microservices.simulator.controller;
+
+import com.microservices.simulator.chaos.ChaosService;
+import com.microservices.simulator.entity.ChaosRule;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.validation.Valid;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/chaos")
+@CrossOrigin(origins = "*")
+public class ChaosController {
+    
+    @Autowired
+    private ChaosService chaosService;
+    
+    @GetMapping("/rules")
+    public ResponseEntity<List<ChaosRule>> getRules() {
+        return ResponseEntity.ok(chaosService.getRules());
+    }
+    
+    @GetMapping("/rules/{id}")
+    public ResponseEntity<ChaosRule> getRule(@PathVariable Long id) {
+        return chaosService.getRule(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @GetMapping("/active")
+    public ResponseEntity<List<Long>> getActiveRuleIds() {
+        return ResponseEntity.ok(chaosService.getActiveRuleIds());
+    }
+    
+    @PostMapping("/rules")
+    public ResponseEntity<ChaosRule> createRule(@Valid @RequestBody ChaosRule rule) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(chaosService.createRule(rule));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @PutMapping("/rules/{id}")
+    public ResponseEntity<ChaosRule> updateRule(@PathVariable Long id, @Valid @RequestBody ChaosRule rule) {
+        try {
+            return ResponseEntity.ok(chaosService.updateRule(id, rule));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @DeleteMapping("/rules/{id}")
+    public ResponseEntity<Void> deleteRule(@PathVariable Long id) {
+        chaosService.deleteRule(id);
+        return ResponseEntity.noContent().build();
+    }
+}
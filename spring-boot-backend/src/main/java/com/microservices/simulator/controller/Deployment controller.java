@@ -1,6 +1,7 @@
 package com.microservices.simulator.controller;
 
 import com.microservices.simulator.entity.Deployment;
+import com.microservices.simulator.pagination.CursorPage;
 import com.microservices.simulator.service.DeploymentService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -25,6 +26,18 @@ public class DeploymentController {
         return ResponseEntity.ok(deployments);
     }
     
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<Deployment>> getDeploymentsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            CursorPage<Deployment> page = deploymentService.getDeploymentsPage(cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<Deployment> getDeploymentById(@PathVariable Long id) {
         Optional<Deployment> deployment = deploymentService.getDeploymentById(id);
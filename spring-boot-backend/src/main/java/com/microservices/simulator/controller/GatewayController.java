@@ -0,0 +1,24 @@
+package com.microservices.simulator.controller;
+
+import com.microservices.simulator.gateway.GatewayProxy;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@RestController
+@CrossOrigin(origins = "*")
+public class GatewayController {
+    
+    @Autowired
+    private GatewayProxy gatewayProxy;
+    
+    @RequestMapping("${simulator.gateway.path-prefix:/gateway}/**")
+    public void proxy(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        gatewayProxy.forward(request, response);
+    }
+}
@@ -0,0 +1,42 @@
+package com.microservices.simulator.controller;
+
+import com.microservices.simulator.loadtest.LoadTestRequest;
+import com.microservices.simulator.loadtest.LoadTestRun;
+import com.microservices.simulator.loadtest.LoadTestService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/load-tests")
+@CrossOrigin(origins = "*")
+public class LoadTestController {
+    
+    @Autowired
+    private LoadTestService loadTestService;
+    
+    @GetMapping
+    public ResponseEntity<List<LoadTestRun>> getRuns() {
+        return ResponseEntity.ok(loadTestService.getRuns());
+    }
+    
+    @GetMapping("/{id}")
+    public ResponseEntity<LoadTestRun> getRun(@PathVariable String id) {
+        return loadTestService.getRun(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @PostMapping
+    public ResponseEntity<LoadTestRun> startRun(@RequestBody(required = false) LoadTestRequest request) {
+        try {
+            LoadTestRun run = loadTestService.start(request != null ? request : new LoadTestRequest());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(run);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
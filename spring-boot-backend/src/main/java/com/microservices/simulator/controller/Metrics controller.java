@@ -1,15 +1,40 @@
 package com.microservices.simulator.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microservices.simulator.entity.Metric;
+import com.microservices.simulator.metrics.LatencyPercentiles;
+import com.microservices.simulator.metrics.MetricAccumulator;
+import com.microservices.simulator.metrics.MetricAggregate;
+import com.microservices.simulator.metrics.MetricBatchAck;
+import com.microservices.simulator.metrics.MetricBatchException;
+import com.microservices.simulator.metrics.MetricBucket;
+import com.microservices.simulator.metrics.MetricGroupBy;
+import com.microservices.simulator.pagination.CursorPage;
+import com.microservices.simulator.realtime.MetricStreamPublisher;
 import com.microservices.simulator.service.MetricService;
+import com.microservices.simulator.service.StreamingExportService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/metrics")
@@ -19,12 +44,53 @@ public class MetricController {
     @Autowired
     private MetricService metricService;
     
+    @Autowired
+    private StreamingExportService streamingExportService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Autowired
+    private MetricStreamPublisher metricStreamPublisher;
+    
     @GetMapping
     public ResponseEntity<List<Metric>> getAllMetrics() {
         List<Metric> metrics = metricService.getAllMetrics();
         return ResponseEntity.ok(metrics);
     }
     
+    @GetMapping(value = "/export", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> exportMetrics(@RequestParam(defaultValue = "ndjson") String format) {
+        if ("json".equalsIgnoreCase(format)) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(streamingExportService.jsonArray(metricService::streamAllMetrics));
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(streamingExportService.ndjson(metricService::streamAllMetrics));
+    }
+    
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMetrics(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return metricStreamPublisher.subscribe(lastEventId);
+    }
+    
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<Metric>> getMetricsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            CursorPage<Metric> page = metricService.getMetricsPage(cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<Metric> getMetricById(@PathVariable Long id) {
         Optional<Metric> metric = metricService.getMetricById(id);
@@ -38,6 +104,68 @@ public class MetricController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdMetric);
     }
     
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<MetricBatchResult> createMetrics(@Valid @RequestBody List<Metric> metrics) {
+        return ingest(metrics.iterator());
+    }
+    
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<MetricBatchResult> createMetricsFromStream(HttpServletRequest request) throws IOException {
+        MappingIterator<Metric> metrics;
+        try {
+            metrics = objectMapper.readerFor(Metric.class).readValues(request.getInputStream());
+        } catch (JsonProcessingException e) {
+            return ResponseEntity.badRequest().body(new MetricBatchResult(List.of(), e.getOriginalMessage()));
+        }
+        try (metrics) {
+            return ingest(validated(metrics));
+        }
+    }
+    
+    private ResponseEntity<MetricBatchResult> ingest(Iterator<Metric> metrics) {
+        try {
+            List<MetricBatchAck> acks = metricService.createMetrics(metrics);
+            return ResponseEntity.status(HttpStatus.CREATED).body(new MetricBatchResult(acks));
+        } catch (MetricBatchException e) {
+            // Report what was committed before the failure so clients only resend the rest
+            HttpStatus status = isMalformed(e.getCause()) ? HttpStatus.BAD_REQUEST : HttpStatus.INTERNAL_SERVER_ERROR;
+            return ResponseEntity.status(status).body(new MetricBatchResult(e.getCommitted(), e.getMessage()));
+        }
+    }
+    
+    // NDJSON lines are bound one at a time, so @Valid cannot reach them
+    private Iterator<Metric> validated(Iterator<Metric> metrics) {
+        return new Iterator<>() {
+            private int line;
+            
+            @Override
+            public boolean hasNext() {
+                return metrics.hasNext();
+            }
+            
+            @Override
+            public Metric next() {
+                Metric metric = metrics.next();
+                line++;
+                Set<ConstraintViolation<Metric>> violations = validator.validate(metric);
+                if (!violations.isEmpty()) {
+                    throw new ConstraintViolationException("Line " + line + ": "
+                            + violations.iterator().next().getMessage(), violations);
+                }
+                return metric;
+            }
+        };
+    }
+    
+    private static boolean isMalformed(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof JsonProcessingException || t instanceof ConstraintViolationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteMetric(@PathVariable Long id) {
         metricService.deleteMetric(id);
@@ -70,15 +198,91 @@ public class MetricController {
         return ResponseEntity.ok(metrics);
     }
     
+    @GetMapping("/series")
+    public ResponseEntity<List<MetricBucket>> getMetricSeries(
+            @RequestParam(defaultValue = "24") int hours,
+            @RequestParam(defaultValue = "300") int resolution) {
+        if (resolution <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<MetricBucket> series = metricService.getMetricSeries(null, hours, resolution);
+        return ResponseEntity.ok(series);
+    }
+    
+    @GetMapping("/service/{serviceId}/series")
+    public ResponseEntity<List<MetricBucket>> getServiceMetricSeries(
+            @PathVariable Long serviceId,
+            @RequestParam(defaultValue = "24") int hours,
+            @RequestParam(defaultValue = "300") int resolution) {
+        if (resolution <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<MetricBucket> series = metricService.getMetricSeries(serviceId, hours, resolution);
+        return ResponseEntity.ok(series);
+    }
+    
+    @GetMapping("/service/{serviceId}/percentiles")
+    public ResponseEntity<LatencyPercentiles> getServicePercentiles(
+            @PathVariable Long serviceId,
+            @RequestParam(defaultValue = "5") int minutes) {
+        if (minutes <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        LatencyPercentiles percentiles = metricService.getResponseTimePercentiles(serviceId, minutes);
+        return ResponseEntity.ok(percentiles);
+    }
+    
     @GetMapping("/service/{serviceId}/average")
     public ResponseEntity<MetricAverage> getServiceAverageMetrics(@PathVariable Long serviceId) {
-        Double avgCpu = metricService.getAverageCpuForService(serviceId);
-        Double avgMemory = metricService.getAverageMemoryForService(serviceId);
+        MetricAccumulator totals = metricService.getServiceTotals(serviceId);
+        Double avgCpu = totals.avgOf(MetricAccumulator.CPU);
+        Double avgMemory = totals.avgOf(MetricAccumulator.MEMORY);
         
         MetricAverage average = new MetricAverage(avgCpu, avgMemory);
         return ResponseEntity.ok(average);
     }
     
+    @GetMapping("/aggregate")
+    public ResponseEntity<List<MetricAggregate>> getAggregates(
+            @RequestParam(defaultValue = "SERVICE") MetricGroupBy groupBy,
+            @RequestParam(defaultValue = "24") int hours,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime windowEnd = to != null ? to : LocalDateTime.now();
+        LocalDateTime windowStart = from != null ? from : windowEnd.minusHours(hours);
+        if (!windowStart.isBefore(windowEnd)) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<MetricAggregate> aggregates = metricService.aggregate(groupBy, windowStart, windowEnd);
+        return ResponseEntity.ok(aggregates);
+    }
+    
+    // Inner class for batch ingestion results
+    public static class MetricBatchResult {
+        private long accepted;
+        private List<MetricBatchAck> batches;
+        private String error;
+        
+        public MetricBatchResult(List<MetricBatchAck> batches) {
+            this(batches, null);
+        }
+        
+        public MetricBatchResult(List<MetricBatchAck> batches, String error) {
+            this.batches = batches;
+            this.accepted = batches.stream().mapToLong(MetricBatchAck::getAccepted).sum();
+            this.error = error;
+        }
+        
+        public long getAccepted() { return accepted; }
+        public void setAccepted(long accepted) { this.accepted = accepted; }
+        
+        public List<MetricBatchAck> getBatches() { return batches; }
+        public void setBatches(List<MetricBatchAck> batches) { this.batches = batches; }
+        
+        public String getError() { return error; }
+        public void setError(String error) { this.error = error; }
+    }
+    
     // Inner class for metric averages
     public static class MetricAverage {
         private Double averageCpu;
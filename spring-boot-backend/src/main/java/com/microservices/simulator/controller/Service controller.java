@@ -1,6 +1,11 @@
 package com.microservices.simulator.controller;
 
 import com.microservices.simulator.entity.Service;
+import com.microservices.simulator.lifecycle.BulkLifecycleRequest;
+import com.microservices.simulator.lifecycle.LifecycleAction;
+import com.microservices.simulator.lifecycle.LifecycleResult;
+import com.microservices.simulator.lifecycle.ServiceLifecycleManager;
+import com.microservices.simulator.pagination.CursorPage;
 import com.microservices.simulator.service.MicroserviceService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -19,12 +24,27 @@ public class ServiceController {
     @Autowired
     private MicroserviceService microserviceService;
     
+    @Autowired
+    private ServiceLifecycleManager lifecycleManager;
+    
     @GetMapping
     public ResponseEntity<List<Service>> getAllServices() {
         List<Service> services = microserviceService.getAllServices();
         return ResponseEntity.ok(services);
     }
     
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<Service>> getServicesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            CursorPage<Service> page = microserviceService.getServicesPage(cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<Service> getServiceById(@PathVariable Long id) {
         Optional<Service> service = microserviceService.getServiceById(id);
@@ -54,6 +74,27 @@ public class ServiceController {
         return ResponseEntity.noContent().build();
     }
     
+    @PostMapping("/{id}/{action:start|stop|restart}")
+    public ResponseEntity<LifecycleResult> changeLifecycle(@PathVariable Long id, @PathVariable String action) {
+        LifecycleResult result = lifecycleManager.apply(id, LifecycleAction.parse(action));
+        return switch (result.getOutcome()) {
+            case LifecycleResult.ACCEPTED -> ResponseEntity.status(HttpStatus.ACCEPTED).body(result);
+            case LifecycleResult.NOT_FOUND -> ResponseEntity.notFound().build();
+            case LifecycleResult.REJECTED -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(result);
+            default -> ResponseEntity.status(HttpStatus.CONFLICT).body(result);
+        };
+    }
+    
+    @PostMapping("/bulk")
+    public ResponseEntity<List<LifecycleResult>> changeLifecycleBulk(@RequestBody BulkLifecycleRequest request) {
+        try {
+            List<LifecycleResult> results = lifecycleManager.applyAll(request.getServiceIds(), LifecycleAction.parse(request.getAction()));
+            return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     @GetMapping("/type/{type}")
     public ResponseEntity<List<Service>> getServicesByType(@PathVariable String type) {
         List<Service> services = microserviceService.getServicesByType(type);
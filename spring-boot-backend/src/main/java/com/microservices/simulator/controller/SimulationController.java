@@ -0,0 +1,55 @@
+package com.microservices.simulator.controller;
+
+import com.microservices.simulator.simulation.SimulationEngine;
+import com.microservices.simulator.simulation.SimulationStatus;
+import com.microservices.simulator.simulation.flow.FlowResult;
+import com.microservices.simulator.simulation.flow.FlowScenario;
+import com.microservices.simulator.simulation.flow.FlowSimulationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/simulation")
+@CrossOrigin(origins = "*")
+public class SimulationController {
+    
+    @Autowired
+    private SimulationEngine simulationEngine;
+    
+    @Autowired
+    private FlowSimulationService flowSimulationService;
+    
+    @GetMapping("/status")
+    public ResponseEntity<SimulationStatus> getStatus() {
+        return ResponseEntity.ok(simulationEngine.getStatus());
+    }
+    
+    @PostMapping("/start")
+    public ResponseEntity<SimulationStatus> start() {
+        simulationEngine.start();
+        return ResponseEntity.ok(simulationEngine.getStatus());
+    }
+    
+    @PostMapping("/stop")
+    public ResponseEntity<SimulationStatus> stop() {
+        simulationEngine.stop();
+        return ResponseEntity.ok(simulationEngine.getStatus());
+    }
+    
+    @PostMapping("/refresh")
+    public ResponseEntity<SimulationStatus> refresh() {
+        simulationEngine.refresh();
+        return ResponseEntity.ok(simulationEngine.getStatus());
+    }
+    
+    @PostMapping("/flow")
+    public ResponseEntity<FlowResult> simulateFlow(@RequestBody(required = false) FlowScenario scenario) {
+        try {
+            FlowResult result = flowSimulationService.simulate(scenario != null ? scenario : new FlowScenario());
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -2,11 +2,15 @@
 package com.microservices.simulator.controller;
 
 import com.microservices.simulator.entity.TestResult;
+import com.microservices.simulator.pagination.CursorPage;
+import com.microservices.simulator.service.StreamingExportService;
 import com.microservices.simulator.service.TestResultService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 import java.util.List;
@@ -20,12 +24,39 @@ public class TestResultController {
     @Autowired
     private TestResultService testResultService;
     
+    @Autowired
+    private StreamingExportService streamingExportService;
+    
     @GetMapping
     public ResponseEntity<List<TestResult>> getAllTestResults() {
         List<TestResult> results = testResultService.getAllTestResults();
         return ResponseEntity.ok(results);
     }
     
+    @GetMapping(value = "/export", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> exportTestResults(@RequestParam(defaultValue = "ndjson") String format) {
+        if ("json".equalsIgnoreCase(format)) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(streamingExportService.jsonArray(testResultService::streamAllTestResults));
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(streamingExportService.ndjson(testResultService::streamAllTestResults));
+    }
+    
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<TestResult>> getTestResultsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            CursorPage<TestResult> page = testResultService.getTestResultsPage(cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<TestResult> getTestResultById(@PathVariable Long id) {
         Optional<TestResult> result = testResultService.getTestResultById(id);
@@ -0,0 +1,251 @@
+package com.microservices.simulator.deployment;
+
+import com.microservices.simulator.config.DeploymentEngineConfig;
+import com.microservices.simulator.entity.Activity;
+import com.microservices.simulator.entity.Deployment;
+import com.microservices.simulator.entity.Service;
+import com.microservices.simulator.realtime.DeltaPublisher;
+import com.microservices.simulator.repository.DeploymentRepository;
+import com.microservices.simulator.repository.ServiceRepository;
+import com.microservices.simulator.service.ActivityService;
+import com.microservices.simulator.service.MetricService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Advances pending and in-progress deployments according to their strategy:
+ * <ul>
+ *   <li>rolling (the default) replaces {@code rolling-batch-size} instances per tick;
+ *       progress is the share of the service's instances on the new version</li>
+ *   <li>canary starts at the first configured traffic weight and walks the rest,
+ *       holding each one for {@code canary-step-hold} and rolling back to 0% if the
+ *       service's error rate or response time over {@code analysis-window} breaches
+ *       its limit</li>
+ *   <li>blue-green provisions the green side over a few ticks, then cuts over in
+ *       one step if the service is healthy and fails back to 0% if not</li>
+ * </ul>
+ * All changes of a tick are written with a single JDBC batch that only updates
+ * rows whose status and progress have not been changed by anyone else since they
+ * were read, so edits made through the API in the meantime win.
+ */
+@Component
+public class DeploymentEngine {
+    
+    private static final Logger log = LoggerFactory.getLogger(DeploymentEngine.class);
+    
+    private static final String PENDING = "pending";
+    private static final String IN_PROGRESS = "in-progress";
+    private static final String RUNNING = "running";
+    private static final String SUCCESS = "success";
+    private static final String FAILED = "failed";
+    
+    private static final Set<String> ACTIVE = Set.of(PENDING, IN_PROGRESS, RUNNING);
+    private static final String UPDATE_SQL =
+            "UPDATE deployments SET status = ?, progress = ?, completed_at = ? "
+                    + "WHERE id = ? AND status = ? AND progress IS NOT DISTINCT FROM ?";
+    private static final int[] UPDATE_TYPES = {Types.VARCHAR, Types.INTEGER, Types.TIMESTAMP, Types.BIGINT, Types.VARCHAR, Types.INTEGER};
+    
+    @Autowired
+    private DeploymentEngineConfig config;
+    
+    @Autowired
+    private DeploymentRepository deploymentRepository;
+    
+    @Autowired
+    private ServiceRepository serviceRepository;
+    
+    @Autowired
+    private MetricService metricService;
+    
+    @Autowired
+    private ActivityService activityService;
+    
+    @Autowired
+    private DeltaPublisher deltaPublisher;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    // When each deployment last changed weight or phase; lost on restart, which only restarts the hold
+    private final Map<Long, LocalDateTime> stepStartedAt = new ConcurrentHashMap<>();
+    
+    @Scheduled(fixedDelayString = "${simulator.deployments.tick-interval:PT5S}")
+    public void tick() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        List<Deployment> active = deploymentRepository.findByStatusIn(ACTIVE);
+        Set<Long> activeIds = new HashSet<>();
+        Set<Long> serviceIds = new HashSet<>();
+        for (Deployment deployment : active) {
+            activeIds.add(deployment.getId());
+            if (deployment.getServiceId() != null) {
+                serviceIds.add(deployment.getServiceId());
+            }
+        }
+        stepStartedAt.keySet().retainAll(activeIds);
+        if (active.isEmpty()) {
+            return;
+        }
+        Map<Long, Service> services = new HashMap<>();
+        for (Service service : serviceRepository.findAllById(serviceIds)) {
+            services.put(service.getId(), service);
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        List<Deployment> changed = new ArrayList<>();
+        List<Integer> changedFrom = new ArrayList<>();
+        List<Object[]> batch = new ArrayList<>();
+        for (Deployment deployment : active) {
+            String readStatus = deployment.getStatus();
+            Integer readProgress = deployment.getProgress();
+            advance(deployment, services.get(deployment.getServiceId()), now);
+            if (!deployment.getStatus().equals(readStatus) || !Objects.equals(deployment.getProgress(), readProgress)) {
+                changed.add(deployment);
+                changedFrom.add(readProgress);
+                batch.add(new Object[] {
+                        deployment.getStatus(), deployment.getProgress(),
+                        deployment.getCompletedAt() != null ? Timestamp.valueOf(deployment.getCompletedAt()) : null,
+                        deployment.getId(), readStatus, readProgress});
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        int[] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, batch, UPDATE_TYPES);
+        for (int i = 0; i < counts.length; i++) {
+            Deployment deployment = changed.get(i);
+            if (counts[i] == 0) {
+                // Edited through the API since we read it; the next tick starts from the new state
+                stepStartedAt.remove(deployment.getId());
+                continue;
+            }
+            deltaPublisher.deploymentChanged(deployment);
+            if (deployment.getCompletedAt() != null) {
+                stepStartedAt.remove(deployment.getId());
+                recordOutcome(deployment, changedFrom.get(i));
+            }
+        }
+        log.debug("Advanced {} of {} active deployments", changed.size(), active.size());
+    }
+    
+    private void advance(Deployment deployment, Service service, LocalDateTime now) {
+        if (PENDING.equals(deployment.getStatus())) {
+            deployment.setStatus(IN_PROGRESS);
+            // A canary takes its first weight at once; holding at 0% would analyse no new traffic
+            deployment.setProgress(isCanary(deployment) && !config.getCanarySteps().isEmpty()
+                    ? config.getCanarySteps().get(0) : 0);
+            stepStartedAt.put(deployment.getId(), now);
+            return;
+        }
+        if (!IN_PROGRESS.equals(deployment.getStatus())) {
+            // "running" is what clients of the Node server use for the same state
+            deployment.setStatus(IN_PROGRESS);
+        }
+        int progress = deployment.getProgress() != null ? deployment.getProgress() : 0;
+        String strategy = deployment.getStrategy() != null ? deployment.getStrategy().toLowerCase(Locale.ROOT) : "rolling";
+        switch (strategy) {
+            case "canary" -> advanceCanary(deployment, progress, now);
+            case "blue-green", "blue_green", "bluegreen" -> advanceBlueGreen(deployment, progress, now);
+            default -> advanceRolling(deployment, progress, service, now);
+        }
+    }
+    
+    private void advanceRolling(Deployment deployment, int progress, Service service, LocalDateTime now) {
+        int instances = service != null && service.getInstances() != null ? Math.max(1, service.getInstances()) : 1;
+        int replaced = (int) Math.round(progress * instances / 100.0);
+        replaced = Math.min(instances, replaced + Math.max(1, config.getRollingBatchSize()));
+        if (replaced >= instances) {
+            complete(deployment, SUCCESS, 100, now);
+        } else {
+            deployment.setProgress(replaced * 100 / instances);
+        }
+    }
+    
+    private void advanceCanary(Deployment deployment, int weight, LocalDateTime now) {
+        LocalDateTime since = stepStartedAt.computeIfAbsent(deployment.getId(), id -> now);
+        if (Duration.between(since, now).compareTo(config.getCanaryStepHold()) < 0) {
+            return;
+        }
+        if (!healthy(deployment, now)) {
+            // Rolling back moves all traffic back to the old version
+            complete(deployment, FAILED, 0, now);
+            return;
+        }
+        int next = 100;
+        for (int step : config.getCanarySteps()) {
+            if (step > weight) {
+                next = step;
+                break;
+            }
+        }
+        if (next >= 100) {
+            complete(deployment, SUCCESS, 100, now);
+        } else {
+            deployment.setProgress(next);
+            stepStartedAt.put(deployment.getId(), now);
+        }
+    }
+    
+    private void advanceBlueGreen(Deployment deployment, int progress, LocalDateTime now) {
+        // Green is provisioned up to 90%; the last step is the cut-over itself
+        if (progress < 90) {
+            deployment.setProgress(Math.min(90, progress + Math.max(1, config.getBlueGreenStep())));
+        } else if (healthy(deployment, now)) {
+            complete(deployment, SUCCESS, 100, now);
+        } else {
+            // Green is torn down; traffic never left blue
+            complete(deployment, FAILED, 0, now);
+        }
+    }
+    
+    private static boolean isCanary(Deployment deployment) {
+        return deployment.getStrategy() != null && "canary".equals(deployment.getStrategy().toLowerCase(Locale.ROOT));
+    }
+    
+    private boolean healthy(Deployment deployment, LocalDateTime now) {
+        if (deployment.getServiceId() == null) {
+            return true;
+        }
+        DeploymentHealth health = new DeploymentHealth();
+        metricService.scanServiceSince(deployment.getServiceId(), now.minus(config.getAnalysisWindow()), health);
+        return !health.hasSamples()
+                || (health.errorRate() <= config.getMaxErrorRate() && health.responseTime() <= config.getMaxResponseTime());
+    }
+    
+    private void complete(Deployment deployment, String status, int progress, LocalDateTime now) {
+        deployment.setStatus(status);
+        deployment.setProgress(progress);
+        deployment.setCompletedAt(now);
+    }
+    
+    private void recordOutcome(Deployment deployment, Integer reachedProgress) {
+        boolean success = SUCCESS.equals(deployment.getStatus());
+        String strategy = deployment.getStrategy() != null ? deployment.getStrategy() : "rolling";
+        String message = success
+                ? "Deployment of version " + deployment.getVersion() + " completed (" + strategy + ")"
+                : "Deployment of version " + deployment.getVersion() + " rolled back from " + reachedProgress + "% (" + strategy + ")";
+        Activity activity = new Activity("deployment", message);
+        activity.setServiceId(deployment.getServiceId());
+        activity.setSeverity(success ? "success" : "error");
+        activityService.createActivity(activity);
+    }
+}
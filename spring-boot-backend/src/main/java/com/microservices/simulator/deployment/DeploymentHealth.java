@@ -0,0 +1,41 @@
+package com.microservices.simulator.deployment;
+
+import com.microservices.simulator.metrics.SampleVisitor;
+
+/**
+ * Request-weighted error rate and response time of a service over an analysis
+ * window. Samples without a request count weigh as one request.
+ */
+class DeploymentHealth implements SampleVisitor {
+    
+    private double requests;
+    private double errors;
+    private double latencyWeight;
+    private double latencySum;
+    
+    @Override
+    public void visit(long serviceId, long timestamp, double cpu, double memory, int requestCount,
+                      double responseTime, double errorRate) {
+        double weight = requestCount == Integer.MIN_VALUE ? 1 : Math.max(0, requestCount);
+        if (!Double.isNaN(errorRate)) {
+            requests += weight;
+            errors += weight * errorRate;
+        }
+        if (!Double.isNaN(responseTime)) {
+            latencyWeight += weight;
+            latencySum += weight * responseTime;
+        }
+    }
+    
+    boolean hasSamples() {
+        return requests > 0 || latencyWeight > 0;
+    }
+    
+    double errorRate() {
+        return requests > 0 ? errors / requests : 0;
+    }
+    
+    double responseTime() {
+        return latencyWeight > 0 ? latencySum / latencyWeight : 0;
+    }
+}
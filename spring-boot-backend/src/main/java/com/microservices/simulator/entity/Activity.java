@@ -8,7 +8,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "activities")
+@Table(name = "activities", indexes = @Index(name = "idx_activities_created_at_id", columnList = "created_at DESC, id DESC"))
 public class Activity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -40,6 +40,15 @@ public class ApiRoute {
     @Column
     private Integer timeout;
 
+    // GET responses are cached for this long when set and positive
+    @Column(name = "cache_ttl_seconds")
+    @JsonProperty("cacheTtlSeconds")
+    private Integer cacheTtlSeconds;
+
+    @Column(name = "cache_max_entries")
+    @JsonProperty("cacheMaxEntries")
+    private Integer cacheMaxEntries;
+
     // Constructors
     public ApiRoute() {}
 
@@ -73,4 +82,10 @@ public class ApiRoute {
 
     public Integer getTimeout() { return timeout; }
     public void setTimeout(Integer timeout) { this.timeout = timeout; }
+
+    public Integer getCacheTtlSeconds() { return cacheTtlSeconds; }
+    public void setCacheTtlSeconds(Integer cacheTtlSeconds) { this.cacheTtlSeconds = cacheTtlSeconds; }
+
+    public Integer getCacheMaxEntries() { return cacheMaxEntries; }
+    public void setCacheMaxEntries(Integer cacheMaxEntries) { this.cacheMaxEntries = cacheMaxEntries; }
 }
\ No newline at end of file
@@ -0,0 +1,111 @@
+package com.microservices.simulator.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.CreationTimestamp;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "chaos_rules")
+public class ChaosRule {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank(message = "Name is required")
+    @Column(nullable = false)
+    private String name;
+
+    // 'latency', 'errors', 'crash' or 'partition'
+    @NotBlank(message = "Fault type is required")
+    @Column(name = "fault_type", nullable = false)
+    @JsonProperty("faultType")
+    private String faultType;
+
+    // 'service' or 'route'; a service rule without targetId hits every service
+    @Column(name = "target_type", nullable = false)
+    @JsonProperty("targetType")
+    private String targetType = "service";
+
+    @Column(name = "target_id")
+    @JsonProperty("targetId")
+    private Long targetId;
+
+    // Added milliseconds for latency, otherwise a fraction between 0 and 1
+    @NotNull(message = "Magnitude is required")
+    @Column(nullable = false)
+    private Double magnitude;
+
+    // Chance per simulation tick that an active rule fires
+    @Column
+    private Double probability = 1.0;
+
+    @Column(name = "start_at")
+    @JsonProperty("startAt")
+    private LocalDateTime startAt;
+
+    @Column(name = "duration_seconds")
+    @JsonProperty("durationSeconds")
+    private Integer durationSeconds;
+
+    @Column(name = "repeat_every_seconds")
+    @JsonProperty("repeatEverySeconds")
+    private Integer repeatEverySeconds;
+
+    @Column
+    private Boolean enabled = true;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    @JsonProperty("createdAt")
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public ChaosRule() {}
+
+    public ChaosRule(String name, String faultType, Double magnitude) {
+        this.name = name;
+        this.faultType = faultType;
+        this.magnitude = magnitude;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getFaultType() { return faultType; }
+    public void setFaultType(String faultType) { this.faultType = faultType; }
+
+    public String getTargetType() { return targetType; }
+    public void setTargetType(String targetType) { this.targetType = targetType; }
+
+    public Long getTargetId() { return targetId; }
+    public void setTargetId(Long targetId) { this.targetId = targetId; }
+
+    public Double getMagnitude() { return magnitude; }
+    public void setMagnitude(Double magnitude) { this.magnitude = magnitude; }
+
+    public Double getProbability() { return probability; }
+    public void setProbability(Double probability) { this.probability = probability; }
+
+    public LocalDateTime getStartAt() { return startAt; }
+    public void setStartAt(LocalDateTime startAt) { this.startAt = startAt; }
+
+    public Integer getDurationSeconds() { return durationSeconds; }
+    public void setDurationSeconds(Integer durationSeconds) { this.durationSeconds = durationSeconds; }
+
+    public Integer getRepeatEverySeconds() { return repeatEverySeconds; }
+    public void setRepeatEverySeconds(Integer repeatEverySeconds) { this.repeatEverySeconds = repeatEverySeconds; }
+
+    public Boolean getEnabled() { return enabled; }
+    public void setEnabled(Boolean enabled) { this.enabled = enabled; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
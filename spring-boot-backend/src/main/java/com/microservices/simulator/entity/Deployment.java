@@ -9,7 +9,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "deployments")
+@Table(name = "deployments", indexes = @Index(name = "idx_deployments_created_at_id", columnList = "created_at DESC, id DESC"))
 public class Deployment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,90 @@
+package com.microservices.simulator.entity;
+
+import jakarta.persistence.*;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "metric_chunks",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"service_id", "window_start"}),
+       indexes = {
+           @Index(name = "idx_metric_chunks_window", columnList = "window_start"),
+           @Index(name = "idx_metric_chunks_ids", columnList = "min_id, max_id")
+       })
+public class MetricChunk {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "service_id", nullable = false)
+    @JsonProperty("serviceId")
+    private Long serviceId;
+
+    @Column(name = "window_start", nullable = false)
+    @JsonProperty("windowStart")
+    private LocalDateTime windowStart;
+
+    @Column(name = "window_end", nullable = false)
+    @JsonProperty("windowEnd")
+    private LocalDateTime windowEnd;
+
+    @Column(name = "sample_count", nullable = false)
+    @JsonProperty("sampleCount")
+    private Integer sampleCount;
+
+    @Column(name = "data", nullable = false, length = 4194304)
+    @JsonIgnore
+    private byte[] data;
+
+    // Raw row ids in sample order, so sealed samples keep answering by id
+    @Column(name = "ids", nullable = false, length = 4194304)
+    @JsonIgnore
+    private byte[] ids;
+
+    @Column(name = "min_id", nullable = false)
+    @JsonProperty("minId")
+    private Long minId;
+
+    @Column(name = "max_id", nullable = false)
+    @JsonProperty("maxId")
+    private Long maxId;
+
+    // Constructors
+    public MetricChunk() {}
+
+    public MetricChunk(Long serviceId, LocalDateTime windowStart, LocalDateTime windowEnd) {
+        this.serviceId = serviceId;
+        this.windowStart = windowStart;
+        this.windowEnd = windowEnd;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getServiceId() { return serviceId; }
+    public void setServiceId(Long serviceId) { this.serviceId = serviceId; }
+
+    public LocalDateTime getWindowStart() { return windowStart; }
+    public void setWindowStart(LocalDateTime windowStart) { this.windowStart = windowStart; }
+
+    public LocalDateTime getWindowEnd() { return windowEnd; }
+    public void setWindowEnd(LocalDateTime windowEnd) { this.windowEnd = windowEnd; }
+
+    public Integer getSampleCount() { return sampleCount; }
+    public void setSampleCount(Integer sampleCount) { this.sampleCount = sampleCount; }
+
+    public byte[] getData() { return data; }
+    public void setData(byte[] data) { this.data = data; }
+
+    public byte[] getIds() { return ids; }
+    public void setIds(byte[] ids) { this.ids = ids; }
+
+    public Long getMinId() { return minId; }
+    public void setMinId(Long minId) { this.minId = minId; }
+
+    public Long getMaxId() { return maxId; }
+    public void setMaxId(Long maxId) { this.maxId = maxId; }
+}
@@ -0,0 +1,197 @@
+package com.microservices.simulator.entity;
+
+import jakarta.persistence.*;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "metric_rollups",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"service_id", "resolution", "bucket_start"}),
+       indexes = @Index(name = "idx_metric_rollups_resolution_bucket", columnList = "resolution, bucket_start"))
+public class MetricRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "service_id", nullable = false)
+    @JsonProperty("serviceId")
+    private Long serviceId;
+
+    @Column(nullable = false)
+    private Integer resolution;
+
+    @Column(name = "bucket_start", nullable = false)
+    @JsonProperty("bucketStart")
+    private LocalDateTime bucketStart;
+
+    @Column(name = "sample_count")
+    @JsonProperty("sampleCount")
+    private Long sampleCount;
+
+    @Column(name = "cpu_min")
+    @JsonProperty("cpuMin")
+    private Double cpuMin;
+
+    @Column(name = "cpu_max")
+    @JsonProperty("cpuMax")
+    private Double cpuMax;
+
+    @Column(name = "cpu_sum")
+    @JsonProperty("cpuSum")
+    private Double cpuSum;
+
+    // Per-field count of non-null values, so averages of sparse fields are sum / samples
+    @Column(name = "cpu_samples")
+    @JsonProperty("cpuSamples")
+    private Long cpuSamples;
+
+    @Column(name = "memory_min")
+    @JsonProperty("memoryMin")
+    private Double memoryMin;
+
+    @Column(name = "memory_max")
+    @JsonProperty("memoryMax")
+    private Double memoryMax;
+
+    @Column(name = "memory_sum")
+    @JsonProperty("memorySum")
+    private Double memorySum;
+
+    @Column(name = "memory_samples")
+    @JsonProperty("memorySamples")
+    private Long memorySamples;
+
+    @Column(name = "request_count_min")
+    @JsonProperty("requestCountMin")
+    private Double requestCountMin;
+
+    @Column(name = "request_count_max")
+    @JsonProperty("requestCountMax")
+    private Double requestCountMax;
+
+    @Column(name = "request_count_sum")
+    @JsonProperty("requestCountSum")
+    private Double requestCountSum;
+
+    @Column(name = "request_count_samples")
+    @JsonProperty("requestCountSamples")
+    private Long requestCountSamples;
+
+    @Column(name = "response_time_min")
+    @JsonProperty("responseTimeMin")
+    private Double responseTimeMin;
+
+    @Column(name = "response_time_max")
+    @JsonProperty("responseTimeMax")
+    private Double responseTimeMax;
+
+    @Column(name = "response_time_sum")
+    @JsonProperty("responseTimeSum")
+    private Double responseTimeSum;
+
+    @Column(name = "response_time_samples")
+    @JsonProperty("responseTimeSamples")
+    private Long responseTimeSamples;
+
+    @Column(name = "error_rate_min")
+    @JsonProperty("errorRateMin")
+    private Double errorRateMin;
+
+    @Column(name = "error_rate_max")
+    @JsonProperty("errorRateMax")
+    private Double errorRateMax;
+
+    @Column(name = "error_rate_sum")
+    @JsonProperty("errorRateSum")
+    private Double errorRateSum;
+
+    @Column(name = "error_rate_samples")
+    @JsonProperty("errorRateSamples")
+    private Long errorRateSamples;
+
+    // Constructors
+    public MetricRollup() {}
+
+    public MetricRollup(Long serviceId, Integer resolution, LocalDateTime bucketStart) {
+        this.serviceId = serviceId;
+        this.resolution = resolution;
+        this.bucketStart = bucketStart;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getServiceId() { return serviceId; }
+    public void setServiceId(Long serviceId) { this.serviceId = serviceId; }
+
+    public Integer getResolution() { return resolution; }
+    public void setResolution(Integer resolution) { this.resolution = resolution; }
+
+    public LocalDateTime getBucketStart() { return bucketStart; }
+    public void setBucketStart(LocalDateTime bucketStart) { this.bucketStart = bucketStart; }
+
+    public Long getSampleCount() { return sampleCount; }
+    public void setSampleCount(Long sampleCount) { this.sampleCount = sampleCount; }
+
+    public Double getCpuMin() { return cpuMin; }
+    public void setCpuMin(Double cpuMin) { this.cpuMin = cpuMin; }
+
+    public Double getCpuMax() { return cpuMax; }
+    public void setCpuMax(Double cpuMax) { this.cpuMax = cpuMax; }
+
+    public Double getCpuSum() { return cpuSum; }
+    public void setCpuSum(Double cpuSum) { this.cpuSum = cpuSum; }
+
+    public Long getCpuSamples() { return cpuSamples; }
+    public void setCpuSamples(Long cpuSamples) { this.cpuSamples = cpuSamples; }
+
+    public Double getMemoryMin() { return memoryMin; }
+    public void setMemoryMin(Double memoryMin) { this.memoryMin = memoryMin; }
+
+    public Double getMemoryMax() { return memoryMax; }
+    public void setMemoryMax(Double memoryMax) { this.memoryMax = memoryMax; }
+
+    public Double getMemorySum() { return memorySum; }
+    public void setMemorySum(Double memorySum) { this.memorySum = memorySum; }
+
+    public Long getMemorySamples() { return memorySamples; }
+    public void setMemorySamples(Long memorySamples) { this.memorySamples = memorySamples; }
+
+    public Double getRequestCountMin() { return requestCountMin; }
+    public void setRequestCountMin(Double requestCountMin) { this.requestCountMin = requestCountMin; }
+
+    public Double getRequestCountMax() { return requestCountMax; }
+    public void setRequestCountMax(Double requestCountMax) { this.requestCountMax = requestCountMax; }
+
+    public Double getRequestCountSum() { return requestCountSum; }
+    public void setRequestCountSum(Double requestCountSum) { this.requestCountSum = requestCountSum; }
+
+    public Long getRequestCountSamples() { return requestCountSamples; }
+    public void setRequestCountSamples(Long requestCountSamples) { this.requestCountSamples = requestCountSamples; }
+
+    public Double getResponseTimeMin() { return responseTimeMin; }
+    public void setResponseTimeMin(Double responseTimeMin) { this.responseTimeMin = responseTimeMin; }
+
+    public Double getResponseTimeMax() { return responseTimeMax; }
+    public void setResponseTimeMax(Double responseTimeMax) { this.responseTimeMax = responseTimeMax; }
+
+    public Double getResponseTimeSum() { return responseTimeSum; }
+    public void setResponseTimeSum(Double responseTimeSum) { this.responseTimeSum = responseTimeSum; }
+
+    public Long getResponseTimeSamples() { return responseTimeSamples; }
+    public void setResponseTimeSamples(Long responseTimeSamples) { this.responseTimeSamples = responseTimeSamples; }
+
+    public Double getErrorRateMin() { return errorRateMin; }
+    public void setErrorRateMin(Double errorRateMin) { this.errorRateMin = errorRateMin; }
+
+    public Double getErrorRateMax() { return errorRateMax; }
+    public void setErrorRateMax(Double errorRateMax) { this.errorRateMax = errorRateMax; }
+
+    public Double getErrorRateSum() { return errorRateSum; }
+    public void setErrorRateSum(Double errorRateSum) { this.errorRateSum = errorRateSum; }
+
+    public Long getErrorRateSamples() { return errorRateSamples; }
+    public void setErrorRateSamples(Long errorRateSamples) { this.errorRateSamples = errorRateSamples; }
+}
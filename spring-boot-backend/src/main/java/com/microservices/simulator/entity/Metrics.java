@@ -1,16 +1,20 @@
 package com.microservices.simulator.entity;
 
 import jakarta.persistence.*;
-import org.hibernate.annotations.CreationTimestamp;
+import jakarta.validation.constraints.NotNull;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "metrics")
+@Table(name = "metrics", indexes = {
+    @Index(name = "idx_metrics_timestamp_id", columnList = "timestamp DESC, id DESC"),
+    @Index(name = "idx_metrics_service_timestamp", columnList = "service_id, timestamp")
+})
 public class Metric {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "metrics_seq")
+    @SequenceGenerator(name = "metrics_seq", sequenceName = "metrics_seq", allocationSize = 50)
     private Long id;
 
     @Column
@@ -19,6 +23,7 @@ public class Metric {
     @Column
     private Double memory;
 
+    @NotNull(message = "Service id is required")
     @Column(name = "service_id")
     @JsonProperty("serviceId")
     private Long serviceId;
@@ -35,7 +40,6 @@ public class Metric {
     @JsonProperty("errorRate")
     private Double errorRate;
 
-    @CreationTimestamp
     @Column(name = "timestamp", updatable = false)
     private LocalDateTime timestamp;
 
@@ -48,6 +52,14 @@ public class Metric {
         this.memory = memory;
     }
 
+    @PrePersist
+    protected void onCreate() {
+        // Samples may carry their own capture time; only stamp the ones that don't
+        if (timestamp == null) {
+            timestamp = LocalDateTime.now();
+        }
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -0,0 +1,147 @@
+package com.microservices.simulator.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "scaling_policies", uniqueConstraints = @UniqueConstraint(columnNames = "service_id"))
+public class ScalingPolicy {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "service_id", nullable = false)
+    @JsonProperty("serviceId")
+    private Long serviceId;
+
+    @Column
+    private Boolean enabled = true;
+
+    // 'target-tracking' or 'step'
+    @NotBlank(message = "Policy type is required")
+    @Column(name = "policy_type", nullable = false)
+    @JsonProperty("policyType")
+    private String policyType;
+
+    // 'cpu', 'responseTime' or 'errorRate'
+    @NotBlank(message = "Metric is required")
+    @Column(nullable = false)
+    private String metric;
+
+    @Column(name = "target_value")
+    @JsonProperty("targetValue")
+    private Double targetValue;
+
+    @Column(name = "scale_out_threshold")
+    @JsonProperty("scaleOutThreshold")
+    private Double scaleOutThreshold;
+
+    @Column(name = "scale_in_threshold")
+    @JsonProperty("scaleInThreshold")
+    private Double scaleInThreshold;
+
+    @Column(name = "step_size")
+    @JsonProperty("stepSize")
+    private Integer stepSize = 1;
+
+    @Column(name = "min_instances")
+    @JsonProperty("minInstances")
+    private Integer minInstances = 1;
+
+    @Column(name = "max_instances")
+    @JsonProperty("maxInstances")
+    private Integer maxInstances = 10;
+
+    @Column(name = "scale_out_cooldown_seconds")
+    @JsonProperty("scaleOutCooldownSeconds")
+    private Integer scaleOutCooldownSeconds = 60;
+
+    @Column(name = "scale_in_cooldown_seconds")
+    @JsonProperty("scaleInCooldownSeconds")
+    private Integer scaleInCooldownSeconds = 300;
+
+    // When the autoscaler last scaled this service, so cooldowns survive a restart
+    @Column(name = "last_scale_out_at")
+    @JsonProperty("lastScaleOutAt")
+    private LocalDateTime lastScaleOutAt;
+
+    @Column(name = "last_scale_in_at")
+    @JsonProperty("lastScaleInAt")
+    private LocalDateTime lastScaleInAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    @JsonProperty("createdAt")
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    @JsonProperty("updatedAt")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public ScalingPolicy() {}
+
+    public ScalingPolicy(Long serviceId, String policyType, String metric) {
+        this.serviceId = serviceId;
+        this.policyType = policyType;
+        this.metric = metric;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getServiceId() { return serviceId; }
+    public void setServiceId(Long serviceId) { this.serviceId = serviceId; }
+
+    public Boolean getEnabled() { return enabled; }
+    public void setEnabled(Boolean enabled) { this.enabled = enabled; }
+
+    public String getPolicyType() { return policyType; }
+    public void setPolicyType(String policyType) { this.policyType = policyType; }
+
+    public String getMetric() { return metric; }
+    public void setMetric(String metric) { this.metric = metric; }
+
+    public Double getTargetValue() { return targetValue; }
+    public void setTargetValue(Double targetValue) { this.targetValue = targetValue; }
+
+    public Double getScaleOutThreshold() { return scaleOutThreshold; }
+    public void setScaleOutThreshold(Double scaleOutThreshold) { this.scaleOutThreshold = scaleOutThreshold; }
+
+    public Double getScaleInThreshold() { return scaleInThreshold; }
+    public void setScaleInThreshold(Double scaleInThreshold) { this.scaleInThreshold = scaleInThreshold; }
+
+    public Integer getStepSize() { return stepSize; }
+    public void setStepSize(Integer stepSize) { this.stepSize = stepSize; }
+
+    public Integer getMinInstances() { return minInstances; }
+    public void setMinInstances(Integer minInstances) { this.minInstances = minInstances; }
+
+    public Integer getMaxInstances() { return maxInstances; }
+    public void setMaxInstances(Integer maxInstances) { this.maxInstances = maxInstances; }
+
+    public Integer getScaleOutCooldownSeconds() { return scaleOutCooldownSeconds; }
+    public void setScaleOutCooldownSeconds(Integer scaleOutCooldownSeconds) { this.scaleOutCooldownSeconds = scaleOutCooldownSeconds; }
+
+    public Integer getScaleInCooldownSeconds() { return scaleInCooldownSeconds; }
+    public void setScaleInCooldownSeconds(Integer scaleInCooldownSeconds) { this.scaleInCooldownSeconds = scaleInCooldownSeconds; }
+
+    public LocalDateTime getLastScaleOutAt() { return lastScaleOutAt; }
+    public void setLastScaleOutAt(LocalDateTime lastScaleOutAt) { this.lastScaleOutAt = lastScaleOutAt; }
+
+    public LocalDateTime getLastScaleInAt() { return lastScaleInAt; }
+    public void setLastScaleInAt(LocalDateTime lastScaleInAt) { this.lastScaleInAt = lastScaleInAt; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
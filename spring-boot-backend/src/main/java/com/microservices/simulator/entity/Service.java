@@ -11,7 +11,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "services")
+@Table(name = "services", indexes = @Index(name = "idx_services_created_at_id", columnList = "created_at DESC, id DESC"))
 public class Service {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -9,7 +9,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "test_results")
+@Table(name = "test_results", indexes = @Index(name = "idx_test_results_created_at_id", columnList = "created_at DESC, id DESC"))
 public class TestResult {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -40,6 +40,19 @@ public class TestResult {
     @Column
     private Integer duration;
 
+    // Load tests only, in milliseconds
+    @Column(name = "latency_p50")
+    @JsonProperty("latencyP50")
+    private Double latencyP50;
+
+    @Column(name = "latency_p99")
+    @JsonProperty("latencyP99")
+    private Double latencyP99;
+
+    @Column(name = "latency_max")
+    @JsonProperty("latencyMax")
+    private Double latencyMax;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     @JsonProperty("createdAt")
@@ -79,6 +92,15 @@ public class TestResult {
     public Integer getDuration() { return duration; }
     public void setDuration(Integer duration) { this.duration = duration; }
 
+    public Double getLatencyP50() { return latencyP50; }
+    public void setLatencyP50(Double latencyP50) { this.latencyP50 = latencyP50; }
+
+    public Double getLatencyP99() { return latencyP99; }
+    public void setLatencyP99(Double latencyP99) { this.latencyP99 = latencyP99; }
+
+    public Double getLatencyMax() { return latencyMax; }
+    public void setLatencyMax(Double latencyMax) { this.latencyMax = latencyMax; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.microservices.simulator.gateway;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps the gateway calls in flight to one target service. Callers that find
+ * no permit are turned away immediately rather than queued, so a slow service
+ * holds at most {@code limit} request threads.
+ */
+public final class Bulkhead {
+    
+    private final int limit;
+    private final Semaphore permits;
+    private final AtomicLong rejected = new AtomicLong();
+    
+    public Bulkhead(int limit) {
+        this.limit = limit;
+        this.permits = new Semaphore(limit);
+    }
+    
+    public boolean tryAcquire() {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+        rejected.incrementAndGet();
+        return false;
+    }
+    
+    public void release() {
+        permits.release();
+    }
+    
+    public int getLimit() { return limit; }
+    
+    public int getActive() { return limit - permits.availablePermits(); }
+    
+    public long getRejected() { return rejected.get(); }
+}
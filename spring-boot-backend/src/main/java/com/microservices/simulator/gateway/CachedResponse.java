@@ -0,0 +1,32 @@
+package com.microservices.simulator.gateway;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A fully buffered upstream response as kept in the gateway response cache,
+ * with hop-by-hop headers already removed.
+ */
+public record CachedResponse(int status, Map<String, List<String>> headers, byte[] body) {
+    
+    /** Approximate heap footprint, used to weigh cache entries and for the cache memory gauge. */
+    public long weight() {
+        long weight = 64 + body.length;
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            weight += 32 + 2L * header.getKey().length();
+            for (String value : header.getValue()) {
+                weight += 24 + 2L * value.length();
+            }
+        }
+        return weight;
+    }
+    
+    public String header(String name) {
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (header.getKey().equalsIgnoreCase(name) && !header.getValue().isEmpty()) {
+                return header.getValue().get(0);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,166 @@
+package com.microservices.simulator.gateway;
+
+import com.microservices.simulator.config.ResilienceConfig;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-based circuit breaker over a sliding window of time buckets. Closed, it
+ * records each outcome in the current bucket and opens once the window holds
+ * enough calls with too high a failure or slow-call rate. Open, it rejects
+ * calls until the open duration has passed, then lets a few trial calls through
+ * half-open: all of them succeeding closes it, any failure opens it again.
+ *
+ * <p>Everything is atomics, so the per-call cost is a few CAS operations and a
+ * sum over the buckets. A bucket being recycled can lose an increment racing
+ * with its reset; the rates are estimates and that is accepted.
+ */
+public final class CircuitBreaker {
+    
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+    
+    private static final int CLOSED = 0;
+    private static final int OPEN = 1;
+    private static final int HALF_OPEN = 2;
+    
+    private final int buckets;
+    private final long bucketNanos;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long slowCallNanos;
+    private final double slowCallRateThreshold;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    
+    private final AtomicLongArray epochs;
+    private final AtomicLongArray calls;
+    private final AtomicLongArray failures;
+    private final AtomicLongArray slowCalls;
+    
+    private final AtomicInteger state = new AtomicInteger(CLOSED);
+    private volatile long openedAt;
+    private final AtomicInteger trialPermits = new AtomicInteger();
+    private final AtomicInteger trialSuccesses = new AtomicInteger();
+    
+    public CircuitBreaker(ResilienceConfig config) {
+        bucketNanos = Math.max(1, config.getBucketWidth().toNanos());
+        buckets = (int) Math.max(1, config.getWindow().toNanos() / bucketNanos);
+        minimumCalls = Math.max(1, config.getMinimumCalls());
+        failureRateThreshold = config.getFailureRateThreshold();
+        slowCallNanos = config.getSlowCallDuration().toNanos();
+        slowCallRateThreshold = config.getSlowCallRateThreshold();
+        openNanos = config.getOpenDuration().toNanos();
+        halfOpenCalls = Math.max(1, config.getHalfOpenCalls());
+        epochs = new AtomicLongArray(buckets);
+        calls = new AtomicLongArray(buckets);
+        failures = new AtomicLongArray(buckets);
+        slowCalls = new AtomicLongArray(buckets);
+        for (int i = 0; i < buckets; i++) {
+            epochs.set(i, Long.MIN_VALUE);
+        }
+    }
+    
+    /** Whether a call may go ahead at {@code now}; every admitted call must be followed by {@link #onResult}. */
+    public boolean tryAcquire(long now) {
+        int current = state.get();
+        if (current == CLOSED) {
+            return true;
+        }
+        if (current == OPEN) {
+            if (now - openedAt < openNanos) {
+                return false;
+            }
+            if (state.compareAndSet(OPEN, HALF_OPEN)) {
+                trialSuccesses.set(0);
+                trialPermits.set(halfOpenCalls);
+            }
+        }
+        return trialPermits.getAndDecrement() > 0;
+    }
+    
+    /**
+     * Records the outcome of an admitted call. Returns the state the breaker
+     * moved to because of it, or null if it stayed where it was.
+     */
+    public State onResult(long now, long elapsedNanos, boolean failed) {
+        boolean slow = elapsedNanos >= slowCallNanos;
+        int current = state.get();
+        if (current == HALF_OPEN) {
+            if (failed || slow) {
+                return open(HALF_OPEN, now) ? State.OPEN : null;
+            }
+            if (trialSuccesses.incrementAndGet() >= halfOpenCalls && state.compareAndSet(HALF_OPEN, CLOSED)) {
+                for (int i = 0; i < buckets; i++) {
+                    epochs.set(i, Long.MIN_VALUE);
+                }
+                return State.CLOSED;
+            }
+            return null;
+        }
+        if (current == OPEN) {
+            // Calls admitted before the breaker opened; their outcome no longer matters
+            return null;
+        }
+        long epoch = now / bucketNanos;
+        int i = (int) Math.floorMod(epoch, (long) buckets);
+        long seen = epochs.get(i);
+        if (seen != epoch && epochs.compareAndSet(i, seen, epoch)) {
+            calls.set(i, 0);
+            failures.set(i, 0);
+            slowCalls.set(i, 0);
+        }
+        calls.incrementAndGet(i);
+        if (failed) {
+            failures.incrementAndGet(i);
+        }
+        if (slow) {
+            slowCalls.incrementAndGet(i);
+        }
+        if (!failed && !slow) {
+            return null;
+        }
+        long[] totals = totals(epoch);
+        if (totals[0] < minimumCalls) {
+            return null;
+        }
+        boolean trip = totals[1] >= failureRateThreshold * totals[0] || totals[2] >= slowCallRateThreshold * totals[0];
+        return trip && open(CLOSED, now) ? State.OPEN : null;
+    }
+    
+    public State getState() {
+        return State.values()[state.get()];
+    }
+    
+    /** Calls, failures and slow calls currently in the window ending at {@code now}. */
+    public long[] getWindow(long now) {
+        return totals(now / bucketNanos);
+    }
+    
+    /** Human-readable summary of the window, used when recording why the breaker changed state. */
+    public String describe(long now) {
+        long[] totals = getWindow(now);
+        double total = Math.max(1, totals[0]);
+        return String.format(Locale.ROOT, "%d calls, %.0f%% failed, %.0f%% slow", totals[0],
+                100 * totals[1] / total, 100 * totals[2] / total);
+    }
+    
+    private boolean open(int from, long now) {
+        openedAt = now;
+        return state.compareAndSet(from, OPEN);
+    }
+    
+    private long[] totals(long epoch) {
+        long[] totals = new long[3];
+        for (int i = 0; i < buckets; i++) {
+            long seen = epochs.get(i);
+            if (seen != Long.MIN_VALUE && epoch - seen < buckets && seen <= epoch) {
+                totals[0] += calls.get(i);
+                totals[1] += failures.get(i);
+                totals[2] += slowCalls.get(i);
+            }
+        }
+        return totals;
+    }
+}
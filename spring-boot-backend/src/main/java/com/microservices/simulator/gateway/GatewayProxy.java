@@ -0,0 +1,379 @@
+package com.microservices.simulator.gateway;
+
+import com.microservices.simulator.chaos.ChaosEffects;
+import com.microservices.simulator.chaos.ChaosMatrix;
+import com.microservices.simulator.chaos.ChaosService;
+import com.microservices.simulator.config.GatewayConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Forwards gateway requests to the upstream of their matched route. The route
+ * comes from {@link RouteIndex}, so inactive routes are never matched and route
+ * edits apply to the next request. Each call is bounded by its target service's
+ * {@link Bulkhead} and the route's {@link CircuitBreaker}, and the route's
+ * timeout is a deadline for the whole exchange: a response body still arriving
+ * when it passes is cut off. Request bodies are buffered up to
+ * {@code max-request-body-bytes} and larger ones are refused.
+ * GETs on routes with a cache TTL go through {@link ResponseCache} first.
+ * Chaos rules targeting the route are applied just before the upstream call, so
+ * injected latency, errors and partitions are seen by the circuit breaker like
+ * real upstream failures.
+ */
+@Component
+public class GatewayProxy {
+    
+    private static final Logger log = LoggerFactory.getLogger(GatewayProxy.class);
+    
+    // Hop-by-hop headers, plus those the JDK client sets itself and refuses to accept
+    private static final Set<String> SKIPPED_HEADERS = Set.of(
+            "connection", "keep-alive", "proxy-authenticate", "proxy-authorization", "proxy-connection",
+            "te", "trailer", "transfer-encoding", "upgrade", "host", "content-length", "expect");
+    
+    @Autowired
+    private GatewayConfig gatewayConfig;
+    
+    @Autowired
+    private RouteIndex routeIndex;
+    
+    @Autowired
+    private Resilience resilience;
+    
+    @Autowired
+    private ResponseCache responseCache;
+    
+    @Autowired
+    private ChaosService chaosService;
+    
+    private HttpClient client;
+    // Closes response bodies whose deadline passed while they were still being relayed
+    private ScheduledExecutorService deadlines;
+    
+    @PostConstruct
+    public void init() {
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(gatewayConfig.getConnectTimeout())
+                .build();
+        deadlines = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "gateway-deadlines");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        deadlines.shutdownNow();
+    }
+    
+    public void forward(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String path = request.getRequestURI().substring(gatewayConfig.getPathPrefix().length());
+        GatewayRoute route = (GatewayRoute) request.getAttribute(RateLimitFilter.ROUTE_ATTRIBUTE);
+        if (route == null) {
+            route = routeIndex.match(request.getMethod(), path);
+        }
+        if (route == null) {
+            response.sendError(HttpStatus.NOT_FOUND.value(), "No active route for " + request.getMethod() + " " + path);
+            return;
+        }
+        if (route.upstream() == null) {
+            response.sendError(HttpStatus.BAD_GATEWAY.value(), "No upstream for service " + route.route().getTargetService());
+            return;
+        }
+        
+        long deadline = System.nanoTime() + route.timeout().toNanos();
+        HttpRequest.BodyPublisher body = body(request);
+        if (body == null) {
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(),
+                    "Request body exceeds " + gatewayConfig.getMaxRequestBodyBytes() + " bytes");
+            return;
+        }
+        String query = request.getQueryString();
+        HttpRequest.Builder upstream = HttpRequest.newBuilder(URI.create(route.upstream() + path + (query != null ? "?" + query : "")))
+                .timeout(route.timeout())
+                .method(request.getMethod(), body);
+        for (String name : Collections.list(request.getHeaderNames())) {
+            if (!SKIPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                for (String value : Collections.list(request.getHeaders(name))) {
+                    upstream.header(name, value);
+                }
+            }
+        }
+        upstream.header("X-Forwarded-For", request.getRemoteAddr());
+        if (request.getHeader("Host") != null) {
+            upstream.header("X-Forwarded-Host", request.getHeader("Host"));
+        }
+        upstream.header("X-Forwarded-Prefix", gatewayConfig.getPathPrefix());
+        
+        if (responseCache.isCacheable(route, request)) {
+            forwardCached(route, upstream.build(), ResponseCache.key(path, request), response, deadline);
+        } else {
+            call(route, upstream.build(), response, deadline, HttpResponse.BodyHandlers.ofInputStream(),
+                    reply -> relay(reply, response, deadline));
+        }
+    }
+    
+    // The first caller to miss on a key loads it; concurrent callers wait for that load instead of calling upstream
+    private void forwardCached(GatewayRoute route, HttpRequest upstream, String key, HttpServletResponse response,
+                               long deadline) throws IOException {
+        ResponseCache.RouteCache cache = responseCache.cacheFor(route);
+        CompletableFuture<CachedResponse> loading = new CompletableFuture<>();
+        CompletableFuture<CachedResponse> entry = cache.claim(key, loading);
+        if (entry != loading) {
+            CachedResponse cached = await(entry, route);
+            if (cached != null) {
+                write(cached, response, "HIT");
+                return;
+            }
+            // The shared load failed, timed out or was not storable; make our own call
+            call(route, upstream, response, deadline, HttpResponse.BodyHandlers.ofInputStream(),
+                    reply -> relay(reply, response, deadline));
+            return;
+        }
+        try {
+            // The whole body is read before send returns, so the exchange's deadline covers it
+            call(route, upstream, response, deadline, HttpResponse.BodyHandlers.ofByteArray(), reply -> {
+                CachedResponse fetched = new CachedResponse(reply.statusCode(), relayedHeaders(reply), reply.body());
+                loading.complete(responseCache.isStorable(fetched) ? cache.admit(fetched) : null);
+                write(fetched, response, "MISS");
+            });
+        } finally {
+            // No-op once completed above; otherwise the call failed and waiters fall back to their own
+            loading.complete(null);
+        }
+    }
+    
+    private static CachedResponse await(CompletableFuture<CachedResponse> entry, GatewayRoute route) {
+        try {
+            return entry.get(route.timeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | TimeoutException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Sends {@code upstream} through the target service's bulkhead and the route's
+     * circuit breaker, then hands a successful exchange to {@code relay} while the
+     * bulkhead permit is still held. On any failure the client has already been
+     * answered and {@code relay} is not called.
+     */
+    private <T> void call(GatewayRoute route, HttpRequest upstream, HttpServletResponse response, long deadline,
+                          HttpResponse.BodyHandler<T> handler, Relay<T> relay) throws IOException {
+        if (!resilience.isEnabled()) {
+            HttpResponse<T> reply = exchange(upstream, route, response, deadline, handler);
+            if (reply != null) {
+                relay.accept(reply);
+            }
+            return;
+        }
+        
+        // Bulkhead first: a breaker trial permit taken by a call the bulkhead then refused would never report back
+        Bulkhead bulkhead = resilience.bulkhead(route);
+        if (!bulkhead.tryAcquire()) {
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Too many concurrent calls to " + route.route().getTargetService());
+            return;
+        }
+        try {
+            CircuitBreaker breaker = resilience.breaker(route);
+            long started = System.nanoTime();
+            if (!breaker.tryAcquire(started)) {
+                response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Circuit open for " + route.route().getMethod() + " " + route.route().getPath());
+                return;
+            }
+            HttpResponse<T> reply = null;
+            try {
+                reply = exchange(upstream, route, response, deadline, handler);
+            } finally {
+                // Judged on time to response headers; streaming the body is the client's pace, not the upstream's
+                long now = System.nanoTime();
+                CircuitBreaker.State to = breaker.onResult(now, now - started, reply == null || reply.statusCode() >= 500);
+                if (to != null) {
+                    resilience.transitioned(route, breaker, to, now);
+                }
+            }
+            if (reply != null) {
+                relay.accept(reply);
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+    
+    /**
+     * Sends the request upstream and waits for {@code handler} to complete, at most
+     * until {@code deadline}; past it the exchange is cancelled. On failure answers
+     * the client itself and returns null.
+     */
+    private <T> HttpResponse<T> exchange(HttpRequest upstream, GatewayRoute route, HttpServletResponse response,
+                                         long deadline, HttpResponse.BodyHandler<T> handler) throws IOException {
+        CompletableFuture<HttpResponse<T>> pending = null;
+        try {
+            if (injectFault(route, response)) {
+                return null;
+            }
+            pending = client.sendAsync(upstream, handler);
+            return pending.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            pending.cancel(true);
+            response.sendError(HttpStatus.GATEWAY_TIMEOUT.value(), "Upstream did not answer within " + route.timeout());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof HttpTimeoutException) {
+                response.sendError(HttpStatus.GATEWAY_TIMEOUT.value(), "Upstream did not answer within " + route.timeout());
+            } else {
+                log.debug("Upstream {} failed: {}", route.upstream(), String.valueOf(e.getCause()));
+                response.sendError(HttpStatus.BAD_GATEWAY.value(), "Upstream unavailable");
+            }
+        } catch (InterruptedException e) {
+            if (pending != null) {
+                pending.cancel(true);
+            }
+            Thread.currentThread().interrupt();
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+        }
+        return null;
+    }
+    
+    /**
+     * Applies the route's active chaos rules. Latency is slept before the call, or
+     * answered as a timeout when it exceeds the route's; injected errors and
+     * partitions answer the client instead of calling upstream. Returns whether
+     * the client has been answered.
+     */
+    private boolean injectFault(GatewayRoute route, HttpServletResponse response) throws IOException, InterruptedException {
+        ChaosMatrix chaos = chaosService.getRouteMatrix();
+        Long routeId = route.route().getId();
+        if (chaos.isEmpty() || routeId == null) {
+            return false;
+        }
+        SplittableRandom random = new SplittableRandom();
+        ChaosEffects effects = new ChaosEffects();
+        chaos.apply(routeId, System.currentTimeMillis(), random, effects);
+        if (!effects.any()) {
+            return false;
+        }
+        long latency = Math.round(effects.extraLatency());
+        if (latency >= route.timeout().toMillis()) {
+            Thread.sleep(route.timeout().toMillis());
+            response.sendError(HttpStatus.GATEWAY_TIMEOUT.value(), "Upstream did not answer within " + route.timeout());
+            return true;
+        }
+        if (latency > 0) {
+            Thread.sleep(latency);
+        }
+        if (random.nextDouble() < effects.droppedFraction()) {
+            response.sendError(HttpStatus.BAD_GATEWAY.value(), "Upstream unavailable");
+            return true;
+        }
+        if (random.nextDouble() < effects.errorRate()) {
+            response.sendError(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Injected fault");
+            return true;
+        }
+        return false;
+    }
+    
+    // Status and headers are already sent when a body is cut off, so the client sees an aborted response
+    private void relay(HttpResponse<InputStream> reply, HttpServletResponse response, long deadline) throws IOException {
+        response.setStatus(reply.statusCode());
+        copyHeaders(relayedHeaders(reply), response);
+        try (InputStream in = reply.body(); OutputStream out = response.getOutputStream()) {
+            ScheduledFuture<?> cutOff = deadlines.schedule(() -> closeQuietly(in), deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            try {
+                in.transferTo(out);
+            } catch (IOException e) {
+                if (cutOff.isDone()) {
+                    throw new IOException("Upstream body not complete within the route timeout", e);
+                }
+                throw e;
+            } finally {
+                cutOff.cancel(false);
+            }
+        }
+    }
+    
+    private static void closeQuietly(InputStream in) {
+        try {
+            in.close();
+        } catch (IOException e) {
+            // Nothing left to do; the relaying thread sees the stream closed
+        }
+    }
+    
+    private static void write(CachedResponse cached, HttpServletResponse response, String cacheStatus) throws IOException {
+        response.setStatus(cached.status());
+        copyHeaders(cached.headers(), response);
+        response.setHeader("X-Cache", cacheStatus);
+        try (OutputStream out = response.getOutputStream()) {
+            out.write(cached.body());
+        }
+    }
+    
+    private static Map<String, List<String>> relayedHeaders(HttpResponse<?> reply) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        reply.headers().map().forEach((name, values) -> {
+            if (!name.startsWith(":") && !SKIPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.put(name, values);
+            }
+        });
+        return headers;
+    }
+    
+    private static void copyHeaders(Map<String, List<String>> headers, HttpServletResponse response) {
+        headers.forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+    }
+    
+    @FunctionalInterface
+    private interface Relay<T> {
+        void accept(HttpResponse<T> reply) throws IOException;
+    }
+    
+    // Null when the body is over the size limit
+    private HttpRequest.BodyPublisher body(HttpServletRequest request) throws IOException {
+        boolean chunked = request.getHeader("Transfer-Encoding") != null;
+        long length = request.getContentLengthLong();
+        if (length <= 0 && !chunked) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        int limit = gatewayConfig.getMaxRequestBodyBytes();
+        if (length > limit) {
+            return null;
+        }
+        // A chunked body's size is only known once read; reading one byte past the limit tells it apart
+        byte[] bytes = request.getInputStream().readNBytes(limit + 1);
+        return bytes.length > limit ? null : HttpRequest.BodyPublishers.ofByteArray(bytes);
+    }
+}
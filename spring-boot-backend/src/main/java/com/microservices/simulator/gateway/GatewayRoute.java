@@ -0,0 +1,13 @@
+package com.microservices.simulator.gateway;
+
+import com.microservices.simulator.entity.ApiRoute;
+
+import java.time.Duration;
+
+/**
+ * An active route compiled for proxying: the row it came from, its target
+ * service's id and base URL (either {@code null} if unknown) and the
+ * per-request timeout.
+ */
+public record GatewayRoute(ApiRoute route, Long serviceId, String upstream, Duration timeout) {
+}
@@ -0,0 +1,51 @@
+package com.microservices.simulator.gateway;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Generic cell rate algorithm state for one rate-limit key. The whole bucket is
+ * a single theoretical arrival time (TAT) updated by compare-and-set, so
+ * concurrent callers never block each other; a loser simply retries against
+ * the new TAT.
+ */
+public final class GcraBucket {
+    
+    private static final VarHandle TAT;
+    
+    static {
+        try {
+            TAT = MethodHandles.lookup().findVarHandle(GcraBucket.class, "tat", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+    
+    private volatile long tat = Long.MIN_VALUE;
+    
+    /**
+     * Admits one request at {@code now} if fewer than {@code burst} emission
+     * intervals are already booked ahead of it. Returns 0 when admitted,
+     * otherwise the nanoseconds until a request would be.
+     */
+    public long tryAcquire(long now, long intervalNanos, long burst) {
+        long tolerance = intervalNanos * burst;
+        while (true) {
+            long current = tat;
+            long next = (current == Long.MIN_VALUE || current - now < 0 ? now : current) + intervalNanos;
+            long ahead = next - now;
+            if (ahead > tolerance) {
+                return ahead - tolerance;
+            }
+            if (TAT.compareAndSet(this, current, next)) {
+                return 0;
+            }
+        }
+    }
+    
+    /** True once the bucket has fully refilled, i.e. it is indistinguishable from a new one. */
+    public boolean isIdle(long now) {
+        long current = tat;
+        return current == Long.MIN_VALUE || current - now <= 0;
+    }
+}
@@ -0,0 +1,61 @@
+package com.microservices.simulator.gateway;
+
+import com.microservices.simulator.config.GatewayConfig;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Applies route rate limits to requests under the gateway prefix. The matched
+ * {@link GatewayRoute} is left in the {@link #ROUTE_ATTRIBUTE} request attribute
+ * so the proxy doesn't resolve it again; unmatched requests pass through.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+    
+    public static final String ROUTE_ATTRIBUTE = RateLimitFilter.class.getName() + ".route";
+    
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    
+    @Autowired
+    private GatewayConfig gatewayConfig;
+    
+    @Autowired
+    private RouteIndex routeIndex;
+    
+    @Autowired
+    private RateLimiter rateLimiter;
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(gatewayConfig.getPathPrefix() + "/");
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(gatewayConfig.getPathPrefix().length());
+        GatewayRoute route = routeIndex.match(request.getMethod(), path);
+        if (route != null) {
+            request.setAttribute(ROUTE_ATTRIBUTE, route);
+            String header = gatewayConfig.getClientKeyHeader();
+            String clientKey = header == null || header.isEmpty() ? null : request.getHeader(header);
+            long wait = rateLimiter.tryAcquire(route.route(), clientKey);
+            if (wait > 0) {
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                // Retry-After is whole seconds; round up so clients never retry early
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf((wait + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND));
+                return;
+            }
+        }
+        chain.doFilter(request, response);
+    }
+}
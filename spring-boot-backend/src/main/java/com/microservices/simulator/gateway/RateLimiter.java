@@ -0,0 +1,132 @@
+package com.microservices.simulator.gateway;
+
+import com.microservices.simulator.config.GatewayConfig;
+import com.microservices.simulator.entity.ApiRoute;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Enforces {@link ApiRoute#getRateLimit()} (requests per minute, as the UI shows
+ * it) per route. Every request is charged to the route's bucket; when a client
+ * key is supplied, the client's own bucket, limited to a share of the route's
+ * rate, is checked first so one client cannot use up the whole route. Each key
+ * owns its own {@link GcraBucket}, and the maps holding them are
+ * ConcurrentHashMaps, so traffic on different routes or clients touches
+ * different bins and cells and never shares a lock.
+ * <p>
+ * A route tracks at most {@code max-clients-per-route} clients. Clients beyond
+ * that are held to the route limit alone until the idle sweep frees room, so
+ * rotating the client key neither skips the limit nor grows memory.
+ */
+@Component
+public class RateLimiter {
+    
+    private static final long NANOS_PER_MINUTE = 60_000_000_000L;
+    
+    @Autowired
+    private GatewayConfig gatewayConfig;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final Map<Long, RouteLimit> routes = new ConcurrentHashMap<>();
+    
+    /** Returns 0 if the request may proceed, otherwise nanoseconds until it could. */
+    public long tryAcquire(ApiRoute route, String clientKey) {
+        Integer rateLimit = route.getRateLimit();
+        if (!gatewayConfig.isRateLimitEnabled() || rateLimit == null || rateLimit <= 0) {
+            return 0;
+        }
+        RouteLimit limit = routes.computeIfAbsent(route.getId(), id -> new RouteLimit(route));
+        long now = System.nanoTime();
+        long wait = 0;
+        GcraBucket client = clientKey == null || clientKey.isEmpty() ? null : clientBucket(limit, clientKey);
+        if (client != null) {
+            double clientRate = rateLimit * gatewayConfig.getClientRateShare();
+            wait = client.tryAcquire(now, interval(clientRate), burst(clientRate));
+        }
+        // A client turned away here is not charged to the route
+        if (wait == 0) {
+            wait = limit.bucket.tryAcquire(now, interval(rateLimit), burst(rateLimit));
+        }
+        (wait == 0 ? limit.accepted : limit.rejected).increment();
+        return wait;
+    }
+    
+    private GcraBucket clientBucket(RouteLimit limit, String clientKey) {
+        GcraBucket bucket = limit.clients.get(clientKey);
+        if (bucket == null && limit.clients.size() < gatewayConfig.getMaxClientsPerRoute()) {
+            // Concurrent new clients may overshoot the cap by a few buckets
+            bucket = limit.clients.computeIfAbsent(clientKey, key -> new GcraBucket());
+        }
+        return bucket;
+    }
+    
+    private static long interval(double perMinute) {
+        return Math.max(1, (long) (NANOS_PER_MINUTE / perMinute));
+    }
+    
+    private long burst(double perMinute) {
+        return Math.max(1, (long) Math.ceil(perMinute / 60 * gatewayConfig.getBurstSeconds()));
+    }
+    
+    @Scheduled(fixedDelayString = "${simulator.gateway.idle-sweep-interval:PT1M}")
+    public void sweepIdleClients() {
+        long now = System.nanoTime();
+        for (RouteLimit limit : routes.values()) {
+            limit.clients.values().removeIf(bucket -> bucket.isIdle(now));
+        }
+    }
+    
+    /** Drops buckets and counters of routes that were removed or re-pointed at a different method or path. */
+    public void retain(Collection<ApiRoute> activeRoutes) {
+        Map<Long, ApiRoute> byId = new HashMap<>();
+        for (ApiRoute route : activeRoutes) {
+            byId.put(route.getId(), route);
+        }
+        routes.entrySet().removeIf(entry -> {
+            ApiRoute route = byId.get(entry.getKey());
+            RouteLimit limit = entry.getValue();
+            if (route != null && limit.method.equals(route.getMethod()) && limit.path.equals(route.getPath())) {
+                return false;
+            }
+            meterRegistry.remove(limit.accepted);
+            meterRegistry.remove(limit.rejected);
+            return true;
+        });
+    }
+    
+    private final class RouteLimit {
+        final GcraBucket bucket = new GcraBucket();
+        final Map<String, GcraBucket> clients = new ConcurrentHashMap<>();
+        final String method;
+        final String path;
+        final Counter accepted;
+        final Counter rejected;
+        
+        RouteLimit(ApiRoute route) {
+            method = route.getMethod();
+            path = route.getPath();
+            accepted = counter(route, "accepted");
+            rejected = counter(route, "rejected");
+        }
+        
+        private Counter counter(ApiRoute route, String outcome) {
+            return Counter.builder("gateway.ratelimit.requests")
+                    .description("Gateway requests admitted or rejected by the route rate limit")
+                    .tag("route", String.valueOf(route.getId()))
+                    .tag("method", route.getMethod())
+                    .tag("path", route.getPath())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.microservices.simulator.gateway;
+
+import com.microservices.simulator.config.ResilienceConfig;
+import com.microservices.simulator.entity.Activity;
+import com.microservices.simulator.entity.ApiRoute;
+import com.microservices.simulator.service.ActivityService;
+import com.microservices.simulator.service.MicroserviceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds a {@link CircuitBreaker} per gateway route and a {@link Bulkhead} per
+ * target service, created on first use, and records every breaker trip and
+ * recovery as a "circuit_breaker" activity.
+ */
+@Component
+public class Resilience {
+    
+    private static final Logger log = LoggerFactory.getLogger(Resilience.class);
+    
+    @Autowired
+    private ResilienceConfig config;
+    
+    @Autowired
+    private ActivityService activityService;
+    
+    private final Map<Long, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final Map<Long, ApiRoute> breakerRoutes = new ConcurrentHashMap<>();
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+    
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+    
+    public CircuitBreaker breaker(GatewayRoute route) {
+        CircuitBreaker breaker = breakers.get(route.route().getId());
+        if (breaker == null) {
+            breakerRoutes.put(route.route().getId(), route.route());
+            breaker = breakers.computeIfAbsent(route.route().getId(), id -> new CircuitBreaker(config));
+        }
+        return breaker;
+    }
+    
+    public Bulkhead bulkhead(GatewayRoute route) {
+        String service = MicroserviceService.normalizeName(route.route().getTargetService());
+        Bulkhead bulkhead = bulkheads.get(service);
+        return bulkhead != null ? bulkhead : bulkheads.computeIfAbsent(service, name -> new Bulkhead(config.getMaxConcurrentPerService()));
+    }
+    
+    /**
+     * Drops breakers of routes that were removed or whose method, path, target or
+     * timeout changed, so they start over closed, and bulkheads of services no active
+     * route targets any more once their calls have finished.
+     */
+    public void retain(Collection<ApiRoute> activeRoutes) {
+        Map<Long, ApiRoute> byId = new HashMap<>();
+        Set<String> services = new HashSet<>();
+        for (ApiRoute route : activeRoutes) {
+            byId.put(route.getId(), route);
+            services.add(MicroserviceService.normalizeName(route.getTargetService()));
+        }
+        breakerRoutes.entrySet().removeIf(entry -> {
+            ApiRoute route = byId.get(entry.getKey());
+            if (route != null && sameTarget(entry.getValue(), route)) {
+                return false;
+            }
+            breakers.remove(entry.getKey());
+            return true;
+        });
+        // Breakers created without a route entry by a racing first call
+        breakers.keySet().removeIf(id -> !breakerRoutes.containsKey(id));
+        bulkheads.entrySet().removeIf(entry -> !services.contains(entry.getKey()) && entry.getValue().getActive() == 0);
+    }
+    
+    private static boolean sameTarget(ApiRoute previous, ApiRoute route) {
+        return Objects.equals(previous.getMethod(), route.getMethod())
+                && Objects.equals(previous.getPath(), route.getPath())
+                && Objects.equals(previous.getTargetService(), route.getTargetService())
+                && Objects.equals(previous.getTimeout(), route.getTimeout());
+    }
+    
+    /** Records a breaker state change reported by {@link CircuitBreaker#onResult}. */
+    public void transitioned(GatewayRoute route, CircuitBreaker breaker, CircuitBreaker.State to, long now) {
+        ApiRoute apiRoute = route.route();
+        String message = (to == CircuitBreaker.State.OPEN ? "Circuit opened for " : "Circuit closed for ")
+                + apiRoute.getMethod() + " " + apiRoute.getPath() + " -> " + apiRoute.getTargetService()
+                + " (" + breaker.describe(now) + ")";
+        log.info(message);
+        Activity activity = new Activity("circuit_breaker", message);
+        activity.setServiceId(route.serviceId());
+        activity.setSeverity(to == CircuitBreaker.State.OPEN ? "warning" : "info");
+        try {
+            activityService.createActivity(activity);
+        } catch (RuntimeException e) {
+            log.warn("Could not record circuit breaker activity: {}", e.getMessage());
+        }
+    }
+    
+    public Map<String, Object> snapshot() {
+        long now = System.nanoTime();
+        List<Map<String, Object>> circuits = new ArrayList<>();
+        breakers.forEach((routeId, breaker) -> {
+            ApiRoute route = breakerRoutes.get(routeId);
+            long[] window = breaker.getWindow(now);
+            Map<String, Object> circuit = new LinkedHashMap<>();
+            circuit.put("routeId", routeId);
+            circuit.put("method", route != null ? route.getMethod() : null);
+            circuit.put("path", route != null ? route.getPath() : null);
+            circuit.put("state", breaker.getState());
+            circuit.put("calls", window[0]);
+            circuit.put("failures", window[1]);
+            circuit.put("slowCalls", window[2]);
+            circuits.add(circuit);
+        });
+        List<Map<String, Object>> limits = new ArrayList<>();
+        bulkheads.forEach((service, bulkhead) -> {
+            Map<String, Object> limit = new LinkedHashMap<>();
+            limit.put("service", service);
+            limit.put("limit", bulkhead.getLimit());
+            limit.put("active", bulkhead.getActive());
+            limit.put("rejected", bulkhead.getRejected());
+            limits.add(limit);
+        });
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("enabled", config.isEnabled());
+        snapshot.put("circuitBreakers", circuits);
+        snapshot.put("bulkheads", limits);
+        return snapshot;
+    }
+}
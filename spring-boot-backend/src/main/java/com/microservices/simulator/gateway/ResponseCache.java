@@ -0,0 +1,180 @@
+package com.microservices.simulator.gateway;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.microservices.simulator.config.GatewayConfig;
+import com.microservices.simulator.entity.ApiRoute;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-route caches of proxied GET responses. Each route with a positive
+ * {@code cacheTtlSeconds} gets its own Caffeine (W-TinyLFU) cache, weighed by
+ * {@link CachedResponse#weight()} against {@code cache-max-bytes-per-route}.
+ * Every entry weighs at least that budget divided by {@code cacheMaxEntries},
+ * so the entry bound still holds when responses are small. Entries are futures,
+ * so concurrent misses on a key find the first caller's in-flight load and wait
+ * for it instead of calling the upstream themselves. Requests carrying
+ * credentials or cookies are never cached.
+ */
+@Component
+public class ResponseCache {
+    
+    @Autowired
+    private GatewayConfig gatewayConfig;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final Map<Long, RouteCache> caches = new ConcurrentHashMap<>();
+    
+    /** Whether this request may be answered from, and stored in, its route's cache. */
+    public boolean isCacheable(GatewayRoute route, HttpServletRequest request) {
+        Integer ttl = route.route().getCacheTtlSeconds();
+        return ttl != null && ttl > 0
+                && "GET".equals(request.getMethod())
+                && request.getHeader("Authorization") == null
+                && request.getHeader("Cookie") == null
+                && request.getContentLengthLong() <= 0;
+    }
+    
+    public RouteCache cacheFor(GatewayRoute route) {
+        RouteCache cache = caches.get(route.route().getId());
+        return cache != null ? cache : caches.computeIfAbsent(route.route().getId(), id -> new RouteCache(route.route()));
+    }
+    
+    /** Cache key: the upstream path and query plus the headers that change the representation. */
+    public static String key(String path, HttpServletRequest request) {
+        String query = request.getQueryString();
+        return path + (query != null ? "?" + query : "")
+                + '\n' + Objects.toString(request.getHeader("Accept"), "")
+                + '\n' + Objects.toString(request.getHeader("Accept-Encoding"), "");
+    }
+    
+    /** Whether an upstream reply may be shared with other clients. */
+    public boolean isStorable(CachedResponse response) {
+        if (response.status() != 200 || response.body().length > gatewayConfig.getCacheMaxBodyBytes()) {
+            return false;
+        }
+        if (response.header("Set-Cookie") != null) {
+            return false;
+        }
+        String cacheControl = response.header("Cache-Control");
+        if (cacheControl == null) {
+            return true;
+        }
+        String directives = cacheControl.toLowerCase(Locale.ROOT);
+        return !directives.contains("no-store") && !directives.contains("private") && !directives.contains("no-cache");
+    }
+    
+    /** Drops caches of routes that were removed or whose cache settings changed. */
+    public void retain(Collection<ApiRoute> activeRoutes) {
+        Map<Long, ApiRoute> byId = new HashMap<>();
+        for (ApiRoute route : activeRoutes) {
+            byId.put(route.getId(), route);
+        }
+        caches.entrySet().removeIf(entry -> {
+            ApiRoute route = byId.get(entry.getKey());
+            RouteCache cache = entry.getValue();
+            if (route != null && cache.matches(route)) {
+                return false;
+            }
+            cache.close();
+            return true;
+        });
+    }
+    
+    public final class RouteCache {
+        private final String name;
+        private final String method;
+        private final String path;
+        private final Integer ttlSeconds;
+        private final Integer maxEntries;
+        private final AsyncCache<String, CachedResponse> cache;
+        private final AtomicLong bytes = new AtomicLong();
+        
+        RouteCache(ApiRoute route) {
+            name = "gateway.route." + route.getId();
+            method = route.getMethod();
+            path = route.getPath();
+            ttlSeconds = route.getCacheTtlSeconds();
+            maxEntries = route.getCacheMaxEntries();
+            long budget = gatewayConfig.getCacheMaxBytesPerRoute();
+            long minWeight = budget / (maxEntries != null && maxEntries > 0 ? maxEntries : gatewayConfig.getCacheDefaultMaxEntries());
+            cache = Caffeine.newBuilder()
+                    .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                    .maximumWeight(budget)
+                    .weigher((String key, CachedResponse value) -> (int) Math.min(Integer.MAX_VALUE, Math.max(minWeight, value.weight())))
+                    .removalListener((String key, CachedResponse value, RemovalCause cause) -> {
+                        // Loads that produced nothing shareable complete with null and are removed without a value
+                        if (value != null) {
+                            bytes.addAndGet(-value.weight());
+                        }
+                    })
+                    .recordStats()
+                    .buildAsync();
+            
+            Tags tags = Tags.of(Tag.of("route", String.valueOf(route.getId())), Tag.of("method", method), Tag.of("path", path));
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, name, tags);
+            Tags cacheTags = tags.and("cache", name);
+            Gauge.builder("gateway.cache.hit.ratio", cache, c -> c.synchronous().stats().hitRate())
+                    .description("Share of cacheable gateway requests answered from the cache")
+                    .tags(cacheTags)
+                    .register(meterRegistry);
+            Gauge.builder("gateway.cache.size.bytes", bytes, AtomicLong::get)
+                    .description("Approximate memory held by cached gateway responses")
+                    .baseUnit("bytes")
+                    .tags(cacheTags)
+                    .register(meterRegistry);
+        }
+        
+        /**
+         * Returns the entry for {@code key}, installing {@code loading} if there is
+         * none. The caller whose future comes back owns the load and must complete
+         * it, with null if the result is not to be shared.
+         */
+        public CompletableFuture<CachedResponse> claim(String key, CompletableFuture<CachedResponse> loading) {
+            return cache.get(key, (k, executor) -> loading);
+        }
+        
+        /** Accounts for a response about to be stored; returns it for chaining. */
+        public CachedResponse admit(CachedResponse response) {
+            bytes.addAndGet(response.weight());
+            return response;
+        }
+        
+        boolean matches(ApiRoute route) {
+            return method.equals(route.getMethod()) && path.equals(route.getPath())
+                    && Objects.equals(ttlSeconds, route.getCacheTtlSeconds())
+                    && Objects.equals(maxEntries, route.getCacheMaxEntries());
+        }
+        
+        void close() {
+            cache.synchronous().invalidateAll();
+            // The Caffeine binder and both gauges all carry the cache tag
+            for (Meter meter : meterRegistry.getMeters()) {
+                if (name.equals(meter.getId().getTag("cache"))) {
+                    meterRegistry.remove(meter);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.microservices.simulator.gateway;
+
+import com.microservices.simulator.config.GatewayConfig;
+import com.microservices.simulator.entity.ApiRoute;
+import com.microservices.simulator.entity.Service;
+import com.microservices.simulator.repository.ApiRouteRepository;
+import com.microservices.simulator.repository.ServiceRepository;
+import com.microservices.simulator.service.MicroserviceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory index of the active {@link ApiRoute}s, compiled together with each
+ * route's upstream address and timeout. Every route or service change rebuilds
+ * the trie from the database and swaps it in with a single volatile write, so
+ * lookups never see a half-built index and never take a lock.
+ */
+@Component
+public class RouteIndex {
+    
+    private static final Logger log = LoggerFactory.getLogger(RouteIndex.class);
+    
+    @Autowired
+    private ApiRouteRepository apiRouteRepository;
+    
+    @Autowired
+    private ServiceRepository serviceRepository;
+    
+    @Autowired
+    private GatewayConfig gatewayConfig;
+    
+    @Autowired
+    private RateLimiter rateLimiter;
+    
+    @Autowired
+    private ResponseCache responseCache;
+    
+    @Autowired
+    private Resilience resilience;
+    
+    private volatile RouteTrie<GatewayRoute> trie = new RouteTrie.Builder<GatewayRoute>().build();
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        List<ApiRoute> routes = new ArrayList<>(apiRouteRepository.findByIsActive(true));
+        // Lowest id wins between routes with the same pattern and method
+        routes.sort(Comparator.comparing(ApiRoute::getId));
+        Map<String, Service> services = new HashMap<>();
+        for (Service service : serviceRepository.findAll()) {
+            services.putIfAbsent(MicroserviceService.normalizeName(service.getName()), service);
+        }
+        RouteTrie.Builder<GatewayRoute> builder = new RouteTrie.Builder<>();
+        for (ApiRoute route : routes) {
+            String target = MicroserviceService.normalizeName(route.getTargetService());
+            Service service = services.get(target);
+            Duration timeout = route.getTimeout() != null && route.getTimeout() > 0
+                    ? Duration.ofMillis(route.getTimeout())
+                    : gatewayConfig.getDefaultTimeout();
+            builder.add(route.getMethod(), route.getPath(),
+                    new GatewayRoute(route, service != null ? service.getId() : null, upstream(target, service), timeout));
+        }
+        if (!builder.getRejected().isEmpty()) {
+            log.warn("Routes with unsupported patterns were not indexed: {}", builder.getRejected());
+        }
+        trie = builder.build();
+        rateLimiter.retain(routes);
+        responseCache.retain(routes);
+        resilience.retain(routes);
+    }
+    
+    public Optional<ApiRoute> resolve(String method, String path) {
+        GatewayRoute match = trie.resolve(method, path);
+        return match != null ? Optional.of(match.route()) : Optional.empty();
+    }
+    
+    /** Allocation-free lookup for the request path; null when nothing matches. */
+    public GatewayRoute match(String method, String path) {
+        return trie.resolve(method, path);
+    }
+    
+    public int size() {
+        return trie.size();
+    }
+    
+    // A configured override beats host:port of the service row
+    private String upstream(String target, Service service) {
+        for (Map.Entry<String, String> override : gatewayConfig.getUpstreams().entrySet()) {
+            if (MicroserviceService.normalizeName(override.getKey()).equals(target)) {
+                String url = override.getValue();
+                return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+            }
+        }
+        if (service == null || service.getPort() == null) {
+            return null;
+        }
+        return "http://" + gatewayConfig.getUpstreamHost() + ":" + service.getPort();
+    }
+}
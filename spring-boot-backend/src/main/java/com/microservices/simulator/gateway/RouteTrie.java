@@ -0,0 +1,240 @@
+package com.microservices.simulator.gateway;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable trie over path segments with per-method dispatch at each terminal.
+ * Pattern segments are literals, {@code *} (or a {@code {name}} variable) for
+ * exactly one segment, and a trailing {@code **} for any remainder, including
+ * none. Literals take precedence over {@code *}, which takes precedence over
+ * {@code **}; among identical patterns the first one added wins.
+ *
+ * <p>{@link #resolve} walks the request path in place by index, comparing
+ * segments against sorted child keys without substrings or iterators, so a
+ * lookup allocates nothing. Empty segments and any query string are ignored.
+ */
+public final class RouteTrie<T> {
+    
+    // Slots 0-6 are GET, POST, PUT, DELETE, PATCH, HEAD and OPTIONS; this one holds routes declared for "*" or "ANY"
+    private static final int ANY = 7;
+    
+    private final Node<T> root;
+    private final int size;
+    
+    private RouteTrie(Node<T> root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public T resolve(String method, String path) {
+        int m = methodIndex(method);
+        if (m < 0) {
+            return null;
+        }
+        int end = path.indexOf('?');
+        return find(root, m, path, 0, end >= 0 ? end : path.length());
+    }
+    
+    private static <T> T find(Node<T> node, int m, String path, int from, int end) {
+        int start = from;
+        while (start < end && path.charAt(start) == '/') {
+            start++;
+        }
+        if (start == end) {
+            T exact = pick(node.handlers, m);
+            return exact != null ? exact : pick(node.catchAll, m);
+        }
+        int stop = path.indexOf('/', start);
+        if (stop < 0 || stop > end) {
+            stop = end;
+        }
+        int child = search(node.keys, path, start, stop);
+        if (child >= 0) {
+            T found = find(node.children[child], m, path, stop, end);
+            if (found != null) {
+                return found;
+            }
+        }
+        if (node.single != null) {
+            T found = find(node.single, m, path, stop, end);
+            if (found != null) {
+                return found;
+            }
+        }
+        return pick(node.catchAll, m);
+    }
+    
+    private static <T> T pick(T[] handlers, int m) {
+        if (handlers == null) {
+            return null;
+        }
+        return handlers[m] != null ? handlers[m] : handlers[ANY];
+    }
+    
+    private static int search(String[] keys, String path, int start, int stop) {
+        int low = 0;
+        int high = keys.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compare(keys[mid], path, start, stop);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+    
+    // Same ordering as String.compareTo, against path[start, stop)
+    private static int compare(String key, String path, int start, int stop) {
+        int length = Math.min(key.length(), stop - start);
+        for (int i = 0; i < length; i++) {
+            int diff = key.charAt(i) - path.charAt(start + i);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return key.length() - (stop - start);
+    }
+    
+    private static int methodIndex(String method) {
+        return switch (method) {
+            case "GET" -> 0;
+            case "POST" -> 1;
+            case "PUT" -> 2;
+            case "DELETE" -> 3;
+            case "PATCH" -> 4;
+            case "HEAD" -> 5;
+            case "OPTIONS" -> 6;
+            case "*", "ANY" -> ANY;
+            default -> -1;
+        };
+    }
+    
+    public static final class Builder<T> {
+        private final BuildNode root = new BuildNode();
+        private final List<String> rejected = new ArrayList<>();
+        private int size;
+        
+        /** Adds a route; returns false (and records it) if the pattern or method is not supported. */
+        public boolean add(String method, String pattern, T value) {
+            int m = method != null ? methodIndex(method.trim().toUpperCase(Locale.ROOT)) : -1;
+            if (m < 0 || pattern == null) {
+                rejected.add(method + " " + pattern);
+                return false;
+            }
+            String[] segments = pattern.split("/");
+            BuildNode node = root;
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                if (segment.isEmpty()) {
+                    continue;
+                }
+                if (segment.equals("**")) {
+                    if (!isLast(segments, i)) {
+                        rejected.add(method + " " + pattern);
+                        return false;
+                    }
+                    return put(node.catchAll(), m, value);
+                }
+                node = isWildcard(segment) ? node.single() : node.child(segment);
+            }
+            return put(node.handlers(), m, value);
+        }
+        
+        public List<String> getRejected() {
+            return rejected;
+        }
+        
+        public RouteTrie<T> build() {
+            return new RouteTrie<>(freeze(root), size);
+        }
+        
+        private boolean put(Object[] handlers, int m, T value) {
+            if (handlers[m] == null) {
+                handlers[m] = value;
+                size++;
+            }
+            return true;
+        }
+        
+        private static boolean isWildcard(String segment) {
+            return segment.equals("*") || (segment.startsWith("{") && segment.endsWith("}"));
+        }
+        
+        private static boolean isLast(String[] segments, int i) {
+            for (int j = i + 1; j < segments.length; j++) {
+                if (!segments[j].isEmpty()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Node<T> freeze(BuildNode node) {
+            Node<T> frozen = new Node<>();
+            frozen.keys = node.children.keySet().toArray(new String[0]);
+            frozen.children = new Node[frozen.keys.length];
+            for (int i = 0; i < frozen.keys.length; i++) {
+                frozen.children[i] = freeze(node.children.get(frozen.keys[i]));
+            }
+            frozen.single = node.single != null ? freeze(node.single) : null;
+            frozen.handlers = (T[]) node.handlers;
+            frozen.catchAll = (T[]) node.catchAll;
+            return frozen;
+        }
+    }
+    
+    private static final class Node<T> {
+        String[] keys;
+        Node<T>[] children;
+        Node<T> single;
+        T[] handlers;
+        T[] catchAll;
+    }
+    
+    private static final class BuildNode {
+        // TreeMap keeps keys in String.compareTo order, which search() relies on
+        final Map<String, BuildNode> children = new TreeMap<>();
+        BuildNode single;
+        Object[] handlers;
+        Object[] catchAll;
+        
+        BuildNode child(String segment) {
+            return children.computeIfAbsent(segment, s -> new BuildNode());
+        }
+        
+        BuildNode single() {
+            if (single == null) {
+                single = new BuildNode();
+            }
+            return single;
+        }
+        
+        Object[] handlers() {
+            if (handlers == null) {
+                handlers = new Object[ANY + 1];
+            }
+            return handlers;
+        }
+        
+        Object[] catchAll() {
+            if (catchAll == null) {
+                catchAll = new Object[ANY + 1];
+            }
+            return catchAll;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.microservices.simulator.lifecycle;
+
+import java.util.List;
+
+public class BulkLifecycleRequest {
+    private String action;
+    private List<Long> serviceIds;
+    
+    public String getAction() { return action; }
+    public void setAction(String action) { this.action = action; }
+    
+    public List<Long> getServiceIds() { return serviceIds; }
+    public void setServiceIds(List<Long> serviceIds) { this.serviceIds = serviceIds; }
+}
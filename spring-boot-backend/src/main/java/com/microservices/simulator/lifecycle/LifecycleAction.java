@@ -0,0 +1,38 @@
+package com.microservices.simulator.lifecycle;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Lifecycle actions and the states they may be applied from. Every action first
+ * moves the service into a transitional state; the rest happens asynchronously:
+ * <pre>
+ *   start:   stopped|failed|error|pending -> starting -> running (or failed)
+ *   stop:    running|failed|error|pending -> stopping -> stopped
+ *   restart: running|failed|error         -> stopping -> starting -> running (or failed)
+ * </pre>
+ */
+public enum LifecycleAction {
+    START(Set.of(ServiceStates.STOPPED, ServiceStates.FAILED, ServiceStates.ERROR, ServiceStates.PENDING), ServiceStates.STARTING),
+    STOP(Set.of(ServiceStates.RUNNING, ServiceStates.FAILED, ServiceStates.ERROR, ServiceStates.PENDING), ServiceStates.STOPPING),
+    RESTART(Set.of(ServiceStates.RUNNING, ServiceStates.FAILED, ServiceStates.ERROR), ServiceStates.STOPPING);
+    
+    private final Set<String> from;
+    private final String transitional;
+    
+    LifecycleAction(Set<String> from, String transitional) {
+        this.from = from;
+        this.transitional = transitional;
+    }
+    
+    public Set<String> getFrom() { return from; }
+    public String getTransitional() { return transitional; }
+    
+    public static LifecycleAction parse(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Unknown lifecycle action: " + name);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.microservices.simulator.lifecycle;
+
+/**
+ * Outcome of requesting one lifecycle action on one service. {@code status} is
+ * the state the service was left in by the request, not its final state.
+ */
+public class LifecycleResult {
+    public static final String ACCEPTED = "accepted";
+    public static final String CONFLICT = "conflict";
+    public static final String NOT_FOUND = "not_found";
+    public static final String REJECTED = "rejected";
+    
+    private Long serviceId;
+    private String action;
+    private String outcome;
+    private String status;
+    
+    public LifecycleResult(Long serviceId, LifecycleAction action, String outcome, String status) {
+        this.serviceId = serviceId;
+        this.action = action.name().toLowerCase();
+        this.outcome = outcome;
+        this.status = status;
+    }
+    
+    public Long getServiceId() { return serviceId; }
+    public void setServiceId(Long serviceId) { this.serviceId = serviceId; }
+    
+    public String getAction() { return action; }
+    public void setAction(String action) { this.action = action; }
+    
+    public String getOutcome() { return outcome; }
+    public void setOutcome(String outcome) { this.outcome = outcome; }
+    
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+}
@@ -0,0 +1,199 @@
+package com.microservices.simulator.lifecycle;
+
+import com.microservices.simulator.config.LifecycleConfig;
+import com.microservices.simulator.entity.Activity;
+import com.microservices.simulator.entity.Service;
+import com.microservices.simulator.service.ActivityService;
+import com.microservices.simulator.service.MicroserviceService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drives services through the lifecycle described on {@link LifecycleAction}.
+ * Entering the transitional state happens in the request as a compare-and-set on
+ * the status column, so concurrent requests for the same service cannot both
+ * win; the remaining steps run later on a small scheduler and are dropped if the
+ * status was changed underneath them. Admission is bounded by
+ * {@code simulator.lifecycle.max-pending}.
+ * <p>
+ * Scheduled steps live only in memory, so a restart (or a step that failed) can
+ * leave services in a transitional state. A sweep at startup and every
+ * {@code recovery-interval} completes any that have been starting or stopping
+ * for longer than the step takes plus {@code recovery-grace}.
+ */
+@Component
+public class ServiceLifecycleManager {
+    
+    private static final Logger log = LoggerFactory.getLogger(ServiceLifecycleManager.class);
+    
+    @Autowired
+    private LifecycleConfig config;
+    
+    @Autowired
+    private MicroserviceService microserviceService;
+    
+    @Autowired
+    private ActivityService activityService;
+    
+    private ScheduledExecutorService executor;
+    private final AtomicInteger pending = new AtomicInteger();
+    
+    @PostConstruct
+    public void init() {
+        executor = Executors.newScheduledThreadPool(config.getThreads());
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    public LifecycleResult apply(Long serviceId, LifecycleAction action) {
+        return applyAll(List.of(serviceId), action).get(0);
+    }
+    
+    public List<LifecycleResult> applyAll(List<Long> serviceIds, LifecycleAction action) {
+        if (serviceIds == null || serviceIds.isEmpty()) {
+            throw new IllegalArgumentException("No services given");
+        }
+        if (serviceIds.size() > config.getMaxBulkSize()) {
+            throw new IllegalArgumentException("At most " + config.getMaxBulkSize() + " services per request");
+        }
+        Set<Long> ids = new LinkedHashSet<>(serviceIds);
+        // Admission runs under the row locks, so only services that can move take a pending slot
+        Set<Long> admitted = new HashSet<>();
+        Map<Long, Service> services;
+        try {
+            services = microserviceService.transitionAll(ids, action.getFrom(), action.getTransitional(), service -> {
+                if (pending.incrementAndGet() > config.getMaxPending()) {
+                    pending.decrementAndGet();
+                    return false;
+                }
+                admitted.add(service.getId());
+                return true;
+            });
+        } catch (RuntimeException e) {
+            pending.addAndGet(-admitted.size());
+            throw e;
+        }
+        
+        List<LifecycleResult> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Service service = services.get(id);
+            if (service == null) {
+                results.add(new LifecycleResult(id, action, LifecycleResult.NOT_FOUND, null));
+            } else if (admitted.contains(id)) {
+                results.add(new LifecycleResult(id, action, LifecycleResult.ACCEPTED, action.getTransitional()));
+                schedule(id, service.getName(), action);
+            } else if (action.getFrom().contains(service.getStatus())) {
+                results.add(new LifecycleResult(id, action, LifecycleResult.REJECTED, service.getStatus()));
+            } else {
+                results.add(new LifecycleResult(id, action, LifecycleResult.CONFLICT, service.getStatus()));
+            }
+        }
+        return results;
+    }
+    
+    /**
+     * Completes transitions whose scheduled step was lost: starting becomes running
+     * and stopping becomes stopped. Must stay void: Spring publishes whatever an
+     * event listener returns as another event.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${simulator.lifecycle.recovery-interval:PT1M}",
+            initialDelayString = "${simulator.lifecycle.recovery-interval:PT1M}")
+    public void recover() {
+        LocalDateTime now = LocalDateTime.now();
+        recover(ServiceStates.STARTING, ServiceStates.RUNNING,
+                now.minus(config.getStartDuration()).minus(config.getRecoveryGrace()));
+        recover(ServiceStates.STOPPING, ServiceStates.STOPPED,
+                now.minus(config.getStopDuration()).minus(config.getRecoveryGrace()));
+    }
+    
+    private void recover(String from, String to, LocalDateTime before) {
+        List<Long> moved = microserviceService.transitionStale(from, to, before);
+        if (!moved.isEmpty()) {
+            log.info("Recovered {} services stuck in {}", moved.size(), from);
+            for (Long id : moved) {
+                record(id, "service_recovered", "Service recovered from " + from + " to " + to, "warning");
+            }
+        }
+    }
+    
+    public int getPendingCount() {
+        return pending.get();
+    }
+    
+    private void schedule(Long id, String name, LifecycleAction action) {
+        switch (action) {
+            case START -> later(config.getStartDuration(), () -> finishStart(id, name, false));
+            case STOP -> later(config.getStopDuration(), () -> {
+                if (microserviceService.transitionStatus(id, Set.of(ServiceStates.STOPPING), ServiceStates.STOPPED)) {
+                    record(id, "service_stop", "Service " + name + " stopped", "warning");
+                }
+                pending.decrementAndGet();
+            });
+            case RESTART -> later(config.getStopDuration(), () -> {
+                if (microserviceService.transitionStatus(id, Set.of(ServiceStates.STOPPING), ServiceStates.STARTING)) {
+                    record(id, "service_start", "Service " + name + " restarting", "info");
+                    later(config.getStartDuration(), () -> finishStart(id, name, true));
+                } else {
+                    pending.decrementAndGet();
+                }
+            });
+        }
+    }
+    
+    private void finishStart(Long id, String name, boolean restart) {
+        boolean fails = ThreadLocalRandom.current().nextDouble() < config.getStartFailureRate();
+        String to = fails ? ServiceStates.FAILED : ServiceStates.RUNNING;
+        if (microserviceService.transitionStatus(id, Set.of(ServiceStates.STARTING), to)) {
+            if (fails) {
+                record(id, "service_start", "Service " + name + " failed to start", "error");
+            } else {
+                record(id, "service_start", "Service " + name + (restart ? " restarted" : " started"), "success");
+            }
+        }
+        pending.decrementAndGet();
+    }
+    
+    private void later(Duration delay, Runnable step) {
+        executor.schedule(() -> {
+            try {
+                step.run();
+            } catch (RuntimeException e) {
+                // A failed step ends the transition wherever it got to
+                pending.decrementAndGet();
+                log.warn("Lifecycle transition step failed", e);
+            }
+        }, delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+    
+    private void record(Long serviceId, String type, String message, String severity) {
+        Activity activity = new Activity(type, message);
+        activity.setServiceId(serviceId);
+        activity.setSeverity(severity);
+        activityService.createActivity(activity);
+    }
+}
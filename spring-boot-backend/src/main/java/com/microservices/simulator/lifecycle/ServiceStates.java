@@ -0,0 +1,17 @@
+package com.microservices.simulator.lifecycle;
+
+/**
+ * Values of {@code Service.status}. "pending" and "error" predate the lifecycle
+ * state machine and are still accepted as inputs.
+ */
+public final class ServiceStates {
+    public static final String STARTING = "starting";
+    public static final String RUNNING = "running";
+    public static final String STOPPING = "stopping";
+    public static final String STOPPED = "stopped";
+    public static final String FAILED = "failed";
+    public static final String PENDING = "pending";
+    public static final String ERROR = "error";
+    
+    private ServiceStates() {}
+}
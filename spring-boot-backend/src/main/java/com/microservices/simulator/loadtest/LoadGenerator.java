@@ -0,0 +1,170 @@
+package com.microservices.simulator.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Open-loop HTTP load generator. Request {@code k} for a target is due at
+ * {@code start + k / rps} regardless of how earlier requests fared, and its
+ * latency is taken from that due time rather than the actual send, so a stalled
+ * server or generator shows up in the percentiles instead of being skipped over.
+ * Requests shed at {@code maxInFlight}, and those still open when the drain
+ * deadline passes, fail and are recorded at the request timeout.
+ */
+public class LoadGenerator {
+    
+    private static final double MICROS_PER_MILLI = 1000.0;
+    
+    private final HttpClient client;
+    private final Duration requestTimeout;
+    private final int maxInFlight;
+    
+    public LoadGenerator(HttpClient client, Duration requestTimeout, int maxInFlight) {
+        this.client = client;
+        this.requestTimeout = requestTimeout;
+        this.maxInFlight = maxInFlight;
+    }
+    
+    public List<RouteLoadResult> run(List<LoadTarget> targets, double rps, Duration duration) {
+        int n = targets.size();
+        List<HttpRequest> requests = new ArrayList<>(n);
+        Histogram[] latencies = new Histogram[n];
+        AtomicLong[] succeeded = new AtomicLong[n];
+        AtomicLong[] failed = new AtomicLong[n];
+        AtomicLong[] open = new AtomicLong[n];
+        long[] sent = new long[n];
+        for (int i = 0; i < n; i++) {
+            requests.add(toRequest(targets.get(i)));
+            latencies[i] = new ConcurrentHistogram(3);
+            succeeded[i] = new AtomicLong();
+            failed[i] = new AtomicLong();
+            open[i] = new AtomicLong();
+        }
+        long timeoutMicros = requestTimeout.toNanos() / 1000;
+        // Callbacks record under the read lock; closing the run under the write lock shuts out late ones
+        ReadWriteLock lock = new ReentrantReadWriteLock();
+        boolean[] closed = new boolean[1];
+        
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rps);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        AtomicLong inFlight = new AtomicLong();
+        // Targets share one schedule, staggered so they do not all fire on the same instant
+        long[] due = new long[n];
+        for (int i = 0; i < n; i++) {
+            due[i] = start + interval * i / Math.max(1, n);
+        }
+        while (true) {
+            int next = -1;
+            for (int i = 0; i < n; i++) {
+                if (due[i] < end && (next < 0 || due[i] < due[next])) {
+                    next = i;
+                }
+            }
+            if (next < 0) {
+                break;
+            }
+            long intended = due[next];
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            due[next] += interval;
+            sent[next]++;
+            int target = next;
+            if (inFlight.get() >= maxInFlight) {
+                // Keep the schedule; a request we cannot even issue fails as if it had timed out,
+                // so saturation still shows up in the percentiles
+                failed[target].incrementAndGet();
+                latencies[target].recordValue(timeoutMicros);
+                continue;
+            }
+            inFlight.incrementAndGet();
+            open[target].incrementAndGet();
+            client.sendAsync(requests.get(target), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        inFlight.decrementAndGet();
+                        lock.readLock().lock();
+                        try {
+                            if (closed[0]) {
+                                return;
+                            }
+                            open[target].decrementAndGet();
+                            long micros = Math.max(0, (System.nanoTime() - intended) / 1000);
+                            latencies[target].recordValue(micros);
+                            if (error == null && response.statusCode() < 400) {
+                                succeeded[target].incrementAndGet();
+                            } else {
+                                failed[target].incrementAndGet();
+                            }
+                        } finally {
+                            lock.readLock().unlock();
+                        }
+                    });
+        }
+        // Drain: every request is bounded by the request timeout, after which it completes exceptionally
+        long drainDeadline = System.nanoTime() + requestTimeout.toNanos() + TimeUnit.SECONDS.toNanos(1);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        lock.writeLock().lock();
+        try {
+            closed[0] = true;
+            for (int i = 0; i < n; i++) {
+                // Still open past the deadline: failed, at no less than the timeout
+                long stragglers = open[i].get();
+                if (stragglers > 0) {
+                    failed[i].addAndGet(stragglers);
+                    latencies[i].recordValueWithCount(timeoutMicros, stragglers);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        
+        double seconds = Math.max(1e-9, (System.nanoTime() - start) / 1e9);
+        List<RouteLoadResult> results = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            LoadTarget target = targets.get(i);
+            Histogram h = latencies[i];
+            boolean empty = h.getTotalCount() == 0;
+            results.add(new RouteLoadResult(target.routeId(), target.method(), target.uri().toString(),
+                    sent[i], succeeded[i].get(), failed[i].get(), succeeded[i].get() / seconds,
+                    empty ? null : h.getMean() / MICROS_PER_MILLI,
+                    empty ? null : millis(h.getValueAtPercentile(50.0)),
+                    empty ? null : millis(h.getValueAtPercentile(90.0)),
+                    empty ? null : millis(h.getValueAtPercentile(99.0)),
+                    empty ? null : millis(h.getValueAtPercentile(99.9)),
+                    empty ? null : millis(h.getMaxValue())));
+        }
+        return results;
+    }
+    
+    private HttpRequest toRequest(LoadTarget target) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(target.uri()).timeout(requestTimeout);
+        String method = target.method() != null ? target.method().toUpperCase() : "GET";
+        if ("POST".equals(method) || "PUT".equals(method) || "PATCH".equals(method)) {
+            builder.header("Content-Type", "application/json")
+                   .method(method, HttpRequest.BodyPublishers.ofString("{}"));
+        } else {
+            builder.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        return builder.build();
+    }
+    
+    private static double millis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+}
@@ -0,0 +1,9 @@
+package com.microservices.simulator.loadtest;
+
+import java.net.URI;
+
+/**
+ * One concrete endpoint to drive: the route it was derived from and the URI to hit.
+ */
+public record LoadTarget(Long routeId, Long serviceId, String method, URI uri) {
+}
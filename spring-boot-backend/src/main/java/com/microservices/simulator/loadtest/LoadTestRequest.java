@@ -0,0 +1,26 @@
+package com.microservices.simulator.loadtest;
+
+import java.util.List;
+
+/**
+ * Body of {@code POST /api/load-tests}; anything left null falls back to
+ * {@code simulator.loadtest.*}. A base URL, if given, must be the configured target.
+ */
+public class LoadTestRequest {
+    private String baseUrl;
+    private Double rps;
+    private Integer durationSeconds;
+    private List<Long> routeIds;
+    
+    public String getBaseUrl() { return baseUrl; }
+    public void setBaseUrl(String baseUrl) { this.baseUrl = baseUrl; }
+    
+    public Double getRps() { return rps; }
+    public void setRps(Double rps) { this.rps = rps; }
+    
+    public Integer getDurationSeconds() { return durationSeconds; }
+    public void setDurationSeconds(Integer durationSeconds) { this.durationSeconds = durationSeconds; }
+    
+    public List<Long> getRouteIds() { return routeIds; }
+    public void setRouteIds(List<Long> routeIds) { this.routeIds = routeIds; }
+}
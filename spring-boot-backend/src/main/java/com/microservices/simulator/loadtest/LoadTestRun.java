@@ -0,0 +1,56 @@
+package com.microservices.simulator.loadtest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * State of one load test run; results are filled in once it completes. Written by
+ * the runner thread and read by request threads, hence the volatile fields.
+ */
+public class LoadTestRun {
+    private volatile String id;
+    private volatile String status;
+    private volatile String baseUrl;
+    private volatile double rps;
+    private volatile int durationSeconds;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime completedAt;
+    private volatile String error;
+    private volatile List<RouteLoadResult> results;
+    
+    public LoadTestRun(String id, String baseUrl, double rps, int durationSeconds) {
+        this.id = id;
+        this.status = "running";
+        this.baseUrl = baseUrl;
+        this.rps = rps;
+        this.durationSeconds = durationSeconds;
+        this.startedAt = LocalDateTime.now();
+    }
+    
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    
+    public String getBaseUrl() { return baseUrl; }
+    public void setBaseUrl(String baseUrl) { this.baseUrl = baseUrl; }
+    
+    public double getRps() { return rps; }
+    public void setRps(double rps) { this.rps = rps; }
+    
+    public int getDurationSeconds() { return durationSeconds; }
+    public void setDurationSeconds(int durationSeconds) { this.durationSeconds = durationSeconds; }
+    
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+    
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+    
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+    
+    public List<RouteLoadResult> getResults() { return results; }
+    public void setResults(List<RouteLoadResult> results) { this.results = results; }
+}
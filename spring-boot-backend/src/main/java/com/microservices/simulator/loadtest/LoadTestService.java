@@ -0,0 +1,167 @@
+package com.microservices.simulator.loadtest;
+
+import com.microservices.simulator.config.LoadTestConfig;
+import com.microservices.simulator.entity.ApiRoute;
+import com.microservices.simulator.entity.Service;
+import com.microservices.simulator.entity.TestResult;
+import com.microservices.simulator.repository.ApiRouteRepository;
+import com.microservices.simulator.service.MicroserviceService;
+import com.microservices.simulator.service.TestResultService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs open-loop load tests against the active gateway routes in the background
+ * and records each route's outcome as a {@code TestResult} with type "load",
+ * including its p50, p99 and max latency. Runs only ever target the configured
+ * gateway, so the endpoint cannot be pointed at arbitrary hosts.
+ */
+@Component
+public class LoadTestService {
+    
+    private static final Logger log = LoggerFactory.getLogger(LoadTestService.class);
+    
+    @Autowired
+    private LoadTestConfig config;
+    
+    @Autowired
+    private ApiRouteRepository apiRouteRepository;
+    
+    @Autowired
+    private MicroserviceService microserviceService;
+    
+    @Autowired
+    private TestResultService testResultService;
+    
+    private ExecutorService clientExecutor;
+    private ExecutorService runner;
+    private HttpClient client;
+    
+    // Most recent runs, oldest evicted first
+    private final Map<String, LoadTestRun> runs = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, LoadTestRun> eldest) {
+            return size() > config.getKeepRuns();
+        }
+    });
+    
+    @PostConstruct
+    public void init() {
+        clientExecutor = Executors.newFixedThreadPool(config.getClientThreads());
+        runner = Executors.newSingleThreadExecutor();
+        client = HttpClient.newBuilder()
+                .executor(clientExecutor)
+                .connectTimeout(config.getRequestTimeout())
+                .build();
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+        clientExecutor.shutdownNow();
+    }
+    
+    public LoadTestRun start(LoadTestRequest request) {
+        String baseUrl = config.getTargetBaseUrl();
+        if (request.getBaseUrl() != null && !trimSlash(request.getBaseUrl()).equals(trimSlash(baseUrl))) {
+            throw new IllegalArgumentException("Load tests can only target " + baseUrl);
+        }
+        double rps = request.getRps() != null ? request.getRps() : config.getDefaultRps();
+        int seconds = request.getDurationSeconds() != null ? request.getDurationSeconds() : config.getDefaultDurationSeconds();
+        if (rps <= 0 || seconds <= 0 || seconds > config.getMaxDurationSeconds()) {
+            throw new IllegalArgumentException("rps must be positive and duration within " + config.getMaxDurationSeconds() + "s");
+        }
+        List<LoadTarget> targets = targets(baseUrl, request.getRouteIds());
+        if (targets.isEmpty()) {
+            throw new IllegalArgumentException("No active routes to load test");
+        }
+        LoadTestRun run = new LoadTestRun(UUID.randomUUID().toString(), baseUrl, rps, seconds);
+        runs.put(run.getId(), run);
+        // One run at a time, so concurrent tests do not skew each other's latencies
+        runner.submit(() -> execute(run, targets));
+        return run;
+    }
+    
+    public Optional<LoadTestRun> getRun(String id) {
+        return Optional.ofNullable(runs.get(id));
+    }
+    
+    public List<LoadTestRun> getRuns() {
+        synchronized (runs) {
+            return new ArrayList<>(runs.values());
+        }
+    }
+    
+    private void execute(LoadTestRun run, List<LoadTarget> targets) {
+        try {
+            LoadGenerator generator = new LoadGenerator(client, config.getRequestTimeout(), config.getMaxInFlight());
+            List<RouteLoadResult> results = generator.run(targets, run.getRps(), Duration.ofSeconds(run.getDurationSeconds()));
+            for (int i = 0; i < results.size(); i++) {
+                RouteLoadResult result = results.get(i);
+                TestResult testResult = new TestResult("JDK HttpClient", "load", targets.get(i).serviceId());
+                testResult.setPassed((int) result.getSucceeded());
+                testResult.setFailed((int) result.getFailed());
+                testResult.setDuration(run.getDurationSeconds() * 1000);
+                testResult.setLatencyP50(result.getP50());
+                testResult.setLatencyP99(result.getP99());
+                testResult.setLatencyMax(result.getMax());
+                result.setTestResultId(testResultService.createTestResult(testResult).getId());
+            }
+            run.setResults(results);
+            run.setStatus("completed");
+        } catch (RuntimeException e) {
+            log.warn("Load test {} failed", run.getId(), e);
+            run.setError(e.getMessage());
+            run.setStatus("failed");
+        }
+        run.setCompletedAt(LocalDateTime.now());
+    }
+    
+    private List<LoadTarget> targets(String baseUrl, List<Long> routeIds) {
+        String base = trimSlash(baseUrl);
+        List<ApiRoute> routes = new ArrayList<>(apiRouteRepository.findByIsActive(true));
+        routes.sort(Comparator.comparing(ApiRoute::getId));
+        List<LoadTarget> targets = new ArrayList<>();
+        for (ApiRoute route : routes) {
+            if (routeIds != null && !routeIds.isEmpty() && !routeIds.contains(route.getId())) {
+                continue;
+            }
+            Long serviceId = microserviceService.findByRouteTarget(route.getTargetService())
+                    .map(Service::getId)
+                    .orElse(null);
+            targets.add(new LoadTarget(route.getId(), serviceId, route.getMethod(), URI.create(base + concretePath(route.getPath()))));
+        }
+        return targets;
+    }
+    
+    private static String trimSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+    
+    // "/api/users/**" -> "/api/users", "/api/orders/{id}" -> "/api/orders/1"
+    static String concretePath(String pattern) {
+        String path = pattern.replace("/**", "").replace("**", "")
+                .replaceAll("\\{[^/]+}", "1")
+                .replace("*", "x");
+        return path.isEmpty() ? "/" : path;
+    }
+}
@@ -0,0 +1,82 @@
+package com.microservices.simulator.loadtest;
+
+/**
+ * Outcome for one route. Latencies are in milliseconds and measured from each
+ * request's scheduled send time, so they include any time the generator itself
+ * fell behind (coordinated-omission corrected).
+ */
+public class RouteLoadResult {
+    private Long routeId;
+    private String method;
+    private String url;
+    private long sent;
+    private long succeeded;
+    private long failed;
+    private double achievedRps;
+    private Double mean;
+    private Double p50;
+    private Double p90;
+    private Double p99;
+    private Double p999;
+    private Double max;
+    private Long testResultId;
+    
+    public RouteLoadResult(Long routeId, String method, String url, long sent, long succeeded, long failed, double achievedRps,
+                           Double mean, Double p50, Double p90, Double p99, Double p999, Double max) {
+        this.routeId = routeId;
+        this.method = method;
+        this.url = url;
+        this.sent = sent;
+        this.succeeded = succeeded;
+        this.failed = failed;
+        this.achievedRps = achievedRps;
+        this.mean = mean;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.p999 = p999;
+        this.max = max;
+    }
+    
+    public Long getRouteId() { return routeId; }
+    public void setRouteId(Long routeId) { this.routeId = routeId; }
+    
+    public String getMethod() { return method; }
+    public void setMethod(String method) { this.method = method; }
+    
+    public String getUrl() { return url; }
+    public void setUrl(String url) { this.url = url; }
+    
+    public long getSent() { return sent; }
+    public void setSent(long sent) { this.sent = sent; }
+    
+    public long getSucceeded() { return succeeded; }
+    public void setSucceeded(long succeeded) { this.succeeded = succeeded; }
+    
+    public long getFailed() { return failed; }
+    public void setFailed(long failed) { this.failed = failed; }
+    
+    public double getAchievedRps() { return achievedRps; }
+    public void setAchievedRps(double achievedRps) { this.achievedRps = achievedRps; }
+    
+    public Double getMean() { return mean; }
+    public void setMean(Double mean) { this.mean = mean; }
+    
+    public Double getP50() { return p50; }
+    public void setP50(Double p50) { this.p50 = p50; }
+    
+    public Double getP90() { return p90; }
+    public void setP90(Double p90) { this.p90 = p90; }
+    
+    public Double getP99() { return p99; }
+    public void setP99(Double p99) { this.p99 = p99; }
+    
+    public Double getP999() { return p999; }
+    public void setP999(Double p999) { this.p999 = p999; }
+    
+    public Double getMax() { return max; }
+    public void setMax(Double max) { this.max = max; }
+    
+    public Long getTestResultId() { return testResultId; }
+    public void setTestResultId(Long testResultId) { this.testResultId = testResultId; }
+}
@@ -0,0 +1,51 @@
+package com.microservices.simulator.metrics;
+
+/**
+ * Response-time percentiles for one service over a trailing window, in milliseconds.
+ */
+public class LatencyPercentiles {
+    private Long serviceId;
+    private long windowSeconds;
+    private long count;
+    private Double p50;
+    private Double p95;
+    private Double p99;
+    private Double p999;
+    private Double max;
+    
+    public LatencyPercentiles(Long serviceId, long windowSeconds, long count,
+                              Double p50, Double p95, Double p99, Double p999, Double max) {
+        this.serviceId = serviceId;
+        this.windowSeconds = windowSeconds;
+        this.count = count;
+        this.p50 = p50;
+        this.p95 = p95;
+        this.p99 = p99;
+        this.p999 = p999;
+        this.max = max;
+    }
+    
+    public Long getServiceId() { return serviceId; }
+    public void setServiceId(Long serviceId) { this.serviceId = serviceId; }
+    
+    public long getWindowSeconds() { return windowSeconds; }
+    public void setWindowSeconds(long windowSeconds) { this.windowSeconds = windowSeconds; }
+    
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+    
+    public Double getP50() { return p50; }
+    public void setP50(Double p50) { this.p50 = p50; }
+    
+    public Double getP95() { return p95; }
+    public void setP95(Double p95) { this.p95 = p95; }
+    
+    public Double getP99() { return p99; }
+    public void setP99(Double p99) { this.p99 = p99; }
+    
+    public Double getP999() { return p999; }
+    public void setP999(Double p999) { this.p999 = p999; }
+    
+    public Double getMax() { return max; }
+    public void setMax(Double max) { this.max = max; }
+}
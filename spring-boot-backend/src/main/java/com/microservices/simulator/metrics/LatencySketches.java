@@ -0,0 +1,162 @@
+package com.microservices.simulator.metrics;
+
+import com.microservices.simulator.config.LatencySketchConfig;
+import com.microservices.simulator.entity.Metric;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.IntCountsHistogram;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Response-time histograms kept in a fixed ring of time slots shared by all
+ * services. Each slot holds one fixed-size HdrHistogram per service that reported
+ * during that interval, so idle services cost nothing and a whole interval is
+ * released at once when its slot is reused. Any trailing window is answered by
+ * merging the slots it spans.
+ * <p>
+ * Memory is capped by {@code memory-budget}. At the default two significant digits
+ * a histogram covering 1 µs to {@code max-latency} (one minute) holds 2,560 int
+ * counts, about 10 KB, so the default 64 MB budget covers roughly 6,500 active
+ * service-intervals, e.g. 100 services over the full hour or 6,000 services over
+ * the last minute. Samples that would need a histogram beyond the budget are
+ * dropped and counted.
+ */
+@Component
+public class LatencySketches {
+    
+    private static final double MICROS_PER_MILLI = 1000.0;
+    
+    @Autowired
+    private LatencySketchConfig config;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private Slot[] ring;
+    private long highestTrackableMicros;
+    private long histogramBytes;
+    private Counter dropped;
+    
+    @PostConstruct
+    void init() {
+        ring = new Slot[config.getSlots()];
+        highestTrackableMicros = Math.max(2, config.getMaxLatency().toNanos() / 1000);
+        histogramBytes = newHistogram().getEstimatedFootprintInBytes();
+        Gauge.builder("simulator.latency.sketch.bytes", this, LatencySketches::usedBytes)
+                .description("Memory held by per-service response-time histograms")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        dropped = Counter.builder("simulator.latency.sketch.dropped")
+                .description("Response-time samples not recorded because the histogram memory budget was spent")
+                .register(meterRegistry);
+    }
+    
+    public void record(Metric metric) {
+        Double responseTime = metric.getResponseTime();
+        if (metric.getServiceId() == null || metric.getTimestamp() == null
+                || responseTime == null || responseTime < 0 || responseTime.isNaN()) {
+            return;
+        }
+        long index = MetricStore.toEpochMillis(metric.getTimestamp()) / slotMillis();
+        Slot slot = slotFor(index);
+        if (slot == null) {
+            // Older than anything the ring still covers
+            return;
+        }
+        IntCountsHistogram histogram = slot.histograms.get(metric.getServiceId());
+        if (histogram == null) {
+            // Concurrent first samples may overshoot the budget by a histogram each
+            if (usedBytes() + histogramBytes > config.getMemoryBudget().toBytes()) {
+                dropped.increment();
+                return;
+            }
+            histogram = slot.histograms.computeIfAbsent(metric.getServiceId(), id -> newHistogram());
+        }
+        long micros = Math.min(Math.round(responseTime * MICROS_PER_MILLI), highestTrackableMicros);
+        synchronized (histogram) {
+            histogram.recordValue(micros);
+        }
+    }
+    
+    public LatencyPercentiles percentiles(Long serviceId, Duration window) {
+        long slotMillis = slotMillis();
+        int slots = (int) Math.min(ring.length, Math.max(1, (window.toMillis() + slotMillis - 1) / slotMillis));
+        long currentSlot = System.currentTimeMillis() / slotMillis;
+        long windowSeconds = slots * slotMillis / 1000;
+        
+        Histogram merged = new Histogram(highestTrackableMicros, config.getSignificantDigits());
+        for (Slot slot : snapshot()) {
+            if (slot != null && slot.index > currentSlot - slots && slot.index <= currentSlot) {
+                IntCountsHistogram histogram = slot.histograms.get(serviceId);
+                if (histogram != null) {
+                    synchronized (histogram) {
+                        merged.add(histogram);
+                    }
+                }
+            }
+        }
+        if (merged.getTotalCount() == 0) {
+            return new LatencyPercentiles(serviceId, windowSeconds, 0, null, null, null, null, null);
+        }
+        return new LatencyPercentiles(serviceId, windowSeconds, merged.getTotalCount(),
+                millis(merged.getValueAtPercentile(50.0)),
+                millis(merged.getValueAtPercentile(95.0)),
+                millis(merged.getValueAtPercentile(99.0)),
+                millis(merged.getValueAtPercentile(99.9)),
+                millis(merged.getMaxValue()));
+    }
+    
+    private synchronized Slot slotFor(long index) {
+        int i = (int) Math.floorMod(index, (long) ring.length);
+        Slot slot = ring[i];
+        if (slot == null || slot.index < index) {
+            slot = new Slot(index);
+            ring[i] = slot;
+        } else if (slot.index > index) {
+            return null;
+        }
+        return slot;
+    }
+    
+    private synchronized Slot[] snapshot() {
+        return ring.clone();
+    }
+    
+    private long usedBytes() {
+        long histograms = 0;
+        for (Slot slot : snapshot()) {
+            if (slot != null) {
+                histograms += slot.histograms.size();
+            }
+        }
+        return histograms * histogramBytes;
+    }
+    
+    private IntCountsHistogram newHistogram() {
+        return new IntCountsHistogram(highestTrackableMicros, config.getSignificantDigits());
+    }
+    
+    private long slotMillis() {
+        return config.getSlotWidth().toMillis();
+    }
+    
+    private static double millis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+    
+    private static final class Slot {
+        private final long index;
+        private final ConcurrentHashMap<Long, IntCountsHistogram> histograms = new ConcurrentHashMap<>();
+        
+        Slot(long index) {
+            this.index = index;
+        }
+    }
+}
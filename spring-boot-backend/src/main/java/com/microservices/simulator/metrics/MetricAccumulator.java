@@ -0,0 +1,151 @@
+package com.microservices.simulator.metrics;
+
+import com.microservices.simulator.entity.Metric;
+import com.microservices.simulator.entity.MetricRollup;
+
+/**
+ * Mergeable min/max/sum/count summary over the five metric fields.
+ * Missing values are skipped for min, max, sum and the per-field counts.
+ */
+public class MetricAccumulator {
+    
+    public static final int CPU = 0;
+    public static final int MEMORY = 1;
+    public static final int REQUEST_COUNT = 2;
+    public static final int RESPONSE_TIME = 3;
+    public static final int ERROR_RATE = 4;
+    public static final int FIELDS = 5;
+    
+    private long count;
+    private final double[] min = new double[FIELDS];
+    private final double[] max = new double[FIELDS];
+    private final double[] sum = new double[FIELDS];
+    private final long[] samples = new long[FIELDS];
+    
+    public MetricAccumulator() {
+        for (int i = 0; i < FIELDS; i++) {
+            min[i] = Double.POSITIVE_INFINITY;
+            max[i] = Double.NEGATIVE_INFINITY;
+        }
+    }
+    
+    public synchronized void add(Metric metric) {
+        add(value(metric.getCpu()), value(metric.getMemory()),
+                metric.getRequestCount() != null ? metric.getRequestCount() : Double.NaN,
+                value(metric.getResponseTime()), value(metric.getErrorRate()));
+    }
+    
+    public synchronized void add(double cpu, double memory, double requestCount, double responseTime, double errorRate) {
+        count++;
+        accept(CPU, cpu);
+        accept(MEMORY, memory);
+        accept(REQUEST_COUNT, requestCount);
+        accept(RESPONSE_TIME, responseTime);
+        accept(ERROR_RATE, errorRate);
+    }
+    
+    public synchronized void merge(MetricAccumulator other) {
+        synchronized (other) {
+            count += other.count;
+            for (int i = 0; i < FIELDS; i++) {
+                min[i] = Math.min(min[i], other.min[i]);
+                max[i] = Math.max(max[i], other.max[i]);
+                sum[i] += other.sum[i];
+                samples[i] += other.samples[i];
+            }
+        }
+    }
+    
+    public synchronized void merge(MetricRollup rollup) {
+        if (rollup.getSampleCount() == null || rollup.getSampleCount() == 0) {
+            return;
+        }
+        count += rollup.getSampleCount();
+        mergeField(CPU, rollup.getCpuMin(), rollup.getCpuMax(), rollup.getCpuSum(),
+                rollup.getCpuSamples(), rollup.getSampleCount());
+        mergeField(MEMORY, rollup.getMemoryMin(), rollup.getMemoryMax(), rollup.getMemorySum(),
+                rollup.getMemorySamples(), rollup.getSampleCount());
+        mergeField(REQUEST_COUNT, rollup.getRequestCountMin(), rollup.getRequestCountMax(), rollup.getRequestCountSum(),
+                rollup.getRequestCountSamples(), rollup.getSampleCount());
+        mergeField(RESPONSE_TIME, rollup.getResponseTimeMin(), rollup.getResponseTimeMax(), rollup.getResponseTimeSum(),
+                rollup.getResponseTimeSamples(), rollup.getSampleCount());
+        mergeField(ERROR_RATE, rollup.getErrorRateMin(), rollup.getErrorRateMax(), rollup.getErrorRateSum(),
+                rollup.getErrorRateSamples(), rollup.getSampleCount());
+    }
+    
+    /** Copies this summary into the rollup row, replacing whatever it held. */
+    public synchronized void writeTo(MetricRollup rollup) {
+        rollup.setSampleCount(count);
+        rollup.setCpuMin(minOf(CPU));
+        rollup.setCpuMax(maxOf(CPU));
+        rollup.setCpuSum(sum[CPU]);
+        rollup.setCpuSamples(samples[CPU]);
+        rollup.setMemoryMin(minOf(MEMORY));
+        rollup.setMemoryMax(maxOf(MEMORY));
+        rollup.setMemorySum(sum[MEMORY]);
+        rollup.setMemorySamples(samples[MEMORY]);
+        rollup.setRequestCountMin(minOf(REQUEST_COUNT));
+        rollup.setRequestCountMax(maxOf(REQUEST_COUNT));
+        rollup.setRequestCountSum(sum[REQUEST_COUNT]);
+        rollup.setRequestCountSamples(samples[REQUEST_COUNT]);
+        rollup.setResponseTimeMin(minOf(RESPONSE_TIME));
+        rollup.setResponseTimeMax(maxOf(RESPONSE_TIME));
+        rollup.setResponseTimeSum(sum[RESPONSE_TIME]);
+        rollup.setResponseTimeSamples(samples[RESPONSE_TIME]);
+        rollup.setErrorRateMin(minOf(ERROR_RATE));
+        rollup.setErrorRateMax(maxOf(ERROR_RATE));
+        rollup.setErrorRateSum(sum[ERROR_RATE]);
+        rollup.setErrorRateSamples(samples[ERROR_RATE]);
+    }
+    
+    public synchronized long getCount() { return count; }
+    
+    public synchronized Double minOf(int field) {
+        return count > 0 && min[field] != Double.POSITIVE_INFINITY ? min[field] : null;
+    }
+    
+    public synchronized Double maxOf(int field) {
+        return count > 0 && max[field] != Double.NEGATIVE_INFINITY ? max[field] : null;
+    }
+    
+    public synchronized double sumOf(int field) {
+        return sum[field];
+    }
+    
+    public synchronized Double avgOf(int field) {
+        return samples[field] > 0 ? sum[field] / samples[field] : null;
+    }
+    
+    private void accept(int field, double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        min[field] = Math.min(min[field], value);
+        max[field] = Math.max(max[field], value);
+        sum[field] += value;
+        samples[field]++;
+    }
+    
+    private void mergeField(int field, Double fieldMin, Double fieldMax, Double fieldSum,
+                            Long fieldSamples, long sampleCount) {
+        if (fieldMin != null) {
+            min[field] = Math.min(min[field], fieldMin);
+        }
+        if (fieldMax != null) {
+            max[field] = Math.max(max[field], fieldMax);
+        }
+        if (fieldSum != null) {
+            sum[field] += fieldSum;
+        }
+        if (fieldSamples != null) {
+            samples[field] += fieldSamples;
+        } else if (fieldMin != null) {
+            // Rows written before per-field counts existed; assume the field was always present
+            samples[field] += sampleCount;
+        }
+    }
+    
+    private static double value(Double value) {
+        return value != null ? value : Double.NaN;
+    }
+}
@@ -0,0 +1,52 @@
+package com.microservices.simulator.metrics;
+
+/**
+ * Avg/min/max/stddev of every metric field for one group over a window.
+ */
+public class MetricAggregate {
+    private MetricGroupBy groupBy;
+    private String key;
+    private long sampleCount;
+    private MetricFieldStats cpu;
+    private MetricFieldStats memory;
+    private MetricFieldStats requestCount;
+    private MetricFieldStats responseTime;
+    private MetricFieldStats errorRate;
+    
+    public MetricAggregate(MetricGroupBy groupBy, String key, long sampleCount,
+                           MetricFieldStats cpu, MetricFieldStats memory, MetricFieldStats requestCount,
+                           MetricFieldStats responseTime, MetricFieldStats errorRate) {
+        this.groupBy = groupBy;
+        this.key = key;
+        this.sampleCount = sampleCount;
+        this.cpu = cpu;
+        this.memory = memory;
+        this.requestCount = requestCount;
+        this.responseTime = responseTime;
+        this.errorRate = errorRate;
+    }
+    
+    public MetricGroupBy getGroupBy() { return groupBy; }
+    public void setGroupBy(MetricGroupBy groupBy) { this.groupBy = groupBy; }
+    
+    public String getKey() { return key; }
+    public void setKey(String key) { this.key = key; }
+    
+    public long getSampleCount() { return sampleCount; }
+    public void setSampleCount(long sampleCount) { this.sampleCount = sampleCount; }
+    
+    public MetricFieldStats getCpu() { return cpu; }
+    public void setCpu(MetricFieldStats cpu) { this.cpu = cpu; }
+    
+    public MetricFieldStats getMemory() { return memory; }
+    public void setMemory(MetricFieldStats memory) { this.memory = memory; }
+    
+    public MetricFieldStats getRequestCount() { return requestCount; }
+    public void setRequestCount(MetricFieldStats requestCount) { this.requestCount = requestCount; }
+    
+    public MetricFieldStats getResponseTime() { return responseTime; }
+    public void setResponseTime(MetricFieldStats responseTime) { this.responseTime = responseTime; }
+    
+    public MetricFieldStats getErrorRate() { return errorRate; }
+    public void setErrorRate(MetricFieldStats errorRate) { this.errorRate = errorRate; }
+}
@@ -0,0 +1,63 @@
+package com.microservices.simulator.metrics;
+
+/**
+ * Row produced by the single-pass aggregate queries in {@code MetricRepository}.
+ * Per field it carries count, avg, min, max and the mean of squares, from which
+ * the population standard deviation is derived.
+ */
+public class MetricAggregateRow {
+    
+    private final String key;
+    private final long sampleCount;
+    private final Number[] values;
+    
+    public MetricAggregateRow(String key, Number sampleCount,
+                              Number cpuCount, Number cpuAvg, Number cpuMin, Number cpuMax, Number cpuAvgSq,
+                              Number memoryCount, Number memoryAvg, Number memoryMin, Number memoryMax, Number memoryAvgSq,
+                              Number requestCountCount, Number requestCountAvg, Number requestCountMin, Number requestCountMax, Number requestCountAvgSq,
+                              Number responseTimeCount, Number responseTimeAvg, Number responseTimeMin, Number responseTimeMax, Number responseTimeAvgSq,
+                              Number errorRateCount, Number errorRateAvg, Number errorRateMin, Number errorRateMax, Number errorRateAvgSq) {
+        this.key = key;
+        this.sampleCount = sampleCount != null ? sampleCount.longValue() : 0;
+        this.values = new Number[] {
+                cpuCount, cpuAvg, cpuMin, cpuMax, cpuAvgSq,
+                memoryCount, memoryAvg, memoryMin, memoryMax, memoryAvgSq,
+                requestCountCount, requestCountAvg, requestCountMin, requestCountMax, requestCountAvgSq,
+                responseTimeCount, responseTimeAvg, responseTimeMin, responseTimeMax, responseTimeAvgSq,
+                errorRateCount, errorRateAvg, errorRateMin, errorRateMax, errorRateAvgSq
+        };
+    }
+    
+    public String getKey() { return key; }
+    
+    public MetricAggregate toAggregate(MetricGroupBy groupBy) {
+        return new MetricAggregate(groupBy, key, sampleCount,
+                stats(MetricAccumulator.CPU), stats(MetricAccumulator.MEMORY), stats(MetricAccumulator.REQUEST_COUNT),
+                stats(MetricAccumulator.RESPONSE_TIME), stats(MetricAccumulator.ERROR_RATE));
+    }
+    
+    public void addTo(MetricMoments moments) {
+        moments.addSamples(sampleCount);
+        for (int field = 0; field < MetricAccumulator.FIELDS; field++) {
+            int offset = field * 5;
+            long count = values[offset] != null ? values[offset].longValue() : 0;
+            if (count == 0) {
+                continue;
+            }
+            moments.merge(field, count, values[offset + 1].doubleValue() * count,
+                    values[offset + 4].doubleValue() * count, values[offset + 2].doubleValue(), values[offset + 3].doubleValue());
+        }
+    }
+    
+    private MetricFieldStats stats(int field) {
+        int offset = field * 5;
+        long count = values[offset] != null ? values[offset].longValue() : 0;
+        if (count == 0) {
+            return new MetricFieldStats(null, null, null, null, null);
+        }
+        double avg = values[offset + 1].doubleValue();
+        double avgSq = values[offset + 4].doubleValue();
+        return new MetricFieldStats(values[offset + 2].doubleValue(), values[offset + 3].doubleValue(),
+                avg, avg * count, Math.sqrt(Math.max(0, avgSq - avg * avg)));
+    }
+}
@@ -0,0 +1,30 @@
+package com.microservices.simulator.metrics;
+
+/**
+ * Acknowledgement for one JDBC batch of ingested samples.
+ */
+public class MetricBatchAck {
+    private int batch;
+    private int accepted;
+    private Long firstId;
+    private Long lastId;
+    
+    public MetricBatchAck(int batch, int accepted, Long firstId, Long lastId) {
+        this.batch = batch;
+        this.accepted = accepted;
+        this.firstId = firstId;
+        this.lastId = lastId;
+    }
+    
+    public int getBatch() { return batch; }
+    public void setBatch(int batch) { this.batch = batch; }
+    
+    public int getAccepted() { return accepted; }
+    public void setAccepted(int accepted) { this.accepted = accepted; }
+    
+    public Long getFirstId() { return firstId; }
+    public void setFirstId(Long firstId) { this.firstId = firstId; }
+    
+    public Long getLastId() { return lastId; }
+    public void setLastId(Long lastId) { this.lastId = lastId; }
+}
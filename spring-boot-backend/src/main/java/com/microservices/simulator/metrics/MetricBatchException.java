@@ -0,0 +1,23 @@
+package com.microservices.simulator.metrics;
+
+import java.util.List;
+
+/**
+ * Raised when a batched ingestion stops part-way. The batches acknowledged so far
+ * are already committed and must be reported, so clients do not send them again.
+ */
+public class MetricBatchException extends RuntimeException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private final List<MetricBatchAck> committed;
+    
+    public MetricBatchException(List<MetricBatchAck> committed, RuntimeException cause) {
+        super(cause.getMessage(), cause);
+        this.committed = List.copyOf(committed);
+    }
+    
+    public List<MetricBatchAck> getCommitted() {
+        return committed;
+    }
+}
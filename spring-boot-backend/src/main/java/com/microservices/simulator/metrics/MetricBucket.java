@@ -0,0 +1,57 @@
+package com.microservices.simulator.metrics;
+
+import java.time.LocalDateTime;
+
+/**
+ * One time bucket of a service's aggregated metric series.
+ */
+public class MetricBucket {
+    private Long serviceId;
+    private LocalDateTime bucketStart;
+    private int resolution;
+    private long sampleCount;
+    private MetricFieldStats cpu;
+    private MetricFieldStats memory;
+    private MetricFieldStats requestCount;
+    private MetricFieldStats responseTime;
+    private MetricFieldStats errorRate;
+    
+    public MetricBucket(Long serviceId, LocalDateTime bucketStart, int resolution, MetricAccumulator accumulator) {
+        this.serviceId = serviceId;
+        this.bucketStart = bucketStart;
+        this.resolution = resolution;
+        this.sampleCount = accumulator.getCount();
+        this.cpu = MetricFieldStats.of(accumulator, MetricAccumulator.CPU);
+        this.memory = MetricFieldStats.of(accumulator, MetricAccumulator.MEMORY);
+        this.requestCount = MetricFieldStats.of(accumulator, MetricAccumulator.REQUEST_COUNT);
+        this.responseTime = MetricFieldStats.of(accumulator, MetricAccumulator.RESPONSE_TIME);
+        this.errorRate = MetricFieldStats.of(accumulator, MetricAccumulator.ERROR_RATE);
+    }
+    
+    public Long getServiceId() { return serviceId; }
+    public void setServiceId(Long serviceId) { this.serviceId = serviceId; }
+    
+    public LocalDateTime getBucketStart() { return bucketStart; }
+    public void setBucketStart(LocalDateTime bucketStart) { this.bucketStart = bucketStart; }
+    
+    public int getResolution() { return resolution; }
+    public void setResolution(int resolution) { this.resolution = resolution; }
+    
+    public long getSampleCount() { return sampleCount; }
+    public void setSampleCount(long sampleCount) { this.sampleCount = sampleCount; }
+    
+    public MetricFieldStats getCpu() { return cpu; }
+    public void setCpu(MetricFieldStats cpu) { this.cpu = cpu; }
+    
+    public MetricFieldStats getMemory() { return memory; }
+    public void setMemory(MetricFieldStats memory) { this.memory = memory; }
+    
+    public MetricFieldStats getRequestCount() { return requestCount; }
+    public void setRequestCount(MetricFieldStats requestCount) { this.requestCount = requestCount; }
+    
+    public MetricFieldStats getResponseTime() { return responseTime; }
+    public void setResponseTime(MetricFieldStats responseTime) { this.responseTime = responseTime; }
+    
+    public MetricFieldStats getErrorRate() { return errorRate; }
+    public void setErrorRate(MetricFieldStats errorRate) { this.errorRate = errorRate; }
+}
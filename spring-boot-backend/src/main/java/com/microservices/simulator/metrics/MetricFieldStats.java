@@ -0,0 +1,45 @@
+package com.microservices.simulator.metrics;
+
+/**
+ * Summary statistics for one metric field over a bucket or window.
+ */
+public class MetricFieldStats {
+    private Double min;
+    private Double max;
+    private Double avg;
+    private Double sum;
+    private Double stddev;
+    
+    public MetricFieldStats(Double min, Double max, Double avg, Double sum) {
+        this.min = min;
+        this.max = max;
+        this.avg = avg;
+        this.sum = sum;
+    }
+    
+    public MetricFieldStats(Double min, Double max, Double avg, Double sum, Double stddev) {
+        this(min, max, avg, sum);
+        this.stddev = stddev;
+    }
+    
+    static MetricFieldStats of(MetricAccumulator accumulator, int field) {
+        Double min = accumulator.minOf(field);
+        return new MetricFieldStats(min, accumulator.maxOf(field), accumulator.avgOf(field),
+                min != null ? accumulator.sumOf(field) : null);
+    }
+    
+    public Double getMin() { return min; }
+    public void setMin(Double min) { this.min = min; }
+    
+    public Double getMax() { return max; }
+    public void setMax(Double max) { this.max = max; }
+    
+    public Double getAvg() { return avg; }
+    public void setAvg(Double avg) { this.avg = avg; }
+    
+    public Double getSum() { return sum; }
+    public void setSum(Double sum) { this.sum = sum; }
+    
+    public Double getStddev() { return stddev; }
+    public void setStddev(Double stddev) { this.stddev = stddev; }
+}
@@ -0,0 +1,10 @@
+package com.microservices.simulator.metrics;
+
+/**
+ * Dimensions an aggregate query can be grouped by.
+ */
+public enum MetricGroupBy {
+    SERVICE,
+    TYPE,
+    STATUS
+}
@@ -0,0 +1,74 @@
+package com.microservices.simulator.metrics;
+
+/**
+ * Single-pass count/sum/sum-of-squares/min/max accumulator for the in-memory
+ * aggregate path. Not thread-safe; each query owns its instances.
+ */
+public class MetricMoments {
+    
+    private long sampleCount;
+    private final long[] count = new long[MetricAccumulator.FIELDS];
+    private final double[] sum = new double[MetricAccumulator.FIELDS];
+    private final double[] sumSq = new double[MetricAccumulator.FIELDS];
+    private final double[] min = new double[MetricAccumulator.FIELDS];
+    private final double[] max = new double[MetricAccumulator.FIELDS];
+    
+    public MetricMoments() {
+        for (int i = 0; i < MetricAccumulator.FIELDS; i++) {
+            min[i] = Double.POSITIVE_INFINITY;
+            max[i] = Double.NEGATIVE_INFINITY;
+        }
+    }
+    
+    public void add(double cpu, double memory, double requestCount, double responseTime, double errorRate) {
+        sampleCount++;
+        accept(MetricAccumulator.CPU, cpu);
+        accept(MetricAccumulator.MEMORY, memory);
+        accept(MetricAccumulator.REQUEST_COUNT, requestCount);
+        accept(MetricAccumulator.RESPONSE_TIME, responseTime);
+        accept(MetricAccumulator.ERROR_RATE, errorRate);
+    }
+    
+    // Folds in a group computed elsewhere, e.g. a database aggregate row
+    void addSamples(long samples) {
+        sampleCount += samples;
+    }
+    
+    void merge(int field, long n, double fieldSum, double fieldSumSq, double fieldMin, double fieldMax) {
+        if (n == 0) {
+            return;
+        }
+        count[field] += n;
+        sum[field] += fieldSum;
+        sumSq[field] += fieldSumSq;
+        min[field] = Math.min(min[field], fieldMin);
+        max[field] = Math.max(max[field], fieldMax);
+    }
+    
+    public MetricAggregate toAggregate(MetricGroupBy groupBy, String key) {
+        return new MetricAggregate(groupBy, key, sampleCount,
+                stats(MetricAccumulator.CPU), stats(MetricAccumulator.MEMORY), stats(MetricAccumulator.REQUEST_COUNT),
+                stats(MetricAccumulator.RESPONSE_TIME), stats(MetricAccumulator.ERROR_RATE));
+    }
+    
+    private void accept(int field, double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        count[field]++;
+        sum[field] += value;
+        sumSq[field] += value * value;
+        min[field] = Math.min(min[field], value);
+        max[field] = Math.max(max[field], value);
+    }
+    
+    private MetricFieldStats stats(int field) {
+        long n = count[field];
+        if (n == 0) {
+            return new MetricFieldStats(null, null, null, null, null);
+        }
+        double avg = sum[field] / n;
+        double variance = Math.max(0, sumSq[field] / n - avg * avg);
+        return new MetricFieldStats(min[field], max[field], avg, sum[field], Math.sqrt(variance));
+    }
+}
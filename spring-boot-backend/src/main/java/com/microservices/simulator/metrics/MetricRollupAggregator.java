@@ -0,0 +1,214 @@
+package com.microservices.simulator.metrics;
+
+import com.microservices.simulator.entity.Metric;
+import com.microservices.simulator.entity.MetricRollup;
+import com.microservices.simulator.repository.MetricRepository;
+import com.microservices.simulator.repository.MetricRollupRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Incrementally rolls ingested samples up into minute, five-minute and hourly
+ * buckets per service. Buckets stay in memory while open and are upserted into
+ * {@code metric_rollups} once their window has closed. Raw history that was never
+ * rolled up (written before the rollups existed, or lost with a crashed process)
+ * is backfilled once on startup.
+ */
+@Component
+public class MetricRollupAggregator {
+    
+    private static final Logger log = LoggerFactory.getLogger(MetricRollupAggregator.class);
+    
+    // Late samples arriving within this grace period still land in the open bucket
+    private static final long CLOSE_GRACE_MILLIS = 15000;
+    private static final long BACKFILL_WINDOW_MILLIS = RollupTier.HOUR.getSeconds() * 1000L;
+    
+    @Autowired
+    private MetricRollupRepository metricRollupRepository;
+    
+    @Autowired
+    private MetricRepository metricRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    private final Map<BucketKey, MetricAccumulator> openBuckets = new ConcurrentHashMap<>();
+    
+    // Newest metric id that existed before this process ingested anything; rows up to
+    // it are history for the backfill, everything after reaches the open buckets
+    private Long historyUpToId;
+    private volatile boolean backfilled;
+    
+    @PostConstruct
+    void markHistory() {
+        historyUpToId = metricRepository.findMaxId();
+        backfilled = historyUpToId == null;
+    }
+    
+    public void add(Metric metric) {
+        if (metric.getServiceId() == null || metric.getTimestamp() == null) {
+            return;
+        }
+        long timestamp = MetricStore.toEpochMillis(metric.getTimestamp());
+        for (RollupTier tier : RollupTier.values()) {
+            BucketKey key = new BucketKey(metric.getServiceId(), tier, tier.bucketStart(timestamp));
+            // Added under the map's lock so flush cannot take the bucket away mid-update
+            openBuckets.compute(key, (k, accumulator) -> {
+                MetricAccumulator bucket = accumulator != null ? accumulator : new MetricAccumulator();
+                bucket.add(metric);
+                return bucket;
+            });
+        }
+    }
+    
+    /** Visits buckets of the given tier that are still held in memory. */
+    public void forEachOpen(RollupTier tier, Long serviceId, long sinceMillis,
+                            BiConsumer<BucketKey, MetricAccumulator> visitor) {
+        openBuckets.forEach((key, accumulator) -> {
+            if (key.tier() == tier && key.bucketStart() >= sinceMillis
+                    && (serviceId == null || serviceId.equals(key.serviceId()))) {
+                visitor.accept(key, accumulator);
+            }
+        });
+    }
+    
+    @Scheduled(fixedDelay = 10000)
+    @Transactional
+    public void flushClosed() {
+        // Until the backfill has written the buckets history falls into, a flush here
+        // would make it skip them
+        if (backfilled) {
+            flush(System.currentTimeMillis() - CLOSE_GRACE_MILLIS);
+        }
+    }
+    
+    @PreDestroy
+    public void flushAll() {
+        flush(Long.MAX_VALUE);
+    }
+    
+    /**
+     * Rolls up raw rows up to {@link #historyUpToId} into every bucket that has no
+     * rollup row yet, one hour at a time. Hours whose services all have an hourly row
+     * are skipped without reading their samples.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (backfilled) {
+            return;
+        }
+        int filled = 0;
+        try {
+            LocalDateTime next = metricRepository.findFirstTimestampSince(historyUpToId, MetricStore.toLocalDateTime(0));
+            while (next != null) {
+                long windowStart = RollupTier.HOUR.bucketStart(MetricStore.toEpochMillis(next));
+                LocalDateTime from = MetricStore.toLocalDateTime(windowStart);
+                LocalDateTime to = MetricStore.toLocalDateTime(windowStart + BACKFILL_WINDOW_MILLIS);
+                filled += backfillWindow(from, to);
+                next = metricRepository.findFirstTimestampSince(historyUpToId, to);
+            }
+            if (filled > 0) {
+                log.info("Backfilled {} metric rollup buckets from raw history", filled);
+            }
+        } catch (RuntimeException e) {
+            log.error("Metric rollup backfill stopped after {} buckets", filled, e);
+        } finally {
+            backfilled = true;
+        }
+    }
+    
+    private int backfillWindow(LocalDateTime from, LocalDateTime to) {
+        Set<BucketKey> existing = new HashSet<>();
+        Set<Long> hourlyServices = new HashSet<>();
+        for (MetricRollup row : metricRollupRepository.findInWindow(from, to)) {
+            RollupTier tier = RollupTier.ofSeconds(row.getResolution());
+            if (tier != null) {
+                existing.add(new BucketKey(row.getServiceId(), tier, MetricStore.toEpochMillis(row.getBucketStart())));
+                if (tier == RollupTier.HOUR) {
+                    hourlyServices.add(row.getServiceId());
+                }
+            }
+        }
+        if (hourlyServices.containsAll(metricRepository.findServiceIdsInWindow(historyUpToId, from, to))) {
+            return 0;
+        }
+        Map<BucketKey, MetricAccumulator> buckets = new HashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Object[]> samples = metricRepository.streamSamplesInWindow(historyUpToId, from, to)) {
+                samples.forEach(sample -> {
+                    long timestamp = MetricStore.toEpochMillis((LocalDateTime) sample[1]);
+                    for (RollupTier tier : RollupTier.values()) {
+                        BucketKey key = new BucketKey((Long) sample[0], tier, tier.bucketStart(timestamp));
+                        if (!existing.contains(key)) {
+                            buckets.computeIfAbsent(key, k -> new MetricAccumulator()).add(
+                                    value(sample[2]), value(sample[3]), value(sample[4]), value(sample[5]), value(sample[6]));
+                        }
+                    }
+                });
+            }
+        });
+        List<MetricRollup> rows = new ArrayList<>(buckets.size());
+        buckets.forEach((key, accumulator) -> {
+            MetricRollup row = new MetricRollup(key.serviceId(), key.tier().getSeconds(),
+                    MetricStore.toLocalDateTime(key.bucketStart()));
+            accumulator.writeTo(row);
+            rows.add(row);
+        });
+        metricRollupRepository.saveAll(rows);
+        return rows.size();
+    }
+    
+    private void flush(long closedBefore) {
+        List<MetricRollup> rows = new ArrayList<>();
+        for (BucketKey key : List.copyOf(openBuckets.keySet())) {
+            long bucketEnd = key.bucketStart() + key.tier().getSeconds() * 1000L;
+            if (bucketEnd > closedBefore) {
+                continue;
+            }
+            MetricAccumulator accumulator = openBuckets.remove(key);
+            if (accumulator == null) {
+                continue;
+            }
+            LocalDateTime bucketStart = MetricStore.toLocalDateTime(key.bucketStart());
+            // A bucket may already exist if late samples reopened it after an earlier flush
+            MetricRollup row = metricRollupRepository
+                    .findByServiceIdAndResolutionAndBucketStart(key.serviceId(), key.tier().getSeconds(), bucketStart)
+                    .orElseGet(() -> new MetricRollup(key.serviceId(), key.tier().getSeconds(), bucketStart));
+            if (row.getId() != null) {
+                accumulator.merge(row);
+            }
+            accumulator.writeTo(row);
+            rows.add(row);
+        }
+        if (!rows.isEmpty()) {
+            metricRollupRepository.saveAll(rows);
+        }
+    }
+    
+    private static double value(Object value) {
+        return value != null ? ((Number) value).doubleValue() : Double.NaN;
+    }
+    
+    public record BucketKey(Long serviceId, RollupTier tier, long bucketStart) {
+    }
+}
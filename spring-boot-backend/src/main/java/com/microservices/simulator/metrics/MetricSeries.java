@@ -0,0 +1,206 @@
+package com.microservices.simulator.metrics;
+
+/**
+ * Bounded ring buffer holding the recent samples of a single service, ordered by
+ * timestamp. Each metric field lives in its own primitive array so that appends and
+ * scans never allocate. The arrays start small and double up to the configured
+ * capacity, so a service only pays for the samples it actually produces. Missing
+ * values are kept as NaN (or {@link #NO_COUNT}).
+ */
+final class MetricSeries {
+    
+    static final int NO_COUNT = Integer.MIN_VALUE;
+    static final int INITIAL_CAPACITY = 64;
+    
+    private final long serviceId;
+    private final int maxCapacity;
+    private long[] timestamps;
+    private double[] cpu;
+    private double[] memory;
+    private int[] requestCount;
+    private double[] responseTime;
+    private double[] errorRate;
+    
+    private int head;
+    private int size;
+    // Newest timestamp that has been dropped from the buffer; queries reaching
+    // back to or before it cannot be answered from memory.
+    private long evictedUpTo = Long.MIN_VALUE;
+    
+    MetricSeries(long serviceId, int maxCapacity) {
+        this.serviceId = serviceId;
+        this.maxCapacity = maxCapacity;
+        allocate(Math.min(INITIAL_CAPACITY, maxCapacity));
+    }
+    
+    long serviceId() { return serviceId; }
+    
+    /**
+     * Inserts a sample in timestamp order. Samples normally arrive newest-last and
+     * land at the head; late or back-dated ones are shifted into place. A sample
+     * older than anything the buffer can still cover is dropped.
+     */
+    synchronized void append(long timestamp, double cpu, double memory, int requestCount,
+                             double responseTime, double errorRate) {
+        if (timestamp <= evictedUpTo) {
+            return;
+        }
+        if (size == timestamps.length) {
+            if (size < maxCapacity) {
+                grow();
+            } else {
+                int tail = tail();
+                if (timestamp < timestamps[tail]) {
+                    evictedUpTo = timestamp;
+                    return;
+                }
+                evictedUpTo = Math.max(evictedUpTo, timestamps[tail]);
+                size--;
+            }
+        }
+        int capacity = timestamps.length;
+        int to = head;
+        for (int shifted = 0; shifted < size; shifted++) {
+            int from = (to - 1 + capacity) % capacity;
+            if (timestamps[from] <= timestamp) {
+                break;
+            }
+            move(from, to);
+            to = from;
+        }
+        this.timestamps[to] = timestamp;
+        this.cpu[to] = cpu;
+        this.memory[to] = memory;
+        this.requestCount[to] = requestCount;
+        this.responseTime[to] = responseTime;
+        this.errorRate[to] = errorRate;
+        head = (head + 1) % capacity;
+        size++;
+    }
+    
+    /** True if a sample with exactly this timestamp is held. */
+    synchronized boolean contains(long timestamp) {
+        int capacity = timestamps.length;
+        int tail = tail();
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long value = timestamps[(tail + mid) % capacity];
+            if (value < timestamp) {
+                low = mid + 1;
+            } else if (value > timestamp) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /** Drops samples older than the cutoff from the tail of the buffer. */
+    synchronized void expire(long cutoff) {
+        while (size > 0) {
+            int tail = tail();
+            if (timestamps[tail] >= cutoff) {
+                break;
+            }
+            evictedUpTo = Math.max(evictedUpTo, timestamps[tail]);
+            size--;
+        }
+    }
+    
+    /** Removes every sample recorded at exactly the given timestamp. */
+    synchronized void remove(long timestamp) {
+        int capacity = timestamps.length;
+        int tail = tail();
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            int from = (tail + i) % capacity;
+            if (timestamps[from] == timestamp) {
+                continue;
+            }
+            int to = (tail + kept) % capacity;
+            if (to != from) {
+                move(from, to);
+            }
+            kept++;
+        }
+        size = kept;
+        head = (tail + kept) % capacity;
+    }
+    
+    synchronized boolean covers(long since) {
+        return since > evictedUpTo;
+    }
+    
+    synchronized boolean isEmpty() {
+        return size == 0;
+    }
+    
+    synchronized int capacity() {
+        return timestamps.length;
+    }
+    
+    /** Visits every sample with a timestamp at or after {@code since}, oldest first. */
+    synchronized int scan(long since, SampleVisitor visitor) {
+        int capacity = timestamps.length;
+        int tail = tail();
+        int visited = 0;
+        for (int i = 0; i < size; i++) {
+            int idx = (tail + i) % capacity;
+            if (timestamps[idx] < since) {
+                continue;
+            }
+            visitor.visit(serviceId, timestamps[idx], cpu[idx], memory[idx], requestCount[idx],
+                    responseTime[idx], errorRate[idx]);
+            visited++;
+        }
+        return visited;
+    }
+    
+    private int tail() {
+        return (head - size + timestamps.length) % timestamps.length;
+    }
+    
+    private void move(int from, int to) {
+        timestamps[to] = timestamps[from];
+        cpu[to] = cpu[from];
+        memory[to] = memory[from];
+        requestCount[to] = requestCount[from];
+        responseTime[to] = responseTime[from];
+        errorRate[to] = errorRate[from];
+    }
+    
+    // Doubles the arrays, unrolling the ring so the oldest sample lands at index 0
+    private void grow() {
+        long[] oldTimestamps = timestamps;
+        double[] oldCpu = cpu;
+        double[] oldMemory = memory;
+        int[] oldRequestCount = requestCount;
+        double[] oldResponseTime = responseTime;
+        double[] oldErrorRate = errorRate;
+        int oldCapacity = oldTimestamps.length;
+        int tail = tail();
+        allocate(Math.min(oldCapacity * 2, maxCapacity));
+        for (int i = 0; i < size; i++) {
+            int from = (tail + i) % oldCapacity;
+            timestamps[i] = oldTimestamps[from];
+            cpu[i] = oldCpu[from];
+            memory[i] = oldMemory[from];
+            requestCount[i] = oldRequestCount[from];
+            responseTime[i] = oldResponseTime[from];
+            errorRate[i] = oldErrorRate[from];
+        }
+        head = size;
+    }
+    
+    private void allocate(int capacity) {
+        this.timestamps = new long[capacity];
+        this.cpu = new double[capacity];
+        this.memory = new double[capacity];
+        this.requestCount = new int[capacity];
+        this.responseTime = new double[capacity];
+        this.errorRate = new double[capacity];
+    }
+}
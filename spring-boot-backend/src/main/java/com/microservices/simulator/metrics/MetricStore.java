@@ -0,0 +1,200 @@
+package com.microservices.simulator.metrics;
+
+import com.microservices.simulator.config.MetricStoreConfig;
+import com.microservices.simulator.entity.Metric;
+import com.microservices.simulator.metrics.compression.MetricChunkStore;
+import com.microservices.simulator.repository.MetricRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory columnar store of recent metric samples, one ring buffer per service.
+ * Recent-window queries are answered from here; anything older than the retention
+ * horizon (or lost to a full buffer) falls back to the repository. Samples may be
+ * recorded before {@link #warmUp} runs and out of timestamp order.
+ */
+@Component
+public class MetricStore {
+    
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    
+    @Autowired
+    private MetricStoreConfig config;
+    
+    @Autowired
+    private MetricRepository metricRepository;
+    
+    @Autowired
+    private MetricChunkStore metricChunkStore;
+    
+    private final ConcurrentHashMap<Long, MetricSeries> series = new ConcurrentHashMap<>();
+    
+    // Earliest instant for which the store is known to hold every sample.
+    private volatile long coveredSince = Long.MAX_VALUE;
+    
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!isEnabled()) {
+            return;
+        }
+        LocalDateTime since = toLocalDateTime(System.currentTimeMillis() - config.getRetention().toMillis());
+        List<Metric> recent = new ArrayList<>(metricRepository.findByTimestampAfter(since));
+        // Older samples may already have been sealed into compressed chunks
+        recent.addAll(metricChunkStore.findSince(null, since));
+        for (Metric metric : recent) {
+            // Live samples recorded since startup are already in the buffers
+            if (metric.getServiceId() != null && metric.getTimestamp() != null) {
+                MetricSeries existing = series.get(metric.getServiceId());
+                if (existing == null || !existing.contains(toEpochMillis(metric.getTimestamp()))) {
+                    record(metric);
+                }
+            }
+        }
+        coveredSince = toEpochMillis(since);
+    }
+    
+    public void record(Metric metric) {
+        if (metric.getServiceId() == null || metric.getTimestamp() == null) {
+            return;
+        }
+        long timestamp = toEpochMillis(metric.getTimestamp());
+        if (timestamp < System.currentTimeMillis() - config.getRetention().toMillis()) {
+            // Back-dated past the horizon; only the repository serves it
+            return;
+        }
+        seriesFor(metric.getServiceId()).append(
+                timestamp,
+                valueOf(metric.getCpu()),
+                valueOf(metric.getMemory()),
+                metric.getRequestCount() != null ? metric.getRequestCount() : MetricSeries.NO_COUNT,
+                valueOf(metric.getResponseTime()),
+                valueOf(metric.getErrorRate()));
+    }
+    
+    public void evict(Long serviceId, LocalDateTime timestamp) {
+        if (serviceId == null || timestamp == null) {
+            return;
+        }
+        MetricSeries existing = series.get(serviceId);
+        if (existing != null) {
+            existing.remove(toEpochMillis(timestamp));
+        }
+    }
+    
+    public boolean covers(LocalDateTime since) {
+        long sinceMillis = toEpochMillis(since);
+        if (!isEnabled() || sinceMillis < coveredSince) {
+            return false;
+        }
+        for (MetricSeries s : series.values()) {
+            if (!s.covers(sinceMillis)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    public boolean covers(Long serviceId, LocalDateTime since) {
+        long sinceMillis = toEpochMillis(since);
+        if (!isEnabled() || sinceMillis < coveredSince) {
+            return false;
+        }
+        MetricSeries existing = series.get(serviceId);
+        return existing == null || existing.covers(sinceMillis);
+    }
+    
+    /** Walks every in-memory sample since the given time; callers must check {@link #covers} first. */
+    public void scan(LocalDateTime since, SampleVisitor visitor) {
+        long sinceMillis = toEpochMillis(since);
+        for (MetricSeries s : series.values()) {
+            s.scan(sinceMillis, visitor);
+        }
+    }
+    
+    public void scan(Long serviceId, LocalDateTime since, SampleVisitor visitor) {
+        MetricSeries existing = series.get(serviceId);
+        if (existing != null) {
+            existing.scan(toEpochMillis(since), visitor);
+        }
+    }
+    
+    public Optional<List<Metric>> findSince(LocalDateTime since) {
+        if (!covers(since)) {
+            return Optional.empty();
+        }
+        List<Metric> metrics = new ArrayList<>();
+        scan(since, (serviceId, timestamp, cpu, memory, requestCount, responseTime, errorRate) ->
+                metrics.add(toMetric(serviceId, timestamp, cpu, memory, requestCount, responseTime, errorRate)));
+        metrics.sort(Comparator.comparing(Metric::getTimestamp).reversed());
+        return Optional.of(metrics);
+    }
+    
+    public Optional<List<Metric>> findServiceSince(Long serviceId, LocalDateTime since) {
+        if (!covers(serviceId, since)) {
+            return Optional.empty();
+        }
+        List<Metric> metrics = new ArrayList<>();
+        scan(serviceId, since, (id, timestamp, cpu, memory, requestCount, responseTime, errorRate) ->
+                metrics.add(toMetric(id, timestamp, cpu, memory, requestCount, responseTime, errorRate)));
+        metrics.sort(Comparator.comparing(Metric::getTimestamp).reversed());
+        return Optional.of(metrics);
+    }
+    
+    @Scheduled(fixedDelay = 60000)
+    public void expire() {
+        long cutoff = System.currentTimeMillis() - config.getRetention().toMillis();
+        series.values().removeIf(s -> {
+            s.expire(cutoff);
+            return s.isEmpty();
+        });
+        if (coveredSince != Long.MAX_VALUE && coveredSince < cutoff) {
+            coveredSince = cutoff;
+        }
+    }
+    
+    private MetricSeries seriesFor(Long serviceId) {
+        return series.computeIfAbsent(serviceId, id -> new MetricSeries(id, config.getSamplesPerService()));
+    }
+    
+    public static Metric toMetric(long serviceId, long timestamp, double cpu, double memory, int requestCount,
+                                  double responseTime, double errorRate) {
+        Metric metric = new Metric(serviceId, nullable(cpu), nullable(memory));
+        metric.setRequestCount(requestCount != MetricSeries.NO_COUNT ? requestCount : null);
+        metric.setResponseTime(nullable(responseTime));
+        metric.setErrorRate(nullable(errorRate));
+        metric.setTimestamp(toLocalDateTime(timestamp));
+        return metric;
+    }
+    
+    public static double valueOf(Double value) {
+        return value != null ? value : Double.NaN;
+    }
+    
+    private static Double nullable(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+    
+    public static long toEpochMillis(LocalDateTime timestamp) {
+        return timestamp.atZone(ZONE).toInstant().toEpochMilli();
+    }
+    
+    public static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZONE);
+    }
+}
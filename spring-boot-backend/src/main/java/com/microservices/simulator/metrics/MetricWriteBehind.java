@@ -0,0 +1,144 @@
+package com.microservices.simulator.metrics;
+
+import com.microservices.simulator.config.MetricStoreConfig;
+import com.microservices.simulator.entity.Metric;
+import com.microservices.simulator.repository.MetricRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Bounded queue that persists samples already served by {@link MetricStore}
+ * to the repository off the request thread. A batch whose write fails stays in
+ * flight, still visible to readers, and is retried on the following flushes
+ * while newer samples wait in the queue; only after
+ * {@code write-behind-max-retries} failed attempts is it dropped, and dropped
+ * samples are counted in {@code simulator.metrics.writebehind.dropped}.
+ */
+@Component
+public class MetricWriteBehind {
+    
+    private static final Logger log = LoggerFactory.getLogger(MetricWriteBehind.class);
+    private static final int MAX_DRAIN = 1000;
+    
+    @Autowired
+    private MetricRepository metricRepository;
+    
+    private final BlockingQueue<Metric> queue;
+    private final int maxRetries;
+    private final Counter dropped;
+    
+    // Batch drained from the queue but not yet committed
+    private volatile List<Metric> inFlight = List.of();
+    // Serialises flushes (scheduled and shutdown) without blocking readers, which use this
+    private final Object flushLock = new Object();
+    // Failed attempts at the current inFlight batch; guarded by flushLock
+    private int failures;
+    
+    public MetricWriteBehind(MetricStoreConfig config, MeterRegistry meterRegistry) {
+        this.queue = new LinkedBlockingQueue<>(config.getWriteBehindQueueSize());
+        this.maxRetries = Math.max(0, config.getWriteBehindMaxRetries());
+        this.dropped = Counter.builder("simulator.metrics.writebehind.dropped")
+                .description("Buffered samples dropped after their batch failed to persist on every retry")
+                .register(meterRegistry);
+        Gauge.builder("simulator.metrics.writebehind.pending", this, MetricWriteBehind::pending)
+                .description("Samples queued or in flight for the repository")
+                .register(meterRegistry);
+    }
+    
+    /** Returns false when the queue is full and the caller must persist the sample itself. */
+    public boolean enqueue(Metric metric) {
+        return queue.offer(metric);
+    }
+    
+    public int pending() {
+        return queue.size() + inFlight.size();
+    }
+    
+    public long dropped() {
+        return (long) dropped.count();
+    }
+    
+    /**
+     * Samples of a service (or of all services when null) at or after {@code since}
+     * that are not committed yet. Read this before querying the repository and drop
+     * the ones whose id the query returned: the id is assigned when the batch is
+     * persisted, so a sample flushed in between is seen exactly once.
+     */
+    public List<Metric> unflushed(Long serviceId, LocalDateTime since) {
+        List<Metric> snapshot = new ArrayList<>();
+        synchronized (this) {
+            snapshot.addAll(inFlight);
+            snapshot.addAll(queue);
+        }
+        snapshot.removeIf(metric -> (serviceId != null && !serviceId.equals(metric.getServiceId()))
+                || (since != null && metric.getTimestamp().isBefore(since)));
+        return snapshot;
+    }
+    
+    @Scheduled(fixedDelayString = "${simulator.metrics.store.write-behind-interval:PT1S}")
+    public void flush() {
+        synchronized (flushLock) {
+            // A batch left in flight by a failed flush goes first, so samples are committed in order
+            List<Metric> batch = new ArrayList<>(inFlight);
+            if (batch.isEmpty() && !drain(batch)) {
+                return;
+            }
+            do {
+                if (!persist(batch)) {
+                    return;
+                }
+                batch.clear();
+            } while (drain(batch));
+        }
+    }
+    
+    // False when the batch stays in flight for the next flush to retry
+    private boolean persist(List<Metric> batch) {
+        try {
+            metricRepository.saveAll(batch);
+            failures = 0;
+            inFlight = List.of();
+            return true;
+        } catch (RuntimeException e) {
+            // The rolled-back insert may have assigned ids; clear them so the retry inserts again
+            batch.forEach(metric -> metric.setId(null));
+            if (++failures <= maxRetries) {
+                log.warn("Failed to persist {} buffered metrics (attempt {} of {}), retrying on the next flush",
+                        batch.size(), failures, maxRetries + 1, e);
+                return false;
+            }
+            log.error("Dropping {} buffered metrics after {} failed attempts", batch.size(), failures, e);
+            dropped.increment(batch.size());
+            failures = 0;
+            inFlight = List.of();
+            return true;
+        }
+    }
+    
+    // Moves the next batch from the queue to inFlight without a window where readers miss it
+    private synchronized boolean drain(List<Metric> batch) {
+        if (queue.drainTo(batch, MAX_DRAIN) == 0) {
+            return false;
+        }
+        inFlight = List.copyOf(batch);
+        return true;
+    }
+    
+    @PreDestroy
+    public void drain() {
+        flush();
+    }
+}
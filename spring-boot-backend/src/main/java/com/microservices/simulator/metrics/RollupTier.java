@@ -0,0 +1,43 @@
+package com.microservices.simulator.metrics;
+
+/**
+ * Pre-aggregated resolutions maintained by {@link MetricRollupAggregator}, finest first.
+ */
+public enum RollupTier {
+    MINUTE(60),
+    FIVE_MINUTES(300),
+    HOUR(3600);
+    
+    private final int seconds;
+    
+    RollupTier(int seconds) {
+        this.seconds = seconds;
+    }
+    
+    public int getSeconds() { return seconds; }
+    
+    public long bucketStart(long epochMillis) {
+        long width = seconds * 1000L;
+        return Math.floorDiv(epochMillis, width) * width;
+    }
+    
+    public static RollupTier ofSeconds(int seconds) {
+        for (RollupTier tier : values()) {
+            if (tier.seconds == seconds) {
+                return tier;
+            }
+        }
+        return null;
+    }
+    
+    /** Coarsest tier whose buckets are no wider than the requested resolution, or null for raw data. */
+    public static RollupTier forResolution(int resolutionSeconds) {
+        RollupTier match = null;
+        for (RollupTier tier : values()) {
+            if (tier.seconds <= resolutionSeconds && resolutionSeconds % tier.seconds == 0) {
+                match = tier;
+            }
+        }
+        return match;
+    }
+}
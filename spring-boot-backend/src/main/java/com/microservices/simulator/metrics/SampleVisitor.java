@@ -0,0 +1,12 @@
+package com.microservices.simulator.metrics;
+
+/**
+ * Callback used to walk samples held in memory without materialising entities.
+ * Missing doubles are passed as NaN and a missing request count as {@link Integer#MIN_VALUE}.
+ */
+@FunctionalInterface
+public interface SampleVisitor {
+    
+    void visit(long serviceId, long timestamp, double cpu, double memory, int requestCount,
+               double responseTime, double errorRate);
+}
@@ -0,0 +1,33 @@
+package com.microservices.simulator.metrics.compression;
+
+/**
+ * Reader for buffers produced by {@link BitOutput}.
+ */
+final class BitInput {
+    
+    private final byte[] buffer;
+    private long bitPosition;
+    
+    BitInput(byte[] buffer, int offset) {
+        this.buffer = buffer;
+        this.bitPosition = offset * 8L;
+    }
+    
+    boolean readBit() {
+        int index = (int) (bitPosition >>> 3);
+        if (index >= buffer.length) {
+            throw new IllegalStateException("Compressed chunk is truncated");
+        }
+        boolean bit = (buffer[index] & (0x80 >>> (bitPosition & 7))) != 0;
+        bitPosition++;
+        return bit;
+    }
+    
+    long readBits(int count) {
+        long value = 0;
+        for (int i = 0; i < count; i++) {
+            value = (value << 1) | (readBit() ? 1L : 0L);
+        }
+        return value;
+    }
+}
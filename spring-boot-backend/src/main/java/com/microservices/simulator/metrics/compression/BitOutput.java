@@ -0,0 +1,42 @@
+package com.microservices.simulator.metrics.compression;
+
+import java.util.Arrays;
+
+/**
+ * Growable big-endian bit buffer.
+ */
+final class BitOutput {
+    
+    private byte[] buffer = new byte[256];
+    private long bitPosition;
+    
+    void writeBit(boolean bit) {
+        ensureCapacity(1);
+        if (bit) {
+            buffer[(int) (bitPosition >>> 3)] |= (byte) (0x80 >>> (bitPosition & 7));
+        }
+        bitPosition++;
+    }
+    
+    /** Writes the low {@code count} bits of {@code value}, most significant first. */
+    void writeBits(long value, int count) {
+        ensureCapacity(count);
+        for (int i = count - 1; i >= 0; i--) {
+            if (((value >>> i) & 1L) != 0) {
+                buffer[(int) (bitPosition >>> 3)] |= (byte) (0x80 >>> (bitPosition & 7));
+            }
+            bitPosition++;
+        }
+    }
+    
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, (int) ((bitPosition + 7) >>> 3));
+    }
+    
+    private void ensureCapacity(int bits) {
+        long needed = (bitPosition + bits + 7) >>> 3;
+        if (needed > buffer.length) {
+            buffer = Arrays.copyOf(buffer, (int) Math.max(needed, buffer.length * 2L));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.microservices.simulator.metrics.compression;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Ids of the raw rows sealed into a chunk, in sample order. Each id is stored as
+ * a zigzag varint delta from the previous one; ids handed out by the pooled
+ * sequence are close together, so most take one or two bytes.
+ */
+final class ChunkIds {
+    
+    private ChunkIds() {
+    }
+    
+    static byte[] encode(long[] ids) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(ids.length * 2);
+        long previous = 0;
+        for (long id : ids) {
+            long delta = id - previous;
+            long zigzag = (delta << 1) ^ (delta >> 63);
+            while ((zigzag & ~0x7FL) != 0) {
+                out.write((int) ((zigzag & 0x7F) | 0x80));
+                zigzag >>>= 7;
+            }
+            out.write((int) zigzag);
+            previous = id;
+        }
+        return out.toByteArray();
+    }
+    
+    static long[] decode(byte[] data, int count) {
+        long[] ids = new long[count];
+        int position = 0;
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            long zigzag = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                zigzag |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            previous += (zigzag >>> 1) ^ -(zigzag & 1);
+            ids[i] = previous;
+        }
+        return ids;
+    }
+}
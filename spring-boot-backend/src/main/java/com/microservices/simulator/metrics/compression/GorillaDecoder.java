@@ -0,0 +1,83 @@
+package com.microservices.simulator.metrics.compression;
+
+import com.microservices.simulator.metrics.SampleVisitor;
+
+/**
+ * Decodes blocks written by {@link GorillaEncoder}, streaming samples into a
+ * {@link SampleVisitor} without materialising intermediate arrays.
+ */
+public final class GorillaDecoder {
+    
+    private GorillaDecoder() {
+    }
+    
+    public static int sampleCount(byte[] data) {
+        return ((data[0] & 0xFF) << 24) | ((data[1] & 0xFF) << 16) | ((data[2] & 0xFF) << 8) | (data[3] & 0xFF);
+    }
+    
+    public static void decode(byte[] data, long serviceId, SampleVisitor visitor) {
+        int count = sampleCount(data);
+        if (count == 0) {
+            return;
+        }
+        BitInput in = new BitInput(data, 4);
+        long[] values = new long[GorillaEncoder.COLUMNS];
+        int[] leading = new int[GorillaEncoder.COLUMNS];
+        int[] trailing = new int[GorillaEncoder.COLUMNS];
+        
+        long timestamp = in.readBits(64);
+        for (int i = 0; i < GorillaEncoder.COLUMNS; i++) {
+            values[i] = in.readBits(64);
+        }
+        emit(serviceId, timestamp, values, visitor);
+        
+        long delta = 0;
+        for (int n = 1; n < count; n++) {
+            delta += readDeltaOfDelta(in);
+            timestamp += delta;
+            for (int i = 0; i < GorillaEncoder.COLUMNS; i++) {
+                if (!in.readBit()) {
+                    continue;
+                }
+                if (in.readBit()) {
+                    leading[i] = (int) in.readBits(5);
+                    int meaningful = (int) in.readBits(6) + 1;
+                    trailing[i] = 64 - leading[i] - meaningful;
+                }
+                int meaningful = 64 - leading[i] - trailing[i];
+                values[i] ^= in.readBits(meaningful) << trailing[i];
+            }
+            emit(serviceId, timestamp, values, visitor);
+        }
+    }
+    
+    private static long readDeltaOfDelta(BitInput in) {
+        if (!in.readBit()) {
+            return 0;
+        }
+        if (!in.readBit()) {
+            return signExtend(in.readBits(7), 7);
+        }
+        if (!in.readBit()) {
+            return signExtend(in.readBits(9), 9);
+        }
+        if (!in.readBit()) {
+            return signExtend(in.readBits(12), 12);
+        }
+        return in.readBits(64);
+    }
+    
+    private static long signExtend(long value, int bits) {
+        return (value << (64 - bits)) >> (64 - bits);
+    }
+    
+    private static void emit(long serviceId, long timestamp, long[] values, SampleVisitor visitor) {
+        double requestCount = Double.longBitsToDouble(values[2]);
+        visitor.visit(serviceId, timestamp,
+                Double.longBitsToDouble(values[0]),
+                Double.longBitsToDouble(values[1]),
+                Double.isNaN(requestCount) ? Integer.MIN_VALUE : (int) requestCount,
+                Double.longBitsToDouble(values[3]),
+                Double.longBitsToDouble(values[4]));
+    }
+}
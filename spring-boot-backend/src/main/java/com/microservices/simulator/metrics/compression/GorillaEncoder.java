@@ -0,0 +1,114 @@
+package com.microservices.simulator.metrics.compression;
+
+import java.util.Arrays;
+
+/**
+ * Gorilla-style encoder for a block of metric samples: timestamps as
+ * delta-of-deltas and each value column XORed against its predecessor.
+ * Samples must be appended in timestamp order.
+ *
+ * <p>Layout: sample count (32 bits), first timestamp (64 bits), first row of
+ * values verbatim (5 x 64 bits), then per sample a timestamp delta-of-delta
+ * followed by one XOR-encoded value per column.
+ */
+public final class GorillaEncoder {
+    
+    static final int COLUMNS = 5;
+    private static final int NO_WINDOW = -1;
+    
+    private final BitOutput out = new BitOutput();
+    private final long[] previousValues = new long[COLUMNS];
+    private final int[] previousLeading = new int[COLUMNS];
+    private final int[] previousTrailing = new int[COLUMNS];
+    
+    private int count;
+    private long previousTimestamp;
+    private long previousDelta;
+    
+    public GorillaEncoder() {
+        Arrays.fill(previousLeading, NO_WINDOW);
+    }
+    
+    public void add(long timestamp, double cpu, double memory, double requestCount, double responseTime, double errorRate) {
+        if (count == 0) {
+            out.writeBits(timestamp, 64);
+            previousTimestamp = timestamp;
+        } else {
+            long delta = timestamp - previousTimestamp;
+            writeDeltaOfDelta(delta - previousDelta);
+            previousDelta = delta;
+            previousTimestamp = timestamp;
+        }
+        writeValue(0, cpu);
+        writeValue(1, memory);
+        writeValue(2, requestCount);
+        writeValue(3, responseTime);
+        writeValue(4, errorRate);
+        count++;
+    }
+    
+    public int count() {
+        return count;
+    }
+    
+    public byte[] finish() {
+        byte[] body = out.toByteArray();
+        byte[] result = new byte[4 + body.length];
+        result[0] = (byte) (count >>> 24);
+        result[1] = (byte) (count >>> 16);
+        result[2] = (byte) (count >>> 8);
+        result[3] = (byte) count;
+        System.arraycopy(body, 0, result, 4, body.length);
+        return result;
+    }
+    
+    private void writeDeltaOfDelta(long dod) {
+        if (dod == 0) {
+            out.writeBit(false);
+        } else if (dod >= -64 && dod <= 63) {
+            out.writeBits(0b10, 2);
+            out.writeBits(dod, 7);
+        } else if (dod >= -256 && dod <= 255) {
+            out.writeBits(0b110, 3);
+            out.writeBits(dod, 9);
+        } else if (dod >= -2048 && dod <= 2047) {
+            out.writeBits(0b1110, 4);
+            out.writeBits(dod, 12);
+        } else {
+            out.writeBits(0b1111, 4);
+            out.writeBits(dod, 64);
+        }
+    }
+    
+    private void writeValue(int column, double value) {
+        long bits = Double.doubleToRawLongBits(value);
+        if (count == 0) {
+            out.writeBits(bits, 64);
+            previousValues[column] = bits;
+            return;
+        }
+        long xor = bits ^ previousValues[column];
+        previousValues[column] = bits;
+        if (xor == 0) {
+            out.writeBit(false);
+            return;
+        }
+        out.writeBit(true);
+        int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+        int trailing = Long.numberOfTrailingZeros(xor);
+        if (previousLeading[column] != NO_WINDOW
+                && leading >= previousLeading[column] && trailing >= previousTrailing[column]) {
+            // Meaningful bits fit inside the previous window; reuse it
+            out.writeBit(false);
+            out.writeBits(xor >>> previousTrailing[column], 64 - previousLeading[column] - previousTrailing[column]);
+        } else {
+            int meaningful = 64 - leading - trailing;
+            out.writeBit(true);
+            out.writeBits(leading, 5);
+            out.writeBits(meaningful - 1, 6);
+            out.writeBits(xor >>> trailing, meaningful);
+            previousLeading[column] = leading;
+            previousTrailing[column] = trailing;
+        }
+    }
+}
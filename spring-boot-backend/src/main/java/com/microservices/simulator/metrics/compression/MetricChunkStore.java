@@ -0,0 +1,324 @@
+package com.microservices.simulator.metrics.compression;
+
+import com.microservices.simulator.config.MetricCompressionConfig;
+import com.microservices.simulator.config.PartitioningConfig;
+import com.microservices.simulator.entity.Metric;
+import com.microservices.simulator.entity.MetricChunk;
+import com.microservices.simulator.metrics.MetricStore;
+import com.microservices.simulator.metrics.SampleVisitor;
+import com.microservices.simulator.repository.MetricChunkRepository;
+import com.microservices.simulator.repository.MetricRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Seals closed per-service windows of raw metric rows into Gorilla-compressed
+ * {@link MetricChunk}s and decodes them again for reads. Chunks keep the ids of
+ * the rows they replace, so sealed samples still answer lookups, deletes and
+ * cursor pages by id. Windows are aligned to the configured width, so all chunks
+ * sharing a window start cover the same span and are older than any later window.
+ */
+@Component
+public class MetricChunkStore {
+    
+    private static final Logger log = LoggerFactory.getLogger(MetricChunkStore.class);
+    private static final Comparator<Metric> NEWEST_FIRST =
+            Comparator.comparing(Metric::getTimestamp).thenComparing(Metric::getId).reversed();
+    
+    @Autowired
+    private MetricCompressionConfig config;
+    
+    @Autowired
+    private PartitioningConfig partitioningConfig;
+    
+    @Autowired
+    private MetricChunkRepository metricChunkRepository;
+    
+    @Autowired
+    private MetricRepository metricRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Scheduled(cron = "${simulator.metrics.compression.seal-cron:0 2 * * * *}")
+    public void seal() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        long window = config.getWindow().toMillis();
+        long cutoff = Math.floorDiv(System.currentTimeMillis() - config.getSealAfter().toMillis(), window) * window;
+        int sealed = 0;
+        LocalDateTime cutoffTime = MetricStore.toLocalDateTime(cutoff);
+        for (Object[] oldest : metricRepository.findOldestTimestampByServiceBefore(cutoffTime)) {
+            Long serviceId = (Long) oldest[0];
+            LocalDateTime next = (LocalDateTime) oldest[1];
+            while (next != null) {
+                long start = Math.floorDiv(MetricStore.toEpochMillis(next), window) * window;
+                LocalDateTime end = MetricStore.toLocalDateTime(start + window);
+                sealed += sealWindow(serviceId, MetricStore.toLocalDateTime(start), end);
+                // Jump straight to the next window that still has raw rows
+                next = metricRepository.findFirstTimestampInRange(serviceId, end, cutoffTime);
+            }
+        }
+        if (sealed > 0) {
+            log.info("Sealed {} metric samples into compressed chunks", sealed);
+        }
+        if (partitioningConfig.isEnabled()) {
+            // Match the partition-drop retention applied to raw rows
+            transactionTemplate.executeWithoutResult(status -> metricChunkRepository.deleteEndingBefore(
+                    LocalDateTime.now().toLocalDate().minusDays(partitioningConfig.getRetentionDays()).atStartOfDay()));
+        }
+    }
+    
+    /** Newest first; a null service reads every service and a null {@code since} the whole history. */
+    public List<Metric> findSince(Long serviceId, LocalDateTime since) {
+        List<MetricChunk> chunks;
+        if (since == null) {
+            chunks = serviceId != null
+                    ? metricChunkRepository.findByServiceIdOrderByWindowStartDesc(serviceId)
+                    : metricChunkRepository.findAllByOrderByWindowStartDesc();
+        } else {
+            chunks = serviceId != null
+                    ? metricChunkRepository.findOverlappingByServiceId(serviceId, since)
+                    : metricChunkRepository.findOverlapping(since);
+        }
+        long sinceMillis = since != null ? MetricStore.toEpochMillis(since) : Long.MIN_VALUE;
+        List<Metric> metrics = new ArrayList<>();
+        for (MetricChunk chunk : chunks) {
+            for (Metric metric : samples(chunk)) {
+                if (MetricStore.toEpochMillis(metric.getTimestamp()) >= sinceMillis) {
+                    metrics.add(metric);
+                }
+            }
+        }
+        metrics.sort(NEWEST_FIRST);
+        return metrics;
+    }
+    
+    /** Every sealed sample, newest first, one window at a time; must be consumed inside a transaction. */
+    public Stream<Metric> streamAll() {
+        Stream<MetricChunk> chunks = metricChunkRepository.streamAllOrderByWindowStartDesc();
+        Iterator<MetricChunk> source = chunks.iterator();
+        Iterator<Metric> samples = new Iterator<>() {
+            private MetricChunk pending;
+            private Iterator<Metric> window = Collections.emptyIterator();
+            
+            @Override
+            public boolean hasNext() {
+                while (!window.hasNext()) {
+                    if (pending == null && !source.hasNext()) {
+                        return false;
+                    }
+                    MetricChunk first = pending != null ? pending : source.next();
+                    pending = null;
+                    List<Metric> group = new ArrayList<>(samples(first));
+                    // Detach decoded chunks so a long export does not pin every blob in the session
+                    entityManager.detach(first);
+                    while (source.hasNext()) {
+                        MetricChunk chunk = source.next();
+                        if (!chunk.getWindowStart().equals(first.getWindowStart())) {
+                            pending = chunk;
+                            break;
+                        }
+                        group.addAll(samples(chunk));
+                        entityManager.detach(chunk);
+                    }
+                    group.sort(NEWEST_FIRST);
+                    window = group.iterator();
+                }
+                return true;
+            }
+            
+            @Override
+            public Metric next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return window.next();
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(samples, Spliterator.ORDERED), false)
+                .onClose(chunks::close);
+    }
+    
+    /**
+     * Up to {@code limit} sealed samples ordered before {@code (timestamp, id)}, newest
+     * first; a null timestamp starts at the newest sample. Reads whole windows from the
+     * cursor's window backwards until enough samples are found, so the cost depends on
+     * the page and window size rather than on how deep the cursor is.
+     */
+    public List<Metric> findPage(LocalDateTime timestamp, long id, int limit) {
+        List<Metric> page = new ArrayList<>();
+        LocalDateTime window = timestamp == null ? metricChunkRepository.findLatestWindowStart()
+                : metricChunkRepository.findLatestWindowStartBefore(timestamp.plusNanos(1));
+        while (window != null) {
+            for (MetricChunk chunk : metricChunkRepository.findByWindowStart(window)) {
+                for (Metric metric : samples(chunk)) {
+                    if (timestamp == null || metric.getTimestamp().isBefore(timestamp)
+                            || (metric.getTimestamp().equals(timestamp) && metric.getId() < id)) {
+                        page.add(metric);
+                    }
+                }
+            }
+            if (page.size() >= limit) {
+                break;
+            }
+            window = metricChunkRepository.findLatestWindowStartBefore(window);
+        }
+        page.sort(NEWEST_FIRST);
+        return page.size() > limit ? new ArrayList<>(page.subList(0, limit)) : page;
+    }
+    
+    public Optional<Metric> findById(long id) {
+        for (MetricChunk chunk : metricChunkRepository.findContainingId(id)) {
+            for (Metric metric : samples(chunk)) {
+                if (metric.getId() == id) {
+                    return Optional.of(metric);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+    
+    /** Removes a sealed sample by re-encoding its chunk without it; returns the removed sample. */
+    public Optional<Metric> delete(long id) {
+        return transactionTemplate.execute(status -> {
+            for (MetricChunk chunk : metricChunkRepository.findContainingIdForUpdate(id)) {
+                List<Metric> samples = samples(chunk);
+                for (Metric metric : samples) {
+                    if (metric.getId() == id) {
+                        samples.remove(metric);
+                        if (samples.isEmpty()) {
+                            metricChunkRepository.delete(chunk);
+                        } else {
+                            write(chunk, samples);
+                            metricChunkRepository.save(chunk);
+                        }
+                        return Optional.of(metric);
+                    }
+                }
+            }
+            return Optional.empty();
+        });
+    }
+    
+    /** Streams sealed samples in {@code [from, to)}; a null service or bound is unrestricted. */
+    public void scan(Long serviceId, LocalDateTime from, LocalDateTime to, SampleVisitor visitor) {
+        List<MetricChunk> chunks;
+        if (from == null || to == null) {
+            chunks = serviceId != null
+                    ? metricChunkRepository.findByServiceIdOrderByWindowStartDesc(serviceId)
+                    : metricChunkRepository.findAllByOrderByWindowStartDesc();
+        } else {
+            chunks = serviceId != null
+                    ? metricChunkRepository.findOverlappingBetweenByServiceId(serviceId, from, to)
+                    : metricChunkRepository.findOverlappingBetween(from, to);
+        }
+        long fromMillis = from != null ? MetricStore.toEpochMillis(from) : Long.MIN_VALUE;
+        long toMillis = to != null ? MetricStore.toEpochMillis(to) : Long.MAX_VALUE;
+        for (MetricChunk chunk : chunks) {
+            GorillaDecoder.decode(chunk.getData(), chunk.getServiceId(), (id, timestamp, cpu, memory, requestCount, responseTime, errorRate) -> {
+                if (timestamp >= fromMillis && timestamp < toMillis) {
+                    visitor.visit(id, timestamp, cpu, memory, requestCount, responseTime, errorRate);
+                }
+            });
+        }
+    }
+    
+    // One transaction per window: the chunk write and the raw-row delete commit together
+    private int sealWindow(Long serviceId, LocalDateTime start, LocalDateTime end) {
+        Integer sealed = transactionTemplate.execute(status -> {
+            List<Metric> samples = new ArrayList<>();
+            for (Object[] row : metricRepository.findSamplesInWindow(serviceId, start, end)) {
+                samples.add(toMetric(serviceId, row));
+            }
+            int raw = samples.size();
+            if (raw == 0) {
+                return 0;
+            }
+            MetricChunk chunk = metricChunkRepository.findByServiceIdAndWindowStart(serviceId, start)
+                    .orElseGet(() -> new MetricChunk(serviceId, start, end));
+            if (chunk.getData() != null) {
+                // Late samples for a window that was already sealed: re-encode the union
+                samples.addAll(samples(chunk));
+            }
+            write(chunk, samples);
+            metricChunkRepository.save(chunk);
+            if (metricRepository.deleteSealed(serviceId, start, end) != raw) {
+                // A row landed in the window after it was read; leave the window for the next run
+                status.setRollbackOnly();
+                return 0;
+            }
+            return raw;
+        });
+        return sealed != null ? sealed : 0;
+    }
+    
+    /** Decoded samples of a chunk in timestamp order, with their original ids. */
+    private List<Metric> samples(MetricChunk chunk) {
+        long[] ids = ChunkIds.decode(chunk.getIds(), chunk.getSampleCount());
+        List<Metric> samples = new ArrayList<>(ids.length);
+        GorillaDecoder.decode(chunk.getData(), chunk.getServiceId(), (serviceId, timestamp, cpu, memory, requestCount, responseTime, errorRate) -> {
+            Metric metric = MetricStore.toMetric(serviceId, timestamp, cpu, memory, requestCount, responseTime, errorRate);
+            metric.setId(ids[samples.size()]);
+            samples.add(metric);
+        });
+        return samples;
+    }
+    
+    private static void write(MetricChunk chunk, List<Metric> samples) {
+        samples.sort(Comparator.comparing(Metric::getTimestamp).thenComparing(Metric::getId));
+        long[] ids = samples.stream().mapToLong(Metric::getId).toArray();
+        chunk.setData(encode(samples));
+        chunk.setIds(ChunkIds.encode(ids));
+        chunk.setMinId(Arrays.stream(ids).min().orElseThrow());
+        chunk.setMaxId(Arrays.stream(ids).max().orElseThrow());
+        chunk.setSampleCount(samples.size());
+    }
+    
+    private static Metric toMetric(Long serviceId, Object[] row) {
+        Metric metric = new Metric(serviceId, (Double) row[2], (Double) row[3]);
+        metric.setId((Long) row[0]);
+        metric.setTimestamp((LocalDateTime) row[1]);
+        metric.setRequestCount((Integer) row[4]);
+        metric.setResponseTime((Double) row[5]);
+        metric.setErrorRate((Double) row[6]);
+        return metric;
+    }
+    
+    static byte[] encode(List<Metric> samples) {
+        GorillaEncoder encoder = new GorillaEncoder();
+        for (Metric metric : samples) {
+            encoder.add(MetricStore.toEpochMillis(metric.getTimestamp()),
+                    MetricStore.valueOf(metric.getCpu()),
+                    MetricStore.valueOf(metric.getMemory()),
+                    metric.getRequestCount() != null ? metric.getRequestCount() : Double.NaN,
+                    MetricStore.valueOf(metric.getResponseTime()),
+                    MetricStore.valueOf(metric.getErrorRate()));
+        }
+        return encoder.finish();
+    }
+}
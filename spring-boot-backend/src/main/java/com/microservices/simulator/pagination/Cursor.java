@@ -0,0 +1,35 @@
+package com.microservices.simulator.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a page: its sort timestamp (absent for id-only
+ * ordering) and id. Clients only ever see the opaque token form.
+ */
+public record Cursor(LocalDateTime sortKey, long id) {
+    
+    private static final String SEPARATOR = "|";
+    
+    public String encode() {
+        String raw = (sortKey != null ? sortKey.toString() : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public static Cursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int split = raw.lastIndexOf(SEPARATOR);
+            if (split < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+            String sortKey = raw.substring(0, split);
+            long id = Long.parseLong(raw.substring(split + 1));
+            return new Cursor(sortKey.isEmpty() ? null : LocalDateTime.parse(sortKey), id);
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.microservices.simulator.partitioning;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Retention only: H2 has no declarative partitioning, so no per-day tables are
+ * created and each table stays whole for every JPA query to see. The partition
+ * steps are no-ops and retention is a range delete on the indexed timestamp
+ * column. Daily partitions and partition drops happen on PostgreSQL only.
+ */
+class H2PartitionDialect implements PartitionDialect {
+    
+    @Override
+    public boolean supports(JdbcTemplate jdbc, PartitionedTable table) {
+        Integer tables = jdbc.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE UPPER(TABLE_NAME) = UPPER(?)",
+                Integer.class, table.name());
+        return tables != null && tables > 0;
+    }
+    
+    @Override
+    public List<LocalDate> unpartitionedDays(JdbcTemplate jdbc, PartitionedTable table) {
+        return List.of();
+    }
+    
+    @Override
+    public void prepare(JdbcTemplate jdbc, PartitionedTable table, LocalDate day) {
+    }
+    
+    @Override
+    public List<LocalDate> partitions(JdbcTemplate jdbc, PartitionedTable table) {
+        return List.of();
+    }
+    
+    @Override
+    public void drop(JdbcTemplate jdbc, PartitionedTable table, LocalDate day) {
+    }
+    
+    @Override
+    public int prune(JdbcTemplate jdbc, PartitionedTable table, LocalDate cutoff) {
+        // TIMESTAMP is a keyword in H2, so the metrics column must be quoted
+        String column = "\"" + table.column().toUpperCase() + "\"";
+        return jdbc.update("DELETE FROM " + table.name() + " WHERE " + column + " < ?", Date.valueOf(cutoff));
+    }
+}
@@ -0,0 +1,27 @@
+package com.microservices.simulator.partitioning;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Database-specific handling of daily partitions.
+ */
+interface PartitionDialect {
+    
+    boolean supports(JdbcTemplate jdbc, PartitionedTable table);
+    
+    /** Days with rows that no daily partition covers yet. */
+    List<LocalDate> unpartitionedDays(JdbcTemplate jdbc, PartitionedTable table);
+    
+    /** Makes sure a partition covers {@code day}; run inside a transaction. */
+    void prepare(JdbcTemplate jdbc, PartitionedTable table, LocalDate day);
+    
+    List<LocalDate> partitions(JdbcTemplate jdbc, PartitionedTable table);
+    
+    void drop(JdbcTemplate jdbc, PartitionedTable table, LocalDate day);
+    
+    /** Deletes rows older than {@code cutoff} that no partition holds; returns the row count. */
+    int prune(JdbcTemplate jdbc, PartitionedTable table, LocalDate cutoff);
+}
@@ -0,0 +1,95 @@
+package com.microservices.simulator.partitioning;
+
+import com.microservices.simulator.config.PartitioningConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Keeps daily partitions of {@code metrics} and {@code activities} in place and
+ * enforces retention by dropping whole partitions instead of deleting rows. Only
+ * PostgreSQL is partitioned; on H2 the tables stay whole and this only enforces
+ * retention, with a range delete.
+ */
+@Component
+public class PartitionManager {
+    
+    private static final Logger log = LoggerFactory.getLogger(PartitionManager.class);
+    private static final List<PartitionedTable> TABLES = List.of(PartitionedTable.METRICS, PartitionedTable.ACTIVITIES);
+    
+    @Autowired
+    private PartitioningConfig config;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    private volatile PartitionDialect dialect;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if ("PostgreSQL".equalsIgnoreCase(product)) {
+            dialect = new PostgresPartitionDialect();
+        } else if ("H2".equalsIgnoreCase(product)) {
+            dialect = new H2PartitionDialect();
+        } else {
+            log.warn("Time partitioning is not supported on {}; retention is disabled", product);
+            return;
+        }
+        maintain();
+    }
+    
+    @Scheduled(cron = "${simulator.partitioning.maintenance-cron:0 5 0 * * *}")
+    public void maintain() {
+        PartitionDialect current = dialect;
+        if (!config.isEnabled() || current == null) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        LocalDate cutoff = today.minusDays(config.getRetentionDays());
+        for (PartitionedTable table : TABLES) {
+            if (!current.supports(jdbcTemplate, table)) {
+                log.warn("Table {} is not partitioned; skipping partition maintenance", table.name());
+                continue;
+            }
+            SortedSet<LocalDate> days = new TreeSet<>();
+            for (int i = 0; i <= config.getPrecreateDays(); i++) {
+                days.add(today.plusDays(i));
+            }
+            for (LocalDate day : current.unpartitionedDays(jdbcTemplate, table)) {
+                if (!day.isBefore(cutoff)) {
+                    days.add(day);
+                }
+            }
+            for (LocalDate day : days) {
+                transactionTemplate.executeWithoutResult(status -> current.prepare(jdbcTemplate, table, day));
+            }
+            for (LocalDate day : current.partitions(jdbcTemplate, table)) {
+                if (day.isBefore(cutoff)) {
+                    current.drop(jdbcTemplate, table, day);
+                    log.info("Dropped partition {} past {}-day retention", table.partitionName(day), config.getRetentionDays());
+                }
+            }
+            int pruned = current.prune(jdbcTemplate, table, cutoff);
+            if (pruned > 0) {
+                log.info("Deleted {} {} rows past {}-day retention", pruned, table.name(), config.getRetentionDays());
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.microservices.simulator.partitioning;
+
+import org.springframework.boot.jdbc.init.DataSourceScriptDatabaseInitializer;
+import org.springframework.boot.sql.init.DatabaseInitializationMode;
+import org.springframework.boot.sql.init.DatabaseInitializationSettings;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Creates the range-partitioned {@code metrics} and {@code activities} parents from
+ * {@code db/partitioning/postgresql.sql} before Hibernate validates the schema. The
+ * script only runs when the datasource really is PostgreSQL: the active profile says
+ * nothing about which URL won, and on H2 Hibernate creates plain tables instead.
+ * Being a script initializer, JPA waits for it like it does for Boot's own.
+ */
+@Component
+public class PartitionSchemaInitializer extends DataSourceScriptDatabaseInitializer {
+    
+    static final String SCRIPT = "classpath:db/partitioning/postgresql.sql";
+    
+    public PartitionSchemaInitializer(DataSource dataSource) {
+        super(dataSource, settings());
+    }
+    
+    @Override
+    public boolean initializeDatabase() {
+        return isPostgres() && super.initializeDatabase();
+    }
+    
+    private boolean isPostgres() {
+        try (Connection connection = getDataSource().getConnection()) {
+            return "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not determine the database product", e);
+        }
+    }
+    
+    private static DatabaseInitializationSettings settings() {
+        DatabaseInitializationSettings settings = new DatabaseInitializationSettings();
+        settings.setSchemaLocations(List.of(SCRIPT));
+        settings.setMode(DatabaseInitializationMode.ALWAYS);
+        return settings;
+    }
+}
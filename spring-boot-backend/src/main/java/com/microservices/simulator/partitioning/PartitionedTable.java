@@ -0,0 +1,33 @@
+package com.microservices.simulator.partitioning;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * A table split into one partition per day on its timestamp column.
+ */
+public record PartitionedTable(String name, String column) {
+    
+    public static final PartitionedTable METRICS = new PartitionedTable("metrics", "timestamp");
+    public static final PartitionedTable ACTIVITIES = new PartitionedTable("activities", "created_at");
+    
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+    
+    public String partitionName(LocalDate day) {
+        return name + "_p" + SUFFIX.format(day);
+    }
+    
+    /** Day encoded in a partition name, or null if the name is not one of ours. */
+    public LocalDate dayOf(String partitionName) {
+        String prefix = name + "_p";
+        String lower = partitionName.toLowerCase();
+        if (!lower.startsWith(prefix) || lower.length() != prefix.length() + 8) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(lower.substring(prefix.length()), SUFFIX);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.microservices.simulator.partitioning;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Declarative range partitioning; see {@code db/partitioning/postgresql.sql} for the parent tables.
+ * Rows written for a day before its partition existed land in the DEFAULT partition. They
+ * are moved into the day's partition when it is created, because PostgreSQL refuses to
+ * attach a range the DEFAULT partition still holds rows for.
+ */
+class PostgresPartitionDialect implements PartitionDialect {
+    
+    @Override
+    public boolean supports(JdbcTemplate jdbc, PartitionedTable table) {
+        Integer partitioned = jdbc.queryForObject(
+                "SELECT COUNT(*) FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid WHERE c.relname = ?",
+                Integer.class, table.name());
+        return partitioned != null && partitioned > 0;
+    }
+    
+    @Override
+    public List<LocalDate> unpartitionedDays(JdbcTemplate jdbc, PartitionedTable table) {
+        return jdbc.queryForList(
+                        "SELECT DISTINCT CAST(" + table.column() + " AS DATE) FROM " + defaultPartition(table),
+                        Date.class)
+                .stream()
+                .map(Date::toLocalDate)
+                .toList();
+    }
+    
+    @Override
+    public void prepare(JdbcTemplate jdbc, PartitionedTable table, LocalDate day) {
+        if (partitions(jdbc, table).contains(day)) {
+            return;
+        }
+        String partition = table.partitionName(day);
+        String range = " FOR VALUES FROM ('" + day + "') TO ('" + day.plusDays(1) + "')";
+        String defaultPartition = defaultPartition(table);
+        // Holds off writers to the DEFAULT partition until the range is attached
+        jdbc.execute("LOCK TABLE " + defaultPartition + " IN SHARE ROW EXCLUSIVE MODE");
+        jdbc.execute("CREATE TABLE IF NOT EXISTS " + partition
+                + " (LIKE " + table.name() + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        jdbc.update("WITH moved AS (DELETE FROM " + defaultPartition + " WHERE " + table.column() + " >= ? AND "
+                        + table.column() + " < ? RETURNING *) INSERT INTO " + partition + " SELECT * FROM moved",
+                Date.valueOf(day), Date.valueOf(day.plusDays(1)));
+        jdbc.execute("ALTER TABLE " + table.name() + " ATTACH PARTITION " + partition + range);
+    }
+    
+    @Override
+    public List<LocalDate> partitions(JdbcTemplate jdbc, PartitionedTable table) {
+        return jdbc.queryForList(
+                        "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                                + "JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = ?",
+                        String.class, table.name())
+                .stream()
+                .map(table::dayOf)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+    
+    @Override
+    public void drop(JdbcTemplate jdbc, PartitionedTable table, LocalDate day) {
+        jdbc.execute("DROP TABLE IF EXISTS " + table.partitionName(day));
+    }
+    
+    @Override
+    public int prune(JdbcTemplate jdbc, PartitionedTable table, LocalDate cutoff) {
+        return jdbc.update("DELETE FROM " + defaultPartition(table) + " WHERE " + table.column() + " < ?",
+                Date.valueOf(cutoff));
+    }
+    
+    private static String defaultPartition(PartitionedTable table) {
+        return table.name() + "_default";
+    }
+}
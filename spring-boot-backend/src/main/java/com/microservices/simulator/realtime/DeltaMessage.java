@@ -0,0 +1,33 @@
+package com.microservices.simulator.realtime;
+
+import java.util.List;
+
+/**
+ * One coalesced batch of changes for a topic. {@code sequence} increases by one per
+ * message on a topic; a client that sees a gap should reload the full state over REST.
+ */
+public class DeltaMessage {
+    private String topic;
+    private long sequence;
+    private List<Object> upserts;
+    private List<Long> deletes;
+    
+    public DeltaMessage(String topic, long sequence, List<Object> upserts, List<Long> deletes) {
+        this.topic = topic;
+        this.sequence = sequence;
+        this.upserts = upserts;
+        this.deletes = deletes;
+    }
+    
+    public String getTopic() { return topic; }
+    public void setTopic(String topic) { this.topic = topic; }
+    
+    public long getSequence() { return sequence; }
+    public void setSequence(long sequence) { this.sequence = sequence; }
+    
+    public List<Object> getUpserts() { return upserts; }
+    public void setUpserts(List<Object> upserts) { this.upserts = upserts; }
+    
+    public List<Long> getDeletes() { return deletes; }
+    public void setDeletes(List<Long> deletes) { this.deletes = deletes; }
+}
@@ -0,0 +1,114 @@
+package com.microservices.simulator.realtime;
+
+import com.microservices.simulator.config.RealtimeConfig;
+import com.microservices.simulator.entity.Activity;
+import com.microservices.simulator.entity.Deployment;
+import com.microservices.simulator.entity.Metric;
+import com.microservices.simulator.entity.Service;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects entity changes between flushes and publishes one delta per topic per
+ * flush. Changes are keyed by id (metrics by service), so a burst of updates to
+ * the same row collapses into its latest state.
+ */
+@Component
+public class DeltaPublisher {
+    
+    public static final String SERVICES = "/topic/services";
+    public static final String METRICS = "/topic/metrics";
+    public static final String DEPLOYMENTS = "/topic/deployments";
+    public static final String ACTIVITIES = "/topic/activities";
+    
+    private static final Object DELETED = new Object();
+    
+    @Autowired
+    private RealtimeConfig config;
+    
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+    
+    private final Topic services = new Topic(SERVICES);
+    private final Topic metrics = new Topic(METRICS);
+    private final Topic deployments = new Topic(DEPLOYMENTS);
+    private final Topic activities = new Topic(ACTIVITIES);
+    private final List<Topic> topics = List.of(services, metrics, deployments, activities);
+    
+    public void serviceChanged(Service service) {
+        services.put(service.getId(), service);
+    }
+    
+    public void serviceDeleted(Long id) {
+        services.put(id, DELETED);
+    }
+    
+    public void metricRecorded(Metric metric) {
+        metrics.put(metric.getServiceId(), metric);
+    }
+    
+    public void deploymentChanged(Deployment deployment) {
+        deployments.put(deployment.getId(), deployment);
+    }
+    
+    public void deploymentDeleted(Long id) {
+        deployments.put(id, DELETED);
+    }
+    
+    public void activityChanged(Activity activity) {
+        activities.put(activity.getId(), activity);
+    }
+    
+    public void activityDeleted(Long id) {
+        activities.put(id, DELETED);
+    }
+    
+    @Scheduled(fixedDelayString = "${simulator.realtime.flush-interval:PT0.5S}")
+    public void flush() {
+        for (Topic topic : topics) {
+            List<Object> upserts = new ArrayList<>();
+            List<Long> deletes = new ArrayList<>();
+            for (Map.Entry<Long, Object> change : topic.pending.entrySet()) {
+                Object value = change.getValue();
+                // Conditional remove: a newer change racing with the drain stays for the next flush
+                if (!topic.pending.remove(change.getKey(), value)) {
+                    continue;
+                }
+                if (value == DELETED) {
+                    deletes.add(change.getKey());
+                } else {
+                    upserts.add(value);
+                }
+            }
+            if (!upserts.isEmpty() || !deletes.isEmpty()) {
+                // Serialised once here; the broker fans the same frame out to every subscriber
+                messagingTemplate.convertAndSend(topic.destination,
+                        new DeltaMessage(topic.destination, ++topic.sequence, upserts, deletes));
+            }
+        }
+    }
+    
+    private final class Topic {
+        private final String destination;
+        private final ConcurrentHashMap<Long, Object> pending = new ConcurrentHashMap<>();
+        // Only advanced by the flushing thread
+        private long sequence;
+        
+        private Topic(String destination) {
+            this.destination = destination;
+        }
+        
+        private void put(Long id, Object change) {
+            if (config.isEnabled() && id != null) {
+                pending.put(id, change);
+            }
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.microservices.simulator.realtime;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.microservices.simulator.config.RealtimeConfig;
+import com.microservices.simulator.entity.Metric;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared Server-Sent Events fan-out for metric samples. Ingest only records the
+ * latest sample per service; once per tick the changed samples are serialised
+ * into a single event, kept in a bounded replay buffer for {@code Last-Event-ID}
+ * resume, and queued to every subscriber.
+ * <p>
+ * The tick never writes to a connection itself. Each subscriber has a bounded
+ * queue drained by a sender thread of its own while it has frames, so a client
+ * stuck in TCP backpressure only holds up itself; once its queue overflows it is
+ * disconnected and can resume with {@code Last-Event-ID}. Event ids carry a
+ * per-run epoch, so ids from before a restart always get a {@code reset}.
+ */
+@Component
+public class MetricStreamPublisher {
+    
+    private static final Logger log = LoggerFactory.getLogger(MetricStreamPublisher.class);
+    private static final char EPOCH_SEPARATOR = '-';
+    
+    @Autowired
+    private RealtimeConfig config;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private final ConcurrentHashMap<Long, Metric> latest = new ConcurrentHashMap<>();
+    private final CopyOnWriteArrayList<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    
+    // Guarded by this, together with subscriber registration
+    private final ArrayDeque<StreamEvent> replay = new ArrayDeque<>();
+    private long sequence;
+    private long lastSentAt = System.currentTimeMillis();
+    
+    private ObjectWriter writer;
+    private ExecutorService senders;
+    
+    @PostConstruct
+    public void init() {
+        // SSE data lines cannot contain raw newlines
+        writer = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        AtomicInteger count = new AtomicInteger();
+        // Threads only live while a subscriber has frames queued
+        senders = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "metric-stream-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+    }
+    
+    public void publish(Metric metric) {
+        if (config.isEnabled() && metric.getServiceId() != null) {
+            latest.put(metric.getServiceId(), metric);
+        }
+    }
+    
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+    
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = newEmitter();
+        // Room for a full replay on top of the live backlog
+        Subscriber subscriber = new Subscriber(emitter, config.getSseReplaySize() + config.getSseSendQueue());
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscribers.remove(subscriber));
+        synchronized (this) {
+            // Under the tick lock, so the replayed tail and the live stream neither overlap nor gap
+            replayAfter(subscriber, lastEventId);
+            subscribers.add(subscriber);
+        }
+        subscriber.drain();
+        return emitter;
+    }
+    
+    SseEmitter newEmitter() {
+        return new SseEmitter(config.getSseTimeout().toMillis());
+    }
+    
+    @Scheduled(fixedDelayString = "${simulator.realtime.sse-tick:PT1S}")
+    public void tick() {
+        List<Metric> changed = new ArrayList<>();
+        for (Map.Entry<Long, Metric> entry : latest.entrySet()) {
+            if (latest.remove(entry.getKey(), entry.getValue())) {
+                changed.add(entry.getValue());
+            }
+        }
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            Set<ResponseBodyEmitter.DataWithMediaType> frame;
+            if (!changed.isEmpty()) {
+                StreamEvent event;
+                try {
+                    sequence++;
+                    event = new StreamEvent(sequence, eventId(sequence), writer.writeValueAsString(changed));
+                } catch (JsonProcessingException e) {
+                    log.warn("Could not serialise metric stream event", e);
+                    return;
+                }
+                replay.addLast(event);
+                while (replay.size() > config.getSseReplaySize()) {
+                    replay.removeFirst();
+                }
+                frame = event.frame();
+            } else if (now - lastSentAt >= config.getSseKeepAlive().toMillis()) {
+                frame = SseEmitter.event().comment("keep-alive").build();
+            } else {
+                return;
+            }
+            lastSentAt = now;
+            // The frame is built once and queued to every subscriber as-is
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(frame);
+            }
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.drain();
+        }
+    }
+    
+    private void replayAfter(Subscriber subscriber, String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return;
+        }
+        long after = sequenceOf(lastEventId.trim());
+        StreamEvent oldest = replay.peekFirst();
+        long oldestSequence = oldest != null ? oldest.sequence() : sequence + 1;
+        if (after < oldestSequence - 1 || after > sequence) {
+            // Fell out of the buffer or came from an earlier run: the client must reload the snapshot
+            subscriber.offer(SseEmitter.event().name("reset").id(eventId(sequence)).data("{}", MediaType.APPLICATION_JSON).build());
+            return;
+        }
+        for (StreamEvent event : replay) {
+            if (event.sequence() > after) {
+                subscriber.offer(event.frame());
+            }
+        }
+    }
+    
+    private String eventId(long sequence) {
+        return epoch + EPOCH_SEPARATOR + sequence;
+    }
+    
+    // Sequence number of an id from this run, or -1 for anything else
+    private long sequenceOf(String eventId) {
+        int split = eventId.indexOf(EPOCH_SEPARATOR);
+        if (split < 0 || !eventId.substring(0, split).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(split + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+    
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        
+        Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+        
+        void offer(Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+            if (!queue.offer(frame)) {
+                // Too far behind; it can resume from the replay buffer after reconnecting
+                disconnect(null);
+            }
+        }
+        
+        void drain() {
+            if (queue.isEmpty() || !draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                senders.execute(this::send);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+            }
+        }
+        
+        private void send() {
+            try {
+                Set<ResponseBodyEmitter.DataWithMediaType> frame;
+                while ((frame = queue.poll()) != null) {
+                    emitter.send(frame);
+                }
+            } catch (IOException | IllegalStateException e) {
+                disconnect(e);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // A frame queued between the last poll and releasing the flag
+            drain();
+        }
+        
+        private void disconnect(Exception cause) {
+            if (!subscribers.remove(this)) {
+                return;
+            }
+            queue.clear();
+            // Completing waits for the emitter's lock, which a stuck send holds, so never on the tick thread
+            Runnable complete = cause != null ? () -> emitter.completeWithError(cause) : emitter::complete;
+            try {
+                senders.execute(complete);
+            } catch (RejectedExecutionException e) {
+                // Shutting down; the container closes the connection
+            }
+        }
+    }
+    
+    private record StreamEvent(long sequence, String id, String payload) {
+        
+        Set<ResponseBodyEmitter.DataWithMediaType> frame() {
+            return SseEmitter.event()
+                    .id(id)
+                    .name("metrics")
+                    .data(payload, MediaType.APPLICATION_JSON)
+                    .build();
+        }
+    }
+}
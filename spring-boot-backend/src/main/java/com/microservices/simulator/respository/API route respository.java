@@ -1,6 +1,7 @@
 package com.microservices.simulator.repository;
 
 import com.microservices.simulator.entity.ApiRoute;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -22,4 +23,11 @@ public interface ApiRouteRepository extends JpaRepository<ApiRoute, Long> {
     
     @Query("SELECT COUNT(r) FROM ApiRoute r WHERE r.isActive = true")
     long countActiveRoutes();
+    
+    // Keyset pagination on id; routes carry no timestamp
+    @Query("SELECT r FROM ApiRoute r ORDER BY r.id")
+    List<ApiRoute> findFirstPage(Pageable page);
+    
+    @Query("SELECT r FROM ApiRoute r WHERE r.id > :id ORDER BY r.id")
+    List<ApiRoute> findPageAfter(@Param("id") Long id, Pageable page);
 }
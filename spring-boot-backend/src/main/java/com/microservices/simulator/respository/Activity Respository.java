@@ -1,12 +1,18 @@
 package com.microservices.simulator.repository;
 
 import com.microservices.simulator.entity.Activity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ActivityRepository extends JpaRepository<Activity, Long> {
@@ -22,4 +28,18 @@ public interface ActivityRepository extends JpaRepository<Activity, Long> {
     
     @Query("SELECT a FROM Activity a WHERE a.type = :type AND a.serviceId = :serviceId ORDER BY a.createdAt DESC")
     List<Activity> findByTypeAndServiceId(@Param("type") String type, @Param("serviceId") Long serviceId);
+    
+    @Query("SELECT a FROM Activity a ORDER BY a.createdAt DESC")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Activity> streamAllOrderByCreatedAtDesc();
+    
+    // Keyset pagination on (createdAt, id), newest first
+    @Query("SELECT a FROM Activity a ORDER BY a.createdAt DESC, a.id DESC")
+    List<Activity> findFirstPage(Pageable page);
+    
+    @Query("SELECT a FROM Activity a WHERE a.createdAt <= :createdAt AND (a.createdAt < :createdAt OR a.id < :id) ORDER BY a.createdAt DESC, a.id DESC")
+    List<Activity> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable page);
 }
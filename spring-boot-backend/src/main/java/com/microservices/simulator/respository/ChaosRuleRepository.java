@@ -0,0 +1,13 @@
+package com.microservices.simulator.repository;
+
+import com.microservices.simulator.entity.ChaosRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ChaosRuleRepository extends JpaRepository<ChaosRule, Long> {
+    
+    List<ChaosRule> findByEnabledTrue();
+}
@@ -1,77 +1,37 @@
-package com.microservices.simulator.entity;
+package com.microservices.simulator.repository;
 
-import jakarta.persistence.*;
-import jakarta.validation.constraints.NotBlank;
-import org.hibernate.annotations.CreationTimestamp;
-import com.fasterxml.jackson.annotation.JsonProperty;
+import com.microservices.simulator.entity.Deployment;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
-
-@Entity
-@Table(name = "deployments")
-public class Deployment {
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-    @NotBlank(message = "Version is required")
-    @Column(nullable = false)
-    private String version;
-
-    @NotBlank(message = "Status is required")
-    @Column(nullable = false)
-    private String status;
-
-    @Column(name = "service_id")
-    @JsonProperty("serviceId")
-    private Long serviceId;
-
-    @Column
-    private String strategy;
-
-    @Column
-    private Integer progress;
-
-    @CreationTimestamp
-    @Column(name = "created_at", updatable = false)
-    @JsonProperty("createdAt")
-    private LocalDateTime createdAt;
-
-    @Column(name = "completed_at")
-    @JsonProperty("completedAt")
-    private LocalDateTime completedAt;
-
-    // Constructors
-    public Deployment() {}
-
-    public Deployment(String version, String status, Long serviceId) {
-        this.version = version;
-        this.status = status;
-        this.serviceId = serviceId;
-    }
-
-    // Getters and Setters
-    public Long getId() { return id; }
-    public void setId(Long id) { this.id = id; }
-
-    public String getVersion() { return version; }
-    public void setVersion(String version) { this.version = version; }
-
-    public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
-
-    public Long getServiceId() { return serviceId; }
-    public void setServiceId(Long serviceId) { this.serviceId = serviceId; }
-
-    public String getStrategy() { return strategy; }
-    public void setStrategy(String strategy) { this.strategy = strategy; }
-
-    public Integer getProgress() { return progress; }
-    public void setProgress(Integer progress) { this.progress = progress; }
-
-    public LocalDateTime getCreatedAt() { return createdAt; }
-    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
-
-    public LocalDateTime getCompletedAt() { return completedAt; }
-    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DeploymentRepository extends JpaRepository<Deployment, Long> {
+    
+    List<Deployment> findByServiceIdOrderByCreatedAtDesc(Long serviceId);
+    
+    List<Deployment> findByStatusOrderByCreatedAtDesc(String status);
+    
+    List<Deployment> findByServiceIdAndStatus(Long serviceId, String status);
+    
+    List<Deployment> findByStatusIn(Collection<String> statuses);
+    
+    @Query("SELECT d FROM Deployment d ORDER BY d.createdAt DESC")
+    List<Deployment> findAllOrderByCreatedAtDesc();
+    
+    @Query("SELECT COUNT(d) FROM Deployment d WHERE d.status = :status")
+    long countByStatus(@Param("status") String status);
+    
+    // Keyset pagination on (createdAt, id), newest first
+    @Query("SELECT d FROM Deployment d ORDER BY d.createdAt DESC, d.id DESC")
+    List<Deployment> findFirstPage(Pageable page);
+    
+    @Query("SELECT d FROM Deployment d WHERE d.createdAt <= :createdAt AND (d.createdAt < :createdAt OR d.id < :id) ORDER BY d.createdAt DESC, d.id DESC")
+    List<Deployment> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable page);
 }
@@ -0,0 +1,69 @@
+package com.microservices.simulator.repository;
+
+import com.microservices.simulator.entity.MetricChunk;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+public interface MetricChunkRepository extends JpaRepository<MetricChunk, Long> {
+    
+    // Locked so sealing late samples and deleting a sealed sample cannot overwrite each other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<MetricChunk> findByServiceIdAndWindowStart(Long serviceId, LocalDateTime windowStart);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM MetricChunk c WHERE c.minId <= :id AND c.maxId >= :id")
+    List<MetricChunk> findContainingIdForUpdate(@Param("id") Long id);
+    
+    @Query("SELECT c FROM MetricChunk c WHERE c.minId <= :id AND c.maxId >= :id")
+    List<MetricChunk> findContainingId(@Param("id") Long id);
+    
+    /** Must be consumed inside a transaction. */
+    @Query("SELECT c FROM MetricChunk c ORDER BY c.windowStart DESC")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "50"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<MetricChunk> streamAllOrderByWindowStartDesc();
+    
+    List<MetricChunk> findByWindowStart(LocalDateTime windowStart);
+    
+    @Query("SELECT MAX(c.windowStart) FROM MetricChunk c")
+    LocalDateTime findLatestWindowStart();
+    
+    @Query("SELECT MAX(c.windowStart) FROM MetricChunk c WHERE c.windowStart < :before")
+    LocalDateTime findLatestWindowStartBefore(@Param("before") LocalDateTime before);
+    
+    List<MetricChunk> findAllByOrderByWindowStartDesc();
+    
+    List<MetricChunk> findByServiceIdOrderByWindowStartDesc(Long serviceId);
+    
+    @Query("SELECT c FROM MetricChunk c WHERE c.windowEnd > :since ORDER BY c.windowStart DESC")
+    List<MetricChunk> findOverlapping(@Param("since") LocalDateTime since);
+    
+    @Query("SELECT c FROM MetricChunk c WHERE c.serviceId = :serviceId AND c.windowEnd > :since ORDER BY c.windowStart DESC")
+    List<MetricChunk> findOverlappingByServiceId(@Param("serviceId") Long serviceId, @Param("since") LocalDateTime since);
+    
+    @Query("SELECT c FROM MetricChunk c WHERE c.windowEnd > :from AND c.windowStart < :to")
+    List<MetricChunk> findOverlappingBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    @Query("SELECT c FROM MetricChunk c WHERE c.serviceId = :serviceId AND c.windowEnd > :from AND c.windowStart < :to")
+    List<MetricChunk> findOverlappingBetweenByServiceId(@Param("serviceId") Long serviceId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    @Modifying
+    @Query("DELETE FROM MetricChunk c WHERE c.windowEnd <= :cutoff")
+    int deleteEndingBefore(@Param("cutoff") LocalDateTime cutoff);
+}
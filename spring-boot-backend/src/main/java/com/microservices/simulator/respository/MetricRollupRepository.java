@@ -0,0 +1,26 @@
+package com.microservices.simulator.repository;
+
+import com.microservices.simulator.entity.MetricRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MetricRollupRepository extends JpaRepository<MetricRollup, Long> {
+    
+    Optional<MetricRollup> findByServiceIdAndResolutionAndBucketStart(Long serviceId, Integer resolution, LocalDateTime bucketStart);
+    
+    @Query("SELECT r FROM MetricRollup r WHERE r.resolution = :resolution AND r.bucketStart >= :since ORDER BY r.bucketStart")
+    List<MetricRollup> findByResolutionSince(@Param("resolution") Integer resolution, @Param("since") LocalDateTime since);
+    
+    @Query("SELECT r FROM MetricRollup r WHERE r.bucketStart >= :from AND r.bucketStart < :to")
+    List<MetricRollup> findInWindow(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    @Query("SELECT r FROM MetricRollup r WHERE r.serviceId = :serviceId AND r.resolution = :resolution AND r.bucketStart >= :since ORDER BY r.bucketStart")
+    List<MetricRollup> findByServiceIdAndResolutionSince(@Param("serviceId") Long serviceId, @Param("resolution") Integer resolution, @Param("since") LocalDateTime since);
+}
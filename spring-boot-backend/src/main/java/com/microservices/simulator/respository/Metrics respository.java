@@ -1,17 +1,32 @@
 package com.microservices.simulator.repository;
 
 import com.microservices.simulator.entity.Metric;
+import com.microservices.simulator.metrics.MetricAggregateRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface MetricRepository extends JpaRepository<Metric, Long> {
     
+    String AGGREGATE_ROW = "new com.microservices.simulator.metrics.MetricAggregateRow(";
+    String AGGREGATE_FIELDS =
+            "COUNT(m.cpu), AVG(m.cpu), MIN(m.cpu), MAX(m.cpu), AVG(m.cpu * m.cpu), " +
+            "COUNT(m.memory), AVG(m.memory), MIN(m.memory), MAX(m.memory), AVG(m.memory * m.memory), " +
+            "COUNT(m.requestCount), AVG(m.requestCount), MIN(m.requestCount), MAX(m.requestCount), AVG(1.0 * m.requestCount * m.requestCount), " +
+            "COUNT(m.responseTime), AVG(m.responseTime), MIN(m.responseTime), MAX(m.responseTime), AVG(m.responseTime * m.responseTime), " +
+            "COUNT(m.errorRate), AVG(m.errorRate), MIN(m.errorRate), MAX(m.errorRate), AVG(m.errorRate * m.errorRate))";
+    
     List<Metric> findByServiceIdOrderByTimestampDesc(Long serviceId);
     
     @Query("SELECT m FROM Metric m WHERE m.serviceId = :serviceId AND m.timestamp >= :since ORDER BY m.timestamp DESC")
@@ -23,9 +38,70 @@ public interface MetricRepository extends JpaRepository<Metric, Long> {
     @Query("SELECT m FROM Metric m WHERE m.timestamp >= :since ORDER BY m.timestamp DESC")
     List<Metric> findByTimestampAfter(@Param("since") LocalDateTime since);
     
+    @Query("SELECT MAX(m.id) FROM Metric m")
+    Long findMaxId();
+    
+    // Rollup backfill: walks history that predates the live aggregator, one window at a time
+    @Query("SELECT MIN(m.timestamp) FROM Metric m WHERE m.id <= :maxId AND m.timestamp >= :since")
+    LocalDateTime findFirstTimestampSince(@Param("maxId") Long maxId, @Param("since") LocalDateTime since);
+    
+    @Query("SELECT DISTINCT m.serviceId FROM Metric m WHERE m.id <= :maxId AND m.serviceId IS NOT NULL AND m.timestamp >= :from AND m.timestamp < :to")
+    List<Long> findServiceIdsInWindow(@Param("maxId") Long maxId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    @Query("SELECT m.serviceId, m.timestamp, m.cpu, m.memory, m.requestCount, m.responseTime, m.errorRate FROM Metric m " +
+           "WHERE m.id <= :maxId AND m.serviceId IS NOT NULL AND m.timestamp >= :from AND m.timestamp < :to")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Object[]> streamSamplesInWindow(@Param("maxId") Long maxId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    // Oldest unsealed sample per service, used to find windows awaiting compression
+    @Query("SELECT m.serviceId, MIN(m.timestamp) FROM Metric m WHERE m.serviceId IS NOT NULL AND m.timestamp < :cutoff GROUP BY m.serviceId")
+    List<Object[]> findOldestTimestampByServiceBefore(@Param("cutoff") LocalDateTime cutoff);
+    
+    @Query("SELECT MIN(m.timestamp) FROM Metric m WHERE m.serviceId = :serviceId AND m.timestamp >= :from AND m.timestamp < :to")
+    LocalDateTime findFirstTimestampInRange(@Param("serviceId") Long serviceId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    // Plain values rather than entities, so sealing a window leaves nothing in the persistence context
+    @Query("SELECT m.id, m.timestamp, m.cpu, m.memory, m.requestCount, m.responseTime, m.errorRate FROM Metric m " +
+           "WHERE m.serviceId = :serviceId AND m.timestamp >= :from AND m.timestamp < :to ORDER BY m.timestamp, m.id")
+    List<Object[]> findSamplesInWindow(@Param("serviceId") Long serviceId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    // The range predicate lets PostgreSQL prune to the partition holding the window
+    @Modifying
+    @Query("DELETE FROM Metric m WHERE m.serviceId = :serviceId AND m.timestamp >= :from AND m.timestamp < :to")
+    int deleteSealed(@Param("serviceId") Long serviceId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
     @Query("SELECT AVG(m.cpu) FROM Metric m WHERE m.serviceId = :serviceId")
     Double findAverageCpuByServiceId(@Param("serviceId") Long serviceId);
     
     @Query("SELECT AVG(m.memory) FROM Metric m WHERE m.serviceId = :serviceId")
     Double findAverageMemoryByServiceId(@Param("serviceId") Long serviceId);
+    
+    @Query("SELECT " + AGGREGATE_ROW + "str(m.serviceId), COUNT(m), " + AGGREGATE_FIELDS +
+           " FROM Metric m WHERE m.timestamp >= :from AND m.timestamp < :to GROUP BY m.serviceId")
+    List<MetricAggregateRow> aggregateGroupedByService(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    @Query("SELECT " + AGGREGATE_ROW + "s.type, COUNT(m), " + AGGREGATE_FIELDS +
+           " FROM Metric m, Service s WHERE s.id = m.serviceId AND m.timestamp >= :from AND m.timestamp < :to GROUP BY s.type")
+    List<MetricAggregateRow> aggregateGroupedByServiceType(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    @Query("SELECT " + AGGREGATE_ROW + "s.status, COUNT(m), " + AGGREGATE_FIELDS +
+           " FROM Metric m, Service s WHERE s.id = m.serviceId AND m.timestamp >= :from AND m.timestamp < :to GROUP BY s.status")
+    List<MetricAggregateRow> aggregateGroupedByServiceStatus(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    @Query("SELECT m FROM Metric m ORDER BY m.timestamp DESC")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Metric> streamAllOrderByTimestampDesc();
+    
+    // Keyset pagination on (timestamp, id), newest first
+    @Query("SELECT m FROM Metric m ORDER BY m.timestamp DESC, m.id DESC")
+    List<Metric> findFirstPage(Pageable page);
+    
+    @Query("SELECT m FROM Metric m WHERE m.timestamp <= :timestamp AND (m.timestamp < :timestamp OR m.id < :id) ORDER BY m.timestamp DESC, m.id DESC")
+    List<Metric> findPageAfter(@Param("timestamp") LocalDateTime timestamp, @Param("id") Long id, Pageable page);
 }
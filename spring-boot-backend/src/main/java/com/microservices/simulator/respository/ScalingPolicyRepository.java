@@ -0,0 +1,32 @@
+package com.microservices.simulator.repository;
+
+import com.microservices.simulator.entity.ScalingPolicy;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ScalingPolicyRepository extends JpaRepository<ScalingPolicy, Long> {
+    
+    Optional<ScalingPolicy> findByServiceId(Long serviceId);
+    
+    List<ScalingPolicy> findByEnabledTrue();
+    
+    // Touches only the cooldown columns so a policy edited meanwhile is not overwritten
+    @Transactional
+    @Modifying
+    @Query("UPDATE ScalingPolicy p SET p.lastScaleOutAt = :at WHERE p.serviceId = :serviceId")
+    int recordScaleOut(@Param("serviceId") Long serviceId, @Param("at") LocalDateTime at);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE ScalingPolicy p SET p.lastScaleInAt = :at WHERE p.serviceId = :serviceId")
+    int recordScaleIn(@Param("serviceId") Long serviceId, @Param("at") LocalDateTime at);
+}
@@ -1,11 +1,17 @@
 package com.microservices.simulator.repository;
 
 import com.microservices.simulator.entity.Service;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -25,4 +31,36 @@ public interface ServiceRepository extends JpaRepository<Service, Long> {
     
     @Query("SELECT s FROM Service s WHERE s.name LIKE %:name%")
     List<Service> findByNameContaining(@Param("name") String name);
+    
+    // Keyset pagination on (createdAt, id), newest first
+    @Query("SELECT s FROM Service s ORDER BY s.createdAt DESC, s.id DESC")
+    List<Service> findFirstPage(Pageable page);
+    
+    @Query("SELECT s FROM Service s WHERE s.createdAt <= :createdAt AND (s.createdAt < :createdAt OR s.id < :id) ORDER BY s.createdAt DESC, s.id DESC")
+    List<Service> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable page);
+    
+    // Compare-and-set on the status column alone; clears the context so a reload sees the new status
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Service s SET s.status = :to, s.updatedAt = :now WHERE s.id = :id AND s.status IN :from")
+    int transitionStatus(@Param("id") Long id, @Param("from") Collection<String> from, @Param("to") String to, @Param("now") LocalDateTime now);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Service s WHERE s.id IN :ids")
+    List<Service> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+    
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Service s SET s.status = :to, s.updatedAt = :now WHERE s.id IN :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("to") String to, @Param("now") LocalDateTime now);
+    
+    @Query("SELECT s.id FROM Service s WHERE s.status = :status AND s.updatedAt < :before")
+    List<Long> findIdsByStatusUpdatedBefore(@Param("status") String status, @Param("before") LocalDateTime before);
+    
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Service s SET s.status = :to, s.updatedAt = :now WHERE s.id IN :ids AND s.status = :from AND s.updatedAt < :before")
+    int transitionStale(@Param("ids") Collection<Long> ids, @Param("from") String from, @Param("to") String to,
+                        @Param("before") LocalDateTime before, @Param("now") LocalDateTime now);
+    
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Service s SET s.instances = :instances, s.updatedAt = :now WHERE s.id = :id")
+    int updateInstances(@Param("id") Long id, @Param("instances") Integer instances, @Param("now") LocalDateTime now);
 }
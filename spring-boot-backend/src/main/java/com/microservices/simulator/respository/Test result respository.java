@@ -2,12 +2,18 @@
 package com.microservices.simulator.repository;
 
 import com.microservices.simulator.entity.TestResult;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TestResultRepository extends JpaRepository<TestResult, Long> {
@@ -29,4 +35,18 @@ public interface TestResultRepository extends JpaRepository<TestResult, Long> {
     
     @Query("SELECT SUM(t.failed) FROM TestResult t WHERE t.serviceId = :serviceId")
     Integer getTotalFailedByServiceId(@Param("serviceId") Long serviceId);
-}
\ No newline at end of file
+    
+    @Query("SELECT t FROM TestResult t ORDER BY t.createdAt DESC")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<TestResult> streamAllOrderByCreatedAtDesc();
+    
+    // Keyset pagination on (createdAt, id), newest first
+    @Query("SELECT t FROM TestResult t ORDER BY t.createdAt DESC, t.id DESC")
+    List<TestResult> findFirstPage(Pageable page);
+    
+    @Query("SELECT t FROM TestResult t WHERE t.createdAt <= :createdAt AND (t.createdAt < :createdAt OR t.id < :id) ORDER BY t.createdAt DESC, t.id DESC")
+    List<TestResult> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable page);
+}
@@ -1,9 +1,17 @@
 
 package com.microservices.simulator.service;
 
+import com.microservices.simulator.config.CacheConfig;
+import com.microservices.simulator.config.PaginationConfig;
 import com.microservices.simulator.entity.ApiRoute;
+import com.microservices.simulator.gateway.RouteIndex;
+import com.microservices.simulator.pagination.Cursor;
+import com.microservices.simulator.pagination.CursorPage;
 import com.microservices.simulator.repository.ApiRouteRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -15,6 +23,13 @@ public class ApiRouteService {
     @Autowired
     private ApiRouteRepository apiRouteRepository;
     
+    @Autowired
+    private PaginationConfig paginationConfig;
+    
+    @Autowired
+    private RouteIndex routeIndex;
+    
+    @Cacheable(cacheNames = CacheConfig.ROUTES, key = "'all'", sync = true)
     public List<ApiRoute> getAllRoutes() {
         return apiRouteRepository.findAll();
     }
@@ -27,18 +42,38 @@ public class ApiRouteService {
         return apiRouteRepository.findByTargetService(targetService);
     }
     
+    @Cacheable(cacheNames = CacheConfig.ACTIVE_ROUTES, key = "'all'", sync = true)
     public List<ApiRoute> getActiveRoutes() {
         return apiRouteRepository.findByIsActive(true);
     }
     
+    public CursorPage<ApiRoute> getRoutesPage(String cursor, Integer requestedSize) {
+        int size = paginationConfig.resolvePageSize(requestedSize);
+        List<ApiRoute> rows = cursor == null
+                ? apiRouteRepository.findFirstPage(CursorPage.lookAhead(size))
+                : apiRouteRepository.findPageAfter(Cursor.decode(cursor).id(), CursorPage.lookAhead(size));
+        return CursorPage.of(rows, size, row -> new Cursor(null, row.getId()));
+    }
+    
+    @Cacheable(cacheNames = CacheConfig.ROUTE, key = "#id", sync = true)
     public Optional<ApiRoute> getRouteById(Long id) {
         return apiRouteRepository.findById(id);
     }
     
+    @Caching(evict = {
+            @CacheEvict(cacheNames = {CacheConfig.ROUTES, CacheConfig.ACTIVE_ROUTES}, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.ROUTE, key = "#result.id")
+    })
     public ApiRoute createRoute(ApiRoute route) {
-        return apiRouteRepository.save(route);
+        ApiRoute saved = apiRouteRepository.save(route);
+        routeIndex.rebuild();
+        return saved;
     }
     
+    @Caching(evict = {
+            @CacheEvict(cacheNames = {CacheConfig.ROUTES, CacheConfig.ACTIVE_ROUTES}, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.ROUTE, key = "#id")
+    })
     public ApiRoute updateRoute(Long id, ApiRoute routeDetails) {
         ApiRoute route = apiRouteRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("API Route not found with id: " + id));
@@ -50,12 +85,21 @@ public class ApiRouteService {
         route.setIsActive(routeDetails.getIsActive());
         route.setRateLimit(routeDetails.getRateLimit());
         route.setTimeout(routeDetails.getTimeout());
+        route.setCacheTtlSeconds(routeDetails.getCacheTtlSeconds());
+        route.setCacheMaxEntries(routeDetails.getCacheMaxEntries());
         
-        return apiRouteRepository.save(route);
+        ApiRoute saved = apiRouteRepository.save(route);
+        routeIndex.rebuild();
+        return saved;
     }
     
+    @Caching(evict = {
+            @CacheEvict(cacheNames = {CacheConfig.ROUTES, CacheConfig.ACTIVE_ROUTES}, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.ROUTE, key = "#id")
+    })
     public void deleteRoute(Long id) {
         apiRouteRepository.deleteById(id);
+        routeIndex.rebuild();
     }
     
     public long getActiveRouteCount() {
@@ -65,4 +109,9 @@ public class ApiRouteService {
     public List<ApiRoute> findRoutesByMethodAndPath(String method, String path) {
         return apiRouteRepository.findByMethodAndPath(method, path);
     }
+    
+    /** Active route a request would be sent to, honouring {@code *} and {@code **} patterns. */
+    public Optional<ApiRoute> resolveRoute(String method, String path) {
+        return routeIndex.resolve(method.toUpperCase(), path);
+    }
 }
\ No newline at end of file
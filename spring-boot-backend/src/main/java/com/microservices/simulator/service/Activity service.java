@@ -1,13 +1,18 @@
 
 package com.microservices.simulator.service;
 
+import com.microservices.simulator.config.PaginationConfig;
 import com.microservices.simulator.entity.Activity;
+import com.microservices.simulator.pagination.Cursor;
+import com.microservices.simulator.pagination.CursorPage;
+import com.microservices.simulator.realtime.DeltaPublisher;
 import com.microservices.simulator.repository.ActivityRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Component
 public class ActivityService {
@@ -15,10 +20,21 @@ public class ActivityService {
     @Autowired
     private ActivityRepository activityRepository;
     
+    @Autowired
+    private PaginationConfig paginationConfig;
+    
+    @Autowired
+    private DeltaPublisher deltaPublisher;
+    
     public List<Activity> getAllActivities() {
         return activityRepository.findAllOrderByCreatedAtDesc();
     }
     
+    /** Must be consumed inside a transaction; see {@link StreamingExportService}. */
+    public Stream<Activity> streamAllActivities() {
+        return activityRepository.streamAllOrderByCreatedAtDesc();
+    }
+    
     public List<Activity> getActivitiesByServiceId(Long serviceId) {
         return activityRepository.findByServiceIdOrderByCreatedAtDesc(serviceId);
     }
@@ -31,12 +47,29 @@ public class ActivityService {
         return activityRepository.findBySeverityOrderByCreatedAtDesc(severity);
     }
     
+    public CursorPage<Activity> getActivitiesPage(String cursor, Integer requestedSize) {
+        int size = paginationConfig.resolvePageSize(requestedSize);
+        List<Activity> rows;
+        if (cursor == null) {
+            rows = activityRepository.findFirstPage(CursorPage.lookAhead(size));
+        } else {
+            Cursor after = Cursor.decode(cursor);
+            if (after.sortKey() == null) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            rows = activityRepository.findPageAfter(after.sortKey(), after.id(), CursorPage.lookAhead(size));
+        }
+        return CursorPage.of(rows, size, row -> new Cursor(row.getCreatedAt(), row.getId()));
+    }
+    
     public Optional<Activity> getActivityById(Long id) {
         return activityRepository.findById(id);
     }
     
     public Activity createActivity(Activity activity) {
-        return activityRepository.save(activity);
+        Activity saved = activityRepository.save(activity);
+        deltaPublisher.activityChanged(saved);
+        return saved;
     }
     
     public Activity updateActivity(Long id, Activity activityDetails) {
@@ -48,11 +81,14 @@ public class ActivityService {
         activity.setServiceId(activityDetails.getServiceId());
         activity.setSeverity(activityDetails.getSeverity());
         
-        return activityRepository.save(activity);
+        Activity saved = activityRepository.save(activity);
+        deltaPublisher.activityChanged(saved);
+        return saved;
     }
     
     public void deleteActivity(Long id) {
         activityRepository.deleteById(id);
+        deltaPublisher.activityDeleted(id);
     }
     
     public List<Activity> getActivitiesByTypeAndService(String type, Long serviceId) {
@@ -1,7 +1,11 @@
 
 package com.microservices.simulator.service;
 
+import com.microservices.simulator.config.PaginationConfig;
 import com.microservices.simulator.entity.Deployment;
+import com.microservices.simulator.pagination.Cursor;
+import com.microservices.simulator.pagination.CursorPage;
+import com.microservices.simulator.realtime.DeltaPublisher;
 import com.microservices.simulator.repository.DeploymentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -16,6 +20,12 @@ public class DeploymentService {
     @Autowired
     private DeploymentRepository deploymentRepository;
     
+    @Autowired
+    private PaginationConfig paginationConfig;
+    
+    @Autowired
+    private DeltaPublisher deltaPublisher;
+    
     public List<Deployment> getAllDeployments() {
         return deploymentRepository.findAllOrderByCreatedAtDesc();
     }
@@ -28,12 +38,29 @@ public class DeploymentService {
         return deploymentRepository.findByStatusOrderByCreatedAtDesc(status);
     }
     
+    public CursorPage<Deployment> getDeploymentsPage(String cursor, Integer requestedSize) {
+        int size = paginationConfig.resolvePageSize(requestedSize);
+        List<Deployment> rows;
+        if (cursor == null) {
+            rows = deploymentRepository.findFirstPage(CursorPage.lookAhead(size));
+        } else {
+            Cursor after = Cursor.decode(cursor);
+            if (after.sortKey() == null) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            rows = deploymentRepository.findPageAfter(after.sortKey(), after.id(), CursorPage.lookAhead(size));
+        }
+        return CursorPage.of(rows, size, row -> new Cursor(row.getCreatedAt(), row.getId()));
+    }
+    
     public Optional<Deployment> getDeploymentById(Long id) {
         return deploymentRepository.findById(id);
     }
     
     public Deployment createDeployment(Deployment deployment) {
-        return deploymentRepository.save(deployment);
+        Deployment saved = deploymentRepository.save(deployment);
+        deltaPublisher.deploymentChanged(saved);
+        return saved;
     }
     
     public Deployment updateDeployment(Long id, Deployment deploymentDetails) {
@@ -51,11 +78,14 @@ public class DeploymentService {
             deployment.setCompletedAt(LocalDateTime.now());
         }
         
-        return deploymentRepository.save(deployment);
+        Deployment saved = deploymentRepository.save(deployment);
+        deltaPublisher.deploymentChanged(saved);
+        return saved;
     }
     
     public void deleteDeployment(Long id) {
         deploymentRepository.deleteById(id);
+        deltaPublisher.deploymentDeleted(id);
     }
     
     public long getDeploymentCountByStatus(String status) {
@@ -1,14 +1,59 @@
-
 package com.microservices.simulator.service;
 
+import com.microservices.simulator.autoscaling.Autoscaler;
+import com.microservices.simulator.config.PaginationConfig;
 import com.microservices.simulator.entity.Metric;
+import com.microservices.simulator.entity.MetricRollup;
+import com.microservices.simulator.entity.Service;
+import com.microservices.simulator.metrics.LatencyPercentiles;
+import com.microservices.simulator.metrics.LatencySketches;
+import com.microservices.simulator.metrics.MetricAccumulator;
+import com.microservices.simulator.metrics.MetricAggregate;
+import com.microservices.simulator.metrics.MetricAggregateRow;
+import com.microservices.simulator.metrics.MetricBatchAck;
+import com.microservices.simulator.metrics.MetricBatchException;
+import com.microservices.simulator.metrics.MetricBucket;
+import com.microservices.simulator.metrics.MetricGroupBy;
+import com.microservices.simulator.metrics.MetricMoments;
+import com.microservices.simulator.metrics.MetricRollupAggregator;
+import com.microservices.simulator.metrics.MetricStore;
+import com.microservices.simulator.metrics.MetricWriteBehind;
+import com.microservices.simulator.metrics.RollupTier;
+import com.microservices.simulator.metrics.SampleVisitor;
+import com.microservices.simulator.metrics.compression.MetricChunkStore;
+import com.microservices.simulator.pagination.Cursor;
+import com.microservices.simulator.pagination.CursorPage;
+import com.microservices.simulator.realtime.DeltaPublisher;
+import com.microservices.simulator.realtime.MetricStreamPublisher;
 import com.microservices.simulator.repository.MetricRepository;
+import com.microservices.simulator.repository.MetricRollupRepository;
+import com.microservices.simulator.repository.ServiceRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Component
 public class MetricService {
@@ -16,30 +61,395 @@ public class MetricService {
     @Autowired
     private MetricRepository metricRepository;
     
+    @Autowired
+    private PaginationConfig paginationConfig;
+    
+    @Autowired
+    private MetricStore metricStore;
+    
+    @Autowired
+    private MetricWriteBehind metricWriteBehind;
+    
+    @Autowired
+    private MetricRollupAggregator metricRollupAggregator;
+    
+    @Autowired
+    private MetricRollupRepository metricRollupRepository;
+    
+    @Autowired
+    private LatencySketches latencySketches;
+    
+    @Autowired
+    private ServiceRepository serviceRepository;
+    
+    @Autowired
+    private MetricChunkStore metricChunkStore;
+    
+    @Autowired
+    private DeltaPublisher deltaPublisher;
+    
+    @Autowired
+    private MetricStreamPublisher metricStreamPublisher;
+    
+    @Autowired
+    private Autoscaler autoscaler;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}")
+    private int batchSize;
+    
     public List<Metric> getAllMetrics() {
-        return metricRepository.findAllOrderByTimestampDesc();
+        return withSealed(null, null, metricRepository::findAllOrderByTimestampDesc);
+    }
+    
+    /**
+     * Raw rows and sealed samples merged newest first. Must be consumed inside a
+     * transaction; see {@link StreamingExportService}.
+     */
+    public Stream<Metric> streamAllMetrics() {
+        Stream<Metric> raw = metricRepository.streamAllOrderByTimestampDesc();
+        Stream<Metric> sealed = metricChunkStore.streamAll();
+        Iterator<Metric> left = raw.iterator();
+        Iterator<Metric> right = sealed.iterator();
+        Iterator<Metric> merged = new Iterator<>() {
+            private Metric nextLeft = left.hasNext() ? left.next() : null;
+            private Metric nextRight = right.hasNext() ? right.next() : null;
+            
+            @Override
+            public boolean hasNext() {
+                return nextLeft != null || nextRight != null;
+            }
+            
+            @Override
+            public Metric next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Metric metric;
+                if (nextRight == null || (nextLeft != null && !nextLeft.getTimestamp().isBefore(nextRight.getTimestamp()))) {
+                    metric = nextLeft;
+                    nextLeft = left.hasNext() ? left.next() : null;
+                } else {
+                    metric = nextRight;
+                    nextRight = right.hasNext() ? right.next() : null;
+                }
+                return metric;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED), false)
+                .onClose(raw::close)
+                .onClose(sealed::close);
     }
     
     public List<Metric> getMetricsByServiceId(Long serviceId) {
-        return metricRepository.findByServiceIdOrderByTimestampDesc(serviceId);
+        return withSealed(serviceId, null, () -> metricRepository.findByServiceIdOrderByTimestampDesc(serviceId));
     }
     
     public List<Metric> getRecentMetrics(int hours) {
         LocalDateTime since = LocalDateTime.now().minusHours(hours);
-        return metricRepository.findByTimestampAfter(since);
+        return metricStore.findSince(since)
+                .orElseGet(() -> withSealed(null, since, () -> metricRepository.findByTimestampAfter(since)));
     }
     
     public List<Metric> getServiceMetricsSince(Long serviceId, int hours) {
         LocalDateTime since = LocalDateTime.now().minusHours(hours);
-        return metricRepository.findByServiceIdAndTimestampAfter(serviceId, since);
+        return metricStore.findServiceSince(serviceId, since)
+                .orElseGet(() -> withSealed(serviceId, since, () -> metricRepository.findByServiceIdAndTimestampAfter(serviceId, since)));
+    }
+    
+    /**
+     * Walks a service's recent samples, from memory when the store covers the window
+     * and from raw rows otherwise. Meant for short windows that are never sealed yet.
+     */
+    public void scanServiceSince(Long serviceId, LocalDateTime since, SampleVisitor visitor) {
+        if (metricStore.covers(serviceId, since)) {
+            metricStore.scan(serviceId, since, visitor);
+            return;
+        }
+        for (Metric m : withSealed(serviceId, since, () -> metricRepository.findByServiceIdAndTimestampAfter(serviceId, since))) {
+            visitor.visit(serviceId, MetricStore.toEpochMillis(m.getTimestamp()),
+                    MetricStore.valueOf(m.getCpu()), MetricStore.valueOf(m.getMemory()),
+                    m.getRequestCount() != null ? m.getRequestCount() : Integer.MIN_VALUE,
+                    MetricStore.valueOf(m.getResponseTime()), MetricStore.valueOf(m.getErrorRate()));
+        }
+    }
+    
+    // Raw rows plus samples already sealed into compressed chunks or still queued
+    // for write-behind, newest first
+    private List<Metric> withSealed(Long serviceId, LocalDateTime since, Supplier<List<Metric>> rows) {
+        List<Metric> pending = metricWriteBehind.unflushed(serviceId, since);
+        List<Metric> raw = rows.get();
+        List<Metric> sealed = metricChunkStore.findSince(serviceId, since);
+        if (!pending.isEmpty()) {
+            Set<Long> persisted = new HashSet<>();
+            raw.forEach(metric -> persisted.add(metric.getId()));
+            pending.removeIf(metric -> metric.getId() != null && persisted.contains(metric.getId()));
+        }
+        if (sealed.isEmpty() && pending.isEmpty()) {
+            return raw;
+        }
+        List<Metric> merged = new ArrayList<>(raw.size() + sealed.size() + pending.size());
+        merged.addAll(raw);
+        merged.addAll(sealed);
+        merged.addAll(pending);
+        merged.sort(Comparator.comparing(Metric::getTimestamp, Comparator.nullsLast(Comparator.reverseOrder())));
+        return merged;
+    }
+    
+    /**
+     * Aggregated series at the requested resolution. Range queries are answered from
+     * the coarsest rollup tier that divides the resolution; anything finer is bucketed
+     * from raw samples.
+     */
+    public List<MetricBucket> getMetricSeries(Long serviceId, int hours, int resolutionSeconds) {
+        LocalDateTime since = LocalDateTime.now().minusHours(hours);
+        long width = resolutionSeconds * 1000L;
+        Map<SeriesKey, MetricAccumulator> buckets = new HashMap<>();
+        RollupTier tier = RollupTier.forResolution(resolutionSeconds);
+        if (tier == null) {
+            List<Metric> raw = serviceId != null ? getServiceMetricsSince(serviceId, hours) : getRecentMetrics(hours);
+            for (Metric metric : raw) {
+                if (metric.getTimestamp() != null) {
+                    bucketFor(buckets, metric.getServiceId(), MetricStore.toEpochMillis(metric.getTimestamp()), width).add(metric);
+                }
+            }
+        } else {
+            long tierSince = tier.bucketStart(MetricStore.toEpochMillis(since));
+            LocalDateTime rollupSince = MetricStore.toLocalDateTime(tierSince);
+            List<MetricRollup> rollups = serviceId != null
+                    ? metricRollupRepository.findByServiceIdAndResolutionSince(serviceId, tier.getSeconds(), rollupSince)
+                    : metricRollupRepository.findByResolutionSince(tier.getSeconds(), rollupSince);
+            for (MetricRollup rollup : rollups) {
+                bucketFor(buckets, rollup.getServiceId(), MetricStore.toEpochMillis(rollup.getBucketStart()), width).merge(rollup);
+            }
+            metricRollupAggregator.forEachOpen(tier, serviceId, tierSince, (key, accumulator) ->
+                    bucketFor(buckets, key.serviceId(), key.bucketStart(), width).merge(accumulator));
+        }
+        return buckets.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator.comparingLong(SeriesKey::bucketStart)
+                        .thenComparing(SeriesKey::serviceId, Comparator.nullsFirst(Comparator.naturalOrder()))))
+                .map(e -> new MetricBucket(e.getKey().serviceId(), MetricStore.toLocalDateTime(e.getKey().bucketStart()),
+                        resolutionSeconds, e.getValue()))
+                .toList();
+    }
+    
+    private static MetricAccumulator bucketFor(Map<SeriesKey, MetricAccumulator> buckets, Long serviceId,
+                                               long timestamp, long width) {
+        long bucketStart = Math.floorDiv(timestamp, width) * width;
+        return buckets.computeIfAbsent(new SeriesKey(serviceId, bucketStart), k -> new MetricAccumulator());
+    }
+    
+    private record SeriesKey(Long serviceId, long bucketStart) {
     }
     
     public Metric createMetric(Metric metric) {
-        return metricRepository.save(metric);
+        if (metric.getTimestamp() == null) {
+            metric.setTimestamp(LocalDateTime.now());
+        }
+        Metric savedMetric = metricRepository.save(metric);
+        indexMetric(savedMetric);
+        return savedMetric;
+    }
+    
+    /**
+     * Fire-and-forget ingestion for internal producers such as the simulation engine:
+     * the sample is served from memory at once and persisted by the write-behind
+     * queue, so no id is available to hand back.
+     */
+    public void recordMetric(Metric metric) {
+        if (metric.getTimestamp() == null) {
+            metric.setTimestamp(LocalDateTime.now());
+        }
+        indexMetric(metric);
+        // Fall back to a synchronous insert rather than dropping samples under back-pressure
+        if (!metricStore.isEnabled() || metric.getServiceId() == null || !metricWriteBehind.enqueue(metric)) {
+            metricRepository.save(metric);
+        }
+    }
+    
+    /**
+     * Live-only samples for services that exist only inside the simulation engine:
+     * pushed to the realtime feeds, never stored, indexed or persisted.
+     */
+    public void publishLiveMetric(Metric metric) {
+        deltaPublisher.metricRecorded(metric);
+        metricStreamPublisher.publish(metric);
+    }
+    
+    /**
+     * Persists samples in chunks of {@code hibernate.jdbc.batch_size}, one transaction
+     * per chunk, so the iterator can be a stream of any length. A failure while reading
+     * or persisting surfaces as a {@link MetricBatchException} carrying the chunks that
+     * were already committed.
+     */
+    public List<MetricBatchAck> createMetrics(Iterator<Metric> metrics) {
+        return persistAll(metrics, this::indexMetric);
+    }
+    
+    /**
+     * Persists a back-dated series, such as a flow simulation's output, the same way
+     * as {@link #createMetrics}. The rollups and the recent-window store (which slots
+     * late samples into place) take it in; latency histograms, live feeds and the
+     * autoscaler describe the present and never see it.
+     */
+    public List<MetricBatchAck> importHistory(Iterator<Metric> metrics) {
+        return persistAll(metrics, metric -> {
+            metricRollupAggregator.add(metric);
+            if (metricStore.isEnabled()) {
+                metricStore.record(metric);
+            }
+        });
+    }
+    
+    private List<MetricBatchAck> persistAll(Iterator<Metric> metrics, Consumer<Metric> indexer) {
+        List<MetricBatchAck> acks = new ArrayList<>();
+        List<Metric> chunk = new ArrayList<>(batchSize);
+        try {
+            while (metrics.hasNext()) {
+                chunk.add(metrics.next());
+                if (chunk.size() == batchSize) {
+                    acks.add(persistBatch(acks.size(), chunk, indexer));
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                acks.add(persistBatch(acks.size(), chunk, indexer));
+            }
+        } catch (RuntimeException e) {
+            throw new MetricBatchException(acks, e);
+        }
+        return acks;
+    }
+    
+    private MetricBatchAck persistBatch(int batch, List<Metric> chunk, Consumer<Metric> indexer) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Metric metric : chunk) {
+            if (metric.getTimestamp() == null) {
+                metric.setTimestamp(now);
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            metricRepository.saveAll(chunk);
+            entityManager.flush();
+            // Keep the persistence context from growing across batches
+            entityManager.clear();
+        });
+        chunk.forEach(indexer);
+        return new MetricBatchAck(batch, chunk.size(), chunk.get(0).getId(), chunk.get(chunk.size() - 1).getId());
+    }
+    
+    // Feeds a freshly ingested sample to every in-memory view of the metric stream
+    private void indexMetric(Metric metric) {
+        metricRollupAggregator.add(metric);
+        latencySketches.record(metric);
+        if (metricStore.isEnabled()) {
+            metricStore.record(metric);
+        }
+        deltaPublisher.metricRecorded(metric);
+        metricStreamPublisher.publish(metric);
+        autoscaler.record(metric);
+    }
+    
+    public LatencyPercentiles getResponseTimePercentiles(Long serviceId, int minutes) {
+        return latencySketches.percentiles(serviceId, Duration.ofMinutes(minutes));
+    }
+    
+    public CursorPage<Metric> getMetricsPage(String cursor, Integer requestedSize) {
+        int size = paginationConfig.resolvePageSize(requestedSize);
+        List<Metric> rows;
+        List<Metric> sealed;
+        if (cursor == null) {
+            rows = metricRepository.findFirstPage(CursorPage.lookAhead(size));
+            sealed = metricChunkStore.findPage(null, 0, size + 1);
+        } else {
+            Cursor after = Cursor.decode(cursor);
+            if (after.sortKey() == null) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            rows = metricRepository.findPageAfter(after.sortKey(), after.id(), CursorPage.lookAhead(size));
+            sealed = metricChunkStore.findPage(after.sortKey(), after.id(), size + 1);
+        }
+        if (!sealed.isEmpty()) {
+            // Both sides are fetched one past the page, so the merged look-ahead stays exact
+            List<Metric> merged = new ArrayList<>(rows.size() + sealed.size());
+            merged.addAll(rows);
+            merged.addAll(sealed);
+            merged.sort(Comparator.comparing(Metric::getTimestamp).thenComparing(Metric::getId).reversed());
+            rows = merged.size() > size + 1 ? merged.subList(0, size + 1) : merged;
+        }
+        return CursorPage.of(rows, size, row -> new Cursor(row.getTimestamp(), row.getId()));
     }
     
     public Optional<Metric> getMetricById(Long id) {
-        return metricRepository.findById(id);
+        return metricRepository.findById(id).or(() -> metricChunkStore.findById(id));
+    }
+    
+    /**
+     * Avg/min/max/stddev of all five fields per group over {@code [from, to)}, computed
+     * in one pass: over the in-memory store when it covers the window, otherwise with
+     * a single grouped query merged with any sealed chunks overlapping the window.
+     */
+    public List<MetricAggregate> aggregate(MetricGroupBy groupBy, LocalDateTime from, LocalDateTime to) {
+        Map<String, MetricMoments> groups = new TreeMap<>();
+        SampleVisitor visitor = groupingVisitor(groupBy, MetricStore.toEpochMillis(to), groups);
+        if (!to.isBefore(LocalDateTime.now()) && metricStore.covers(from)) {
+            metricStore.scan(from, visitor);
+        } else {
+            List<MetricAggregateRow> rows = switch (groupBy) {
+                case SERVICE -> metricRepository.aggregateGroupedByService(from, to);
+                case TYPE -> metricRepository.aggregateGroupedByServiceType(from, to);
+                case STATUS -> metricRepository.aggregateGroupedByServiceStatus(from, to);
+            };
+            rows.forEach(row -> row.addTo(groups.computeIfAbsent(row.getKey(), k -> new MetricMoments())));
+            metricChunkStore.scan(null, from, to, visitor);
+        }
+        return toAggregates(groupBy, groups);
+    }
+    
+    /**
+     * Whole-history totals for one service, folded from its hourly rollups and the
+     * hourly buckets still open in memory. Costs one row per hour of history instead
+     * of a scan over every raw sample and sealed chunk.
+     */
+    public MetricAccumulator getServiceTotals(Long serviceId) {
+        MetricAccumulator totals = new MetricAccumulator();
+        metricRollupRepository.findByServiceIdAndResolutionSince(serviceId, RollupTier.HOUR.getSeconds(),
+                MetricStore.toLocalDateTime(0)).forEach(totals::merge);
+        metricRollupAggregator.forEachOpen(RollupTier.HOUR, serviceId, Long.MIN_VALUE,
+                (key, accumulator) -> totals.merge(accumulator));
+        return totals;
+    }
+    
+    private SampleVisitor groupingVisitor(MetricGroupBy groupBy, long toMillis, Map<String, MetricMoments> groups) {
+        Map<Long, String> groupKeys = new HashMap<>();
+        if (groupBy != MetricGroupBy.SERVICE) {
+            for (Service service : serviceRepository.findAll()) {
+                groupKeys.put(service.getId(), groupBy == MetricGroupBy.TYPE ? service.getType() : service.getStatus());
+            }
+        }
+        return (serviceId, timestamp, cpu, memory, requestCount, responseTime, errorRate) -> {
+            if (timestamp >= toMillis) {
+                return;
+            }
+            String key = groupBy == MetricGroupBy.SERVICE ? String.valueOf(serviceId) : groupKeys.get(serviceId);
+            if (key == null) {
+                // Same as the inner join on the database path
+                return;
+            }
+            groups.computeIfAbsent(key, k -> new MetricMoments()).add(cpu, memory,
+                    requestCount == Integer.MIN_VALUE ? Double.NaN : requestCount, responseTime, errorRate);
+        };
+    }
+    
+    private static List<MetricAggregate> toAggregates(MetricGroupBy groupBy, Map<String, MetricMoments> groups) {
+        List<MetricAggregate> aggregates = new ArrayList<>(groups.size());
+        groups.forEach((key, moments) -> aggregates.add(moments.toAggregate(groupBy, key)));
+        return aggregates;
     }
     
     public Double getAverageCpuForService(Long serviceId) {
@@ -51,6 +461,14 @@ public class MetricService {
     }
     
     public void deleteMetric(Long id) {
-        metricRepository.deleteById(id);
+        Optional<Metric> raw = metricRepository.findById(id);
+        if (raw.isPresent()) {
+            metricStore.evict(raw.get().getServiceId(), raw.get().getTimestamp());
+            metricRepository.deleteById(id);
+            return;
+        }
+        // Already sealed: rewrite its chunk without it
+        metricChunkStore.delete(id)
+                .ifPresent(metric -> metricStore.evict(metric.getServiceId(), metric.getTimestamp()));
     }
-}
\ No newline at end of file
+}
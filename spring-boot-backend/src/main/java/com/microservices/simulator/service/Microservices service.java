@@ -1,13 +1,30 @@
 
 package com.microservices.simulator.service;
 
+import com.microservices.simulator.config.CacheConfig;
+import com.microservices.simulator.config.PaginationConfig;
 import com.microservices.simulator.entity.Service;
+import com.microservices.simulator.gateway.RouteIndex;
+import com.microservices.simulator.pagination.Cursor;
+import com.microservices.simulator.pagination.CursorPage;
+import com.microservices.simulator.realtime.DeltaPublisher;
 import com.microservices.simulator.repository.ServiceRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 @Component
 public class MicroserviceService {
@@ -15,18 +32,56 @@ public class MicroserviceService {
     @Autowired
     private ServiceRepository serviceRepository;
     
+    @Autowired
+    private PaginationConfig paginationConfig;
+    
+    @Autowired
+    private DeltaPublisher deltaPublisher;
+    
+    @Autowired
+    private RouteIndex routeIndex;
+    
+    @Cacheable(cacheNames = CacheConfig.SERVICES, key = "'all'", sync = true)
     public List<Service> getAllServices() {
         return serviceRepository.findAll();
     }
     
+    public CursorPage<Service> getServicesPage(String cursor, Integer requestedSize) {
+        int size = paginationConfig.resolvePageSize(requestedSize);
+        List<Service> rows;
+        if (cursor == null) {
+            rows = serviceRepository.findFirstPage(CursorPage.lookAhead(size));
+        } else {
+            Cursor after = Cursor.decode(cursor);
+            if (after.sortKey() == null) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            rows = serviceRepository.findPageAfter(after.sortKey(), after.id(), CursorPage.lookAhead(size));
+        }
+        return CursorPage.of(rows, size, row -> new Cursor(row.getCreatedAt(), row.getId()));
+    }
+    
+    @Cacheable(cacheNames = CacheConfig.SERVICE, key = "#id", sync = true)
     public Optional<Service> getServiceById(Long id) {
         return serviceRepository.findById(id);
     }
     
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.SERVICES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.SERVICE, key = "#result.id")
+    })
     public Service createService(Service service) {
-        return serviceRepository.save(service);
+        Service saved = serviceRepository.save(service);
+        deltaPublisher.serviceChanged(saved);
+        // Route upstreams are derived from service names and ports
+        routeIndex.rebuild();
+        return saved;
     }
     
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.SERVICES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.SERVICE, key = "#id")
+    })
     public Service updateService(Long id, Service serviceDetails) {
         Service service = serviceRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Service not found with id: " + id));
@@ -46,11 +101,107 @@ public class MicroserviceService {
         service.setActuatorPort(serviceDetails.getActuatorPort());
         service.setConfig(serviceDetails.getConfig());
         
-        return serviceRepository.save(service);
+        Service saved = serviceRepository.save(service);
+        deltaPublisher.serviceChanged(saved);
+        routeIndex.rebuild();
+        return saved;
+    }
+    
+    /**
+     * Moves the service to {@code to} if its status is currently one of {@code from},
+     * touching only the status column. Returns false if another writer got there first.
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.SERVICES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.SERVICE, key = "#id")
+    })
+    @Transactional
+    public boolean transitionStatus(Long id, Collection<String> from, String to) {
+        if (serviceRepository.transitionStatus(id, from, to, LocalDateTime.now()) == 0) {
+            return false;
+        }
+        serviceRepository.findById(id).ifPresent(deltaPublisher::serviceChanged);
+        return true;
     }
     
+    /**
+     * Set-based form of {@link #transitionStatus}: locks the rows with one select and
+     * moves every service whose status is in {@code from} and that {@code admit}
+     * accepts to {@code to} with one update. Returns the services as they were
+     * before, keyed by id; ids that do not exist are absent.
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.SERVICES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.SERVICE, allEntries = true)
+    })
+    @Transactional
+    public Map<Long, Service> transitionAll(Collection<Long> ids, Collection<String> from, String to,
+                                            Predicate<Service> admit) {
+        Map<Long, Service> before = new LinkedHashMap<>();
+        List<Long> moved = new ArrayList<>();
+        for (Service service : serviceRepository.findAllByIdForUpdate(ids)) {
+            before.put(service.getId(), service);
+        }
+        for (Long id : ids) {
+            Service service = before.get(id);
+            if (service != null && from.contains(service.getStatus()) && admit.test(service)) {
+                moved.add(id);
+            }
+        }
+        if (!moved.isEmpty()) {
+            // The bulk update leaves the loaded entities (and so the returned statuses) as they were
+            serviceRepository.updateStatus(moved, to, LocalDateTime.now());
+            serviceRepository.findAllById(moved).forEach(deltaPublisher::serviceChanged);
+        }
+        return before;
+    }
+    
+    /**
+     * Moves every service that has been in {@code from} since before {@code before}
+     * to {@code to}, in one update. Returns the ids that were moved.
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.SERVICES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.SERVICE, allEntries = true)
+    })
+    @Transactional
+    public List<Long> transitionStale(String from, String to, LocalDateTime before) {
+        List<Long> ids = serviceRepository.findIdsByStatusUpdatedBefore(from, before);
+        if (ids.isEmpty() || serviceRepository.transitionStale(ids, from, to, before, LocalDateTime.now()) == 0) {
+            return List.of();
+        }
+        List<Long> moved = new ArrayList<>();
+        for (Service service : serviceRepository.findAllById(ids)) {
+            if (to.equals(service.getStatus())) {
+                moved.add(service.getId());
+                deltaPublisher.serviceChanged(service);
+            }
+        }
+        return moved;
+    }
+    
+    /** Sets the instance count alone, leaving the rest of the row untouched. */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.SERVICES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.SERVICE, key = "#id")
+    })
+    @Transactional
+    public boolean updateInstances(Long id, int instances) {
+        if (serviceRepository.updateInstances(id, instances, LocalDateTime.now()) == 0) {
+            return false;
+        }
+        serviceRepository.findById(id).ifPresent(deltaPublisher::serviceChanged);
+        return true;
+    }
+    
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.SERVICES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.SERVICE, key = "#id")
+    })
     public void deleteService(Long id) {
         serviceRepository.deleteById(id);
+        deltaPublisher.serviceDeleted(id);
+        routeIndex.rebuild();
     }
     
     public List<Service> getServicesByType(String type) {
@@ -72,4 +223,16 @@ public class MicroserviceService {
     public List<Service> searchServicesByName(String name) {
         return serviceRepository.findByNameContaining(name);
     }
+    
+    /** Resolves an {@code ApiRoute.targetService} such as "user-service" to the "User Service" row. */
+    public Optional<Service> findByRouteTarget(String targetService) {
+        String target = normalizeName(targetService);
+        return serviceRepository.findAll().stream()
+                .filter(service -> normalizeName(service.getName()).equals(target))
+                .findFirst();
+    }
+    
+    public static String normalizeName(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT).replaceAll("[\\s_]+", "-");
+    }
 }
\ No newline at end of file
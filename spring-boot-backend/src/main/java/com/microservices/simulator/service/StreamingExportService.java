@@ -0,0 +1,82 @@
+package com.microservices.simulator.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes repository streams straight to the response, one entity at a time, so
+ * exports of any size run with constant heap.
+ */
+@Component
+public class StreamingExportService {
+    
+    private static final int FLUSH_EVERY = 500;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    public <T> StreamingResponseBody ndjson(Supplier<Stream<T>> source) {
+        return out -> export(source, out, false);
+    }
+    
+    public <T> StreamingResponseBody jsonArray(Supplier<Stream<T>> source) {
+        return out -> export(source, out, true);
+    }
+    
+    private <T> void export(Supplier<Stream<T>> source, OutputStream out, boolean jsonArray) {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        // Streaming result sets need an open (read-only) transaction for the cursor to stay alive
+        transaction.setReadOnly(true);
+        transaction.executeWithoutResult(status -> {
+            try (Stream<T> stream = source.get()) {
+                if (jsonArray) {
+                    out.write('[');
+                }
+                Iterator<T> rows = stream.iterator();
+                int written = 0;
+                while (rows.hasNext()) {
+                    T row = rows.next();
+                    if (jsonArray && written > 0) {
+                        out.write(',');
+                    }
+                    out.write(writer.writeValueAsBytes(row));
+                    if (!jsonArray) {
+                        out.write('\n');
+                    }
+                    entityManager.detach(row);
+                    if (++written % FLUSH_EVERY == 0) {
+                        out.flush();
+                    }
+                }
+                if (jsonArray) {
+                    out.write(']');
+                }
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
@@ -1,13 +1,17 @@
 
 package com.microservices.simulator.service;
 
+import com.microservices.simulator.config.PaginationConfig;
 import com.microservices.simulator.entity.TestResult;
+import com.microservices.simulator.pagination.Cursor;
+import com.microservices.simulator.pagination.CursorPage;
 import com.microservices.simulator.repository.TestResultRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Component
 public class TestResultService {
@@ -15,10 +19,18 @@ public class TestResultService {
     @Autowired
     private TestResultRepository testResultRepository;
     
+    @Autowired
+    private PaginationConfig paginationConfig;
+    
     public List<TestResult> getAllTestResults() {
         return testResultRepository.findAllOrderByCreatedAtDesc();
     }
     
+    /** Must be consumed inside a transaction; see {@link StreamingExportService}. */
+    public Stream<TestResult> streamAllTestResults() {
+        return testResultRepository.streamAllOrderByCreatedAtDesc();
+    }
+    
     public List<TestResult> getTestResultsByServiceId(Long serviceId) {
         return testResultRepository.findByServiceIdOrderByCreatedAtDesc(serviceId);
     }
@@ -31,6 +43,21 @@ public class TestResultService {
         return testResultRepository.findByTestTypeOrderByCreatedAtDesc(testType);
     }
     
+    public CursorPage<TestResult> getTestResultsPage(String cursor, Integer requestedSize) {
+        int size = paginationConfig.resolvePageSize(requestedSize);
+        List<TestResult> rows;
+        if (cursor == null) {
+            rows = testResultRepository.findFirstPage(CursorPage.lookAhead(size));
+        } else {
+            Cursor after = Cursor.decode(cursor);
+            if (after.sortKey() == null) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            rows = testResultRepository.findPageAfter(after.sortKey(), after.id(), CursorPage.lookAhead(size));
+        }
+        return CursorPage.of(rows, size, row -> new Cursor(row.getCreatedAt(), row.getId()));
+    }
+    
     public Optional<TestResult> getTestResultById(Long id) {
         return testResultRepository.findById(id);
     }
@@ -0,0 +1,56 @@
+package com.microservices.simulator.simulation;
+
+import java.util.Arrays;
+
+/**
+ * Struct-of-arrays state for every simulated service. A population is replaced
+ * wholesale on refresh, while no tick is running; between refreshes each tick
+ * shard only writes the indices it owns.
+ */
+final class Population {
+    
+    final long[] ids;
+    final boolean[] synthetic;
+    final double[] baseCpu;
+    final double[] baseMemory;
+    final int[] instances;
+    // Offered traffic in instance-equivalents, fixed when the service joins so scaling changes per-instance load
+    final double[] load;
+    final double[] cpu;
+    final double[] memory;
+    final double[] responseTime;
+    final double[] errorRate;
+    final boolean[] degraded;
+    
+    Population(int size) {
+        ids = new long[size];
+        synthetic = new boolean[size];
+        baseCpu = new double[size];
+        baseMemory = new double[size];
+        instances = new int[size];
+        load = new double[size];
+        cpu = new double[size];
+        memory = new double[size];
+        responseTime = new double[size];
+        errorRate = new double[size];
+        degraded = new boolean[size];
+    }
+    
+    int size() {
+        return ids.length;
+    }
+    
+    int indexOf(long id) {
+        // ids are kept sorted so refreshes can carry state across
+        return Arrays.binarySearch(ids, id);
+    }
+    
+    void copyState(int to, Population from, int index) {
+        load[to] = from.load[index];
+        cpu[to] = from.cpu[index];
+        memory[to] = from.memory[index];
+        responseTime[to] = from.responseTime[index];
+        errorRate[to] = from.errorRate[index];
+        degraded[to] = from.degraded[index];
+    }
+}
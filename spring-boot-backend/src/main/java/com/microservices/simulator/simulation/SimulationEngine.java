@@ -0,0 +1,408 @@
+package com.microservices.simulator.simulation;
+
+import com.microservices.simulator.autoscaling.ServiceScaledEvent;
+import com.microservices.simulator.chaos.ChaosEffects;
+import com.microservices.simulator.chaos.ChaosMatrix;
+import com.microservices.simulator.chaos.ChaosService;
+import com.microservices.simulator.config.SimulationConfig;
+import com.microservices.simulator.entity.Activity;
+import com.microservices.simulator.entity.Metric;
+import com.microservices.simulator.entity.Service;
+import com.microservices.simulator.repository.ServiceRepository;
+import com.microservices.simulator.service.ActivityService;
+import com.microservices.simulator.service.MetricService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Drives running services (plus optional synthetic ones) on a fixed tick, generating
+ * a metric sample per service per tick and activities on error-rate transitions.
+ * The population is split into shards, one per scheduler thread, so generated
+ * load depends only on configuration and never on connected clients.
+ * <p>
+ * Synthetic services exist only here: their samples go to the live feeds and are
+ * never stored, so a large synthetic population measures the engine and fan-out
+ * without growing the database, the per-series store or the latency histograms.
+ * <p>
+ * Each service offers a fixed load, taken as its configured cpu at the instance
+ * count it had when it joined. Utilisation is that load spread over the current
+ * instances, so scaling out lowers cpu and latency and scaling in raises them;
+ * past full utilisation the excess shows up as queueing latency.
+ */
+@Component
+public class SimulationEngine {
+    
+    private static final Logger log = LoggerFactory.getLogger(SimulationEngine.class);
+    private static final double REQUESTS_PER_INSTANCE_PER_SECOND = 20.0;
+    private static final double BASE_ERROR_RATE = 0.01;
+    
+    @Autowired
+    private SimulationConfig config;
+    
+    @Autowired
+    private ServiceRepository serviceRepository;
+    
+    @Autowired
+    private MetricService metricService;
+    
+    @Autowired
+    private ActivityService activityService;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private ChaosService chaosService;
+    
+    private volatile Population population = new Population(0);
+    // Shards tick under the read lock; a refresh swaps the population under the write lock
+    private final ReadWriteLock populationLock = new ReentrantReadWriteLock(true);
+    
+    // Guarded by this
+    private ScheduledExecutorService executor;
+    private volatile List<Shard> activeShards = List.of();
+    
+    private final AtomicLong ticks = new AtomicLong();
+    private final AtomicLong samples = new AtomicLong();
+    private final DoubleAccumulator maxLagMillis = new DoubleAccumulator(Math::max, 0);
+    
+    private Timer tickTimer;
+    private Counter sampleCounter;
+    
+    @PostConstruct
+    public void init() {
+        Gauge.builder("simulator.simulation.tick.lag", this, SimulationEngine::lastLagMillis)
+                .description("How far the latest simulation tick started behind its schedule")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("simulator.simulation.services", this, engine -> engine.population.size())
+                .register(meterRegistry);
+        tickTimer = Timer.builder("simulator.simulation.tick.duration").register(meterRegistry);
+        sampleCounter = Counter.builder("simulator.simulation.samples").register(meterRegistry);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void autoStart() {
+        if (config.isAutoStart()) {
+            start();
+        }
+    }
+    
+    public synchronized boolean start() {
+        if (executor != null) {
+            return false;
+        }
+        refresh();
+        int count = Math.max(1, config.getThreads());
+        long period = config.getTickInterval().toNanos();
+        long origin = System.nanoTime();
+        maxLagMillis.reset();
+        executor = Executors.newScheduledThreadPool(count, new NamedThreadFactory());
+        List<Shard> started = new ArrayList<>(count);
+        for (int shard = 0; shard < count; shard++) {
+            Shard runnable = new Shard(shard, count, origin, period);
+            started.add(runnable);
+            executor.scheduleAtFixedRate(runnable, 0, period, TimeUnit.NANOSECONDS);
+        }
+        activeShards = List.copyOf(started);
+        long refresh = config.getRefreshInterval().toMillis();
+        executor.scheduleWithFixedDelay(this::refreshQuietly, refresh, refresh, TimeUnit.MILLISECONDS);
+        log.info("Simulation started: {} services in {} shards every {}", population.size(), count, config.getTickInterval());
+        return true;
+    }
+    
+    @PreDestroy
+    public synchronized boolean stop() {
+        if (executor == null) {
+            return false;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(config.getTickInterval().toMillis(), TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        executor = null;
+        // Otherwise the status would keep reporting the stopped run's last tick
+        activeShards = List.of();
+        log.info("Simulation stopped after {} ticks", ticks.get());
+        return true;
+    }
+    
+    public synchronized SimulationStatus getStatus() {
+        return new SimulationStatus(executor != null, population.size(), config.getTickInterval().toMillis(),
+                ticks.get(), samples.get(), lastLagMillis(), maxLagMillis.get(), lastDurationMillis());
+    }
+    
+    // Latest tick of the slowest shard; each shard runs on its own schedule
+    private double lastLagMillis() {
+        return activeShards.stream().mapToDouble(shard -> shard.lastLagMillis).max().orElse(0);
+    }
+    
+    private double lastDurationMillis() {
+        return activeShards.stream().mapToDouble(shard -> shard.lastDurationMillis).max().orElse(0);
+    }
+    
+    /**
+     * Reloads running services, carrying simulated state over for ids that remain. The
+     * database read happens while ticks keep running; only the state copy and swap wait
+     * for in-flight ticks, so no tick's updates are lost.
+     */
+    public synchronized void refresh() {
+        List<Service> running = serviceRepository.findByStatus("running");
+        int synthetic = Math.max(0, config.getSyntheticServices());
+        List<long[]> order = new ArrayList<>(running.size() + synthetic);
+        for (int i = 0; i < running.size(); i++) {
+            order.add(new long[] {running.get(i).getId(), i});
+        }
+        for (int i = 0; i < synthetic; i++) {
+            order.add(new long[] {config.getSyntheticIdBase() + i, -1 - i});
+        }
+        order.sort(Comparator.comparingLong(entry -> entry[0]));
+        
+        Population next = new Population(order.size());
+        for (int i = 0; i < order.size(); i++) {
+            long id = order.get(i)[0];
+            int source = (int) order.get(i)[1];
+            next.ids[i] = id;
+            next.synthetic[i] = source < 0;
+            if (source >= 0) {
+                Service service = running.get(source);
+                next.baseCpu[i] = service.getCpu() != null ? service.getCpu() : 20.0;
+                next.baseMemory[i] = service.getMemory() != null ? service.getMemory() : 512.0;
+                next.instances[i] = service.getInstances() != null ? Math.max(1, service.getInstances()) : 1;
+            } else {
+                // Synthetic profiles are derived from the id so they are stable across refreshes
+                SplittableRandom profile = new SplittableRandom(id);
+                next.baseCpu[i] = 10 + profile.nextDouble(50);
+                next.baseMemory[i] = 256 * (1 + profile.nextInt(8));
+                next.instances[i] = 1 + profile.nextInt(4);
+            }
+        }
+        
+        populationLock.writeLock().lock();
+        try {
+            Population previous = population;
+            for (int i = 0; i < next.size(); i++) {
+                int existing = previous.indexOf(next.ids[i]);
+                if (existing >= 0) {
+                    next.copyState(i, previous, existing);
+                    if (next.instances[i] != previous.instances[existing]) {
+                        next.cpu[i] = clamp(next.cpu[i] * previous.instances[existing] / next.instances[i], 1, 100);
+                    }
+                } else {
+                    next.load[i] = next.instances[i];
+                    next.cpu[i] = next.baseCpu[i];
+                    next.memory[i] = next.baseMemory[i];
+                    next.responseTime[i] = 50 + next.baseCpu[i] * 2;
+                    next.errorRate[i] = BASE_ERROR_RATE;
+                }
+            }
+            population = next;
+        } finally {
+            populationLock.writeLock().unlock();
+        }
+    }
+    
+    /** Applies a new instance count straight away rather than at the next refresh. */
+    @EventListener
+    public void onScaled(ServiceScaledEvent event) {
+        if (event.serviceId() == null || event.instances() < 1) {
+            return;
+        }
+        populationLock.writeLock().lock();
+        try {
+            Population p = population;
+            int i = p.indexOf(event.serviceId());
+            if (i >= 0 && p.instances[i] != event.instances()) {
+                // The load is unchanged, so per-instance cpu moves inversely with the instance count
+                p.cpu[i] = clamp(p.cpu[i] * p.instances[i] / event.instances(), 1, 100);
+                p.instances[i] = event.instances();
+            }
+        } finally {
+            populationLock.writeLock().unlock();
+        }
+    }
+    
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh simulated services", e);
+        }
+    }
+    
+    private void simulate(Population p, int i, LocalDateTime now, double tickSeconds, SplittableRandom random,
+                          ChaosMatrix chaos, long nowMillis, ChaosEffects effects) {
+        double utilisation = p.baseCpu[i] * p.load[i] / p.instances[i];
+        p.cpu[i] = clamp(p.cpu[i] + 0.3 * (Math.min(utilisation, 100) - p.cpu[i]) + random.nextGaussian() * 3, 1, 100);
+        p.memory[i] = clamp(p.memory[i] + 0.2 * (p.baseMemory[i] - p.memory[i]) + random.nextGaussian() * p.baseMemory[i] * 0.02,
+                p.baseMemory[i] * 0.5, p.baseMemory[i] * 2);
+        double queueing = Math.max(1, utilisation / 100);
+        p.responseTime[i] = Math.max(1, 0.5 * p.responseTime[i] + 0.5 * (50 + p.cpu[i] * 2) * queueing + random.nextGaussian() * 10);
+        if (random.nextDouble() < 0.001) {
+            p.errorRate[i] = 0.1 + random.nextDouble(0.2);
+        } else {
+            p.errorRate[i] = Math.max(0, p.errorRate[i] + 0.5 * (BASE_ERROR_RATE - p.errorRate[i]) + random.nextGaussian() * 0.002);
+        }
+        int requests = (int) Math.max(0, Math.round(p.load[i] * REQUESTS_PER_INSTANCE_PER_SECOND * tickSeconds
+                * (1 + 0.2 * random.nextGaussian())));
+        
+        // Faults shape what is reported, not the underlying state, so a service recovers as soon as they end
+        double cpu = p.cpu[i];
+        double responseTime = p.responseTime[i];
+        double errorRate = p.errorRate[i];
+        if (!chaos.isEmpty()) {
+            chaos.apply(p.ids[i], nowMillis, random, effects);
+            if (effects.any()) {
+                int instances = p.instances[i];
+                int up = instances - (int) Math.ceil(instances * effects.crashedFraction());
+                if (up <= 0) {
+                    cpu = 0;
+                    requests = 0;
+                    errorRate = 1;
+                } else {
+                    // Survivors take over the crashed instances' load
+                    cpu = clamp(cpu * instances / up, 1, 100);
+                    responseTime *= (double) instances / up;
+                    errorRate = 1 - (1 - errorRate) * (1 - effects.errorRate()) * (1 - effects.droppedFraction());
+                }
+                responseTime += effects.extraLatency();
+            }
+        }
+        
+        Metric metric = new Metric(p.ids[i], round(cpu), round(p.memory[i]));
+        metric.setRequestCount(requests);
+        metric.setResponseTime(round(responseTime));
+        metric.setErrorRate(Math.round(errorRate * 10000) / 10000.0);
+        metric.setTimestamp(now);
+        if (p.synthetic[i]) {
+            metricService.publishLiveMetric(metric);
+        } else {
+            metricService.recordMetric(metric);
+        }
+        
+        double warning = config.getErrorRateWarning();
+        if (!p.degraded[i] && errorRate >= warning) {
+            p.degraded[i] = true;
+            if (!p.synthetic[i]) {
+                recordActivity(p.ids[i], "warning", String.format("High error rate detected (%.1f%%)", errorRate * 100));
+            }
+        } else if (p.degraded[i] && errorRate < warning / 2) {
+            p.degraded[i] = false;
+            if (!p.synthetic[i]) {
+                recordActivity(p.ids[i], "info", "Error rate back to normal");
+            }
+        }
+    }
+    
+    private void recordActivity(long serviceId, String severity, String message) {
+        Activity activity = new Activity("monitoring", message);
+        activity.setServiceId(serviceId);
+        activity.setSeverity(severity);
+        activityService.createActivity(activity);
+    }
+    
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+    
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+    
+    private final class Shard implements Runnable {
+        private final int shard;
+        private final int shards;
+        private final long origin;
+        private final long period;
+        private final SplittableRandom random;
+        private final ChaosEffects effects = new ChaosEffects();
+        private long tick;
+        private volatile double lastLagMillis;
+        private volatile double lastDurationMillis;
+        
+        private Shard(int shard, int shards, long origin, long period) {
+            this.shard = shard;
+            this.shards = shards;
+            this.origin = origin;
+            this.period = period;
+            this.random = new SplittableRandom(origin + shard);
+        }
+        
+        @Override
+        public void run() {
+            long started = System.nanoTime();
+            // Measured against the schedule, not the previous run, so a backlog shows up as growing lag
+            double lag = Math.max(0, (started - (origin + tick * period)) / 1e6);
+            tick++;
+            populationLock.readLock().lock();
+            try {
+                Population p = population;
+                ChaosMatrix chaos = chaosService.getMatrix();
+                LocalDateTime now = LocalDateTime.now();
+                long nowMillis = System.currentTimeMillis();
+                double tickSeconds = period / 1e9;
+                int generated = 0;
+                for (int i = shard; i < p.size(); i += shards) {
+                    simulate(p, i, now, tickSeconds, random, chaos, nowMillis, effects);
+                    generated++;
+                }
+                samples.addAndGet(generated);
+                sampleCounter.increment(generated);
+            } catch (RuntimeException e) {
+                // An exception escaping here would silently cancel the shard's schedule
+                log.warn("Simulation tick failed on shard {}", shard, e);
+            } finally {
+                populationLock.readLock().unlock();
+            }
+            long duration = System.nanoTime() - started;
+            tickTimer.record(duration, TimeUnit.NANOSECONDS);
+            if (shard == 0) {
+                ticks.incrementAndGet();
+            }
+            lastLagMillis = lag;
+            maxLagMillis.accumulate(lag);
+            lastDurationMillis = duration / 1e6;
+        }
+    }
+    
+    private static final class NamedThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+        
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "simulation-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
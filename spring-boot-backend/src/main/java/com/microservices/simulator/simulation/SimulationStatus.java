@@ -0,0 +1,51 @@
+package com.microservices.simulator.simulation;
+
+/**
+ * Snapshot of the simulation engine, including how far ticks run behind schedule.
+ */
+public class SimulationStatus {
+    private boolean running;
+    private int services;
+    private long tickIntervalMillis;
+    private long ticks;
+    private long samplesGenerated;
+    private double lastTickLagMillis;
+    private double maxTickLagMillis;
+    private double lastTickDurationMillis;
+    
+    public SimulationStatus(boolean running, int services, long tickIntervalMillis, long ticks, long samplesGenerated,
+                            double lastTickLagMillis, double maxTickLagMillis, double lastTickDurationMillis) {
+        this.running = running;
+        this.services = services;
+        this.tickIntervalMillis = tickIntervalMillis;
+        this.ticks = ticks;
+        this.samplesGenerated = samplesGenerated;
+        this.lastTickLagMillis = lastTickLagMillis;
+        this.maxTickLagMillis = maxTickLagMillis;
+        this.lastTickDurationMillis = lastTickDurationMillis;
+    }
+    
+    public boolean isRunning() { return running; }
+    public void setRunning(boolean running) { this.running = running; }
+    
+    public int getServices() { return services; }
+    public void setServices(int services) { this.services = services; }
+    
+    public long getTickIntervalMillis() { return tickIntervalMillis; }
+    public void setTickIntervalMillis(long tickIntervalMillis) { this.tickIntervalMillis = tickIntervalMillis; }
+    
+    public long getTicks() { return ticks; }
+    public void setTicks(long ticks) { this.ticks = ticks; }
+    
+    public long getSamplesGenerated() { return samplesGenerated; }
+    public void setSamplesGenerated(long samplesGenerated) { this.samplesGenerated = samplesGenerated; }
+    
+    public double getLastTickLagMillis() { return lastTickLagMillis; }
+    public void setLastTickLagMillis(double lastTickLagMillis) { this.lastTickLagMillis = lastTickLagMillis; }
+    
+    public double getMaxTickLagMillis() { return maxTickLagMillis; }
+    public void setMaxTickLagMillis(double maxTickLagMillis) { this.maxTickLagMillis = maxTickLagMillis; }
+    
+    public double getLastTickDurationMillis() { return lastTickDurationMillis; }
+    public void setLastTickDurationMillis(double lastTickDurationMillis) { this.lastTickDurationMillis = lastTickDurationMillis; }
+}
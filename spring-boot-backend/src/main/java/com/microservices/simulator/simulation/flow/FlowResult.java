@@ -0,0 +1,72 @@
+package com.microservices.simulator.simulation.flow;
+
+import java.util.List;
+
+/**
+ * Outcome of a flow simulation: request totals and per-service saturation points.
+ * The simulated series itself (one sample per service per bucket) is only counted
+ * here; it is persisted when the scenario asks for it. A truncated run hit the
+ * event or wall-time limit and covers {@code simulatedSeconds} of the scenario.
+ */
+public class FlowResult {
+    private long seed;
+    private int simulatedSeconds;
+    private boolean truncated;
+    private long events;
+    private long wallClockMillis;
+    private long requests;
+    private long completed;
+    private long errors;
+    private long rateLimited;
+    private long rejected;
+    private long timedOut;
+    private List<SaturationPoint> saturation;
+    private List<String> unmatchedRoutes;
+    private long samples;
+    private long samplesPersisted;
+    
+    public long getSeed() { return seed; }
+    public void setSeed(long seed) { this.seed = seed; }
+    
+    public int getSimulatedSeconds() { return simulatedSeconds; }
+    public void setSimulatedSeconds(int simulatedSeconds) { this.simulatedSeconds = simulatedSeconds; }
+    
+    public boolean isTruncated() { return truncated; }
+    public void setTruncated(boolean truncated) { this.truncated = truncated; }
+    
+    public long getEvents() { return events; }
+    public void setEvents(long events) { this.events = events; }
+    
+    public long getWallClockMillis() { return wallClockMillis; }
+    public void setWallClockMillis(long wallClockMillis) { this.wallClockMillis = wallClockMillis; }
+    
+    public long getRequests() { return requests; }
+    public void setRequests(long requests) { this.requests = requests; }
+    
+    public long getCompleted() { return completed; }
+    public void setCompleted(long completed) { this.completed = completed; }
+    
+    public long getErrors() { return errors; }
+    public void setErrors(long errors) { this.errors = errors; }
+    
+    public long getRateLimited() { return rateLimited; }
+    public void setRateLimited(long rateLimited) { this.rateLimited = rateLimited; }
+    
+    public long getRejected() { return rejected; }
+    public void setRejected(long rejected) { this.rejected = rejected; }
+    
+    public long getTimedOut() { return timedOut; }
+    public void setTimedOut(long timedOut) { this.timedOut = timedOut; }
+    
+    public List<SaturationPoint> getSaturation() { return saturation; }
+    public void setSaturation(List<SaturationPoint> saturation) { this.saturation = saturation; }
+    
+    public List<String> getUnmatchedRoutes() { return unmatchedRoutes; }
+    public void setUnmatchedRoutes(List<String> unmatchedRoutes) { this.unmatchedRoutes = unmatchedRoutes; }
+    
+    public long getSamples() { return samples; }
+    public void setSamples(long samples) { this.samples = samples; }
+    
+    public long getSamplesPersisted() { return samplesPersisted; }
+    public void setSamplesPersisted(long samplesPersisted) { this.samplesPersisted = samplesPersisted; }
+}
@@ -0,0 +1,8 @@
+package com.microservices.simulator.simulation.flow;
+
+/**
+ * A gateway route as seen by the flow simulator. {@code rateLimit} is requests per
+ * minute like {@code ApiRoute.rateLimit} (0 for unlimited) and {@code station} indexes the target service.
+ */
+public record FlowRoute(long id, String method, String path, int station, int rateLimit, long timeoutMillis) {
+}
@@ -0,0 +1,65 @@
+package com.microservices.simulator.simulation.flow;
+
+/**
+ * Parameters of one discrete-event run. Each route's arrival rate is its rate
+ * limit (or {@link #DEFAULT_ROUTE_RATE} when unlimited) scaled by a load factor
+ * that ramps linearly from {@code loadFactor} to {@code rampToFactor}.
+ */
+public class FlowScenario {
+    
+    // Requests per minute, the unit of ApiRoute.rateLimit
+    public static final int DEFAULT_ROUTE_RATE = 600;
+    
+    private long seed = 42;
+    private int durationSeconds = 3600;
+    private int bucketSeconds = 60;
+    private double loadFactor = 0.5;
+    private Double rampToFactor;
+    private int concurrencyPerInstance = 8;
+    private double meanServiceTimeMillis = 50;
+    private double serviceTimeSigma = 0.5;
+    private double gatewayLatencyMillis = 2;
+    private int queueCapacity = 1000;
+    private double errorProbability = 0.001;
+    private double saturationUtilization = 0.95;
+    private boolean persist = false;
+    
+    public long getSeed() { return seed; }
+    public void setSeed(long seed) { this.seed = seed; }
+    
+    public int getDurationSeconds() { return durationSeconds; }
+    public void setDurationSeconds(int durationSeconds) { this.durationSeconds = durationSeconds; }
+    
+    public int getBucketSeconds() { return bucketSeconds; }
+    public void setBucketSeconds(int bucketSeconds) { this.bucketSeconds = bucketSeconds; }
+    
+    public double getLoadFactor() { return loadFactor; }
+    public void setLoadFactor(double loadFactor) { this.loadFactor = loadFactor; }
+    
+    public Double getRampToFactor() { return rampToFactor; }
+    public void setRampToFactor(Double rampToFactor) { this.rampToFactor = rampToFactor; }
+    
+    public int getConcurrencyPerInstance() { return concurrencyPerInstance; }
+    public void setConcurrencyPerInstance(int concurrencyPerInstance) { this.concurrencyPerInstance = concurrencyPerInstance; }
+    
+    public double getMeanServiceTimeMillis() { return meanServiceTimeMillis; }
+    public void setMeanServiceTimeMillis(double meanServiceTimeMillis) { this.meanServiceTimeMillis = meanServiceTimeMillis; }
+    
+    public double getServiceTimeSigma() { return serviceTimeSigma; }
+    public void setServiceTimeSigma(double serviceTimeSigma) { this.serviceTimeSigma = serviceTimeSigma; }
+    
+    public double getGatewayLatencyMillis() { return gatewayLatencyMillis; }
+    public void setGatewayLatencyMillis(double gatewayLatencyMillis) { this.gatewayLatencyMillis = gatewayLatencyMillis; }
+    
+    public int getQueueCapacity() { return queueCapacity; }
+    public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+    
+    public double getErrorProbability() { return errorProbability; }
+    public void setErrorProbability(double errorProbability) { this.errorProbability = errorProbability; }
+    
+    public double getSaturationUtilization() { return saturationUtilization; }
+    public void setSaturationUtilization(double saturationUtilization) { this.saturationUtilization = saturationUtilization; }
+    
+    public boolean isPersist() { return persist; }
+    public void setPersist(boolean persist) { this.persist = persist; }
+}
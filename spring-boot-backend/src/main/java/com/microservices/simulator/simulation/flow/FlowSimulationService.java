@@ -0,0 +1,111 @@
+package com.microservices.simulator.simulation.flow;
+
+import com.microservices.simulator.config.SimulationConfig;
+import com.microservices.simulator.entity.ApiRoute;
+import com.microservices.simulator.entity.Metric;
+import com.microservices.simulator.entity.Service;
+import com.microservices.simulator.metrics.MetricStore;
+import com.microservices.simulator.repository.ApiRouteRepository;
+import com.microservices.simulator.repository.ServiceRepository;
+import com.microservices.simulator.service.MetricService;
+import com.microservices.simulator.service.MicroserviceService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the flow model from the active {@link ApiRoute}s and the services they
+ * target, runs it and optionally persists the simulated series. The series ends
+ * at the moment the run was requested and is written as history in batches while
+ * the run proceeds, so it is never held in memory as a whole.
+ */
+@Component
+public class FlowSimulationService {
+    
+    private static final int MAX_DURATION_SECONDS = 7 * 24 * 3600;
+    // One week of one-minute buckets
+    private static final int MAX_BUCKETS = 7 * 24 * 60;
+    private static final int PERSIST_BATCH = 1000;
+    
+    @Autowired
+    private SimulationConfig config;
+    
+    @Autowired
+    private ApiRouteRepository apiRouteRepository;
+    
+    @Autowired
+    private ServiceRepository serviceRepository;
+    
+    @Autowired
+    private MetricService metricService;
+    
+    public FlowResult simulate(FlowScenario scenario) {
+        if (scenario.getDurationSeconds() <= 0 || scenario.getDurationSeconds() > MAX_DURATION_SECONDS
+                || scenario.getBucketSeconds() <= 0 || scenario.getDurationSeconds() / scenario.getBucketSeconds() > MAX_BUCKETS
+                || scenario.getMeanServiceTimeMillis() <= 0) {
+            throw new IllegalArgumentException("Invalid flow scenario");
+        }
+        List<Service> services = new ArrayList<>(serviceRepository.findAll());
+        services.sort(Comparator.comparing(Service::getId));
+        Map<String, Integer> stationByName = new HashMap<>();
+        List<FlowStation> stations = new ArrayList<>();
+        for (Service service : services) {
+            int instances = service.getInstances() != null ? Math.max(1, service.getInstances()) : 1;
+            int servers = "running".equals(service.getStatus()) ? instances * scenario.getConcurrencyPerInstance() : 0;
+            stationByName.put(MicroserviceService.normalizeName(service.getName()), stations.size());
+            stations.add(new FlowStation(service.getId(), service.getName(), servers,
+                    service.getMemory() != null ? service.getMemory() : 512.0));
+        }
+        
+        List<ApiRoute> active = new ArrayList<>(apiRouteRepository.findByIsActive(true));
+        active.sort(Comparator.comparing(ApiRoute::getId));
+        List<FlowRoute> routes = new ArrayList<>();
+        List<String> unmatched = new ArrayList<>();
+        for (ApiRoute route : active) {
+            Integer station = stationByName.get(MicroserviceService.normalizeName(route.getTargetService()));
+            if (station == null) {
+                unmatched.add(route.getMethod() + " " + route.getPath() + " -> " + route.getTargetService());
+                continue;
+            }
+            routes.add(new FlowRoute(route.getId(), route.getMethod(), route.getPath(), station,
+                    route.getRateLimit() != null ? route.getRateLimit() : 0,
+                    route.getTimeout() != null ? route.getTimeout() : 0));
+        }
+        
+        long wallStart = System.currentTimeMillis();
+        long seriesStart = wallStart - scenario.getDurationSeconds() * 1000L;
+        List<Metric> batch = new ArrayList<>(PERSIST_BATCH);
+        long[] counts = new long[2];
+        FlowResult result = new FlowSimulator(scenario, routes, stations)
+                .limit(config.getFlowMaxEvents(), config.getFlowMaxWallTime())
+                .run(seriesStart, (serviceId, timestamp, cpu, memory, requestCount, responseTime, errorRate) -> {
+                    counts[0]++;
+                    if (scenario.isPersist()) {
+                        batch.add(MetricStore.toMetric(serviceId, timestamp, cpu, memory, requestCount, responseTime, errorRate));
+                        if (batch.size() == PERSIST_BATCH) {
+                            counts[1] += persist(batch);
+                        }
+                    }
+                });
+        if (!batch.isEmpty()) {
+            counts[1] += persist(batch);
+        }
+        result.setWallClockMillis(System.currentTimeMillis() - wallStart);
+        result.setUnmatchedRoutes(unmatched);
+        result.setSamples(counts[0]);
+        result.setSamplesPersisted(counts[1]);
+        return result;
+    }
+    
+    private int persist(List<Metric> batch) {
+        int persisted = batch.size();
+        metricService.importHistory(batch.iterator());
+        batch.clear();
+        return persisted;
+    }
+}
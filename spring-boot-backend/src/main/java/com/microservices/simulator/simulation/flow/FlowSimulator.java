@@ -0,0 +1,306 @@
+package com.microservices.simulator.simulation.flow;
+
+import com.microservices.simulator.metrics.SampleVisitor;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+
+/**
+ * Single-threaded discrete-event simulation of requests flowing from the gateway
+ * to target services. Simulated time jumps from event to event, so a run costs
+ * time proportional to the number of requests, not the simulated duration.
+ *
+ * <p>Runs are exactly reproducible: one seeded {@link SplittableRandom} drives
+ * every draw, and events at the same instant are ordered by insertion sequence.
+ */
+public class FlowSimulator {
+    
+    private static final int ARRIVAL = 0;
+    private static final int AT_SERVICE = 1;
+    private static final int DEPARTURE = 2;
+    private static final int BUCKET = 3;
+    private static final double MILLIS_PER_MINUTE = 60_000.0;
+    
+    private final FlowScenario scenario;
+    private final List<FlowRoute> routes;
+    private final List<FlowStation> stations;
+    
+    private final PriorityQueue<Event> events = new PriorityQueue<>();
+    private final SplittableRandom random;
+    private long sequence;
+    private long processed;
+    private long maxEvents = Long.MAX_VALUE;
+    private long deadlineNanos;
+    private boolean hasDeadline;
+    
+    private final double[] tokens;
+    private final double[] tokensUpdatedAt;
+    private final Station[] state;
+    private final FlowResult result = new FlowResult();
+    
+    public FlowSimulator(FlowScenario scenario, List<FlowRoute> routes, List<FlowStation> stations) {
+        this.scenario = scenario;
+        this.routes = routes;
+        this.stations = stations;
+        this.random = new SplittableRandom(scenario.getSeed());
+        this.tokens = new double[routes.size()];
+        this.tokensUpdatedAt = new double[routes.size()];
+        this.state = new Station[stations.size()];
+        for (int i = 0; i < state.length; i++) {
+            state[i] = new Station(stations.get(i).servers());
+        }
+        for (int r = 0; r < routes.size(); r++) {
+            tokens[r] = burst(routes.get(r).rateLimit());
+        }
+    }
+    
+    /**
+     * Stops the run after {@code maxEvents} events or once {@code wallTime} has passed,
+     * whichever comes first; the result is then marked truncated.
+     */
+    public FlowSimulator limit(long maxEvents, Duration wallTime) {
+        this.maxEvents = maxEvents;
+        this.deadlineNanos = System.nanoTime() + wallTime.toNanos();
+        this.hasDeadline = true;
+        return this;
+    }
+    
+    /**
+     * Runs the scenario, reporting one sample per station per bucket to {@code series}
+     * with timestamps offset from {@code startMillis}.
+     */
+    public FlowResult run(long startMillis, SampleVisitor series) {
+        double end = scenario.getDurationSeconds() * 1000.0;
+        double bucket = scenario.getBucketSeconds() * 1000.0;
+        for (int r = 0; r < routes.size(); r++) {
+            scheduleArrival(r, 0);
+        }
+        for (double t = bucket; t <= end; t += bucket) {
+            schedule(t, BUCKET, -1, -1, 0);
+        }
+        
+        Event event;
+        double reached = end;
+        while ((event = events.poll()) != null && event.time <= end) {
+            // The clock is only read every few thousand events
+            if (processed >= maxEvents || (hasDeadline && (processed & 0xFFF) == 0 && System.nanoTime() > deadlineNanos)) {
+                result.setTruncated(true);
+                reached = event.time;
+                break;
+            }
+            processed++;
+            switch (event.type) {
+                case ARRIVAL -> onArrival(event);
+                case AT_SERVICE -> onService(event);
+                case DEPARTURE -> onDeparture(event);
+                default -> onBucket(event.time, bucket, startMillis, series);
+            }
+        }
+        
+        List<SaturationPoint> saturation = new ArrayList<>(stations.size());
+        for (int s = 0; s < stations.size(); s++) {
+            FlowStation station = stations.get(s);
+            Station st = state[s];
+            double capacity = station.servers() * 1000.0 / scenario.getMeanServiceTimeMillis();
+            saturation.add(new SaturationPoint(station.serviceId(), station.name(), station.servers(), capacity,
+                    st.saturatedAt, st.offeredAtSaturation, st.peakUtilization, st.maxQueue));
+        }
+        result.setSeed(scenario.getSeed());
+        result.setSimulatedSeconds((int) (reached / 1000));
+        result.setEvents(processed);
+        result.setSaturation(saturation);
+        return result;
+    }
+    
+    private void onArrival(Event event) {
+        int r = event.route;
+        FlowRoute route = routes.get(r);
+        Station st = state[route.station()];
+        result.setRequests(result.getRequests() + 1);
+        st.arrivals++;
+        scheduleArrival(r, event.time);
+        if (route.rateLimit() > 0 && !takeToken(r, route.rateLimit(), event.time)) {
+            result.setRateLimited(result.getRateLimited() + 1);
+            st.dropped++;
+            fail(st);
+            return;
+        }
+        schedule(event.time + exponential(scenario.getGatewayLatencyMillis()), AT_SERVICE, r, route.station(), event.time);
+    }
+    
+    private void onService(Event event) {
+        Station st = state[event.station];
+        if (st.servers == 0 || st.queue.size() >= scenario.getQueueCapacity()) {
+            result.setRejected(result.getRejected() + 1);
+            st.rejected++;
+            st.dropped++;
+            fail(st);
+            return;
+        }
+        if (st.busy < st.servers) {
+            advance(st, event.time);
+            st.busy++;
+            schedule(event.time + serviceTime(), DEPARTURE, event.route, event.station, event.arrivedAt);
+        } else {
+            st.queue.addLast(new Waiting(event.route, event.arrivedAt));
+            st.maxQueue = Math.max(st.maxQueue, st.queue.size());
+        }
+    }
+    
+    private void onDeparture(Event event) {
+        Station st = state[event.station];
+        double latency = event.time - event.arrivedAt;
+        long timeout = routes.get(event.route).timeoutMillis();
+        if (timeout > 0 && latency > timeout) {
+            // The gateway gave up at the timeout; the service still spent the time
+            result.setTimedOut(result.getTimedOut() + 1);
+            st.latencySum += timeout;
+            st.completions++;
+            fail(st);
+        } else {
+            st.latencySum += latency;
+            st.completions++;
+            result.setCompleted(result.getCompleted() + 1);
+            if (random.nextDouble() < scenario.getErrorProbability()) {
+                fail(st);
+            }
+        }
+        Waiting next = st.queue.pollFirst();
+        if (next != null) {
+            schedule(event.time + serviceTime(), DEPARTURE, next.route, event.station, next.arrivedAt);
+        } else {
+            advance(st, event.time);
+            st.busy--;
+        }
+    }
+    
+    private void onBucket(double time, double bucket, long startMillis, SampleVisitor series) {
+        int offsetSeconds = (int) Math.round((time - bucket) / 1000);
+        for (int s = 0; s < stations.size(); s++) {
+            FlowStation station = stations.get(s);
+            Station st = state[s];
+            advance(st, time);
+            double utilization = st.servers > 0 ? st.busyArea / (st.servers * bucket) : 0;
+            double offered = st.arrivals * 1000.0 / bucket;
+            st.peakUtilization = Math.max(st.peakUtilization, utilization);
+            if (st.saturatedAt == null && (utilization >= scenario.getSaturationUtilization() || st.rejected > 0)) {
+                st.saturatedAt = offsetSeconds;
+                st.offeredAtSaturation = offered;
+            }
+            long handled = st.completions + st.dropped;
+            series.visit(station.serviceId(), startMillis + (long) time,
+                    Math.round(utilization * 1000) / 10.0,
+                    Math.round(station.baseMemory() * (0.6 + 0.4 * utilization) * 10) / 10.0,
+                    (int) Math.min(Integer.MAX_VALUE, st.completions),
+                    st.completions > 0 ? Math.round(st.latencySum / st.completions * 10) / 10.0 : Double.NaN,
+                    handled > 0 ? Math.round((double) st.errors / handled * 10000) / 10000.0 : 0.0);
+            st.resetBucket();
+        }
+    }
+    
+    private void fail(Station st) {
+        st.errors++;
+        result.setErrors(result.getErrors() + 1);
+    }
+    
+    // Same bucket as the gateway's RateLimiter with its default one second of burst
+    private boolean takeToken(int r, int rateLimit, double now) {
+        tokens[r] = Math.min(burst(rateLimit), tokens[r] + (now - tokensUpdatedAt[r]) * rateLimit / MILLIS_PER_MINUTE);
+        tokensUpdatedAt[r] = now;
+        if (tokens[r] < 1) {
+            return false;
+        }
+        tokens[r] -= 1;
+        return true;
+    }
+    
+    private static double burst(int perMinute) {
+        return Math.max(1, Math.ceil(perMinute / 60.0));
+    }
+    
+    private void scheduleArrival(int r, double now) {
+        double rate = arrivalRate(routes.get(r), now);
+        if (rate > 0) {
+            schedule(now + exponential(1000.0 / rate), ARRIVAL, r, routes.get(r).station(), 0);
+        }
+    }
+    
+    // Requests per second for the route at simulated time {@code now}; rate limits are per minute
+    private double arrivalRate(FlowRoute route, double now) {
+        double base = (route.rateLimit() > 0 ? route.rateLimit() : FlowScenario.DEFAULT_ROUTE_RATE) / 60.0;
+        double from = scenario.getLoadFactor();
+        double to = scenario.getRampToFactor() != null ? scenario.getRampToFactor() : from;
+        double progress = now / (scenario.getDurationSeconds() * 1000.0);
+        return base * (from + (to - from) * progress);
+    }
+    
+    private double exponential(double mean) {
+        return -mean * Math.log(1 - random.nextDouble());
+    }
+    
+    private double serviceTime() {
+        double sigma = scenario.getServiceTimeSigma();
+        double mu = Math.log(scenario.getMeanServiceTimeMillis()) - sigma * sigma / 2;
+        return Math.exp(mu + sigma * random.nextGaussian());
+    }
+    
+    private static void advance(Station st, double now) {
+        st.busyArea += st.busy * (now - st.lastChange);
+        st.lastChange = now;
+    }
+    
+    private void schedule(double time, int type, int route, int station, double arrivedAt) {
+        events.add(new Event(time, sequence++, type, route, station, arrivedAt));
+    }
+    
+    private record Event(double time, long sequence, int type, int route, int station, double arrivedAt)
+            implements Comparable<Event> {
+        
+        @Override
+        public int compareTo(Event other) {
+            int byTime = Double.compare(time, other.time);
+            return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+        }
+    }
+    
+    private record Waiting(int route, double arrivedAt) {
+    }
+    
+    private static final class Station {
+        private final int servers;
+        private final ArrayDeque<Waiting> queue = new ArrayDeque<>();
+        private int busy;
+        private double lastChange;
+        private int maxQueue;
+        private double peakUtilization;
+        private Integer saturatedAt;
+        private Double offeredAtSaturation;
+        
+        // Per-bucket counters
+        private double busyArea;
+        private long arrivals;
+        private long completions;
+        private long errors;
+        private long rejected;
+        private long dropped;
+        private double latencySum;
+        
+        private Station(int servers) {
+            this.servers = servers;
+        }
+        
+        private void resetBucket() {
+            busyArea = 0;
+            arrivals = 0;
+            completions = 0;
+            errors = 0;
+            rejected = 0;
+            dropped = 0;
+            latencySum = 0;
+        }
+    }
+}
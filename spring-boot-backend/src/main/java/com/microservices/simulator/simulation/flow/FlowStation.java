@@ -0,0 +1,8 @@
+package com.microservices.simulator.simulation.flow;
+
+/**
+ * A target service modelled as a multi-server FIFO queue. A station with no
+ * servers (a service that is not running) rejects every request.
+ */
+public record FlowStation(long serviceId, String name, int servers, double baseMemory) {
+}
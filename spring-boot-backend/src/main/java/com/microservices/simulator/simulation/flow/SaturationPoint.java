@@ -0,0 +1,53 @@
+package com.microservices.simulator.simulation.flow;
+
+/**
+ * Where a station first saturated during a run: the first bucket whose utilisation
+ * reached the threshold or that had to reject requests. {@code saturatedAtSeconds}
+ * is null if the station never saturated.
+ */
+public class SaturationPoint {
+    private long serviceId;
+    private String serviceName;
+    private int servers;
+    private double capacityRps;
+    private Integer saturatedAtSeconds;
+    private Double offeredRpsAtSaturation;
+    private double peakUtilization;
+    private int maxQueueLength;
+    
+    public SaturationPoint(long serviceId, String serviceName, int servers, double capacityRps, Integer saturatedAtSeconds,
+                           Double offeredRpsAtSaturation, double peakUtilization, int maxQueueLength) {
+        this.serviceId = serviceId;
+        this.serviceName = serviceName;
+        this.servers = servers;
+        this.capacityRps = capacityRps;
+        this.saturatedAtSeconds = saturatedAtSeconds;
+        this.offeredRpsAtSaturation = offeredRpsAtSaturation;
+        this.peakUtilization = peakUtilization;
+        this.maxQueueLength = maxQueueLength;
+    }
+    
+    public long getServiceId() { return serviceId; }
+    public void setServiceId(long serviceId) { this.serviceId = serviceId; }
+    
+    public String getServiceName() { return serviceName; }
+    public void setServiceName(String serviceName) { this.serviceName = serviceName; }
+    
+    public int getServers() { return servers; }
+    public void setServers(int servers) { this.servers = servers; }
+    
+    public double getCapacityRps() { return capacityRps; }
+    public void setCapacityRps(double capacityRps) { this.capacityRps = capacityRps; }
+    
+    public Integer getSaturatedAtSeconds() { return saturatedAtSeconds; }
+    public void setSaturatedAtSeconds(Integer saturatedAtSeconds) { this.saturatedAtSeconds = saturatedAtSeconds; }
+    
+    public Double getOfferedRpsAtSaturation() { return offeredRpsAtSaturation; }
+    public void setOfferedRpsAtSaturation(Double offeredRpsAtSaturation) { this.offeredRpsAtSaturation = offeredRpsAtSaturation; }
+    
+    public double getPeakUtilization() { return peakUtilization; }
+    public void setPeakUtilization(double peakUtilization) { this.peakUtilization = peakUtilization; }
+    
+    public int getMaxQueueLength() { return maxQueueLength; }
+    public void setMaxQueueLength(int maxQueueLength) { this.maxQueueLength = maxQueueLength; }
+}
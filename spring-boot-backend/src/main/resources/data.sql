@@ -9,21 +9,21 @@ INSERT INTO services (name, type, status, port, cpu, memory, instances, version,
 ('Service Registry', 'infrastructure', 'running', 8761, 8.1, 512.0, 1, '1.0.0', '3.2.0', '17', 'eureka-server', 'production', 8762, '{"type":"eureka","self_preservation":false}', NOW(), NOW());
 
 -- Initialize metrics data
-INSERT INTO metrics (service_id, cpu, memory, request_count, response_time, error_rate, timestamp) VALUES
-(1, 15.5, 512.0, 1250, 145.2, 0.02, NOW()),
-(2, 25.3, 768.0, 890, 89.5, 0.01, NOW()),
-(3, 18.7, 1024.0, 1450, 112.8, 0.03, NOW()),
-(4, 12.4, 512.0, 456, 203.4, 0.01, NOW()),
-(5, 8.9, 256.0, 234, 67.3, 0.00, NOW()),
-(6, 5.2, 256.0, 45, 12.1, 0.00, NOW()),
-(7, 8.1, 512.0, 78, 34.7, 0.00, NOW());
+INSERT INTO metrics (id, service_id, cpu, memory, request_count, response_time, error_rate, timestamp) VALUES
+(nextval('metrics_seq'), 1, 15.5, 512.0, 1250, 145.2, 0.02, NOW()),
+(nextval('metrics_seq'), 2, 25.3, 768.0, 890, 89.5, 0.01, NOW()),
+(nextval('metrics_seq'), 3, 18.7, 1024.0, 1450, 112.8, 0.03, NOW()),
+(nextval('metrics_seq'), 4, 12.4, 512.0, 456, 203.4, 0.01, NOW()),
+(nextval('metrics_seq'), 5, 8.9, 256.0, 234, 67.3, 0.00, NOW()),
+(nextval('metrics_seq'), 6, 5.2, 256.0, 45, 12.1, 0.00, NOW()),
+(nextval('metrics_seq'), 7, 8.1, 512.0, 78, 34.7, 0.00, NOW());
 
 -- Initialize deployments
 INSERT INTO deployments (service_id, version, status, strategy, progress, created_at, completed_at) VALUES
-(1, '1.0.1', 'success', 'rolling', 100, NOW() - INTERVAL '2 hours', NOW() - INTERVAL '1 hour'),
-(2, '1.2.2', 'in-progress', 'blue-green', 75, NOW() - INTERVAL '30 minutes', NULL),
-(3, '1.1.6', 'failed', 'canary', 45, NOW() - INTERVAL '1 hour', NOW() - INTERVAL '45 minutes'),
-(4, '1.0.9', 'success', 'rolling', 100, NOW() - INTERVAL '3 hours', NOW() - INTERVAL '2 hours');
+(1, '1.0.1', 'success', 'rolling', 100, NOW() - INTERVAL '2' HOUR, NOW() - INTERVAL '1' HOUR),
+(2, '1.2.2', 'in-progress', 'blue-green', 75, NOW() - INTERVAL '30' MINUTE, NULL),
+(3, '1.1.6', 'failed', 'canary', 45, NOW() - INTERVAL '1' HOUR, NOW() - INTERVAL '45' MINUTE),
+(4, '1.0.9', 'success', 'rolling', 100, NOW() - INTERVAL '3' HOUR, NOW() - INTERVAL '2' HOUR);
 
 -- Initialize API routes
 INSERT INTO api_routes (path, method, gateway_id, target_service, is_active, rate_limit, timeout) VALUES
@@ -0,0 +1,34 @@
+-- Daily range-partitioned parents for the production schema (ddl-auto: validate), run by PartitionSchemaInitializer.
+-- Child partitions are created ahead of time and dropped past retention by PartitionManager.
+-- Partitioned tables need the partition key in their primary key.
+
+CREATE SEQUENCE IF NOT EXISTS metrics_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS metrics (
+    id BIGINT NOT NULL,
+    service_id BIGINT,
+    cpu DOUBLE PRECISION,
+    memory DOUBLE PRECISION,
+    request_count INTEGER,
+    response_time DOUBLE PRECISION,
+    error_rate DOUBLE PRECISION,
+    timestamp TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+CREATE INDEX IF NOT EXISTS idx_metrics_timestamp_id ON metrics (timestamp DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_metrics_service_timestamp ON metrics (service_id, timestamp);
+CREATE TABLE IF NOT EXISTS metrics_default PARTITION OF metrics DEFAULT;
+
+CREATE TABLE IF NOT EXISTS activities (
+    id BIGSERIAL,
+    type VARCHAR(255) NOT NULL,
+    message VARCHAR(255) NOT NULL,
+    service_id BIGINT,
+    severity VARCHAR(255),
+    created_at TIMESTAMP(6) NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE INDEX IF NOT EXISTS idx_activities_created_at_id ON activities (created_at DESC, id DESC);
+CREATE TABLE IF NOT EXISTS activities_default PARTITION OF activities DEFAULT;
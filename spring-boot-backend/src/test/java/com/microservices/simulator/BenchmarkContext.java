@@ -0,0 +1,37 @@
+package com.microservices.simulator;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application for JMH states that measure service beans end to end:
+ * no web server, a private in-memory H2 database, no seed data and no discovery
+ * or config-server clients. Extra properties override the defaults.
+ */
+public final class BenchmarkContext {
+    
+    private BenchmarkContext() {
+    }
+    
+    public static ConfigurableApplicationContext start(String database, String... properties) {
+        List<String> args = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                "spring.sql.init.mode=never",
+                "spring.jpa.show-sql=false",
+                "spring.cloud.config.enabled=false",
+                "eureka.client.enabled=false",
+                "logging.level.root=WARN",
+                "logging.level.org.hibernate.SQL=WARN",
+                "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                "spring.main.banner-mode=off"));
+        args.addAll(List.of(properties));
+        // Passed as command-line arguments so they win over application.properties
+        return new SpringApplicationBuilder(MicroservicesSimulatorApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.stream().map(arg -> "--" + arg).toArray(String[]::new));
+    }
+}
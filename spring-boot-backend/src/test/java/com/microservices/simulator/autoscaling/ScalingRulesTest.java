@@ -0,0 +1,68 @@
+package com.microservices.simulator.autoscaling;
+
+import com.microservices.simulator.entity.ScalingPolicy;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ScalingRulesTest {
+
+    @Test
+    void targetTrackingScalesProportionally() {
+        ScalingPolicy policy = targetTracking(50.0, 1, 20);
+
+        assertEquals(8, ScalingRules.desiredInstances(policy, 4, 100, 0.1));
+        assertEquals(2, ScalingRules.desiredInstances(policy, 4, 25, 0.1));
+    }
+
+    @Test
+    void targetTrackingHoldsWithinTolerance() {
+        ScalingPolicy policy = targetTracking(50.0, 1, 20);
+
+        assertEquals(4, ScalingRules.desiredInstances(policy, 4, 54, 0.1));
+        assertEquals(4, ScalingRules.desiredInstances(policy, 4, 46, 0.1));
+    }
+
+    @Test
+    void resultIsClampedToThePolicyBounds() {
+        ScalingPolicy policy = targetTracking(50.0, 2, 6);
+
+        assertEquals(6, ScalingRules.desiredInstances(policy, 4, 500, 0.1));
+        assertEquals(2, ScalingRules.desiredInstances(policy, 4, 1, 0.1));
+    }
+
+    @Test
+    void stepScalingMovesByTheStepSize() {
+        ScalingPolicy policy = new ScalingPolicy(1L, ScalingRules.STEP, "responseTime");
+        policy.setScaleOutThreshold(300.0);
+        policy.setScaleInThreshold(100.0);
+        policy.setStepSize(2);
+
+        assertEquals(5, ScalingRules.desiredInstances(policy, 3, 400, 0.1));
+        assertEquals(1, ScalingRules.desiredInstances(policy, 3, 50, 0.1));
+        assertEquals(3, ScalingRules.desiredInstances(policy, 3, 200, 0.1));
+    }
+
+    @Test
+    void rejectsInvalidPolicies() {
+        ScalingPolicy unknownMetric = targetTracking(50.0, 1, 10);
+        unknownMetric.setMetric("disk");
+        ScalingPolicy noTarget = targetTracking(null, 1, 10);
+        ScalingPolicy inverted = targetTracking(50.0, 10, 1);
+        ScalingPolicy noThresholds = new ScalingPolicy(1L, ScalingRules.STEP, "cpu");
+
+        assertThrows(IllegalArgumentException.class, () -> ScalingRules.validate(unknownMetric));
+        assertThrows(IllegalArgumentException.class, () -> ScalingRules.validate(noTarget));
+        assertThrows(IllegalArgumentException.class, () -> ScalingRules.validate(inverted));
+        assertThrows(IllegalArgumentException.class, () -> ScalingRules.validate(noThresholds));
+    }
+
+    private static ScalingPolicy targetTracking(Double target, int min, int max) {
+        ScalingPolicy policy = new ScalingPolicy(1L, ScalingRules.TARGET_TRACKING, "cpu");
+        policy.setTargetValue(target);
+        policy.setMinInstances(min);
+        policy.setMaxInstances(max);
+        return policy;
+    }
+}
@@ -0,0 +1,55 @@
+package com.microservices.simulator.autoscaling;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScalingWindowTest {
+
+    private static final long WIDTH = 10_000;
+
+    @Test
+    void averagesSamplesInsideTheWindow() {
+        ScalingWindow window = new ScalingWindow(WIDTH, 3);
+        window.add(0, 20, 100, 0.01);
+        window.add(15_000, 40, 300, Double.NaN);
+
+        ScalingWindow.WindowAverages averages = window.averages(25_000);
+
+        assertEquals(30, averages.cpu(), 1e-9);
+        assertEquals(200, averages.responseTime(), 1e-9);
+        assertEquals(0.01, averages.errorRate(), 1e-9);
+        assertEquals(30, averages.valueOf("cpu"), 1e-9);
+    }
+
+    @Test
+    void bucketsOlderThanTheWindowAreIgnored() {
+        ScalingWindow window = new ScalingWindow(WIDTH, 3);
+        window.add(0, 90, 900, 0.5);
+        window.add(30_000, 10, 100, 0.0);
+
+        assertEquals(10, window.averages(30_000).cpu(), 1e-9);
+        assertTrue(Double.isNaN(window.averages(70_000).cpu()));
+    }
+
+    @Test
+    void lateSamplesForAReusedSlotAreDropped() {
+        ScalingWindow window = new ScalingWindow(WIDTH, 3);
+        window.add(30_000, 10, 100, 0.0);
+        // Same slot as 30s, but an older epoch
+        window.add(0, 90, 900, 0.5);
+
+        assertEquals(10, window.averages(30_000).cpu(), 1e-9);
+    }
+
+    @Test
+    void idleOnceTheLastSampleLeavesTheWindow() {
+        ScalingWindow window = new ScalingWindow(WIDTH, 3);
+        window.add(5_000, 10, 100, 0.0);
+
+        assertFalse(window.isIdle(30_000));
+        assertTrue(window.isIdle(40_000));
+    }
+}
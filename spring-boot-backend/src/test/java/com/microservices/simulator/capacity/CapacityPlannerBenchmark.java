@@ -0,0 +1,78 @@
+package com.microservices.simulator.capacity;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to plan a 200-service topology with {@link CapacityPlanner} on pools of
+ * increasing size; comparing the {@code threads} rows gives the speedup over a
+ * single thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CapacityPlannerBenchmark {
+    
+    private static final int SERVICES = 200;
+    
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+    
+    @Param({"20000"})
+    public int scenarios;
+    
+    private List<ServiceModel> models;
+    private CapacityRequest request;
+    private ForkJoinPool pool;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(7);
+        models = new ArrayList<>(SERVICES);
+        for (int i = 0; i < SERVICES; i++) {
+            models.add(new ServiceModel(i, "service-" + i, 1 + random.nextInt(8), 50 + random.nextDouble(950),
+                    10 + random.nextDouble(90), 8));
+        }
+        request = new CapacityRequest();
+        request.setScenarios(scenarios);
+        request.setTrafficMultiplier(5);
+        pool = new ForkJoinPool(threads);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+    
+    @Benchmark
+    public CapacityPlan plan() {
+        return new CapacityPlanner(request, models, 1000).run(pool);
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CapacityPlannerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
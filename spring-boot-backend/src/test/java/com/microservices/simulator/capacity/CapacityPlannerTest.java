@@ -0,0 +1,107 @@
+package com.microservices.simulator.capacity;
+
+import com.microservices.simulator.config.CapacityConfig;
+import com.microservices.simulator.entity.ApiRoute;
+import com.microservices.simulator.entity.Service;
+import com.microservices.simulator.repository.ApiRouteRepository;
+import com.microservices.simulator.repository.ServiceRepository;
+import com.microservices.simulator.simulation.flow.FlowScenario;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CapacityPlannerTest {
+
+    private static final List<ServiceModel> MODELS = List.of(
+            new ServiceModel(1, "user-service", 2, 400, 50, 8),
+            new ServiceModel(2, "order-service", 2, 300, 80, 8));
+
+    @Test
+    void erlangCMatchesTheClosedForm() {
+        // Two servers at one erlang: C = 1/3
+        assertEquals(1.0 / 3, Queueing.erlangC(2, 1.0), 1e-12);
+        assertEquals(1.0, Queueing.erlangC(4, 4.0), 1e-12);
+    }
+
+    @Test
+    void resultDoesNotDependOnParallelism() {
+        CapacityPlan sequential = plan(1.0, 1);
+        CapacityPlan parallel = plan(1.0, 4);
+
+        for (int i = 0; i < MODELS.size(); i++) {
+            ServiceCapacity a = sequential.getServices().get(i);
+            ServiceCapacity b = parallel.getServices().get(i);
+            assertEquals(a.getUtilizationP95(), b.getUtilizationP95());
+            assertEquals(a.getP99LatencyP95(), b.getP99LatencyP95());
+            assertEquals(a.getRecommendedInstances(), b.getRecommendedInstances());
+        }
+    }
+
+    @Test
+    void fiveTimesTheTrafficNeedsMoreInstances() {
+        ServiceCapacity now = plan(1.0, 2).getServices().get(1);
+        ServiceCapacity later = plan(5.0, 2).getServices().get(1);
+
+        // 300 req/s at 80ms is 24 erlangs on 16 servers: already saturated
+        assertTrue(now.getSaturationProbability() > 0.9);
+        assertNull(now.getP99LatencyP50());
+        // At a 0.7 utilization target that is at least 24 / (8 * 0.7) = 5 instances, 5x traffic at least 22
+        assertTrue(now.getRecommendedInstances() >= 5);
+        assertTrue(later.getRecommendedInstances() >= 22);
+        assertTrue(later.getRecommendedInstances() < 40);
+    }
+
+    @Test
+    void routeRateLimitsArePerMinute() {
+        Service service = new Service();
+        service.setId(1L);
+        service.setName("user-service");
+        service.setInstances(2);
+        ApiRoute limited = new ApiRoute("/api/users/**", "GET", "user-service");
+        limited.setIsActive(true);
+        limited.setRateLimit(1200);
+        ApiRoute unlimited = new ApiRoute("/api/users/search", "GET", "user-service");
+        unlimited.setIsActive(true);
+        ServiceRepository serviceRepository = mock(ServiceRepository.class);
+        when(serviceRepository.findAll()).thenReturn(List.of(service));
+        ApiRouteRepository apiRouteRepository = mock(ApiRouteRepository.class);
+        when(apiRouteRepository.findByIsActive(true)).thenReturn(List.of(limited, unlimited));
+
+        CapacityConfig config = new CapacityConfig();
+        config.setParallelism(1);
+        CapacityPlanningService planningService = new CapacityPlanningService();
+        ReflectionTestUtils.setField(planningService, "config", config);
+        ReflectionTestUtils.setField(planningService, "serviceRepository", serviceRepository);
+        ReflectionTestUtils.setField(planningService, "apiRouteRepository", apiRouteRepository);
+        planningService.init();
+        CapacityRequest request = new CapacityRequest();
+        request.setScenarios(10);
+        try {
+            // (1200 + 600 default) per minute is 30 req/s, at the default 0.5 load factor
+            double arrivalRate = planningService.plan(request).getServices().get(0).getArrivalRate();
+            assertEquals((1200 + FlowScenario.DEFAULT_ROUTE_RATE) / 60.0 * 0.5, arrivalRate, 1e-9);
+        } finally {
+            planningService.shutdown();
+        }
+    }
+
+    private CapacityPlan plan(double multiplier, int parallelism) {
+        CapacityRequest request = new CapacityRequest();
+        request.setTrafficMultiplier(multiplier);
+        request.setScenarios(500);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return new CapacityPlanner(request, MODELS, 1000).run(pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
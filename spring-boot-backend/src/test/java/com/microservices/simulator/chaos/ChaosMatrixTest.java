@@ -0,0 +1,55 @@
+package com.microservices.simulator.chaos;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChaosMatrixTest {
+
+    private final SplittableRandom random = new SplittableRandom(1);
+    private final ChaosEffects effects = new ChaosEffects();
+
+    @Test
+    void matchesTargetedAndGlobalRules() {
+        ChaosMatrix matrix = new ChaosMatrix.Builder()
+                .add(1, 20L, ChaosMatrix.LATENCY, 300, 1, 0, 0, 0, "a")
+                .add(2, null, ChaosMatrix.ERRORS, 0.5, 1, 0, 0, 0, "b")
+                .add(3, 10L, ChaosMatrix.CRASH, 0.5, 1, 0, 0, 0, "c")
+                .add(4, 20L, ChaosMatrix.ERRORS, 0.5, 1, 0, 0, 0, "d")
+                .build();
+
+        matrix.apply(20, 1000, random, effects);
+        assertEquals(300, effects.extraLatency());
+        assertEquals(0.75, effects.errorRate(), 1e-9);
+        assertEquals(0, effects.crashedFraction());
+
+        matrix.apply(10, 1000, random, effects);
+        assertEquals(0, effects.extraLatency());
+        assertEquals(0.5, effects.crashedFraction());
+
+        matrix.apply(15, 1000, random, effects);
+        assertEquals(0.5, effects.errorRate(), 1e-9);
+    }
+
+    @Test
+    void repeatingWindowsSwitchOnAndOff() {
+        // Starts at t=10s, on for 5s out of every 60s
+        ChaosMatrix matrix = new ChaosMatrix.Builder()
+                .add(1, 7L, ChaosMatrix.PARTITION, 0.3, 1, 10_000, 5_000, 60_000, "p")
+                .build();
+
+        assertFalse(matrix.isActive(0, 9_999));
+        assertTrue(matrix.isActive(0, 10_000));
+        assertFalse(matrix.isActive(0, 15_000));
+        assertTrue(matrix.isActive(0, 72_000));
+
+        matrix.apply(7, 5_000, random, effects);
+        assertFalse(effects.any());
+        matrix.apply(7, 12_000, random, effects);
+        assertEquals(0.3, effects.droppedFraction(), 1e-9);
+    }
+}
@@ -0,0 +1,144 @@
+package com.microservices.simulator.deployment;
+
+import com.microservices.simulator.config.DeploymentEngineConfig;
+import com.microservices.simulator.entity.Activity;
+import com.microservices.simulator.entity.Deployment;
+import com.microservices.simulator.metrics.SampleVisitor;
+import com.microservices.simulator.realtime.DeltaPublisher;
+import com.microservices.simulator.repository.DeploymentRepository;
+import com.microservices.simulator.repository.ServiceRepository;
+import com.microservices.simulator.service.ActivityService;
+import com.microservices.simulator.service.MetricService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DeploymentEngineTest {
+
+    @Mock
+    private DeploymentRepository deploymentRepository;
+
+    @Mock
+    private ServiceRepository serviceRepository;
+
+    @Mock
+    private MetricService metricService;
+
+    @Mock
+    private ActivityService activityService;
+
+    @Mock
+    private DeltaPublisher deltaPublisher;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Spy
+    private DeploymentEngineConfig config = new DeploymentEngineConfig();
+
+    @InjectMocks
+    private DeploymentEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        config.setCanaryStepHold(Duration.ZERO);
+    }
+
+    @Test
+    void canaryTakesItsFirstWeightOnTheFirstTick() {
+        Deployment canary = deployment("pending", null, "canary");
+        when(deploymentRepository.findByStatusIn(any())).thenReturn(List.of(canary));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), any(int[].class))).thenReturn(new int[] {1});
+
+        engine.tick();
+
+        assertEquals("in-progress", canary.getStatus());
+        assertEquals(5, canary.getProgress());
+    }
+
+    @Test
+    void failedCanaryRollsTrafficBackToZero() {
+        Deployment canary = deployment("in-progress", 25, "canary");
+        when(deploymentRepository.findByStatusIn(any())).thenReturn(List.of(canary));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), any(int[].class))).thenReturn(new int[] {1});
+        doAnswer(invocation -> {
+            SampleVisitor visitor = invocation.getArgument(2);
+            visitor.visit(1L, 0, 50, 512, 100, 80, 0.5);
+            return null;
+        }).when(metricService).scanServiceSince(eq(1L), any(), any());
+
+        engine.tick();
+
+        assertEquals("failed", canary.getStatus());
+        assertEquals(0, canary.getProgress());
+        ArgumentCaptor<Activity> activity = ArgumentCaptor.forClass(Activity.class);
+        verify(activityService).createActivity(activity.capture());
+        assertTrue(activity.getValue().getMessage().contains("rolled back from 25%"), activity.getValue().getMessage());
+    }
+
+    @Test
+    void failedBlueGreenLeavesTrafficOnBlue() {
+        Deployment blueGreen = deployment("in-progress", 90, "blue-green");
+        when(deploymentRepository.findByStatusIn(any())).thenReturn(List.of(blueGreen));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), any(int[].class))).thenReturn(new int[] {1});
+        doAnswer(invocation -> {
+            SampleVisitor visitor = invocation.getArgument(2);
+            visitor.visit(1L, 0, 50, 512, 100, 5000, 0);
+            return null;
+        }).when(metricService).scanServiceSince(eq(1L), any(), any());
+
+        engine.tick();
+
+        assertEquals("failed", blueGreen.getStatus());
+        assertEquals(0, blueGreen.getProgress());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void updateOnlyAppliesWhenStatusAndProgressAreUnchanged() {
+        Deployment rolling = deployment("in-progress", 40, "rolling");
+        when(deploymentRepository.findByStatusIn(any())).thenReturn(List.of(rolling));
+        // Someone edited the row through the API after it was read
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), any(int[].class))).thenReturn(new int[] {0});
+
+        engine.tick();
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(sql.capture(), batch.capture(), any(int[].class));
+        assertTrue(sql.getValue().contains("progress IS NOT DISTINCT FROM ?"), sql.getValue());
+        assertArrayEquals(new Object[] {"success", 100, batch.getValue().get(0)[2], 7L, "in-progress", 40}, batch.getValue().get(0));
+        verify(deltaPublisher, never()).deploymentChanged(any());
+        verify(activityService, never()).createActivity(any());
+    }
+
+    private static Deployment deployment(String status, Integer progress, String strategy) {
+        Deployment deployment = new Deployment("2.0.0", status, 1L);
+        deployment.setId(7L);
+        deployment.setProgress(progress);
+        deployment.setStrategy(strategy);
+        return deployment;
+    }
+}
@@ -0,0 +1,86 @@
+package com.microservices.simulator.gateway;
+
+import com.microservices.simulator.config.ResilienceConfig;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+
+    private static final long SECOND = 1_000_000_000L;
+    private static final long FAST = 10_000_000L;
+
+    private static CircuitBreaker breaker() {
+        ResilienceConfig config = new ResilienceConfig();
+        config.setMinimumCalls(10);
+        config.setFailureRateThreshold(0.5);
+        config.setSlowCallDuration(Duration.ofSeconds(1));
+        config.setSlowCallRateThreshold(0.8);
+        config.setOpenDuration(Duration.ofSeconds(30));
+        config.setHalfOpenCalls(2);
+        return new CircuitBreaker(config);
+    }
+
+    @Test
+    void opensOnceEnoughCallsFail() {
+        CircuitBreaker breaker = breaker();
+        for (int i = 0; i < 5; i++) {
+            assertNull(breaker.onResult(i, FAST, false));
+        }
+        for (int i = 0; i < 4; i++) {
+            assertNull(breaker.onResult(i, FAST, true));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.onResult(10, FAST, true));
+        assertFalse(breaker.tryAcquire(SECOND));
+    }
+
+    @Test
+    void opensOnSlowCallsAlone() {
+        CircuitBreaker breaker = breaker();
+        CircuitBreaker.State last = null;
+        for (int i = 0; i < 10 && last == null; i++) {
+            last = breaker.onResult(i, 2 * SECOND, false);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, last);
+    }
+
+    @Test
+    void outcomesOutsideTheWindowAreForgotten() {
+        CircuitBreaker breaker = breaker();
+        for (int i = 0; i < 9; i++) {
+            breaker.onResult(0, FAST, true);
+        }
+        // The default window is ten seconds; by now those failures have aged out
+        assertNull(breaker.onResult(20 * SECOND, FAST, true));
+        assertEquals(1, breaker.getWindow(20 * SECOND)[0]);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void halfOpenTrialsCloseOrReopen() {
+        CircuitBreaker breaker = breaker();
+        for (int i = 0; i < 10; i++) {
+            breaker.onResult(0, FAST, true);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        long later = 31 * SECOND;
+        assertTrue(breaker.tryAcquire(later));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquire(later));
+        assertFalse(breaker.tryAcquire(later));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.onResult(later, FAST, true));
+
+        long again = later + 31 * SECOND;
+        assertTrue(breaker.tryAcquire(again));
+        assertTrue(breaker.tryAcquire(again));
+        assertNull(breaker.onResult(again, FAST, false));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.onResult(again, FAST, false));
+        assertTrue(breaker.tryAcquire(again));
+    }
+}
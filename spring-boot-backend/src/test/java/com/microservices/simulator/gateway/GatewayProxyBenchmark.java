@@ -0,0 +1,126 @@
+package com.microservices.simulator.gateway;
+
+import com.microservices.simulator.chaos.ChaosService;
+import com.microservices.simulator.config.ChaosConfig;
+import com.microservices.simulator.config.GatewayConfig;
+import com.microservices.simulator.config.ResilienceConfig;
+import com.microservices.simulator.entity.ApiRoute;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What {@link GatewayProxy} adds on top of a direct call: both benchmarks hit
+ * the same local stub upstream, and sampling reports the latency percentiles of
+ * each side by side. The servlet container is left out, so the difference is
+ * the proxy's own work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+public class GatewayProxyBenchmark {
+    
+    private static final byte[] PAYLOAD = new byte[512];
+    
+    private HttpServer server;
+    private ExecutorService workers;
+    private HttpClient client;
+    private HttpRequest direct;
+    private GatewayProxy proxy;
+    private GatewayRoute route;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // Nodelay is set on the fork; without it Nagle's algorithm on the stub adds ~40 ms to every response
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.sendResponseHeaders(200, PAYLOAD.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(PAYLOAD);
+            }
+        });
+        workers = Executors.newFixedThreadPool(4);
+        server.setExecutor(workers);
+        server.start();
+        
+        String upstream = "http://127.0.0.1:" + server.getAddress().getPort();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        direct = HttpRequest.newBuilder(URI.create(upstream + "/api/users/1")).build();
+        proxy = new GatewayProxy();
+        ReflectionTestUtils.setField(proxy, "gatewayConfig", new GatewayConfig());
+        Resilience resilience = new Resilience();
+        ReflectionTestUtils.setField(resilience, "config", new ResilienceConfig());
+        ReflectionTestUtils.setField(proxy, "resilience", resilience);
+        ResponseCache responseCache = new ResponseCache();
+        ReflectionTestUtils.setField(responseCache, "gatewayConfig", new GatewayConfig());
+        ReflectionTestUtils.setField(responseCache, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(proxy, "responseCache", responseCache);
+        ChaosService chaosService = new ChaosService();
+        ReflectionTestUtils.setField(chaosService, "config", new ChaosConfig());
+        ReflectionTestUtils.setField(proxy, "chaosService", chaosService);
+        proxy.init();
+        ApiRoute users = new ApiRoute("/api/users/**", "GET", "user-service");
+        users.setId(1L);
+        route = new GatewayRoute(users, null, upstream, Duration.ofSeconds(5));
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.stop(0);
+        workers.shutdown();
+    }
+    
+    @Benchmark
+    public byte[] directCall() throws IOException, InterruptedException {
+        return client.send(direct, HttpResponse.BodyHandlers.ofByteArray()).body();
+    }
+    
+    @Benchmark
+    public byte[] proxiedCall() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/gateway/api/users/1");
+        request.setAttribute(RateLimitFilter.ROUTE_ATTRIBUTE, route);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        proxy.forward(request, response);
+        if (response.getStatus() != 200) {
+            throw new IllegalStateException("Proxy answered " + response.getStatus());
+        }
+        return response.getContentAsByteArray();
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(GatewayProxyBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,245 @@
+package com.microservices.simulator.gateway;
+
+import com.microservices.simulator.chaos.ChaosMatrix;
+import com.microservices.simulator.chaos.ChaosService;
+import com.microservices.simulator.config.ChaosConfig;
+import com.microservices.simulator.config.GatewayConfig;
+import com.microservices.simulator.config.ResilienceConfig;
+import com.microservices.simulator.entity.ApiRoute;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GatewayProxyTest {
+
+    private HttpServer server;
+    private GatewayProxy proxy;
+    private ChaosService chaosService;
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            byte[] reply = (exchange.getRequestMethod() + " " + exchange.getRequestURI() + " " + body
+                    + " " + exchange.getRequestHeaders().getFirst("X-Forwarded-Prefix")).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("X-Upstream", "stub");
+            exchange.sendResponseHeaders(201, reply.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(reply);
+            }
+        });
+        server.createContext("/cached", exchange -> {
+            upstreamCalls.incrementAndGet();
+            sleep(200);
+            byte[] reply = "cached".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, reply.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(reply);
+            }
+        });
+        server.createContext("/trickle", exchange -> {
+            exchange.sendResponseHeaders(200, 1000);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(new byte[10]);
+                out.flush();
+                sleep(2000);
+            } catch (IOException e) {
+                // The proxy gave up on the body
+            }
+        });
+        server.createContext("/slow", exchange -> {
+            sleep(1000);
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        proxy = new GatewayProxy();
+        ReflectionTestUtils.setField(proxy, "gatewayConfig", new GatewayConfig());
+        Resilience resilience = new Resilience();
+        ReflectionTestUtils.setField(resilience, "config", new ResilienceConfig());
+        ReflectionTestUtils.setField(proxy, "resilience", resilience);
+        ResponseCache responseCache = new ResponseCache();
+        ReflectionTestUtils.setField(responseCache, "gatewayConfig", new GatewayConfig());
+        ReflectionTestUtils.setField(responseCache, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(proxy, "responseCache", responseCache);
+        chaosService = new ChaosService();
+        ReflectionTestUtils.setField(chaosService, "config", new ChaosConfig());
+        ReflectionTestUtils.setField(proxy, "chaosService", chaosService);
+        proxy.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void forwardsMethodPathQueryBodyAndHeaders() throws IOException {
+        MockHttpServletRequest request = request("POST", "/api/users/7", route(upstream(), Duration.ofSeconds(5)));
+        request.setQueryString("expand=true");
+        request.setContent("hello".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        proxy.forward(request, response);
+
+        assertEquals(201, response.getStatus());
+        assertEquals("stub", response.getHeader("X-Upstream"));
+        assertEquals("POST /api/users/7?expand=true hello /gateway", response.getContentAsString());
+    }
+
+    @Test
+    void slowUpstreamIsCutOffAtTheRouteTimeout() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        proxy.forward(request("GET", "/slow", route(upstream(), Duration.ofMillis(100))), response);
+
+        assertEquals(504, response.getStatus());
+    }
+
+    @Test
+    void tricklingBodyIsCutOffAtTheRouteTimeout() {
+        long started = System.nanoTime();
+
+        assertThrows(IOException.class, () -> proxy.forward(request("GET", "/trickle",
+                route(upstream(), Duration.ofMillis(300))), new MockHttpServletResponse()));
+        assertTrue(System.nanoTime() - started < 1_500_000_000L);
+    }
+
+    @Test
+    void oversizedBodyIsRefused() throws IOException {
+        GatewayConfig config = new GatewayConfig();
+        config.setMaxRequestBodyBytes(16);
+        ReflectionTestUtils.setField(proxy, "gatewayConfig", config);
+        MockHttpServletRequest request = request("POST", "/api/users", route(upstream(), Duration.ofSeconds(5)));
+        request.setContent(new byte[17]);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        proxy.forward(request, response);
+
+        assertEquals(413, response.getStatus());
+    }
+
+    @Test
+    void routeWithoutUpstreamIsBadGateway() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        proxy.forward(request("GET", "/api/users", route(null, Duration.ofSeconds(1))), response);
+
+        assertEquals(502, response.getStatus());
+    }
+
+    @Test
+    void concurrentMissesShareOneUpstreamCall() throws Exception {
+        ApiRoute cachedRoute = new ApiRoute("/cached", "GET", "stub-service");
+        cachedRoute.setId(42L);
+        cachedRoute.setCacheTtlSeconds(60);
+        GatewayRoute route = new GatewayRoute(cachedRoute, null, upstream(), Duration.ofSeconds(5));
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                responses.add(clients.submit(() -> {
+                    MockHttpServletResponse response = new MockHttpServletResponse();
+                    proxy.forward(request("GET", "/cached", route), response);
+                    return response;
+                }));
+            }
+            for (Future<MockHttpServletResponse> response : responses) {
+                assertEquals(200, response.get().getStatus());
+                assertEquals("cached", response.get().getContentAsString());
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+        assertEquals(1, upstreamCalls.get());
+
+        MockHttpServletResponse later = new MockHttpServletResponse();
+        proxy.forward(request("GET", "/cached", route), later);
+        assertEquals("HIT", later.getHeader("X-Cache"));
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void routeChaosIsAppliedInsteadOfCallingUpstream() throws IOException {
+        ApiRoute faulty = new ApiRoute("/cached", "GET", "stub-service");
+        faulty.setId(7L);
+        ReflectionTestUtils.setField(chaosService, "routeMatrix", new ChaosMatrix.Builder()
+                .add(1L, 7L, ChaosMatrix.ERRORS, 1.0, 1.0, 0, 0, 0, "errors").build());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        proxy.forward(request("GET", "/cached", new GatewayRoute(faulty, null, upstream(), Duration.ofSeconds(5))), response);
+
+        assertEquals(500, response.getStatus());
+        assertEquals(0, upstreamCalls.get());
+    }
+
+    @Test
+    void requestsWithCookiesBypassTheCache() throws IOException {
+        ApiRoute cachedRoute = new ApiRoute("/cached", "GET", "stub-service");
+        cachedRoute.setId(43L);
+        cachedRoute.setCacheTtlSeconds(60);
+        GatewayRoute route = new GatewayRoute(cachedRoute, null, upstream(), Duration.ofSeconds(5));
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletRequest request = request("GET", "/cached", route);
+            request.addHeader("Cookie", "session=" + i);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            proxy.forward(request, response);
+
+            assertEquals(200, response.getStatus());
+            assertNull(response.getHeader("X-Cache"));
+        }
+        assertEquals(2, upstreamCalls.get());
+    }
+
+        private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String upstream() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private static GatewayRoute route(String upstream, Duration timeout) {
+        // Routes reach the proxy from the database, so they always have an id
+        ApiRoute route = new ApiRoute("/**", "ANY", "stub-service");
+        route.setId(1L);
+        return new GatewayRoute(route, null, upstream, timeout);
+    }
+
+    private static MockHttpServletRequest request(String method, String path, GatewayRoute route) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/gateway" + path);
+        request.setAttribute(RateLimitFilter.ROUTE_ATTRIBUTE, route);
+        return request;
+    }
+}
@@ -0,0 +1,59 @@
+package com.microservices.simulator.gateway;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GcraBucketTest {
+    
+    private static final long INTERVAL = 1_000_000L;
+    
+    @Test
+    void admitsBurstThenRejectsWithRetryHint() {
+        GcraBucket bucket = new GcraBucket();
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire(0, INTERVAL, 5));
+        }
+        assertEquals(INTERVAL, bucket.tryAcquire(0, INTERVAL, 5));
+        assertEquals(INTERVAL / 2, bucket.tryAcquire(INTERVAL / 2, INTERVAL, 5));
+        assertEquals(0, bucket.tryAcquire(INTERVAL, INTERVAL, 5));
+    }
+    
+    @Test
+    void refillsAtTheConfiguredRate() {
+        GcraBucket bucket = new GcraBucket();
+        long now = 10 * INTERVAL;
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryAcquire(now, INTERVAL, 3));
+        }
+        assertFalse(bucket.isIdle(now));
+        assertTrue(bucket.isIdle(now + 3 * INTERVAL));
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryAcquire(now + 3 * INTERVAL, INTERVAL, 3));
+        }
+        assertTrue(bucket.tryAcquire(now + 3 * INTERVAL, INTERVAL, 3) > 0);
+    }
+    
+    @Test
+    void concurrentCallersNeverExceedTheBurst() throws InterruptedException {
+        GcraBucket bucket = new GcraBucket();
+        AtomicInteger admitted = new AtomicInteger();
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    if (bucket.tryAcquire(0, INTERVAL, 100) == 0) {
+                        admitted.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(100, admitted.get());
+    }
+}
@@ -0,0 +1,73 @@
+package com.microservices.simulator.gateway;
+
+import com.microservices.simulator.config.GatewayConfig;
+import com.microservices.simulator.entity.ApiRoute;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+    
+    private RateLimiter limiter;
+    private GatewayConfig config;
+    private ApiRoute route;
+    
+    @BeforeEach
+    void setUp() {
+        config = new GatewayConfig();
+        // 600 per minute with a one-second burst admits ten requests at once
+        config.setBurstSeconds(1.0);
+        limiter = new RateLimiter();
+        ReflectionTestUtils.setField(limiter, "gatewayConfig", config);
+        ReflectionTestUtils.setField(limiter, "meterRegistry", new SimpleMeterRegistry());
+        route = new ApiRoute("/api/users/**", "GET", "user-service");
+        route.setId(1L);
+        route.setRateLimit(600);
+    }
+    
+    @Test
+    void rateLimitIsPerMinute() {
+        assertEquals(10, admitted(null, 100));
+    }
+    
+    @Test
+    void rotatingClientKeysDoesNotSkipTheRouteLimit() {
+        int admitted = 0;
+        for (int i = 0; i < 100; i++) {
+            admitted += limiter.tryAcquire(route, "client-" + i) == 0 ? 1 : 0;
+        }
+        assertEquals(10, admitted);
+    }
+    
+    @Test
+    void oneClientGetsOnlyItsShare() {
+        config.setClientRateShare(0.5);
+        assertEquals(5, admitted("greedy", 100));
+        assertEquals(5, admitted("other", 100));
+    }
+    
+    @Test
+    void clientsBeyondTheCapAreHeldToTheRouteLimit() {
+        config.setMaxClientsPerRoute(2);
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire(route, "client-" + i);
+        }
+        @SuppressWarnings("unchecked")
+        Map<Long, ?> routes = (Map<Long, ?>) ReflectionTestUtils.getField(limiter, "routes");
+        Map<?, ?> clients = (Map<?, ?>) ReflectionTestUtils.getField(routes.get(1L), "clients");
+        assertEquals(2, clients.size());
+    }
+    
+    private int admitted(String clientKey, int attempts) {
+        int admitted = 0;
+        for (int i = 0; i < attempts; i++) {
+            admitted += limiter.tryAcquire(route, clientKey) == 0 ? 1 : 0;
+        }
+        return admitted;
+    }
+}
@@ -0,0 +1,94 @@
+package com.microservices.simulator.gateway;
+
+import com.microservices.simulator.config.ResilienceConfig;
+import com.microservices.simulator.entity.ApiRoute;
+import com.microservices.simulator.service.ActivityService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class ResilienceTest {
+
+    private Resilience resilience;
+
+    @BeforeEach
+    void setUp() {
+        resilience = new Resilience();
+        ReflectionTestUtils.setField(resilience, "config", new ResilienceConfig());
+        ReflectionTestUtils.setField(resilience, "activityService", mock(ActivityService.class));
+    }
+
+    private static ApiRoute route(long id, String path, String target) {
+        ApiRoute route = new ApiRoute(path, "GET", target);
+        route.setId(id);
+        route.setIsActive(true);
+        return route;
+    }
+
+    private static GatewayRoute gatewayRoute(ApiRoute route) {
+        return new GatewayRoute(route, 1L, "http://localhost:8080", Duration.ofSeconds(30));
+    }
+
+    @SuppressWarnings("unchecked")
+    private int circuits() {
+        return ((List<Map<String, Object>>) resilience.snapshot().get("circuitBreakers")).size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private int bulkheads() {
+        return ((List<Map<String, Object>>) resilience.snapshot().get("bulkheads")).size();
+    }
+
+    @Test
+    void keepsBreakersOfUnchangedRoutesAndDropsTheRest() {
+        ApiRoute users = route(1, "/api/users/**", "user-service");
+        ApiRoute orders = route(2, "/api/orders/**", "order-service");
+        ApiRoute payments = route(3, "/api/payments/**", "payment-service");
+        CircuitBreaker usersBreaker = resilience.breaker(gatewayRoute(users));
+        CircuitBreaker ordersBreaker = resilience.breaker(gatewayRoute(orders));
+        resilience.breaker(gatewayRoute(payments));
+        assertEquals(3, circuits());
+
+        // Reloaded from the database: users unchanged, orders re-pointed, payments deleted
+        ApiRoute reloadedUsers = route(1, "/api/users/**", "user-service");
+        ApiRoute movedOrders = route(2, "/api/orders/**", "order-service-v2");
+        resilience.retain(List.of(reloadedUsers, movedOrders));
+
+        assertEquals(1, circuits());
+        assertSame(usersBreaker, resilience.breaker(gatewayRoute(reloadedUsers)));
+        assertNotSame(ordersBreaker, resilience.breaker(gatewayRoute(movedOrders)));
+        assertEquals(2, circuits());
+
+        resilience.retain(List.of());
+        assertEquals(0, circuits());
+    }
+
+    @Test
+    void dropsIdleBulkheadsOfServicesNoRouteTargets() {
+        ApiRoute users = route(1, "/api/users/**", "user-service");
+        ApiRoute orders = route(2, "/api/orders/**", "order-service");
+        Bulkhead usersBulkhead = resilience.bulkhead(gatewayRoute(users));
+        Bulkhead ordersBulkhead = resilience.bulkhead(gatewayRoute(orders));
+        assertEquals(2, bulkheads());
+
+        // A call still in flight keeps its bulkhead until it has finished
+        assertTrue(ordersBulkhead.tryAcquire());
+        resilience.retain(List.of(users));
+        assertEquals(2, bulkheads());
+
+        ordersBulkhead.release();
+        resilience.retain(List.of(users));
+        assertEquals(1, bulkheads());
+        assertSame(usersBulkhead, resilience.bulkhead(gatewayRoute(users)));
+    }
+}
@@ -0,0 +1,114 @@
+package com.microservices.simulator.gateway;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link RouteTrie} lookups with the exact-match query behind
+ * {@code ApiRouteRepository.findByMethodAndPath}, issued over plain JDBC
+ * against in-memory H2 so the comparison leaves out Hibernate's own cost.
+ * Not a unit test; run it with
+ * {@code java -cp target/test-classes:<test classpath> com.microservices.simulator.gateway.RouteResolutionBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteResolutionBenchmark {
+    
+    private static final int SERVICES = 50;
+    private static final int ROUTES_PER_SERVICE = 10;
+    private static final String[] METHODS = {"GET", "POST", "PUT", "DELETE"};
+    
+    private RouteTrie<Long> trie;
+    private Connection connection;
+    private PreparedStatement query;
+    private String[] paths;
+    private String[] methods;
+    private int next;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:routes;DB_CLOSE_DELAY=-1");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE api_routes (id BIGINT PRIMARY KEY, path VARCHAR(255) NOT NULL, method VARCHAR(16) NOT NULL)");
+            ddl.execute("CREATE INDEX idx_api_routes_method_path ON api_routes (method, path)");
+        }
+        RouteTrie.Builder<Long> builder = new RouteTrie.Builder<>();
+        paths = new String[SERVICES * ROUTES_PER_SERVICE];
+        methods = new String[paths.length];
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO api_routes (id, path, method) VALUES (?, ?, ?)")) {
+            long id = 1;
+            for (int service = 0; service < SERVICES; service++) {
+                for (int route = 0; route < ROUTES_PER_SERVICE; route++) {
+                    String path = "/api/service-" + service + "/resource-" + route + "/items";
+                    String method = METHODS[route % METHODS.length];
+                    insert.setLong(1, id);
+                    insert.setString(2, path);
+                    insert.setString(3, method);
+                    insert.addBatch();
+                    builder.add(method, path, id);
+                    int slot = (int) id - 1;
+                    paths[slot] = path;
+                    methods[slot] = method;
+                    id++;
+                }
+            }
+            insert.executeBatch();
+        }
+        trie = builder.build();
+        query = connection.prepareStatement("SELECT id, path, method FROM api_routes WHERE method = ? AND path = ?");
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        query.close();
+        connection.close();
+    }
+    
+    @Benchmark
+    public Long trie() {
+        int i = next++ % paths.length;
+        return trie.resolve(methods[i], paths[i]);
+    }
+    
+    @Benchmark
+    public void repositoryQuery(Blackhole blackhole) throws SQLException {
+        int i = next++ % paths.length;
+        query.setString(1, methods[i]);
+        query.setString(2, paths[i]);
+        try (ResultSet rows = query.executeQuery()) {
+            while (rows.next()) {
+                blackhole.consume(rows.getLong(1));
+            }
+        }
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RouteResolutionBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,48 @@
+package com.microservices.simulator.gateway;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteTrieTest {
+    
+    private static RouteTrie<String> trie() {
+        RouteTrie.Builder<String> builder = new RouteTrie.Builder<>();
+        builder.add("GET", "/api/users", "list");
+        builder.add("GET", "/api/users/me", "me");
+        builder.add("GET", "/api/users/{id}", "user");
+        builder.add("DELETE", "/api/users/*", "delete");
+        builder.add("ANY", "/api/files/**", "files");
+        builder.add("GET", "/api/files/readme", "readme");
+        assertFalse(builder.add("GET", "/api/**/broken", "broken"));
+        assertEquals(1, builder.getRejected().size());
+        return builder.build();
+    }
+    
+    @Test
+    void literalSegmentsWinOverWildcards() {
+        RouteTrie<String> trie = trie();
+        assertEquals("me", trie.resolve("GET", "/api/users/me"));
+        assertEquals("user", trie.resolve("GET", "/api/users/42"));
+        assertEquals("list", trie.resolve("GET", "/api/users/"));
+        assertEquals(6, trie.size());
+    }
+    
+    @Test
+    void dispatchesOnMethodAndFallsBackToAny() {
+        RouteTrie<String> trie = trie();
+        assertEquals("delete", trie.resolve("DELETE", "/api/users/42"));
+        assertNull(trie.resolve("POST", "/api/users/42"));
+        assertEquals("files", trie.resolve("PUT", "/api/files/a/b/c"));
+        assertEquals("readme", trie.resolve("GET", "/api/files/readme"));
+        assertEquals("files", trie.resolve("POST", "/api/files/readme"));
+    }
+    
+    @Test
+    void catchAllMatchesItsPrefixAndIgnoresQueryString() {
+        RouteTrie<String> trie = trie();
+        assertEquals("files", trie.resolve("GET", "/api/files"));
+        assertEquals("user", trie.resolve("GET", "/api/users/7?expand=true"));
+        assertNull(trie.resolve("GET", "/api/unknown"));
+    }
+}
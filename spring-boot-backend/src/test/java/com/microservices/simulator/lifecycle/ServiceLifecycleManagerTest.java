@@ -0,0 +1,132 @@
+package com.microservices.simulator.lifecycle;
+
+import com.microservices.simulator.config.LifecycleConfig;
+import com.microservices.simulator.entity.Service;
+import com.microservices.simulator.service.ActivityService;
+import com.microservices.simulator.service.MicroserviceService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceLifecycleManagerTest {
+
+    @Mock
+    private MicroserviceService microserviceService;
+
+    @Mock
+    private ActivityService activityService;
+
+    @Spy
+    private LifecycleConfig config = new LifecycleConfig();
+
+    @InjectMocks
+    private ServiceLifecycleManager manager;
+
+    @BeforeEach
+    void setUp() {
+        // Long enough that no scheduled step runs during a test
+        config.setStartDuration(Duration.ofMinutes(5));
+        config.setStopDuration(Duration.ofMinutes(5));
+        manager.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.shutdown();
+    }
+
+    @Test
+    void bulkActionMovesAllEligibleServicesInOneTransition() {
+        stubTransition(service(1L, ServiceStates.STOPPED), service(2L, ServiceStates.RUNNING), service(4L, ServiceStates.FAILED));
+
+        List<LifecycleResult> results = manager.applyAll(List.of(1L, 2L, 3L, 4L), LifecycleAction.START);
+
+        verify(microserviceService, times(1)).transitionAll(any(), any(), eq(ServiceStates.STARTING), any());
+        assertEquals(List.of(LifecycleResult.ACCEPTED, LifecycleResult.CONFLICT, LifecycleResult.NOT_FOUND, LifecycleResult.ACCEPTED),
+                results.stream().map(LifecycleResult::getOutcome).toList());
+        assertEquals(2, manager.getPendingCount());
+    }
+
+    @Test
+    void servicesBeyondMaxPendingAreRejected() {
+        config.setMaxPending(1);
+        stubTransition(service(1L, ServiceStates.STOPPED), service(2L, ServiceStates.STOPPED));
+
+        List<LifecycleResult> results = manager.applyAll(List.of(1L, 2L), LifecycleAction.START);
+
+        assertEquals(List.of(LifecycleResult.ACCEPTED, LifecycleResult.REJECTED),
+                results.stream().map(LifecycleResult::getOutcome).toList());
+        assertEquals(1, manager.getPendingCount());
+    }
+
+    @Test
+    void recoveryCompletesTransitionsOlderThanTheirStepPlusGrace() {
+        when(microserviceService.transitionStale(eq(ServiceStates.STARTING), eq(ServiceStates.RUNNING), any()))
+                .thenReturn(List.of(5L, 6L));
+        when(microserviceService.transitionStale(eq(ServiceStates.STOPPING), eq(ServiceStates.STOPPED), any()))
+                .thenReturn(List.of(7L));
+        LocalDateTime before = LocalDateTime.now();
+
+        manager.recover();
+
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(microserviceService).transitionStale(eq(ServiceStates.STARTING), eq(ServiceStates.RUNNING), cutoff.capture());
+        // Start step (5 min) plus the default 30s grace
+        assertTrue(!cutoff.getValue().isBefore(before.minusMinutes(5).minusSeconds(30))
+                && !cutoff.getValue().isAfter(LocalDateTime.now().minusMinutes(5).minusSeconds(30)));
+        verify(activityService, times(3)).createActivity(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubTransition(Service... services) {
+        when(microserviceService.transitionAll(any(), any(), any(), any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            Collection<String> from = invocation.getArgument(1);
+            Predicate<Service> admit = invocation.getArgument(3);
+            Map<Long, Service> before = new LinkedHashMap<>();
+            for (Service service : services) {
+                if (ids.contains(service.getId())) {
+                    before.put(service.getId(), service);
+                }
+            }
+            for (Long id : ids) {
+                Service service = before.get(id);
+                if (service != null && from.contains(service.getStatus())) {
+                    admit.test(service);
+                }
+            }
+            return before;
+        });
+    }
+
+    private static Service service(Long id, String status) {
+        Service service = new Service();
+        service.setId(id);
+        service.setName("service-" + id);
+        service.setStatus(status);
+        return service;
+    }
+}
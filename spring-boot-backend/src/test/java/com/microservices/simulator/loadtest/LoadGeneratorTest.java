@@ -0,0 +1,107 @@
+package com.microservices.simulator.loadtest;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoadGeneratorTest {
+
+    private HttpServer server;
+    private final AtomicInteger hits = new AtomicInteger();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/ok", exchange -> {
+            // A single worker stalling for a second on the 10th request holds up everything behind it
+            if (hits.incrementAndGet() == 10) {
+                sleep(1000);
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.createContext("/slow", exchange -> {
+            sleep(300);
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.createContext("/missing", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newSingleThreadExecutor());
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void stallIsChargedToTheRequestsScheduledBehindIt() {
+        List<RouteLoadResult> results = generator().run(List.of(target(1L, "/ok")), 50, Duration.ofSeconds(2));
+
+        RouteLoadResult result = results.get(0);
+        assertEquals(100, result.getSent());
+        assertEquals(100, result.getSucceeded());
+        assertEquals(0, result.getFailed());
+        // ~50 requests were due during the stall; measured from their due time they waited up to a second
+        assertTrue(result.getP90() >= 200, "p90 " + result.getP90());
+        assertTrue(result.getMax() >= 900, "max " + result.getMax());
+    }
+
+    @Test
+    void errorResponsesCountAsFailures() {
+        List<RouteLoadResult> results = generator().run(List.of(target(1L, "/missing"), target(2L, "/missing")), 20, Duration.ofSeconds(1));
+
+        assertEquals(2, results.size());
+        for (RouteLoadResult result : results) {
+            assertEquals(20, result.getSent());
+            assertEquals(0, result.getSucceeded());
+            assertEquals(20, result.getFailed());
+        }
+    }
+
+    @Test
+    void shedRequestsAreRecordedAtTheTimeout() {
+        // One request in flight at a time against a 300ms endpoint: most of the schedule is shed
+        LoadGenerator generator = new LoadGenerator(HttpClient.newHttpClient(), Duration.ofSeconds(2), 1);
+        RouteLoadResult result = generator.run(List.of(target(1L, "/slow")), 20, Duration.ofSeconds(1)).get(0);
+
+        assertEquals(20, result.getSent());
+        assertEquals(20, result.getSucceeded() + result.getFailed());
+        assertTrue(result.getFailed() >= 10, "failed " + result.getFailed());
+        assertTrue(result.getP90() >= 1900, "p90 " + result.getP90());
+    }
+
+    private LoadGenerator generator() {
+        return new LoadGenerator(HttpClient.newHttpClient(), Duration.ofSeconds(5), 1000);
+    }
+
+    private LoadTarget target(Long routeId, String path) {
+        URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + path);
+        return new LoadTarget(routeId, null, "GET", uri);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.microservices.simulator.metrics;
+
+import com.microservices.simulator.entity.Metric;
+import com.microservices.simulator.entity.MetricRollup;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class MetricRollupAggregatorTest {
+
+    // 2023-11-14T22:00:00Z, on an hour boundary
+    private static final long HOUR_START = 1_700_000_000_000L - 1_700_000_000_000L % 3_600_000L;
+
+    private static Metric metric(long serviceId, long epochMillis, double cpu, Integer requestCount) {
+        Metric metric = new Metric(serviceId, cpu, null);
+        metric.setRequestCount(requestCount);
+        metric.setTimestamp(MetricStore.toLocalDateTime(epochMillis));
+        return metric;
+    }
+
+    private static Map<Long, MetricAccumulator> open(MetricRollupAggregator aggregator, RollupTier tier) {
+        Map<Long, MetricAccumulator> buckets = new TreeMap<>();
+        aggregator.forEachOpen(tier, 1L, Long.MIN_VALUE, (key, accumulator) -> buckets.put(key.bucketStart(), accumulator));
+        return buckets;
+    }
+
+    @Test
+    void bucketStartsAreInclusiveAndEndsExclusive() {
+        assertEquals(HOUR_START, RollupTier.MINUTE.bucketStart(HOUR_START));
+        assertEquals(HOUR_START, RollupTier.MINUTE.bucketStart(HOUR_START + 59_999));
+        assertEquals(HOUR_START + 60_000, RollupTier.MINUTE.bucketStart(HOUR_START + 60_000));
+        assertEquals(HOUR_START - 300_000, RollupTier.FIVE_MINUTES.bucketStart(HOUR_START - 1));
+        assertEquals(HOUR_START, RollupTier.HOUR.bucketStart(HOUR_START + 3_599_999));
+        // Floors rather than truncates towards zero before the epoch
+        assertEquals(-60_000, RollupTier.MINUTE.bucketStart(-1));
+    }
+
+    @Test
+    void resolutionsMapToTheCoarsestDividingTier() {
+        assertNull(RollupTier.forResolution(30));
+        assertEquals(RollupTier.MINUTE, RollupTier.forResolution(60));
+        assertEquals(RollupTier.MINUTE, RollupTier.forResolution(120));
+        assertEquals(RollupTier.FIVE_MINUTES, RollupTier.forResolution(900));
+        assertEquals(RollupTier.HOUR, RollupTier.forResolution(7200));
+        assertEquals(RollupTier.FIVE_MINUTES, RollupTier.ofSeconds(300));
+        assertNull(RollupTier.ofSeconds(90));
+    }
+
+    @Test
+    void samplesOnEitherSideOfABoundaryLandInSeparateBuckets() {
+        MetricRollupAggregator aggregator = new MetricRollupAggregator();
+        aggregator.add(metric(1, HOUR_START + 299_999, 10, 1));
+        aggregator.add(metric(1, HOUR_START + 300_000, 20, 2));
+        aggregator.add(metric(1, HOUR_START + 359_999, 30, 3));
+
+        Map<Long, MetricAccumulator> minutes = open(aggregator, RollupTier.MINUTE);
+        assertEquals(2, minutes.size());
+        assertEquals(1, minutes.get(HOUR_START + 240_000).getCount());
+        assertEquals(2, minutes.get(HOUR_START + 300_000).getCount());
+        assertEquals(25.0, minutes.get(HOUR_START + 300_000).avgOf(MetricAccumulator.CPU));
+
+        Map<Long, MetricAccumulator> fiveMinutes = open(aggregator, RollupTier.FIVE_MINUTES);
+        assertEquals(2, fiveMinutes.size());
+        assertEquals(1, fiveMinutes.get(HOUR_START).getCount());
+        assertEquals(2, fiveMinutes.get(HOUR_START + 300_000).getCount());
+
+        Map<Long, MetricAccumulator> hours = open(aggregator, RollupTier.HOUR);
+        assertEquals(1, hours.size());
+        assertEquals(3, hours.get(HOUR_START).getCount());
+        assertEquals(6.0, hours.get(HOUR_START).sumOf(MetricAccumulator.REQUEST_COUNT));
+    }
+
+    @Test
+    void samplesWithoutARequestCountAreSkippedForThatFieldOnly() {
+        MetricSeries series = new MetricSeries(1, 16);
+        series.append(HOUR_START, 10, Double.NaN, 4, Double.NaN, Double.NaN);
+        series.append(HOUR_START + 10_000, 20, Double.NaN, MetricSeries.NO_COUNT, Double.NaN, Double.NaN);
+        series.append(HOUR_START + 60_000, 30, Double.NaN, MetricSeries.NO_COUNT, Double.NaN, Double.NaN);
+
+        MetricRollupAggregator aggregator = new MetricRollupAggregator();
+        series.scan(Long.MIN_VALUE, (serviceId, timestamp, cpu, memory, requestCount, responseTime, errorRate) ->
+                aggregator.add(MetricStore.toMetric(serviceId, timestamp, cpu, memory, requestCount, responseTime, errorRate)));
+
+        Map<Long, MetricAccumulator> minutes = open(aggregator, RollupTier.MINUTE);
+        MetricAccumulator first = minutes.get(HOUR_START);
+        assertEquals(2, first.getCount());
+        assertEquals(15.0, first.avgOf(MetricAccumulator.CPU));
+        // The missing count neither drags the average down nor counts as zero
+        assertEquals(4.0, first.avgOf(MetricAccumulator.REQUEST_COUNT));
+        assertEquals(4.0, first.minOf(MetricAccumulator.REQUEST_COUNT));
+
+        // A bucket whose samples all lack a count reports no value at all
+        MetricAccumulator second = minutes.get(HOUR_START + 60_000);
+        assertEquals(1, second.getCount());
+        assertEquals(30.0, second.avgOf(MetricAccumulator.CPU));
+        assertNull(second.avgOf(MetricAccumulator.REQUEST_COUNT));
+        assertNull(second.minOf(MetricAccumulator.REQUEST_COUNT));
+        assertNull(second.maxOf(MetricAccumulator.REQUEST_COUNT));
+        assertNull(second.avgOf(MetricAccumulator.MEMORY));
+
+        MetricRollup row = new MetricRollup();
+        second.writeTo(row);
+        assertEquals(0L, row.getRequestCountSamples());
+        assertNull(row.getRequestCountMin());
+    }
+
+    @Test
+    void mergingRowsKeepsPerFieldSampleCounts() {
+        MetricAccumulator first = new MetricAccumulator();
+        first.add(metric(1, HOUR_START, 10, 4));
+        first.add(metric(1, HOUR_START + 1000, 20, null));
+        MetricRollup withCounts = new MetricRollup();
+        first.writeTo(withCounts);
+
+        // Rows written before per-field counts existed fall back to the sample count
+        MetricRollup legacy = new MetricRollup();
+        legacy.setSampleCount(2L);
+        legacy.setCpuMin(30.0);
+        legacy.setCpuMax(50.0);
+        legacy.setCpuSum(80.0);
+        legacy.setRequestCountSum(0.0);
+
+        MetricAccumulator merged = new MetricAccumulator();
+        merged.merge(withCounts);
+        merged.merge(legacy);
+        merged.merge(new MetricRollup());
+
+        assertEquals(4, merged.getCount());
+        assertEquals(27.5, merged.avgOf(MetricAccumulator.CPU));
+        assertEquals(10.0, merged.minOf(MetricAccumulator.CPU));
+        assertEquals(50.0, merged.maxOf(MetricAccumulator.CPU));
+        assertEquals(4.0, merged.avgOf(MetricAccumulator.REQUEST_COUNT));
+    }
+}
@@ -0,0 +1,75 @@
+package com.microservices.simulator.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetricSeriesTest {
+
+    private static List<Long> timestamps(MetricSeries series, long since) {
+        List<Long> seen = new ArrayList<>();
+        series.scan(since, (serviceId, timestamp, cpu, memory, requestCount, responseTime, errorRate) -> seen.add(timestamp));
+        return seen;
+    }
+
+    private static void append(MetricSeries series, long timestamp) {
+        series.append(timestamp, timestamp / 10.0, Double.NaN, MetricSeries.NO_COUNT, Double.NaN, Double.NaN);
+    }
+
+    @Test
+    void growsOnDemandUpToItsCapacity() {
+        MetricSeries series = new MetricSeries(1, 1000);
+        assertEquals(MetricSeries.INITIAL_CAPACITY, series.capacity());
+
+        for (long t = 1; t <= 100; t++) {
+            append(series, t);
+        }
+        assertEquals(128, series.capacity());
+        assertEquals(100, timestamps(series, 0).size());
+        assertEquals(1L, (long) timestamps(series, 0).get(0));
+
+        for (long t = 101; t <= 5000; t++) {
+            append(series, t);
+        }
+        assertEquals(1000, series.capacity());
+        assertEquals(4001L, (long) timestamps(series, 0).get(0));
+        assertFalse(series.covers(4000));
+        assertTrue(series.covers(4001));
+    }
+
+    @Test
+    void keepsLateSamplesInTimestampOrder() {
+        MetricSeries series = new MetricSeries(1, 8);
+        for (long t : new long[] {10, 20, 40, 30, 50, 15, 60}) {
+            append(series, t);
+        }
+        assertEquals(List.of(10L, 15L, 20L, 30L, 40L, 50L, 60L), timestamps(series, 0));
+        assertEquals(List.of(30L, 40L, 50L, 60L), timestamps(series, 25));
+        assertTrue(series.contains(15));
+        assertFalse(series.contains(16));
+    }
+
+    @Test
+    void dropsLateSamplesOlderThanWhatAFullBufferStillHolds() {
+        MetricSeries series = new MetricSeries(1, 4);
+        for (long t : new long[] {10, 20, 30, 40, 50}) {
+            append(series, t);
+        }
+        assertEquals(List.of(20L, 30L, 40L, 50L), timestamps(series, 0));
+
+        // Older than the tail: would punch a hole into a window that claims to be covered
+        append(series, 5);
+        assertEquals(List.of(20L, 30L, 40L, 50L), timestamps(series, 0));
+
+        // Newer than the tail: the tail is evicted and the sample shifted into place
+        append(series, 25);
+        assertEquals(List.of(25L, 30L, 40L, 50L), timestamps(series, 0));
+        assertFalse(series.covers(20));
+        assertTrue(series.covers(21));
+    }
+}
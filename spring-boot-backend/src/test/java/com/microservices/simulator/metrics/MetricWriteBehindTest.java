@@ -0,0 +1,79 @@
+package com.microservices.simulator.metrics;
+
+import com.microservices.simulator.config.MetricStoreConfig;
+import com.microservices.simulator.entity.Metric;
+import com.microservices.simulator.repository.MetricRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MetricWriteBehindTest {
+
+    private MetricRepository repository;
+    private MetricWriteBehind writeBehind;
+    private final List<Integer> committed = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MetricStoreConfig config = new MetricStoreConfig();
+        config.setWriteBehindMaxRetries(2);
+        repository = mock(MetricRepository.class);
+        writeBehind = new MetricWriteBehind(config, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(writeBehind, "metricRepository", repository);
+    }
+
+    @Test
+    void failedBatchStaysVisibleAndIsRetried() {
+        when(repository.saveAll(anyList()))
+                .thenThrow(new IllegalStateException("database down"))
+                .thenAnswer(invocation -> {
+                    committed.add(invocation.<List<Metric>>getArgument(0).size());
+                    return invocation.getArgument(0);
+                });
+        writeBehind.enqueue(sample(1L));
+        writeBehind.enqueue(sample(2L));
+
+        writeBehind.flush();
+
+        assertEquals(2, writeBehind.unflushed(null, null).size());
+        assertEquals(2, writeBehind.pending());
+
+        writeBehind.flush();
+
+        assertEquals(List.of(2), committed);
+        assertEquals(0, writeBehind.pending());
+        assertEquals(0, writeBehind.dropped());
+    }
+
+    @Test
+    void batchIsDroppedAndCountedAfterTheLastRetry() {
+        when(repository.saveAll(anyList())).thenThrow(new IllegalStateException("database down"));
+        writeBehind.enqueue(sample(1L));
+
+        for (int i = 0; i < 3; i++) {
+            writeBehind.flush();
+        }
+
+        verify(repository, times(3)).saveAll(anyList());
+        assertEquals(1, writeBehind.dropped());
+        assertEquals(0, writeBehind.pending());
+    }
+
+    private static Metric sample(long serviceId) {
+        Metric metric = new Metric(serviceId, 10.0, 256.0);
+        metric.setTimestamp(LocalDateTime.now());
+        return metric;
+    }
+}
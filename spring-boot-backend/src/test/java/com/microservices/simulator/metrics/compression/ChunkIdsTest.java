@@ -0,0 +1,30 @@
+package com.microservices.simulator.metrics.compression;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChunkIdsTest {
+
+    @Test
+    void roundTripsUnorderedIds() {
+        // Timestamp order does not follow id order once late samples are merged in
+        long[] ids = {1_000_050, 1_000_001, 1_000_002, 1_000_100, 999_000, 1L << 40, 1, 1_000_003};
+
+        assertArrayEquals(ids, ChunkIds.decode(ChunkIds.encode(ids), ids.length));
+    }
+
+    @Test
+    void consecutiveIdsTakeAByteEach() {
+        long[] ids = new long[1000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = 5_000_000L + i;
+        }
+
+        byte[] data = ChunkIds.encode(ids);
+
+        assertArrayEquals(ids, ChunkIds.decode(data, ids.length));
+        assertTrue(data.length < ids.length + 8, "encoded " + data.length + " bytes");
+    }
+}
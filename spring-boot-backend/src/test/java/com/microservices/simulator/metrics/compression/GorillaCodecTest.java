@@ -0,0 +1,61 @@
+package com.microservices.simulator.metrics.compression;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GorillaCodecTest {
+
+    private record Sample(long timestamp, double cpu, double memory, int requestCount, double responseTime, double errorRate) {
+    }
+
+    @Test
+    void roundTripsIrregularSamplesExactly() {
+        Random random = new Random(42);
+        List<Sample> samples = new ArrayList<>();
+        long timestamp = 1_700_000_000_000L;
+        for (int i = 0; i < 720; i++) {
+            // Mostly regular 5s spacing with jitter and the occasional large gap
+            timestamp += 5000 + (i % 50 == 0 ? 3_600_000 : random.nextInt(200) - 100);
+            samples.add(new Sample(timestamp,
+                    Math.round(random.nextDouble() * 1000) / 10.0,
+                    i % 7 == 0 ? Double.NaN : 40 + random.nextGaussian(),
+                    i % 11 == 0 ? Integer.MIN_VALUE : random.nextInt(5000),
+                    random.nextDouble() * 250,
+                    i % 3 == 0 ? 0.0 : random.nextDouble()));
+        }
+
+        GorillaEncoder encoder = new GorillaEncoder();
+        for (Sample s : samples) {
+            encoder.add(s.timestamp(), s.cpu(), s.memory(),
+                    s.requestCount() == Integer.MIN_VALUE ? Double.NaN : s.requestCount(), s.responseTime(), s.errorRate());
+        }
+        byte[] data = encoder.finish();
+
+        List<Sample> decoded = new ArrayList<>();
+        GorillaDecoder.decode(data, 7L, (serviceId, ts, cpu, memory, requestCount, responseTime, errorRate) -> {
+            assertEquals(7L, serviceId);
+            decoded.add(new Sample(ts, cpu, memory, requestCount, responseTime, errorRate));
+        });
+
+        assertEquals(samples.size(), GorillaDecoder.sampleCount(data));
+        assertEquals(samples, decoded);
+    }
+
+    @Test
+    void compressesSteadySamplesWellBelowRawSize() {
+        GorillaEncoder encoder = new GorillaEncoder();
+        for (int i = 0; i < 720; i++) {
+            encoder.add(1_700_000_000_000L + i * 5000L, 42.5, 61.0, 120, 35.0, 0.0);
+        }
+        byte[] data = encoder.finish();
+
+        // 720 samples x (8-byte timestamp + 5 x 8-byte values) uncompressed
+        assertTrue(data.length < 720 * 48 / 20, "compressed size " + data.length);
+    }
+}
@@ -0,0 +1,66 @@
+package com.microservices.simulator.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CursorTest {
+
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void roundTripsTimestampAndId() {
+        Cursor cursor = new Cursor(LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_456_789), 42);
+        String token = cursor.encode();
+
+        assertFalse(token.contains("|"));
+        assertFalse(token.contains("="));
+        assertEquals(cursor, Cursor.decode(token));
+    }
+
+    @Test
+    void roundTripsIdOnlyCursors() {
+        Cursor decoded = Cursor.decode(new Cursor(null, Long.MAX_VALUE).encode());
+
+        assertNull(decoded.sortKey());
+        assertEquals(Long.MAX_VALUE, decoded.id());
+    }
+
+    @Test
+    void rejectsMalformedAndTamperedTokens() {
+        List<String> invalid = List.of(
+                "not base64!",
+                token("no separator"),
+                token("2024-03-01T12:30|abc"),
+                token("2024-13-01T12:30|7"),
+                token("|"),
+                "");
+        for (String token : invalid) {
+            assertThrows(IllegalArgumentException.class, () -> Cursor.decode(token), token);
+        }
+    }
+
+    @Test
+    void pageOfLookAheadRowsOnlyHasACursorWhenMoreRowsExist() {
+        CursorPage<Long> full = CursorPage.of(List.of(9L, 8L, 7L), 2, id -> new Cursor(null, id));
+        assertTrue(full.isHasMore());
+        assertEquals(List.of(9L, 8L), full.getItems());
+        assertEquals(8L, Cursor.decode(full.getNextCursor()).id());
+
+        CursorPage<Long> last = CursorPage.of(List.of(9L, 8L), 2, id -> new Cursor(null, id));
+        assertFalse(last.isHasMore());
+        assertNull(last.getNextCursor());
+        assertEquals(3, CursorPage.lookAhead(2).getPageSize());
+    }
+}
@@ -0,0 +1,114 @@
+package com.microservices.simulator.pagination;
+
+import com.microservices.simulator.BenchmarkContext;
+import com.microservices.simulator.entity.Metric;
+import com.microservices.simulator.service.MetricService;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of fetching page {@code depth} of the metrics list through the keyset
+ * cursor ({@link MetricService#getMetricsPage}) against the same page fetched with
+ * LIMIT/OFFSET. The keyset page should stay flat as {@code depth} grows while the
+ * offset page grows with the rows it skips.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeepPageBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int PAGE_SIZE = 50;
+    // H2 hands back its cached result when a statement repeats with the same
+    // parameters, so each invocation moves to one of a few neighbouring pages
+    private static final int PAGES = 16;
+    private static final String NEWEST_FIRST = "SELECT m FROM Metric m ORDER BY m.timestamp DESC, m.id DESC";
+
+    @Param({"1", "100", "1000"})
+    public int depth;
+
+    private ConfigurableApplicationContext context;
+    private MetricService metricService;
+    private EntityManager entityManager;
+    private final String[] cursors = new String[PAGES];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("pages" + depth);
+        metricService = context.getBean(MetricService.class);
+        entityManager = context.getBean(EntityManager.class);
+        metricService.createMetrics(rows().iterator());
+        for (int page = 0; page < PAGES; page++) {
+            // Cursor of the last row on the page before the one being measured
+            Metric last = offsetPage((depth + page) * PAGE_SIZE - 1, 1).get(0);
+            cursors[page] = new Cursor(last.getTimestamp(), last.getId()).encode();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CursorPage<Metric> keyset() {
+        return metricService.getMetricsPage(cursors[nextPage()], PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Metric> offset() {
+        return offsetPage((depth + nextPage()) * PAGE_SIZE, PAGE_SIZE);
+    }
+
+    private int nextPage() {
+        next = (next + 1) % PAGES;
+        return next;
+    }
+
+    private List<Metric> offsetPage(int offset, int size) {
+        return entityManager.createQuery(NEWEST_FIRST, Metric.class)
+                .setFirstResult(offset)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    private static List<Metric> rows() {
+        LocalDateTime start = LocalDateTime.now().minusMinutes(30);
+        List<Metric> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Metric metric = new Metric((long) (i % 20) + 1, 20.0 + i % 50, 512.0);
+            metric.setTimestamp(start.plusNanos(i * 10_000_000L));
+            rows.add(metric);
+        }
+        return rows;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DeepPageBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,205 @@
+package com.microservices.simulator.realtime;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.simulator.config.RealtimeConfig;
+import com.microservices.simulator.entity.Metric;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetricStreamPublisherTest {
+
+    private static final Pattern ID = Pattern.compile("^id:(\\S+)$", Pattern.MULTILINE);
+    private static final Pattern NAME = Pattern.compile("^event:(\\S+)$", Pattern.MULTILINE);
+
+    private RealtimeConfig config;
+    private MetricStreamPublisher publisher;
+    private RecordingEmitter next;
+
+    /** Records each frame as "event id" instead of writing it to a connection. */
+    private static class RecordingEmitter extends SseEmitter {
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch unblock = new CountDownLatch(1);
+        volatile boolean blocked;
+        volatile boolean sending;
+        volatile boolean completed;
+
+        @Override
+        public void send(Set<ResponseBodyEmitter.DataWithMediaType> items) {
+            sending = true;
+            if (blocked) {
+                try {
+                    unblock.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            StringBuilder frame = new StringBuilder();
+            items.forEach(item -> frame.append(item.getData()));
+            Matcher id = ID.matcher(frame);
+            Matcher name = NAME.matcher(frame);
+            events.add(id.find() && name.find() ? name.group(1) + " " + id.group(1) : frame.toString());
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            completed = true;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        config = new RealtimeConfig();
+        config.setSseReplaySize(3);
+        config.setSseSendQueue(2);
+        publisher = new MetricStreamPublisher() {
+            @Override
+            SseEmitter newEmitter() {
+                return next;
+            }
+        };
+        ReflectionTestUtils.setField(publisher, "config", config);
+        ReflectionTestUtils.setField(publisher, "objectMapper", new ObjectMapper());
+        publisher.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        publisher.shutdown();
+    }
+
+    private RecordingEmitter subscribe(String lastEventId) {
+        next = new RecordingEmitter();
+        publisher.subscribe(lastEventId);
+        return next;
+    }
+
+    private void publishTicks(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            publisher.publish(new Metric(1L, (double) i, null));
+            publisher.tick();
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out");
+            Thread.sleep(5);
+        }
+    }
+
+    // Ids of the events sent so far, after the publisher's epoch
+    private static List<String> ids(RecordingEmitter emitter) {
+        synchronized (emitter.events) {
+            return emitter.events.stream().map(e -> e.substring(e.lastIndexOf('-') + 1)).toList();
+        }
+    }
+
+    private static String epochOf(RecordingEmitter emitter) {
+        String event = emitter.events.get(0);
+        return event.substring(event.indexOf(' ') + 1, event.lastIndexOf('-'));
+    }
+
+    @Test
+    void resumesWithTheEventsAfterTheLastSeenId() throws InterruptedException {
+        RecordingEmitter live = subscribe(null);
+        publishTicks(3);
+        await(() -> live.events.size() == 3);
+        assertEquals(List.of("1", "2", "3"), ids(live));
+        String epoch = epochOf(live);
+
+        RecordingEmitter resumed = subscribe(epoch + "-1");
+        await(() -> resumed.events.size() == 2);
+        assertEquals(List.of("2", "3"), ids(resumed));
+        assertTrue(resumed.events.get(0).startsWith("metrics "));
+
+        // Resuming from the newest id replays nothing and continues live
+        RecordingEmitter current = subscribe(epoch + "-3");
+        publishTicks(1);
+        await(() -> current.events.size() == 1);
+        assertEquals(List.of("4"), ids(current));
+        await(() -> resumed.events.size() == 3);
+    }
+
+    @Test
+    void resetsOnceTheLastSeenIdHasRolledOutOfTheBuffer() throws InterruptedException {
+        RecordingEmitter live = subscribe(null);
+        for (int i = 1; i <= 6; i++) {
+            // One at a time, so the live subscriber never falls a queue behind
+            int sent = i;
+            publishTicks(1);
+            await(() -> live.events.size() == sent);
+        }
+        String epoch = epochOf(live);
+
+        // The buffer holds 4..6, so 3 is still the edge of a gap-free resume
+        RecordingEmitter edge = subscribe(epoch + "-3");
+        await(() -> edge.events.size() == 3);
+        assertEquals(List.of("4", "5", "6"), ids(edge));
+
+        RecordingEmitter stale = subscribe(epoch + "-2");
+        await(() -> stale.events.size() == 1);
+        assertEquals("reset " + epoch + "-6", stale.events.get(0));
+    }
+
+    @Test
+    void resetsIdsFromAnotherRun() throws InterruptedException {
+        RecordingEmitter live = subscribe(null);
+        publishTicks(2);
+        await(() -> live.events.size() == 2);
+        String epoch = epochOf(live);
+
+        for (String lastEventId : List.of("0-1", "garbage", epoch + "-99")) {
+            RecordingEmitter restarted = subscribe(lastEventId);
+            await(() -> restarted.events.size() == 1);
+            assertEquals("reset " + epoch + "-2", restarted.events.get(0), lastEventId);
+        }
+    }
+
+    @Test
+    void disconnectsASubscriberWhoseQueueOverflows() throws InterruptedException {
+        RecordingEmitter slow = subscribe(null);
+        slow.blocked = true;
+        RecordingEmitter fast = subscribe(null);
+        assertEquals(2, publisher.getSubscriberCount());
+
+        // One frame stuck in send plus a full queue of replay size + send queue
+        int capacity = config.getSseReplaySize() + config.getSseSendQueue();
+        publishTicks(1);
+        await(() -> slow.sending && fast.events.size() == 1);
+        publishTicks(capacity);
+        assertEquals(2, publisher.getSubscriberCount());
+        assertFalse(slow.completed);
+
+        publishTicks(1);
+        assertEquals(1, publisher.getSubscriberCount());
+        await(() -> slow.completed);
+
+        // The fast subscriber kept getting every event meanwhile
+        await(() -> fast.events.size() == capacity + 2);
+        slow.unblock.countDown();
+        assertFalse(fast.completed);
+    }
+}
@@ -0,0 +1,97 @@
+package com.microservices.simulator.service;
+
+import com.microservices.simulator.BenchmarkContext;
+import com.microservices.simulator.entity.Metric;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second through {@link MetricService#createMetric}, one insert and one
+ * transaction per sample, against {@link MetricService#createMetrics}, which writes
+ * sequence-keyed samples in JDBC batches of {@code hibernate.jdbc.batch_size}. Both
+ * run through the Spring beans on in-memory H2, so the in-memory indexing each
+ * sample gets is included on both sides.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricIngestionBenchmark {
+    
+    private static final int SAMPLES = 1000;
+    private static final int SERVICES = 20;
+    
+    private ConfigurableApplicationContext context;
+    private MetricService metricService;
+    private JdbcTemplate jdbcTemplate;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("ingestion");
+        metricService = context.getBean(MetricService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+    
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        jdbcTemplate.execute("TRUNCATE TABLE metrics");
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void singleInserts(Blackhole blackhole) {
+        for (Metric metric : samples()) {
+            blackhole.consume(metricService.createMetric(metric));
+        }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void batchInsert(Blackhole blackhole) {
+        blackhole.consume(metricService.createMetrics(samples().iterator()));
+    }
+    
+    private static List<Metric> samples() {
+        List<Metric> samples = new ArrayList<>(SAMPLES);
+        for (int i = 0; i < SAMPLES; i++) {
+            Metric metric = new Metric((long) (i % SERVICES) + 1, 20.0 + i % 50, 512.0);
+            metric.setRequestCount(100 + i % 10);
+            metric.setResponseTime(40.0 + i % 30);
+            metric.setErrorRate(0.01);
+            samples.add(metric);
+        }
+        return samples;
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MetricIngestionBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,126 @@
+package com.microservices.simulator.service;
+
+import com.microservices.simulator.config.PaginationConfig;
+import com.microservices.simulator.entity.Metric;
+import com.microservices.simulator.metrics.compression.MetricChunkStore;
+import com.microservices.simulator.pagination.Cursor;
+import com.microservices.simulator.pagination.CursorPage;
+import com.microservices.simulator.repository.MetricRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MetricServicePageTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 12, 0);
+    private static final Comparator<Metric> NEWEST_FIRST =
+            Comparator.comparing(Metric::getTimestamp).thenComparing(Metric::getId).reversed();
+
+    private final List<Metric> tableRows = new ArrayList<>();
+    private final List<Metric> sealedRows = new ArrayList<>();
+    private MetricService metricService;
+
+    private static Metric metric(long id, int second) {
+        Metric metric = new Metric(1L, (double) id, null);
+        metric.setId(id);
+        metric.setTimestamp(BASE.plusSeconds(second));
+        return metric;
+    }
+
+    private static List<Metric> after(List<Metric> rows, LocalDateTime timestamp, long id, int limit) {
+        return rows.stream()
+                .filter(m -> timestamp == null || m.getTimestamp().isBefore(timestamp)
+                        || (m.getTimestamp().equals(timestamp) && m.getId() < id))
+                .sorted(NEWEST_FIRST)
+                .limit(limit)
+                .toList();
+    }
+
+    @BeforeEach
+    void setUp() {
+        MetricRepository metricRepository = mock(MetricRepository.class);
+        when(metricRepository.findFirstPage(any(Pageable.class))).thenAnswer(invocation ->
+                after(tableRows, null, 0, invocation.<Pageable>getArgument(0).getPageSize()));
+        when(metricRepository.findPageAfter(any(LocalDateTime.class), anyLong(), any(Pageable.class))).thenAnswer(invocation ->
+                after(tableRows, invocation.getArgument(0), invocation.getArgument(1),
+                        invocation.<Pageable>getArgument(2).getPageSize()));
+
+        MetricChunkStore metricChunkStore = mock(MetricChunkStore.class);
+        when(metricChunkStore.findPage(any(), anyLong(), anyInt())).thenAnswer(invocation ->
+                new ArrayList<>(after(sealedRows, invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2))));
+        when(metricChunkStore.findPage(isNull(), anyLong(), anyInt())).thenAnswer(invocation ->
+                new ArrayList<>(after(sealedRows, null, 0, invocation.getArgument(2))));
+
+        metricService = new MetricService();
+        ReflectionTestUtils.setField(metricService, "metricRepository", metricRepository);
+        ReflectionTestUtils.setField(metricService, "metricChunkStore", metricChunkStore);
+        ReflectionTestUtils.setField(metricService, "paginationConfig", new PaginationConfig());
+    }
+
+    private List<Long> walk(int size) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<Metric> page = metricService.getMetricsPage(cursor, size);
+            page.getItems().forEach(m -> ids.add(m.getId()));
+            assertEquals(page.isHasMore(), page.getNextCursor() != null);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    @Test
+    void pagesMergeTableRowsWithSealedChunksWithoutGapsOrDuplicates() {
+        // Sealed and still-unsealed rows interleave in time, with ties on the timestamp
+        for (long id = 1; id <= 20; id++) {
+            Metric metric = metric(id, (int) (id / 3));
+            (id % 2 == 0 ? tableRows : sealedRows).add(metric);
+        }
+        List<Long> expected = new ArrayList<>();
+        List<Metric> all = new ArrayList<>(tableRows);
+        all.addAll(sealedRows);
+        all.stream().sorted(NEWEST_FIRST).forEach(m -> expected.add(m.getId()));
+
+        for (int size : new int[] {1, 3, 7, 20, 50}) {
+            assertEquals(expected, walk(size), "page size " + size);
+        }
+    }
+
+    @Test
+    void pagesFallThroughToSealedRowsOnceTheTableRunsOut() {
+        for (long id = 1; id <= 5; id++) {
+            sealedRows.add(metric(id, (int) id));
+        }
+        for (long id = 6; id <= 8; id++) {
+            tableRows.add(metric(id, (int) id));
+        }
+
+        CursorPage<Metric> first = metricService.getMetricsPage(null, 4);
+        assertEquals(List.of(8L, 7L, 6L, 5L), first.getItems().stream().map(Metric::getId).toList());
+        CursorPage<Metric> second = metricService.getMetricsPage(first.getNextCursor(), 4);
+        assertEquals(List.of(4L, 3L, 2L, 1L), second.getItems().stream().map(Metric::getId).toList());
+        assertFalse(second.isHasMore());
+    }
+
+    @Test
+    void rejectsCursorsWithoutATimestamp() {
+        String idOnly = new Cursor(null, 5).encode();
+        assertThrows(IllegalArgumentException.class, () -> metricService.getMetricsPage(idOnly, 10));
+    }
+}
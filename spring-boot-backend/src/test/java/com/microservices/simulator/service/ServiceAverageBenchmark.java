@@ -0,0 +1,108 @@
+package com.microservices.simulator.service;
+
+import com.microservices.simulator.BenchmarkContext;
+import com.microservices.simulator.entity.Metric;
+import com.microservices.simulator.metrics.MetricAccumulator;
+import com.microservices.simulator.metrics.MetricRollupAggregator;
+import com.microservices.simulator.repository.MetricRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of a service's whole-history averages read from its hourly rollups
+ * ({@link MetricService#getServiceTotals}) against the two raw-table AVG scans the
+ * endpoint used before. History is one sample per service every ten seconds over
+ * {@code days}, ingested through {@link MetricService#createMetrics} so the rollup
+ * tiers are filled the same way they are in the running application.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceAverageBenchmark {
+    
+    private static final int SERVICES = 10;
+    private static final int SAMPLE_SECONDS = 10;
+    
+    @Param({"1", "7"})
+    public int days;
+    
+    private ConfigurableApplicationContext context;
+    private MetricService metricService;
+    private MetricRepository metricRepository;
+    private long serviceId;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("average" + days);
+        metricService = context.getBean(MetricService.class);
+        metricRepository = context.getBean(MetricRepository.class);
+        metricService.createMetrics(history());
+        context.getBean(MetricRollupAggregator.class).flushAll();
+    }
+    
+    @Setup(Level.Invocation)
+    public void pickService() {
+        serviceId = serviceId % SERVICES + 1;
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public void rollups(Blackhole blackhole) {
+        MetricAccumulator totals = metricService.getServiceTotals(serviceId);
+        blackhole.consume(totals.avgOf(MetricAccumulator.CPU));
+        blackhole.consume(totals.avgOf(MetricAccumulator.MEMORY));
+    }
+    
+    @Benchmark
+    public void rawScans(Blackhole blackhole) {
+        blackhole.consume(metricRepository.findAverageCpuByServiceId(serviceId));
+        blackhole.consume(metricRepository.findAverageMemoryByServiceId(serviceId));
+    }
+    
+    private Iterator<Metric> history() {
+        LocalDateTime start = LocalDateTime.now().minusDays(days);
+        int steps = days * 24 * 3600 / SAMPLE_SECONDS;
+        List<Metric> samples = new ArrayList<>(steps * SERVICES);
+        for (int step = 0; step < steps; step++) {
+            for (int service = 1; service <= SERVICES; service++) {
+                Metric metric = new Metric((long) service, 20.0 + step % 50, 512.0 + step % 7);
+                metric.setTimestamp(start.plusSeconds((long) step * SAMPLE_SECONDS));
+                samples.add(metric);
+            }
+        }
+        return samples.iterator();
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ServiceAverageBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,87 @@
+package com.microservices.simulator.service;
+
+import com.microservices.simulator.BenchmarkContext;
+import com.microservices.simulator.entity.Service;
+import com.microservices.simulator.repository.ServiceRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dashboard read throughput through the {@link MicroserviceService} bean with
+ * its {@code @Cacheable} reads backed by Caffeine and with caching switched off
+ * ({@code spring.cache.type=none}), so every read in the second case goes to
+ * the repository.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class ServiceCacheBenchmark {
+    
+    private static final int SERVICES = 50;
+    
+    @Param({"caffeine", "none"})
+    public String cacheType;
+    
+    private ConfigurableApplicationContext context;
+    private MicroserviceService microserviceService;
+    private List<Long> ids;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("services-" + cacheType, "spring.cache.type=" + cacheType);
+        microserviceService = context.getBean(MicroserviceService.class);
+        List<Service> services = new ArrayList<>(SERVICES);
+        for (int i = 1; i <= SERVICES; i++) {
+            Service service = new Service("Service " + i, "business", "running");
+            service.setPort(8080 + i);
+            service.setInstances(2);
+            services.add(service);
+        }
+        ids = context.getBean(ServiceRepository.class).saveAll(services).stream().map(Service::getId).toList();
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public List<Service> allServices() {
+        return microserviceService.getAllServices();
+    }
+    
+    @Benchmark
+    public Optional<Service> serviceById() {
+        return microserviceService.getServiceById(ids.get(ThreadLocalRandom.current().nextInt(ids.size())));
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ServiceCacheBenchmark.class.getSimpleName()).build()).run();
+    }
+}
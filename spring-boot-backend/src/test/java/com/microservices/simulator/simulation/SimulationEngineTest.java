@@ -0,0 +1,88 @@
+package com.microservices.simulator.simulation;
+
+import com.microservices.simulator.chaos.ChaosMatrix;
+import com.microservices.simulator.chaos.ChaosService;
+import com.microservices.simulator.config.SimulationConfig;
+import com.microservices.simulator.repository.ServiceRepository;
+import com.microservices.simulator.service.ActivityService;
+import com.microservices.simulator.service.MetricService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SimulationEngineTest {
+
+    private SimulationEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        SimulationConfig config = new SimulationConfig();
+        config.setTickInterval(Duration.ofMillis(5));
+        config.setThreads(2);
+        config.setSyntheticServices(4);
+        config.setRefreshInterval(Duration.ofMinutes(1));
+        ChaosService chaosService = mock(ChaosService.class);
+        when(chaosService.getMatrix()).thenReturn(new ChaosMatrix.Builder().build());
+
+        engine = new SimulationEngine();
+        ReflectionTestUtils.setField(engine, "config", config);
+        ReflectionTestUtils.setField(engine, "serviceRepository", mock(ServiceRepository.class));
+        ReflectionTestUtils.setField(engine, "metricService", mock(MetricService.class));
+        ReflectionTestUtils.setField(engine, "activityService", mock(ActivityService.class));
+        ReflectionTestUtils.setField(engine, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(engine, "chaosService", chaosService);
+        engine.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.stop();
+    }
+
+    private SimulationStatus awaitTicks(long ticks) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        SimulationStatus status = engine.getStatus();
+        while (status.getTicks() < ticks || status.getLastTickDurationMillis() == 0) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out");
+            Thread.sleep(5);
+            status = engine.getStatus();
+        }
+        return status;
+    }
+
+    @Test
+    void statusFollowsStartAndStop() throws InterruptedException {
+        SimulationStatus idle = engine.getStatus();
+        assertFalse(idle.isRunning());
+        assertEquals(0, idle.getTicks());
+
+        assertTrue(engine.start());
+        assertFalse(engine.start());
+        SimulationStatus running = awaitTicks(3);
+        assertTrue(running.isRunning());
+        assertEquals(4, running.getServices());
+        assertTrue(running.getSamplesGenerated() >= 4);
+
+        assertTrue(engine.stop());
+        assertFalse(engine.stop());
+        SimulationStatus stopped = engine.getStatus();
+        assertFalse(stopped.isRunning());
+        // Totals survive the stop; the per-tick figures describe a run that is over
+        assertTrue(stopped.getTicks() >= running.getTicks());
+        assertEquals(0.0, stopped.getLastTickLagMillis());
+        assertEquals(0.0, stopped.getLastTickDurationMillis());
+
+        assertTrue(engine.start());
+        assertTrue(awaitTicks(stopped.getTicks() + 1).isRunning());
+    }
+}
@@ -0,0 +1,93 @@
+package com.microservices.simulator.simulation.flow;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlowSimulatorTest {
+
+    private static final List<FlowStation> STATIONS = List.of(
+            new FlowStation(1, "user-service", 8, 768),
+            new FlowStation(2, "order-service", 2, 1024));
+
+    // 100 rps each; rate limits are per minute
+    private static final List<FlowRoute> ROUTES = List.of(
+            new FlowRoute(1, "GET", "/api/users/**", 0, 6000, 30000),
+            new FlowRoute(2, "POST", "/api/orders/**", 1, 6000, 30000));
+
+    @Test
+    void sameSeedReproducesTheSameSeries() {
+        List<String> first = new ArrayList<>();
+        List<String> second = new ArrayList<>();
+        FlowResult a = new FlowSimulator(scenario(7), ROUTES, STATIONS).run(0, (id, ts, cpu, memory, requests, latency, errors) ->
+                first.add(id + "@" + ts + ":" + cpu + "," + memory + "," + requests + "," + latency + "," + errors));
+        FlowResult b = new FlowSimulator(scenario(7), ROUTES, STATIONS).run(0, (id, ts, cpu, memory, requests, latency, errors) ->
+                second.add(id + "@" + ts + ":" + cpu + "," + memory + "," + requests + "," + latency + "," + errors));
+        FlowResult c = new FlowSimulator(scenario(8), ROUTES, STATIONS).run(0, (id, ts, cpu, memory, requests, latency, errors) -> { });
+
+        assertEquals(first, second);
+        assertEquals(a.getEvents(), b.getEvents());
+        assertEquals(a.getErrors(), b.getErrors());
+        assertNotEquals(a.getRequests(), c.getRequests());
+        // 600s at 60s buckets, two stations
+        assertEquals(20, first.size());
+    }
+
+    @Test
+    void reportsSaturationOnlyForTheUndersizedStation() {
+        FlowResult result = new FlowSimulator(scenario(7), ROUTES, STATIONS).run(0, (id, ts, cpu, memory, requests, latency, errors) -> { });
+
+        // ~50 rps against 8 servers at 50ms (160 rps) versus 2 servers (40 rps)
+        assertNull(result.getSaturation().get(0).getSaturatedAtSeconds());
+        assertNotNull(result.getSaturation().get(1).getSaturatedAtSeconds());
+    }
+
+    @Test
+    void stopsAtTheEventLimit() {
+        FlowResult full = new FlowSimulator(scenario(7), ROUTES, STATIONS).run(0, (id, ts, cpu, memory, requests, latency, errors) -> { });
+        FlowResult limited = new FlowSimulator(scenario(7), ROUTES, STATIONS).limit(1000, Duration.ofMinutes(1))
+                .run(0, (id, ts, cpu, memory, requests, latency, errors) -> { });
+
+        assertTrue(limited.isTruncated());
+        assertEquals(1000, limited.getEvents());
+        assertTrue(limited.getSimulatedSeconds() < full.getSimulatedSeconds());
+        assertEquals(600, full.getSimulatedSeconds());
+    }
+
+    @Test
+    void rateLimitsAreRequestsPerMinute() {
+        FlowScenario scenario = scenario(7);
+        scenario.setLoadFactor(2.0);
+        List<FlowRoute> limited = List.of(new FlowRoute(1, "GET", "/api/users/**", 0, 600, 30000));
+        FlowResult result = new FlowSimulator(scenario, limited, STATIONS).run(0, (id, ts, cpu, memory, requests, latency, errors) -> { });
+
+        // Offered 20 rps for 10 minutes; the gateway admits 600 per minute plus a one-second burst
+        long admitted = result.getRequests() - result.getRateLimited();
+        assertTrue(result.getRequests() > 11000 && result.getRequests() < 13000, "offered " + result.getRequests());
+        assertTrue(admitted > 5900 && admitted <= 6010, "admitted " + admitted);
+
+        // Unlimited routes offer the default per-minute rate times the load factor
+        scenario.setLoadFactor(1.0);
+        List<FlowRoute> unlimited = List.of(new FlowRoute(1, "GET", "/api/users/**", 0, 0, 30000));
+        FlowResult open = new FlowSimulator(scenario, unlimited, STATIONS).run(0, (id, ts, cpu, memory, requests, latency, errors) -> { });
+        double expected = FlowScenario.DEFAULT_ROUTE_RATE * 10.0;
+        assertEquals(expected, open.getRequests(), expected * 0.05);
+        assertEquals(0, open.getRateLimited());
+    }
+
+    private static FlowScenario scenario(long seed) {
+        FlowScenario scenario = new FlowScenario();
+        scenario.setSeed(seed);
+        scenario.setDurationSeconds(600);
+        scenario.setBucketSeconds(60);
+        return scenario;
+    }
+}